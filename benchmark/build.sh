@@ -0,0 +1,27 @@
+#!/bin/sh
+# Builds the benchmarks of the engine (the back-end and headless classes, together with the
+# benchmark harness) into a single runnable jar.
+#
+# Usage: benchmark/build.sh (from any directory)
+#
+# Output (under build/benchmark in the root of the repository):
+#   gold-miner-benchmark.jar - jar runnable via "java -jar", e.g.
+#                              java -jar build/benchmark/gold-miner-benchmark.jar search --format csv
+
+set -e
+
+ROOT=$(cd "$(dirname "$0")/.." && pwd)
+OUT="$ROOT/build/benchmark"
+
+rm -rf "$OUT"
+mkdir -p "$OUT/classes"
+
+# The benchmarks are compiled on the class path, since they are not part of the engine module.
+javac -d "$OUT/classes" \
+    "$ROOT"/src/gold_miner/*.java \
+    "$ROOT"/src/headless/*.java \
+    "$ROOT"/src/benchmark/*.java
+
+jar --create --file "$OUT/gold-miner-benchmark.jar" \
+    --main-class benchmark.BenchmarkRunner \
+    -C "$OUT/classes" .
@@ -0,0 +1,59 @@
+#!/bin/sh
+# Builds the headless engine module (the back-end classes and the command-line entry point,
+# without the graphical user interface) and a minimal runtime image containing only the
+# modules it needs.
+#
+# Usage: engine/build.sh (from any directory)
+#
+# Output (under build/engine in the root of the repository):
+#   gold-miner-engine.jar - modular jar, runnable via "java -jar"
+#   image/                - runtime image, runnable via "image/bin/gold-miner"
+
+set -e
+
+ROOT=$(cd "$(dirname "$0")/.." && pwd)
+OUT="$ROOT/build/engine"
+
+rm -rf "$OUT"
+mkdir -p "$OUT/classes"
+
+# Compile the module (only the back-end and headless packages are included). String concatenations
+# are compiled into StringBuilder chains instead of invokedynamic call sites, whose bootstrap
+# (StringConcatFactory) would otherwise spin dozens of method handle classes at every start.
+javac -XDstringConcat=inline -d "$OUT/classes" \
+    "$ROOT/engine/module-info.java" \
+    "$ROOT"/src/gold_miner/*.java \
+    "$ROOT"/src/headless/*.java
+
+jar --create --file "$OUT/gold-miner-engine.jar" \
+    --main-class headless.HeadlessGoldMiner \
+    -C "$OUT/classes" .
+
+# Link a runtime image with only the modules required by the engine. The launcher (and bin/java)
+# maps the application class data sharing archive generated below, so the classes of the engine
+# are neither parsed nor verified at startup. Since the path of the archive is absolute, the image
+# must be linked where it is installed (a moved image starts without the archive, as before).
+ARCHIVE="$OUT/image/lib/server/gold-miner.jsa"
+jlink --module-path "$OUT/gold-miner-engine.jar" \
+    --add-modules gold_miner \
+    --launcher gold-miner=gold_miner \
+    --add-options="-XX:SharedArchiveFile=$ARCHIVE -Xshare:auto" \
+    --strip-debug --no-header-files --no-man-pages --compress=2 \
+    --output "$OUT/image"
+
+# Generate the default class data sharing archive of the image, which lets the JVM map the
+# core classes instead of loading them. It is the base of the archive of the engine (so the archive
+# of the engine, not yet generated, is overridden here).
+BASE="$OUT/image/lib/server/classes.jsa"
+"$OUT/image/bin/java" -XX:SharedArchiveFile="$BASE" -Xshare:dump > /dev/null
+
+# Archive the classes (including the lambda proxies) loaded by a training run that solves a small
+# board, as a cold run of the engine does. The classes of the other modes are still loaded from
+# the image as needed.
+#
+# Cold start on a 1-CPU machine (mean of 20 runs of image/bin/gold-miner 8 5 5, measured with
+# date +%s%N around each run):
+#   without the archive of the engine: about 115-130 ms (image/bin/java -version: about 53 ms)
+#   with the archive of the engine:    about 95 ms
+"$OUT/image/bin/java" -XX:SharedArchiveFile="$BASE" -XX:ArchiveClassesAtExit="$ARCHIVE" \
+    -m gold_miner/headless.HeadlessGoldMiner 8 5 5 > /dev/null
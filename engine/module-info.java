@@ -0,0 +1,16 @@
+/**
+ * Headless engine of the Gold Miner system, consisting of the back-end classes and the
+ * command-line entry point
+ *
+ * <p>This module only depends on <code>java.base</code> and on <code>jdk.management</code> (for
+ * measuring the bytes allocated by each run), so neither AWT nor Swing is part of its runtime
+ * image. The graphical user interface (packages <code>gui</code> and
+ * <code>controller</code>, and the class <code>GoldMiner</code>) is left out of it.</p>
+ */
+module gold_miner {
+    /* Measurement of the bytes allocated by each run */
+    requires jdk.management;
+
+    exports gold_miner;
+    exports headless;
+}
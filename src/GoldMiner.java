@@ -1,6 +1,9 @@
 import controller.InitScreenController;
 import gold_miner.GameMaster;
 import gui.InitScreen;
+import headless.HeadlessGoldMiner;
+
+import java.util.Arrays;
 
 /**
  * Class for activating the <b>Gold Miner system</b>
@@ -16,9 +19,18 @@ public class GoldMiner {
     /**
      * Activates the Gold Miner system
      *
+     * <p>If the first command-line argument is <code>--headless</code>, the system runs without
+     * the graphical user interface, and the remaining arguments are passed to
+     * <code>HeadlessGoldMiner</code>.</p>
+     *
      * @param args array of command-line arguments
      */
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--headless")) {
+            HeadlessGoldMiner.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+
         GameMaster game;
         InitScreen scr;
         InitScreenController ctrl;
@@ -0,0 +1,418 @@
+package benchmark;
+
+import headless.SolverResult;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Class implementing the <b>performance baseline</b> of the rational agent on a benchmark corpus, that
+ * is, the number of actions, the solve time, and the allocated bytes of its run on each board, measured
+ * in one or more forked virtual machines, against which the runs of a later build are compared by a
+ * <code>RegressionGate</code>
+ *
+ * <p>Within a fork, the corpus is scored the given number of times (after the given number of
+ * unmeasured passes), and the solve time and the allocated bytes of each board are the medians over the
+ * repetitions, so that a single run interrupted by a garbage collection or by the compiler does not
+ * stand out. Since the code compiled by a virtual machine (and hence the solve times) differs from one
+ * fork to the next, the measurements of each fork are kept apart, so that the regression gate can
+ * account for the variation between forks.</p>
+ *
+ * <p>A baseline is stored as CSV rows (with the header <code>CSV_HEADER</code>), one per fork and board,
+ * in the order of the forks and of the boards of the corpus.</p>
+ */
+public class Baseline {
+    /* Version of the corpus */
+    private final String version;
+    /* Name of each board */
+    private final String[] boards;
+    /* Group of each board */
+    private final String[] groups;
+    /* true if the agent found the gold on each board (in the first fork); false, otherwise */
+    private final boolean[] isGoldFound;
+    /* Number of actions of the run on each board, in each fork */
+    private final long[][] actions;
+    /* Median solve time of each board, in each fork, in nanoseconds */
+    private final long[][] times;
+    /* Median number of bytes allocated by the run on each board, in each fork (-1 if they cannot be measured) */
+    private final long[][] allocatedBytes;
+
+    /**
+     * Header of the CSV rows of a stored baseline
+     */
+    public static final String CSV_HEADER = "corpus,fork,group,board,gold_found,actions,time_ns,allocated_bytes";
+
+    /**
+     * Creates a baseline from the measurements of each board in each fork
+     *
+     * @param version version of the corpus
+     * @param boards name of each board
+     * @param groups group of each board
+     * @param isGoldFound <code>true</code> if the agent found the gold on each board; <code>false</code>,
+     *                    otherwise
+     * @param actions number of actions of the run on each board, in each fork (indexed by fork first)
+     * @param times median solve time of each board, in each fork, in nanoseconds
+     * @param allocatedBytes median number of bytes allocated by the run on each board, in each fork
+     */
+    public Baseline(String version, String[] boards, String[] groups, boolean[] isGoldFound, long[][] actions,
+                    long[][] times, long[][] allocatedBytes) {
+        this.version = version;
+        this.boards = boards;
+        this.groups = groups;
+        this.isGoldFound = isGoldFound;
+        this.actions = actions;
+        this.times = times;
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    /**
+     * Measures the rational agent on the given corpus in this virtual machine, as a single fork
+     *
+     * @param corpus corpus of boards
+     * @param parallelism number of worker threads
+     * @param numWarmups number of unmeasured passes over the corpus
+     * @param numRepetitions number of measured passes over the corpus (at least 1)
+     * @return baseline of the rational agent on the given corpus, with a single fork
+     */
+    public static Baseline measure(Corpus corpus, int parallelism, int numWarmups, int numRepetitions) {
+        int numBoards = corpus.getNumBoards();
+        long[][] times = new long[numBoards][numRepetitions];
+        long[][] allocated = new long[numBoards][numRepetitions];
+        SolverResult[] results = null;
+
+        for (int r = 0; r < numRepetitions; r++) {
+            /* Only the first repetition is preceded by the unmeasured passes. */
+            CorpusScorer scorer = new CorpusScorer(parallelism, true, false, 0, 0, r == 0 ? numWarmups : 0);
+            results = scorer.score(corpus).getRationalResults();
+
+            for (int i = 0; i < numBoards; i++) {
+                times[i][r] = results[i].getWallTime();
+                allocated[i][r] = results[i].getAllocatedBytes();
+            }
+        }
+
+        String[] boards = new String[numBoards];
+        String[] groups = new String[numBoards];
+        boolean[] isGoldFound = new boolean[numBoards];
+        long[][] actions = new long[1][numBoards];
+        long[][] medianTimes = new long[1][numBoards];
+        long[][] medianAllocated = new long[1][numBoards];
+
+        for (int i = 0; i < numBoards; i++) {
+            boards[i] = results[i].getName();
+            groups[i] = corpus.getGroup(i);
+            isGoldFound[i] = results[i].isGoldFound();
+            actions[0][i] = results[i].getTotalActions();
+
+            Arrays.sort(times[i]);
+            Arrays.sort(allocated[i]);
+            medianTimes[0][i] = CorpusScore.percentile(times[i], 0.5);
+            medianAllocated[0][i] = CorpusScore.percentile(allocated[i], 0.5);
+        }
+
+        return new Baseline(corpus.getVersion(), boards, groups, isGoldFound, actions, medianTimes, medianAllocated);
+    }
+
+    /**
+     * Returns the baseline consisting of the forks of all the given baselines, in order
+     *
+     * @param forks baselines measured on the same boards of the same corpus
+     * @return baseline consisting of the forks of all the given baselines
+     * @throws IllegalArgumentException if the baselines were not measured on the same boards
+     */
+    public static Baseline merge(List<Baseline> forks) {
+        Baseline first = forks.get(0);
+        ArrayList<long[]> actions = new ArrayList<long[]>();
+        ArrayList<long[]> times = new ArrayList<long[]>();
+        ArrayList<long[]> allocatedBytes = new ArrayList<long[]>();
+
+        for (Baseline fork : forks) {
+            if (!fork.version.equals(first.version) || !Arrays.equals(fork.boards, first.boards)) {
+                throw new IllegalArgumentException("The forks were measured on different boards");
+            }
+
+            actions.addAll(Arrays.asList(fork.actions));
+            times.addAll(Arrays.asList(fork.times));
+            allocatedBytes.addAll(Arrays.asList(fork.allocatedBytes));
+        }
+
+        return new Baseline(first.version, first.boards, first.groups, first.isGoldFound,
+                actions.toArray(new long[0][]), times.toArray(new long[0][]), allocatedBytes.toArray(new long[0][]));
+    }
+
+    /**
+     * Reads the baseline stored in the given file
+     *
+     * @param file file of the baseline
+     * @return baseline stored in the given file
+     * @throws IOException if the file cannot be read or is malformed
+     */
+    public static Baseline read(Path file) throws IOException {
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return read(in, file.toString());
+        }
+    }
+
+    /**
+     * Reads a baseline stored as CSV rows
+     *
+     * @param in source of the CSV rows
+     * @param source name of the source (for the error messages)
+     * @return baseline read from the given source
+     * @throws IOException if the source cannot be read or is malformed
+     */
+    public static Baseline read(Reader in, String source) throws IOException {
+        BufferedReader reader = in instanceof BufferedReader ? (BufferedReader) in : new BufferedReader(in);
+
+        String line = reader.readLine();
+        if (line == null || !line.equals(CSV_HEADER)) {
+            throw new IOException(source + ": not a baseline (expected the header " + CSV_HEADER + ")");
+        }
+
+        /* The rows of each fork, by fork */
+        LinkedHashMap<String, List<String[]>> forks = new LinkedHashMap<String, List<String[]>>();
+        String version = null;
+        int lineNumber = 1;
+
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isEmpty()) {
+                continue;
+            }
+
+            String[] fields = splitCsv(line);
+            if (fields.length != 8) {
+                throw new IOException(source + ":" + lineNumber + ": expected 8 fields");
+            }
+            if (version != null && !fields[0].equals(version)) {
+                throw new IOException(source + ":" + lineNumber + ": the boards are from different corpora");
+            }
+
+            version = fields[0];
+            forks.computeIfAbsent(fields[1], fork -> new ArrayList<String[]>()).add(fields);
+        }
+
+        if (forks.isEmpty()) {
+            throw new IOException(source + ": no boards in the baseline");
+        }
+
+        List<String[]> first = forks.values().iterator().next();
+        int numBoards = first.size();
+        String[] boards = new String[numBoards];
+        String[] groups = new String[numBoards];
+        boolean[] isGoldFound = new boolean[numBoards];
+        for (int i = 0; i < numBoards; i++) {
+            groups[i] = first.get(i)[2];
+            boards[i] = first.get(i)[3];
+            isGoldFound[i] = Boolean.parseBoolean(first.get(i)[4]);
+        }
+
+        long[][] actions = new long[forks.size()][numBoards];
+        long[][] times = new long[forks.size()][numBoards];
+        long[][] allocatedBytes = new long[forks.size()][numBoards];
+
+        int f = 0;
+        for (List<String[]> rows : forks.values()) {
+            if (rows.size() != numBoards) {
+                throw new IOException(source + ": fork " + rows.get(0)[1] + " has " + rows.size() + " boards instead of "
+                        + numBoards);
+            }
+
+            for (int i = 0; i < numBoards; i++) {
+                String[] fields = rows.get(i);
+                if (!fields[3].equals(boards[i])) {
+                    throw new IOException(source + ": fork " + fields[1] + " lists the boards in a different order");
+                }
+
+                try {
+                    actions[f][i] = Long.parseLong(fields[5]);
+                    times[f][i] = Long.parseLong(fields[6]);
+                    allocatedBytes[f][i] = Long.parseLong(fields[7]);
+                } catch (NumberFormatException e) {
+                    throw new IOException(source + ": malformed measurements of board " + fields[3] + " in fork "
+                            + fields[1]);
+                }
+            }
+            f++;
+        }
+
+        return new Baseline(version, boards, groups, isGoldFound, actions, times, allocatedBytes);
+    }
+
+    /**
+     * Writes this baseline as CSV rows, optionally preceded by the header <code>CSV_HEADER</code>, numbering
+     * the forks from the given number
+     *
+     * @param out stream to which this baseline is written
+     * @param isHeaderWritten <code>true</code> if the header is written; <code>false</code>, otherwise
+     * @param firstFork number of the first fork
+     */
+    public void write(PrintStream out, boolean isHeaderWritten, int firstFork) {
+        if (isHeaderWritten) {
+            out.println(CSV_HEADER);
+        }
+
+        for (int f = 0; f < getNumForks(); f++) {
+            for (int i = 0; i < boards.length; i++) {
+                out.println(SolverResult.escapeCsv(version) + "," + (firstFork + f) + ","
+                        + SolverResult.escapeCsv(groups[i]) + "," + SolverResult.escapeCsv(boards[i]) + ","
+                        + isGoldFound[i] + "," + actions[f][i] + "," + times[f][i] + "," + allocatedBytes[f][i]);
+            }
+        }
+    }
+
+    /**
+     * Returns the version of the corpus
+     *
+     * @return version of the corpus
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the number of forks of this baseline
+     *
+     * @return number of forks of this baseline
+     */
+    public int getNumForks() {
+        return times.length;
+    }
+
+    /**
+     * Returns the number of boards of this baseline
+     *
+     * @return number of boards of this baseline
+     */
+    public int getNumBoards() {
+        return boards.length;
+    }
+
+    /**
+     * Returns the name of the given board
+     *
+     * @param index index of the board (from 0)
+     * @return name of the given board
+     */
+    public String getBoard(int index) {
+        return boards[index];
+    }
+
+    /**
+     * Returns the group of the given board
+     *
+     * @param index index of the board (from 0)
+     * @return group of the given board
+     */
+    public String getGroup(int index) {
+        return groups[index];
+    }
+
+    /**
+     * Returns the groups of the boards, in the order in which their first boards appear
+     *
+     * @return groups of the boards
+     */
+    public List<String> getGroups() {
+        ArrayList<String> distinct = new ArrayList<String>();
+        for (String group : groups) {
+            if (!distinct.contains(group)) {
+                distinct.add(group);
+            }
+        }
+
+        return distinct;
+    }
+
+    /**
+     * Returns whether the agent found the gold on the given board
+     *
+     * @param index index of the board (from 0)
+     * @return <code>true</code> if the agent found the gold on the given board; <code>false</code>,
+     * otherwise
+     */
+    public boolean isGoldFound(int index) {
+        return isGoldFound[index];
+    }
+
+    /**
+     * Returns the number of actions of the run on the given board, in the given fork
+     *
+     * @param fork index of the fork (from 0)
+     * @param index index of the board (from 0)
+     * @return number of actions of the run on the given board
+     */
+    public long getActions(int fork, int index) {
+        return actions[fork][index];
+    }
+
+    /**
+     * Returns the median solve time of the given board, in the given fork, in nanoseconds
+     *
+     * @param fork index of the fork (from 0)
+     * @param index index of the board (from 0)
+     * @return median solve time of the given board, in nanoseconds
+     */
+    public long getTime(int fork, int index) {
+        return times[fork][index];
+    }
+
+    /**
+     * Returns the median number of bytes allocated by the run on the given board, in the given fork
+     *
+     * @param fork index of the fork (from 0)
+     * @param index index of the board (from 0)
+     * @return median number of bytes allocated by the run on the given board (-1 if they cannot be
+     * measured)
+     */
+    public long getAllocatedBytes(int fork, int index) {
+        return allocatedBytes[fork][index];
+    }
+
+    /**
+     * Returns the fields of the given CSV row, in which the fields containing a comma or a double quote
+     * are enclosed in double quotes (see <code>SolverResult.escapeCsv</code>)
+     *
+     * @param line CSV row
+     * @return fields of the given CSV row
+     */
+    private static String[] splitCsv(String line) {
+        ArrayList<String> fields = new ArrayList<String>();
+        StringBuilder field = new StringBuilder();
+        boolean isQuoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+
+            if (isQuoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    isQuoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                isQuoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+
+        return fields.toArray(new String[0]);
+    }
+}
@@ -0,0 +1,48 @@
+package benchmark;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+
+/**
+ * Interface for a <b>benchmark</b>, that is, a family of operations measured under each of a fixed
+ * list of configurations (for instance, each combination of a dimension and densities of the boards)
+ *
+ * <p>The configurations are numbered, so that a single configuration can be run in a forked virtual
+ * machine given only its number.</p>
+ */
+public interface Benchmark {
+    /**
+     * Returns the name of this benchmark (as written in the results)
+     *
+     * @return name of this benchmark
+     */
+    String getName();
+
+    /**
+     * Returns the number of configurations of this benchmark
+     *
+     * @return number of configurations of this benchmark
+     */
+    int getNumConfigurations();
+
+    /**
+     * Returns the parameters of the given configuration, by name, in the order in which they are written
+     * in the results
+     *
+     * @param configuration number of the configuration (from 0)
+     * @return parameters of the given configuration
+     */
+    LinkedHashMap<String, String> getParameters(int configuration);
+
+    /**
+     * Prepares the given configuration (for instance, by generating its boards) and returns the
+     * operation to be measured under it
+     *
+     * <p>Only the returned operation is measured; the preparation is not.</p>
+     *
+     * @param configuration number of the configuration (from 0)
+     * @return operation to be measured under the given configuration
+     * @throws IOException if the configuration cannot be prepared
+     */
+    Workload setUp(int configuration) throws IOException;
+}
@@ -0,0 +1,246 @@
+package benchmark;
+
+import headless.SolverResult;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Class implementing the <b>result of a benchmark</b> under one of its configurations, that is,
+ * the time per operation in each measurement iteration, and the allocations and garbage
+ * collections over all of them
+ *
+ * <p>The result can be written either as a JSON object (on a single line), which also contains the
+ * time per operation in each iteration, or as a CSV row, which only contains the statistics.</p>
+ */
+public class BenchmarkResult {
+    /* Name of the benchmark */
+    private final String benchmark;
+    /* Parameters of the configuration, by name */
+    private final LinkedHashMap<String, String> parameters;
+    /* Number of the forked virtual machine (0 if the runner's own) */
+    private final int fork;
+    /* Time per operation in each measurement iteration, in nanoseconds */
+    private final double[] samples;
+    /* Number of operations over all the measurement iterations */
+    private final long numOperations;
+    /* Bytes allocated per operation (-1 if they cannot be measured) */
+    private final double bytesPerOperation;
+    /* Number of garbage collections during the measurement iterations */
+    private final long numCollections;
+    /* Duration of the garbage collections during the measurement iterations, in milliseconds */
+    private final long collectionTime;
+
+    /**
+     * Header of the CSV rows, naming their columns
+     */
+    public static final String CSV_HEADER = "benchmark,parameters,fork,iterations,operations,ns_per_op,"
+            + "ns_per_op_stdev,ns_per_op_min,ns_per_op_max,bytes_per_op,alloc_rate_mb_s,gc_count,gc_time_ms";
+
+    /**
+     * Creates the result of a benchmark under one of its configurations
+     *
+     * @param benchmark name of the benchmark
+     * @param parameters parameters of the configuration, by name
+     * @param fork number of the forked virtual machine (0 if the runner's own)
+     * @param samples time per operation in each measurement iteration, in nanoseconds
+     * @param numOperations number of operations over all the measurement iterations
+     * @param bytesPerOperation bytes allocated per operation (-1 if they cannot be measured)
+     * @param numCollections number of garbage collections during the measurement iterations
+     * @param collectionTime duration of the garbage collections during the measurement iterations,
+     *                       in milliseconds
+     */
+    public BenchmarkResult(String benchmark, LinkedHashMap<String, String> parameters, int fork, double[] samples,
+                           long numOperations, double bytesPerOperation, long numCollections, long collectionTime) {
+        this.benchmark = benchmark;
+        this.parameters = parameters;
+        this.fork = fork;
+        this.samples = samples;
+        this.numOperations = numOperations;
+        this.bytesPerOperation = bytesPerOperation;
+        this.numCollections = numCollections;
+        this.collectionTime = collectionTime;
+    }
+
+    /**
+     * Returns the name of the benchmark
+     *
+     * @return name of the benchmark
+     */
+    public String getBenchmark() {
+        return benchmark;
+    }
+
+    /**
+     * Returns the parameters of the configuration, by name
+     *
+     * @return parameters of the configuration, by name
+     */
+    public LinkedHashMap<String, String> getParameters() {
+        return parameters;
+    }
+
+    /**
+     * Returns the time per operation in each measurement iteration, in nanoseconds
+     *
+     * @return time per operation in each measurement iteration, in nanoseconds
+     */
+    public double[] getSamples() {
+        return samples;
+    }
+
+    /**
+     * Returns the mean time per operation over the measurement iterations, in nanoseconds
+     *
+     * @return mean time per operation, in nanoseconds
+     */
+    public double getMean() {
+        double sum = 0;
+        for (double sample : samples) {
+            sum += sample;
+        }
+
+        return sum / samples.length;
+    }
+
+    /**
+     * Returns the sample standard deviation of the time per operation over the measurement
+     * iterations, in nanoseconds (0 if there is a single iteration)
+     *
+     * @return standard deviation of the time per operation, in nanoseconds
+     */
+    public double getStandardDeviation() {
+        if (samples.length < 2) {
+            return 0;
+        }
+
+        double mean = getMean();
+        double sum = 0;
+        for (double sample : samples) {
+            sum += (sample - mean) * (sample - mean);
+        }
+
+        return Math.sqrt(sum / (samples.length - 1));
+    }
+
+    /**
+     * Returns the bytes allocated per operation (-1 if they cannot be measured)
+     *
+     * @return bytes allocated per operation
+     */
+    public double getBytesPerOperation() {
+        return bytesPerOperation;
+    }
+
+    /**
+     * Returns the rate at which the operation allocates, in mebibytes per second (-1 if the
+     * allocations cannot be measured)
+     *
+     * @return allocation rate, in mebibytes per second
+     */
+    public double getAllocationRate() {
+        if (bytesPerOperation < 0) {
+            return -1;
+        }
+
+        return bytesPerOperation / getMean() * 1e9 / (1 << 20);
+    }
+
+    /**
+     * Returns a JSON object (on a single line) containing this result, including the time per
+     * operation in each measurement iteration
+     *
+     * @return JSON object containing this result
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder();
+        json.append("{\"benchmark\":\"").append(SolverResult.escapeJson(benchmark)).append("\",\"parameters\":{");
+
+        String separator = "";
+        for (Map.Entry<String, String> parameter : parameters.entrySet()) {
+            json.append(separator).append('"').append(SolverResult.escapeJson(parameter.getKey())).append("\":\"")
+                    .append(SolverResult.escapeJson(parameter.getValue())).append('"');
+            separator = ",";
+        }
+
+        json.append("},\"fork\":").append(fork)
+                .append(",\"iterations\":").append(samples.length)
+                .append(",\"operations\":").append(numOperations)
+                .append(",\"ns_per_op\":").append(format(getMean()))
+                .append(",\"ns_per_op_stdev\":").append(format(getStandardDeviation()))
+                .append(",\"ns_per_op_min\":").append(format(getMin()))
+                .append(",\"ns_per_op_max\":").append(format(getMax()))
+                .append(",\"bytes_per_op\":").append(format(bytesPerOperation))
+                .append(",\"alloc_rate_mb_s\":").append(format(getAllocationRate()))
+                .append(",\"gc_count\":").append(numCollections)
+                .append(",\"gc_time_ms\":").append(collectionTime)
+                .append(",\"samples\":[");
+
+        for (int i = 0; i < samples.length; i++) {
+            json.append(i == 0 ? "" : ",").append(format(samples[i]));
+        }
+
+        return json.append("]}").toString();
+    }
+
+    /**
+     * Returns a CSV row containing this result, in the order of the columns of <code>CSV_HEADER</code>
+     *
+     * <p>The parameters are written in a single column, as <code>name=value</code> pairs separated by
+     * semicolons.</p>
+     *
+     * @return CSV row containing this result
+     */
+    public String toCsv() {
+        StringBuilder names = new StringBuilder();
+        for (Map.Entry<String, String> parameter : parameters.entrySet()) {
+            names.append(names.length() == 0 ? "" : ";").append(parameter.getKey()).append('=')
+                    .append(parameter.getValue());
+        }
+
+        return SolverResult.escapeCsv(benchmark) + "," + SolverResult.escapeCsv(names.toString()) + "," + fork
+                + "," + samples.length + "," + numOperations + "," + format(getMean())
+                + "," + format(getStandardDeviation()) + "," + format(getMin()) + "," + format(getMax())
+                + "," + format(bytesPerOperation) + "," + format(getAllocationRate()) + "," + numCollections
+                + "," + collectionTime;
+    }
+
+    /**
+     * Returns the least time per operation over the measurement iterations, in nanoseconds
+     *
+     * @return least time per operation, in nanoseconds
+     */
+    private double getMin() {
+        double min = Double.POSITIVE_INFINITY;
+        for (double sample : samples) {
+            min = Math.min(min, sample);
+        }
+
+        return min;
+    }
+
+    /**
+     * Returns the greatest time per operation over the measurement iterations, in nanoseconds
+     *
+     * @return greatest time per operation, in nanoseconds
+     */
+    private double getMax() {
+        double max = Double.NEGATIVE_INFINITY;
+        for (double sample : samples) {
+            max = Math.max(max, sample);
+        }
+
+        return max;
+    }
+
+    /**
+     * Returns the given number with three decimal places (without a locale-specific separator)
+     *
+     * @param value number to be written
+     * @return given number with three decimal places
+     */
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+}
@@ -0,0 +1,779 @@
+package benchmark;
+
+import headless.BoardGenerator;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Class for running the <b>benchmarks</b> of the engine from the command line
+ *
+ * <p>Each configuration of the chosen benchmark is measured by a <code>Harness</code>, by default in
+ * a forked virtual machine (started with the same options as this one), so that the configurations
+ * do not bias one another through the profile of the just-in-time compiler. The result of each
+ * configuration (and fork) is printed as soon as it is measured, either as a JSON object (one per
+ * line) or as a CSV row.</p>
+ *
+ * <p>The boards of the benchmarks are drawn from a fixed seed by default, so results are comparable
+ * between commits.</p>
+ */
+public class BenchmarkRunner {
+    /* Default seed of the boards of the benchmarks */
+    private static final long DEFAULT_SEED = 20240101L;
+    /* Default number of warmup iterations */
+    private static final int DEFAULT_WARMUPS = 3;
+    /* Default number of measurement iterations */
+    private static final int DEFAULT_ITERATIONS = 5;
+    /* Default duration of each iteration, in milliseconds */
+    private static final long DEFAULT_ITERATION_TIME = 1000;
+    /* Default number of forked virtual machines per configuration */
+    private static final int DEFAULT_FORKS = 1;
+    /* Default number of boards per point of the scalability curves */
+    private static final int DEFAULT_SCALING_BOARDS = 5;
+    /* Default time budget of a point of the scalability curves, in seconds */
+    private static final long DEFAULT_SCALING_SECONDS = 60;
+    /* Default directory of the corpus on which the agents are scored */
+    private static final String DEFAULT_CORPUS = "corpus/v1";
+    /* Default maximum number of actions of each run of the nonrational agent */
+    private static final int DEFAULT_MAX_ACTIONS = 100000;
+    /* Default number of measured passes over the corpus of a performance baseline */
+    private static final int DEFAULT_REPETITIONS = 3;
+    /* Default number of forked virtual machines of a performance baseline */
+    private static final int DEFAULT_BASELINE_FORKS = 5;
+    /* Default number of bootstrap resamples of the regression gate */
+    private static final int DEFAULT_RESAMPLES = 10000;
+    /* Default confidence level of the regression gate */
+    private static final double DEFAULT_CONFIDENCE = 0.95;
+    /* Default tolerance of the solve time and the allocated bytes in the regression gate */
+    private static final double DEFAULT_TOLERANCE = 0.05;
+
+    /* Usage of the command-line arguments */
+    private static final String USAGE = String.join("\n",
+            "Usage: BenchmarkRunner <benchmark> [options]",
+            "Benchmarks:",
+            "  search                                search of the rational agent, end to end",
+            "  primitives                            primitives of the inner loops of the agent",
+            "  scaling                               scalability curves of the rational agent, over",
+            "                                        geometrically growing dimensions",
+            "  score                                 performance measure and solve time of the agents",
+            "                                        on a benchmark corpus",
+            "  baseline                              performance baseline of the rational agent on a",
+            "                                        benchmark corpus, written as CSV",
+            "  compare                               regression gate comparing the rational agent (or",
+            "                                        a stored candidate) against a stored baseline;",
+            "                                        exits with status 2 on a regression",
+            "Options:",
+            "  --format json|csv|text                output format (default: json; text for scaling",
+            "                                        and score; text is not available for search and",
+            "                                        primitives)",
+            "  --output <file>                       file to which the results are written",
+            "                                        (default: standard output)",
+            "  --warmup <n>                          number of warmup iterations (default: 3; for",
+            "                                        scaling, unmeasured passes per point: 1; for",
+            "                                        score, baseline, and compare, unmeasured passes",
+            "                                        over the corpus: 1)",
+            "  --iterations <n>                      number of measurement iterations (default: 5)",
+            "  --time <ms>                           duration of each iteration (default: 1000)",
+            "  --forks <n>                           number of forked virtual machines per",
+            "                                        configuration; 0 runs every configuration in",
+            "                                        this one (default: 1; for baseline and compare,",
+            "                                        per measurement of the corpus: 5)",
+            "  --seed <n>                            seed of the boards (default: 20240101; for score,",
+            "                                        of the nonrational agent; for compare, of the",
+            "                                        bootstrap resamples)",
+            "Scaling options (run in this virtual machine, whose heap bounds the curves):",
+            "  --boards <n>                          number of boards per point (default: 5)",
+            "  --start-dimension <n>                 dimension of the first point (default: 8)",
+            "  --max-dimension <n>                   largest dimension (default: 46340)",
+            "  --max-seconds <n>                     time budget of a point (default: 60)",
+            "Score options (also for baseline and compare):",
+            "  --corpus <directory>                  directory of the corpus (default: corpus/v1)",
+            "  --agents <rational|random,...>        agents to be scored (default: rational,random)",
+            "  --threads <n>                         number of worker threads (default: number of",
+            "                                        available processors; 1 for baseline and compare)",
+            "  --max-actions <n>                     maximum number of actions of each run of the",
+            "                                        nonrational agent (default: 100000)",
+            "  --repetitions <n>                     measured passes over the corpus in each fork, for",
+            "                                        baseline and compare (default: 3)",
+            "Compare options:",
+            "  --baseline <file>                     stored baseline (mandatory)",
+            "  --candidate <file>                    stored candidate (default: measured now)",
+            "  --resamples <n>                       number of bootstrap resamples (default: 10000)",
+            "  --confidence <p>                      confidence level of the intervals (default: 0.95)",
+            "  --tolerance <p>                       tolerated relative increase of the solve time and",
+            "                                        the allocated bytes (default: 0.05)",
+            "Board options:",
+            "  --dimensions <n,...>                  dimensions of the boards (default: 8,16,32,64,128",
+            "                                        for search; 64,1024,4096 for primitives;",
+            "                                        doubling from --start-dimension for scaling)",
+            "  --pit-densities <p,...>               pit densities (default: 0,0.05,0.15 for search;",
+            "                                        0.1 for primitives; 0,0.1 for scaling)",
+            "  --beacon-densities <p,...>            beacon densities (default: 0,0.02,0.1 for",
+            "                                        search; 0.05 for primitives; 0,0.05 for scaling)",
+            "  --gold <uniform|far|corner,...>       placements of the gold, for search and scaling",
+            "                                        (default: uniform,far,corner for search; far for",
+            "                                        scaling)",
+            "  --primitives <name,...>               primitives, for primitives (default: all of",
+            "                                        beaconScan, getNeighbors, hasUnvisitedNeighbors,",
+            "                                        isOutOfBounds, getNextTile, getNumRotateMemory,",
+            "                                        constructor)");
+
+    /**
+     * Empty constructor
+     */
+    public BenchmarkRunner() {
+
+    }
+
+    /**
+     * Runs the benchmark given as the first command-line argument, printing the result of each of
+     * its configurations
+     *
+     * @param args array of command-line arguments
+     */
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            exit(USAGE);
+        }
+
+        String format = null;
+        String output = null;
+        Integer numWarmups = null;
+        int numIterations = DEFAULT_ITERATIONS;
+        long iterationTime = DEFAULT_ITERATION_TIME;
+        Integer numForks = null;
+        long seed = DEFAULT_SEED;
+        String dimensions = null;
+        String pitDensities = null;
+        String beaconDensities = null;
+        String goldPlacements = null;
+        int numBoards = DEFAULT_SCALING_BOARDS;
+        int startDimension = 8;
+        int maxDimension = ScalabilityCurve.GENERATOR_MAX_DIMENSION;
+        long maxSeconds = DEFAULT_SCALING_SECONDS;
+        String primitives = String.join(",", PrimitivesBenchmark.PRIMITIVES);
+        String corpus = DEFAULT_CORPUS;
+        String agents = "rational,random";
+        Integer numThreads = null;
+        int maxActions = DEFAULT_MAX_ACTIONS;
+        int numRepetitions = DEFAULT_REPETITIONS;
+        String baseline = null;
+        String candidate = null;
+        int numResamples = DEFAULT_RESAMPLES;
+        double confidence = DEFAULT_CONFIDENCE;
+        double tolerance = DEFAULT_TOLERANCE;
+        int configuration = -1;
+        int forkNumber = 0;
+
+        /* The arguments passed on to the forked virtual machines (without the output file) */
+        ArrayList<String> forkArgs = new ArrayList<String>();
+        forkArgs.add(args[0]);
+
+        /* Parse the options. */
+        for (int i = 1; i < args.length; i++) {
+            if (i + 1 >= args.length) {
+                exit("Missing value after " + args[i]);
+            }
+
+            if (!args[i].equals("--output") && !args[i].equals("--forks")) {
+                forkArgs.add(args[i]);
+                forkArgs.add(args[i + 1]);
+            }
+
+            switch (args[i]) {
+                case "--format":
+                    format = args[++i];
+                    if (!format.equals("json") && !format.equals("csv") && !format.equals("text")) {
+                        exit("Unknown format: " + format);
+                    }
+                    break;
+                case "--output":
+                    output = args[++i];
+                    break;
+                case "--warmup":
+                    numWarmups = (int) parseNonnegative(args[++i], "warmup");
+                    break;
+                case "--iterations":
+                    numIterations = (int) Math.max(1, parseNonnegative(args[++i], "iterations"));
+                    break;
+                case "--time":
+                    iterationTime = Math.max(1, parseNonnegative(args[++i], "time"));
+                    break;
+                case "--forks":
+                    numForks = (int) parseNonnegative(args[++i], "forks");
+                    break;
+                case "--seed":
+                    seed = parseLong(args[++i], "seed");
+                    break;
+                case "--dimensions":
+                    dimensions = args[++i];
+                    break;
+                case "--pit-densities":
+                    pitDensities = args[++i];
+                    break;
+                case "--beacon-densities":
+                    beaconDensities = args[++i];
+                    break;
+                case "--gold":
+                    goldPlacements = args[++i];
+                    break;
+                case "--primitives":
+                    primitives = args[++i];
+                    break;
+                case "--boards":
+                    numBoards = (int) Math.max(1, parseNonnegative(args[++i], "boards"));
+                    break;
+                case "--start-dimension":
+                    startDimension = parseDimensions(args[++i])[0];
+                    break;
+                case "--max-dimension":
+                    maxDimension = parseDimensions(args[++i])[0];
+                    break;
+                case "--max-seconds":
+                    maxSeconds = parseNonnegative(args[++i], "max-seconds");
+                    break;
+                case "--corpus":
+                    corpus = args[++i];
+                    break;
+                case "--agents":
+                    agents = args[++i];
+                    break;
+                case "--threads":
+                    numThreads = (int) Math.max(1, parseNonnegative(args[++i], "threads"));
+                    break;
+                case "--max-actions":
+                    long actions = parseNonnegative(args[++i], "max-actions");
+
+                    /* The counters of the actions of the nonrational agent are ints. */
+                    if (actions > Integer.MAX_VALUE) {
+                        exit("The value of --max-actions must be at most " + Integer.MAX_VALUE);
+                    }
+                    maxActions = (int) actions;
+                    break;
+                case "--repetitions":
+                    numRepetitions = (int) Math.max(1, parseNonnegative(args[++i], "repetitions"));
+                    break;
+                case "--baseline":
+                    baseline = args[++i];
+                    break;
+                case "--candidate":
+                    candidate = args[++i];
+                    break;
+                case "--resamples":
+                    numResamples = (int) Math.max(1, parseNonnegative(args[++i], "resamples"));
+                    break;
+                case "--confidence":
+                    confidence = parseFraction(args[++i], "confidence");
+                    break;
+                case "--tolerance":
+                    tolerance = parseFraction(args[++i], "tolerance");
+                    break;
+                case "--configuration":
+                    /* Internal option of the forked virtual machines */
+                    configuration = (int) parseNonnegative(args[++i], "configuration");
+                    break;
+                case "--fork-number":
+                    /* Internal option of the forked virtual machines */
+                    forkNumber = (int) parseNonnegative(args[++i], "fork-number");
+                    break;
+                default:
+                    exit(USAGE);
+            }
+        }
+
+        /* The scalability curves are measured in this virtual machine, outside of the harness. */
+        if (args[0].equals("scaling")) {
+            ScalabilityCurve curve = new ScalabilityCurve(seed, dimensions == null ? null : parseDimensions(dimensions),
+                    startDimension, maxDimension, parseDensities(orElse(pitDensities, "0,0.1")),
+                    parseDensities(orElse(beaconDensities, "0,0.05")),
+                    parseGoldPlacements(orElse(goldPlacements, "far")), numBoards,
+                    numWarmups == null ? 1 : numWarmups, maxSeconds);
+            runScaling(curve, format == null ? "text" : format, output);
+            return;
+        }
+
+        /* The corpus is scored in this virtual machine too, on a pool of worker threads. */
+        if (args[0].equals("score")) {
+            List<String> agentNames = Arrays.asList(agents.split(","));
+            for (String agent : agentNames) {
+                if (!agent.equals("rational") && !agent.equals("random")) {
+                    exit("Unknown agent: " + agent);
+                }
+            }
+
+            CorpusScorer scorer = new CorpusScorer(numThreads == null ? Runtime.getRuntime().availableProcessors()
+                    : numThreads, agentNames.contains("rational"),
+                    agentNames.contains("random"), maxActions, seed, numWarmups == null ? 1 : numWarmups);
+            runScore(scorer, corpus, format == null ? "text" : format, output);
+            return;
+        }
+
+        /* The baselines are measured on a single worker thread by default, so the solve times are steadier. */
+        if (args[0].equals("baseline") || args[0].equals("compare")) {
+            int baselineThreads = numThreads == null ? 1 : numThreads;
+            int baselineWarmups = numWarmups == null ? 1 : numWarmups;
+
+            try {
+                /* A forked virtual machine measures the corpus once and prints the rows of its fork. */
+                if (configuration >= 0) {
+                    Baseline.measure(Corpus.load(Paths.get(corpus)), baselineThreads, baselineWarmups, numRepetitions)
+                            .write(System.out, true, forkNumber);
+                    return;
+                }
+
+                int baselineForks = numForks == null ? DEFAULT_BASELINE_FORKS : numForks;
+                if (args[0].equals("baseline")) {
+                    runBaseline(measure(forkArgs, baselineForks, corpus, baselineThreads, baselineWarmups,
+                            numRepetitions), output);
+                    return;
+                }
+
+                if (baseline == null) {
+                    exit("Missing --baseline <file>");
+                }
+
+                Baseline stored = Baseline.read(Paths.get(baseline));
+                Baseline measured = candidate != null ? Baseline.read(Paths.get(candidate))
+                        : measure(forkArgs, baselineForks, corpus, baselineThreads, baselineWarmups, numRepetitions);
+
+                RegressionGate gate = new RegressionGate(numResamples, confidence, tolerance, seed);
+                runCompare(gate.compare(stored, measured), format == null ? "json" : format, output);
+            } catch (IOException | IllegalArgumentException e) {
+                exit(e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                exit("Interrupted");
+            }
+            return;
+        }
+
+        if (format == null) {
+            format = "json";
+        } else if (format.equals("text")) {
+            exit("The text format is only available for scaling, score, and compare");
+        }
+
+        Benchmark benchmark = null;
+        switch (args[0]) {
+            case "search":
+                benchmark = new SearchBenchmark(seed, parseDimensions(orElse(dimensions, "8,16,32,64,128")),
+                        parseDensities(orElse(pitDensities, "0,0.05,0.15")),
+                        parseDensities(orElse(beaconDensities, "0,0.02,0.1")),
+                        parseGoldPlacements(orElse(goldPlacements, "uniform,far,corner")));
+                break;
+            case "primitives":
+                try {
+                    benchmark = new PrimitivesBenchmark(seed, primitives.split(","),
+                            parseDimensions(orElse(dimensions, "64,1024,4096")),
+                            parseDensities(orElse(pitDensities, "0.1")),
+                            parseDensities(orElse(beaconDensities, "0.05")));
+                } catch (IllegalArgumentException e) {
+                    exit(e.getMessage());
+                }
+                break;
+            default:
+                exit("Unknown benchmark: " + args[0] + "\n" + USAGE);
+        }
+
+        try {
+            Harness harness = new Harness(numWarmups == null ? DEFAULT_WARMUPS : numWarmups, numIterations,
+                    iterationTime);
+            if (numForks == null) {
+                numForks = DEFAULT_FORKS;
+            }
+
+            /* A forked virtual machine measures a single configuration and prints only its result. */
+            if (configuration >= 0) {
+                BenchmarkResult result = harness.run(benchmark, configuration, forkNumber);
+                System.out.println(format.equals("csv") ? result.toCsv() : result.toJson());
+                return;
+            }
+
+            PrintStream out = System.out;
+            if (output != null) {
+                out = new PrintStream(new BufferedOutputStream(new FileOutputStream(output)));
+            }
+
+            if (format.equals("csv")) {
+                out.println(BenchmarkResult.CSV_HEADER);
+            }
+
+            for (int i = 0; i < benchmark.getNumConfigurations(); i++) {
+                if (numForks == 0) {
+                    BenchmarkResult result = harness.run(benchmark, i, 0);
+                    out.println(format.equals("csv") ? result.toCsv() : result.toJson());
+                }
+
+                for (int fork = 1; fork <= numForks; fork++) {
+                    runFork(forkArgs, i, fork, out);
+                }
+
+                out.flush();
+            }
+
+            out.close();
+        } catch (IOException e) {
+            exit(e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exit("Interrupted");
+        }
+    }
+
+    /**
+     * Measures the given scalability curves and writes their report
+     *
+     * <p>The progress is printed to the standard error stream as each point is measured.</p>
+     *
+     * @param curve driver of the scalability curves
+     * @param format output format (<code>text</code>, <code>json</code>, or <code>csv</code>)
+     * @param output file to which the report is written; <code>null</code> for the standard output
+     */
+    private static void runScaling(ScalabilityCurve curve, String format, String output) {
+        try {
+            ScalingReport report = curve.run(System.err);
+
+            PrintStream out = System.out;
+            if (output != null) {
+                out = new PrintStream(new BufferedOutputStream(new FileOutputStream(output)));
+            }
+
+            if (format.equals("csv")) {
+                out.println(ScalingReport.CSV_HEADER);
+                out.print(report.toCsv());
+            } else if (format.equals("json")) {
+                out.println(report.toJson());
+            } else {
+                out.print(report.toText());
+            }
+
+            out.close();
+        } catch (IOException e) {
+            exit(e.getMessage());
+        }
+    }
+
+    /**
+     * Scores the agents on the corpus in the given directory and writes their score
+     *
+     * @param scorer scorer that runs the agents
+     * @param corpus directory of the corpus
+     * @param format output format (<code>text</code>, <code>json</code>, or <code>csv</code>)
+     * @param output file to which the score is written; <code>null</code> for the standard output
+     */
+    private static void runScore(CorpusScorer scorer, String corpus, String format, String output) {
+        try {
+            CorpusScore score = scorer.score(Corpus.load(Paths.get(corpus)));
+
+            PrintStream out = System.out;
+            if (output != null) {
+                out = new PrintStream(new BufferedOutputStream(new FileOutputStream(output)));
+            }
+
+            if (format.equals("csv")) {
+                out.println(CorpusScore.CSV_HEADER);
+                out.print(score.toCsv());
+            } else if (format.equals("json")) {
+                out.println(score.toJson());
+            } else {
+                out.print(score.toText());
+            }
+
+            out.close();
+        } catch (IOException e) {
+            exit(e.getMessage());
+        }
+    }
+
+    /**
+     * Measures the performance baseline of the rational agent on the corpus in the given directory, in
+     * the given number of forked virtual machines (started with the same options as this one), one after
+     * the other
+     *
+     * @param forkArgs command-line arguments of this runner (without the output file and the number
+     *                 of forks)
+     * @param numForks number of forked virtual machines; 0 measures the corpus once in this one
+     * @param corpus directory of the corpus
+     * @param numThreads number of worker threads
+     * @param numWarmups number of unmeasured passes over the corpus in each fork
+     * @param numRepetitions number of measured passes over the corpus in each fork
+     * @return baseline consisting of the measurements of every fork
+     * @throws IOException if the corpus cannot be loaded, or a forked virtual machine cannot be started
+     *                     or fails
+     * @throws InterruptedException if interrupted while waiting for a forked virtual machine
+     */
+    private static Baseline measure(List<String> forkArgs, int numForks, String corpus, int numThreads,
+                                    int numWarmups, int numRepetitions) throws IOException, InterruptedException {
+        if (numForks == 0) {
+            return Baseline.measure(Corpus.load(Paths.get(corpus)), numThreads, numWarmups, numRepetitions);
+        }
+
+        ArrayList<Baseline> forks = new ArrayList<Baseline>();
+        for (int fork = 1; fork <= numForks; fork++) {
+            ByteArrayOutputStream rows = new ByteArrayOutputStream();
+            PrintStream out = new PrintStream(rows, false, StandardCharsets.UTF_8);
+            runFork(forkArgs, 0, fork, out);
+            out.flush();
+
+            forks.add(Baseline.read(new StringReader(rows.toString(StandardCharsets.UTF_8)), "fork " + fork));
+        }
+
+        return Baseline.merge(forks);
+    }
+
+    /**
+     * Writes the given performance baseline as CSV rows
+     *
+     * @param baseline performance baseline
+     * @param output file to which the baseline is written; <code>null</code> for the standard output
+     * @throws IOException if the file cannot be created
+     */
+    private static void runBaseline(Baseline baseline, String output) throws IOException {
+        PrintStream out = System.out;
+        if (output != null) {
+            out = new PrintStream(new BufferedOutputStream(new FileOutputStream(output)));
+        }
+
+        baseline.write(out, true, 1);
+        out.close();
+    }
+
+    /**
+     * Writes the given report of the regression gate, and exits with the status 2 if the gate fails
+     *
+     * @param report report of the regression gate
+     * @param format output format (<code>text</code>, <code>json</code>, or <code>csv</code>)
+     * @param output file to which the report is written; <code>null</code> for the standard output
+     * @throws IOException if the file cannot be created
+     */
+    private static void runCompare(RegressionReport report, String format, String output) throws IOException {
+        PrintStream out = System.out;
+        if (output != null) {
+            out = new PrintStream(new BufferedOutputStream(new FileOutputStream(output)));
+        }
+
+        if (format.equals("csv")) {
+            out.println(RegressionReport.CSV_HEADER);
+            out.print(report.toCsv());
+        } else if (format.equals("json")) {
+            out.println(report.toJson());
+        } else {
+            out.print(report.toText());
+        }
+        out.close();
+
+        /* A distinct status tells a regression apart from a malformed input. */
+        if (report.isRegressed()) {
+            System.exit(2);
+        }
+    }
+
+    /**
+     * Measures the given configuration in a forked virtual machine, started with the same options
+     * and class path as this one, and copies its result to the given stream
+     *
+     * @param forkArgs command-line arguments of this runner (without the output file and the number
+     *                 of forks)
+     * @param configuration number of the configuration (from 0)
+     * @param fork number of the fork (from 1)
+     * @param out stream to which the result is copied
+     * @throws IOException if the forked virtual machine cannot be started or fails
+     * @throws InterruptedException if interrupted while waiting for the forked virtual machine
+     */
+    private static void runFork(List<String> forkArgs, int configuration, int fork, PrintStream out)
+            throws IOException, InterruptedException {
+        ArrayList<String> command = new ArrayList<String>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments());
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(BenchmarkRunner.class.getName());
+        command.addAll(forkArgs);
+        command.add("--configuration");
+        command.add(String.valueOf(configuration));
+        command.add("--fork-number");
+        command.add(String.valueOf(fork));
+
+        Process process = new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.INHERIT).start();
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(process.getInputStream(),
+                StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                out.println(line);
+            }
+        }
+
+        if (process.waitFor() != 0) {
+            throw new IOException("The fork " + fork + " of configuration " + configuration + " failed");
+        }
+    }
+
+    /**
+     * Returns the given value of an option, or the given default if the option was not given
+     *
+     * @param value value of the option (<code>null</code> if the option was not given)
+     * @param defaultValue default value of the option for the chosen benchmark
+     * @return given value of the option, or the default value if the option was not given
+     */
+    private static String orElse(String value, String defaultValue) {
+        return value == null ? defaultValue : value;
+    }
+
+    /**
+     * Returns the dimensions given as the value of <code>--dimensions</code>
+     *
+     * @param value dimensions separated by commas
+     * @return dimensions given as the value of the option
+     */
+    static int[] parseDimensions(String value) {
+        String[] fields = value.split(",");
+        int[] dimensions = new int[fields.length];
+
+        for (int i = 0; i < fields.length; i++) {
+            long dimension = parseNonnegative(fields[i].trim(), "dimensions");
+            if (dimension < 2 || dimension > Integer.MAX_VALUE) {
+                exit("The dimensions must be at least 2");
+            }
+
+            dimensions[i] = (int) dimension;
+        }
+
+        return dimensions;
+    }
+
+    /**
+     * Returns the probabilities given as the value of an option
+     *
+     * @param value probabilities separated by commas
+     * @return probabilities given as the value of the option
+     */
+    static double[] parseDensities(String value) {
+        String[] fields = value.split(",");
+        double[] densities = new double[fields.length];
+
+        for (int i = 0; i < fields.length; i++) {
+            try {
+                densities[i] = Double.parseDouble(fields[i].trim());
+            } catch (NumberFormatException e) {
+                densities[i] = -1;
+            }
+
+            /* Negated comparisons also reject NaN. */
+            if (!(densities[i] >= 0 && densities[i] <= 1)) {
+                exit("The densities must be numbers from 0 to 1");
+            }
+        }
+
+        return densities;
+    }
+
+    /**
+     * Returns the character codes of the gold placement policies given as the value of
+     * <code>--gold</code>
+     *
+     * @param value names of the policies (<code>uniform</code>, <code>far</code>, or <code>corner</code>)
+     *              separated by commas
+     * @return character codes of the given gold placement policies
+     */
+    static char[] parseGoldPlacements(String value) {
+        String[] fields = value.split(",");
+        char[] placements = new char[fields.length];
+
+        for (int i = 0; i < fields.length; i++) {
+            switch (fields[i].trim()) {
+                case "uniform":
+                    placements[i] = BoardGenerator.GOLD_UNIFORM;
+                    break;
+                case "far":
+                    placements[i] = BoardGenerator.GOLD_FAR;
+                    break;
+                case "corner":
+                    placements[i] = BoardGenerator.GOLD_CORNER;
+                    break;
+                default:
+                    exit("Unknown gold placement: " + fields[i].trim());
+            }
+        }
+
+        return placements;
+    }
+
+    /**
+     * Returns the number from 0 to 1 given as the value of an option
+     *
+     * @param value value of the option
+     * @param option name of the option (for the error message)
+     * @return number from 0 to 1 given as the value of the option
+     */
+    static double parseFraction(String value, String option) {
+        double fraction;
+        try {
+            fraction = Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            fraction = -1;
+        }
+
+        /* Negated comparisons also reject NaN. */
+        if (!(fraction >= 0 && fraction <= 1)) {
+            exit("The value of --" + option + " must be a number from 0 to 1");
+        }
+
+        return fraction;
+    }
+
+    /**
+     * Returns the nonnegative integer given as the value of an option
+     *
+     * @param value value of the option
+     * @param option name of the option (for the error message)
+     * @return nonnegative integer given as the value of the option
+     */
+    static long parseNonnegative(String value, String option) {
+        long n = parseLong(value, option);
+        if (n < 0) {
+            exit("The value of --" + option + " must be a nonnegative integer");
+        }
+
+        return n;
+    }
+
+    /**
+     * Returns the integer given as the value of an option
+     *
+     * @param value value of the option
+     * @param option name of the option (for the error message)
+     * @return integer given as the value of the option
+     */
+    static long parseLong(String value, String option) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            exit("The value of --" + option + " must be an integer");
+        }
+
+        /* Unreachable code since the system exits */
+        return 0;
+    }
+
+    /**
+     * Prints the given message to the standard error stream and terminates the system
+     *
+     * @param message message describing the malformed input
+     */
+    static void exit(String message) {
+        System.err.println(message);
+        System.exit(1);
+    }
+}
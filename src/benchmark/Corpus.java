@@ -0,0 +1,267 @@
+package benchmark;
+
+import gold_miner.BoardDefinition;
+import headless.BatchRunner;
+import headless.BinaryBoardReader;
+import headless.BoardGenerator;
+import headless.BoardSource;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Class implementing a <b>versioned benchmark corpus</b>, that is, a fixed set of boards on which the
+ * agents are scored, split into groups
+ *
+ * <p>A corpus is a directory named after its version (such as <code>corpus/v1</code>). Each regular
+ * file in the directory is a file of boards, in the text or binary format (see
+ * <code>BoardReader</code> and <code>BinaryBoardReader</code>), whose boards form a group named after
+ * the file; the exception is the file <code>FAMILIES_FILE</code>, which describes families of seeded
+ * random boards, one per line:</p>
+ * <pre>
+ * family &lt;name&gt; &lt;count&gt; &lt;dimension&gt; &lt;pit density&gt; &lt;beacon density&gt; &lt;uniform|far|corner&gt; &lt;seed&gt;
+ * </pre>
+ * <p>The boards of a family are drawn by a <code>BoardGenerator</code> that rejects the unsolvable
+ * boards, so they are fully determined by the line, and form a group named after the family. Blank
+ * lines and lines starting with <code>#</code> are ignored.</p>
+ *
+ * <p>The boards of a released version must never change, so that the scores on a version remain
+ * comparable across commits; a change to the boards makes a new version instead. Unnamed boards are
+ * named after their group and their one-based position in it.</p>
+ */
+public class Corpus {
+    /* Version of the corpus (the name of its directory) */
+    private final String version;
+    /* Boards of the corpus, in the order in which they were loaded */
+    private final List<BoardDefinition> boards;
+    /* Group of each board */
+    private final List<String> groups;
+
+    /**
+     * Name of the file describing the families of seeded random boards of a corpus
+     */
+    public static final String FAMILIES_FILE = "families.txt";
+
+    /**
+     * Creates a corpus with the given version and boards
+     *
+     * @param version version of the corpus
+     * @param boards boards of the corpus
+     * @param groups group of each board
+     */
+    public Corpus(String version, List<BoardDefinition> boards, List<String> groups) {
+        this.version = version;
+        this.boards = boards;
+        this.groups = groups;
+    }
+
+    /**
+     * Loads the corpus in the given directory: the boards of its files (sorted by name), followed by the
+     * boards of its families (in the order of the lines)
+     *
+     * @param directory directory of the corpus
+     * @return corpus in the given directory
+     * @throws IOException if the directory or a file cannot be read, or a board or a family is malformed
+     */
+    public static Corpus load(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            throw new IOException("Not a corpus directory: " + directory);
+        }
+
+        ArrayList<BoardDefinition> boards = new ArrayList<BoardDefinition>();
+        ArrayList<String> groups = new ArrayList<String>();
+
+        Path families = null;
+        for (Path file : BatchRunner.listFiles(directory)) {
+            if (file.getFileName().toString().equals(FAMILIES_FILE)) {
+                families = file;
+                continue;
+            }
+
+            String group = file.getFileName().toString();
+            int dot = group.lastIndexOf('.');
+            group = dot > 0 ? group.substring(0, dot) : group;
+
+            try (FileChannel in = FileChannel.open(file)) {
+                addAll(BinaryBoardReader.open(file, in), group, boards, groups);
+            }
+        }
+
+        if (families != null) {
+            loadFamilies(families, boards, groups);
+        }
+
+        if (boards.isEmpty()) {
+            throw new IOException("No boards in the corpus: " + directory);
+        }
+
+        Path name = directory.toAbsolutePath().normalize().getFileName();
+        return new Corpus(name == null ? "" : name.toString(), Collections.unmodifiableList(boards),
+                Collections.unmodifiableList(groups));
+    }
+
+    /**
+     * Returns the version of this corpus
+     *
+     * @return version of this corpus
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the number of boards of this corpus
+     *
+     * @return number of boards of this corpus
+     */
+    public int getNumBoards() {
+        return boards.size();
+    }
+
+    /**
+     * Returns the given board of this corpus
+     *
+     * @param index index of the board (from 0)
+     * @return definition of the given board
+     */
+    public BoardDefinition getBoard(int index) {
+        return boards.get(index);
+    }
+
+    /**
+     * Returns the group of the given board of this corpus
+     *
+     * @param index index of the board (from 0)
+     * @return group of the given board
+     */
+    public String getGroup(int index) {
+        return groups.get(index);
+    }
+
+    /**
+     * Returns the groups of this corpus, in the order in which their first boards were loaded
+     *
+     * @return groups of this corpus
+     */
+    public List<String> getGroups() {
+        ArrayList<String> distinct = new ArrayList<String>();
+        for (String group : groups) {
+            if (!distinct.contains(group)) {
+                distinct.add(group);
+            }
+        }
+
+        return distinct;
+    }
+
+    /**
+     * Adds the boards of the given family manifest to the given lists
+     *
+     * @param file file describing the families
+     * @param boards list to which the boards are added
+     * @param groups list to which the group of each board is added
+     * @throws IOException if the file cannot be read, a family is malformed, or no solvable board can be
+     *                     drawn for a family
+     */
+    private static void loadFamilies(Path file, List<BoardDefinition> boards, List<String> groups)
+            throws IOException {
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+
+            while ((line = in.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+
+                String[] fields = line.split("\\s+");
+                if (fields.length != 8 || !fields[0].equals("family")) {
+                    throw new IOException(file.getFileName() + ":" + lineNumber + ": expected family <name> "
+                            + "<count> <dimension> <pit density> <beacon density> <gold placement> <seed>");
+                }
+
+                BoardGenerator generator;
+                try {
+                    long count = Long.parseLong(fields[2]);
+                    int dimension = Integer.parseInt(fields[3]);
+                    double pitDensity = Double.parseDouble(fields[4]);
+                    double beaconDensity = Double.parseDouble(fields[5]);
+                    long seed = Long.parseLong(fields[7]);
+
+                    /* Negated comparisons also reject NaN. */
+                    if (count < 1 || dimension < 2 || !(pitDensity >= 0 && pitDensity <= 1)
+                            || !(beaconDensity >= 0 && beaconDensity <= 1)) {
+                        throw new NumberFormatException();
+                    }
+
+                    generator = new BoardGenerator(seed, count, dimension, pitDensity, beaconDensity,
+                            parseGoldPlacement(fields[6]), BoardGenerator.REJECT);
+                } catch (IllegalArgumentException e) {
+                    throw new IOException(file.getFileName() + ":" + lineNumber + ": malformed family "
+                            + fields[1]);
+                }
+
+                addAll(generator, fields[1], boards, groups);
+            }
+        }
+    }
+
+    /**
+     * Adds every board of the given source to the given lists, naming the unnamed boards after the group
+     * and their one-based position in it
+     *
+     * @param source source of the boards
+     * @param group group of the boards
+     * @param boards list to which the boards are added
+     * @param groups list to which the group of each board is added
+     * @throws IOException if the boards cannot be read or a board is malformed
+     */
+    private static void addAll(BoardSource source, String group, List<BoardDefinition> boards,
+                               List<String> groups) throws IOException {
+        int index = 0;
+
+        BoardDefinition definition;
+        while ((definition = source.next()) != null) {
+            index++;
+
+            /* The boards drawn by a generator are named after its seed, which is less telling. */
+            if (definition.getName().isEmpty() || source instanceof BoardGenerator) {
+                definition = new BoardDefinition(group + "#" + index, definition.getDimension(),
+                        definition.getRGold(), definition.getCGold(), definition.getRBeacon(),
+                        definition.getCBeacon(), definition.getRPit(), definition.getCPit());
+            }
+
+            boards.add(definition);
+            groups.add(group);
+        }
+    }
+
+    /**
+     * Returns the character code of the gold placement policy with the given name
+     *
+     * @param name name of the policy (<code>uniform</code>, <code>far</code>, or <code>corner</code>)
+     * @return character code of the policy
+     * @throws IllegalArgumentException if the policy is unknown
+     */
+    private static char parseGoldPlacement(String name) {
+        switch (name) {
+            case "uniform":
+                return BoardGenerator.GOLD_UNIFORM;
+            case "far":
+                return BoardGenerator.GOLD_FAR;
+            case "corner":
+                return BoardGenerator.GOLD_CORNER;
+            default:
+                throw new IllegalArgumentException("Unknown gold placement: " + name);
+        }
+    }
+}
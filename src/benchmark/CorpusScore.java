@@ -0,0 +1,391 @@
+package benchmark;
+
+import headless.SolverResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Class implementing the <b>score of the agents on a benchmark corpus</b>, that is, the performance
+ * measure of each agent (the number of moves, rotations, scans, and backtracks to the gold square tile)
+ * and the compute cost of its runs, over each group of the corpus and over the whole corpus
+ *
+ * <p>For each agent and group, the score consists of the success rate (the share of the boards on which
+ * the agent found the gold), the mean, median, 95th percentile, and maximum of the total number of
+ * actions and the mean of each kind of action, over the runs that found the gold (a failed run of the
+ * nonrational agent ends on a pit or on the maximum number of actions, either of which would distort
+ * the measure), and the mean, median, 95th percentile, and maximum of the solve time and the mean of
+ * the allocated bytes, over all the runs. The percentiles follow the nearest-rank method, so the median
+ * of an even number of runs is the lower of the two middle values.</p>
+ *
+ * <p>The score can be written as text (with a table per agent), as a JSON object (on a single line), or
+ * as CSV rows (one per agent and group).</p>
+ */
+public class CorpusScore {
+    /* Corpus on which the agents were run */
+    private final Corpus corpus;
+    /* Metrics of the run of the rational agent on each board (null if it was not run) */
+    private final SolverResult[] rational;
+    /* Metrics of the run of the nonrational agent on each board (null if it was not run) */
+    private final SolverResult[] random;
+
+    /**
+     * Name of the group consisting of the whole corpus
+     */
+    public static final String ALL = "all";
+
+    /**
+     * Header of the CSV rows returned by <code>toCsv</code>
+     */
+    public static final String CSV_HEADER = "corpus,group,agent,boards,success_rate,mean_actions,median_actions,"
+            + "p95_actions,max_actions,mean_moves,mean_scans,mean_rotations,mean_backtracks,mean_time_ns,"
+            + "median_time_ns,p95_time_ns,max_time_ns,mean_allocated_bytes";
+
+    /**
+     * Creates the score of the agents on the given corpus
+     *
+     * @param corpus corpus on which the agents were run
+     * @param rational metrics of the run of the rational agent on each board (<code>null</code> if it
+     *                 was not run)
+     * @param random metrics of the run of the nonrational agent on each board (<code>null</code> if it
+     *               was not run)
+     */
+    public CorpusScore(Corpus corpus, SolverResult[] rational, SolverResult[] random) {
+        this.corpus = corpus;
+        this.rational = rational;
+        this.random = random;
+    }
+
+    /**
+     * Returns the corpus on which the agents were run
+     *
+     * @return corpus on which the agents were run
+     */
+    public Corpus getCorpus() {
+        return corpus;
+    }
+
+    /**
+     * Returns the metrics of the run of the rational agent on each board, in the order of the boards
+     * of the corpus
+     *
+     * @return metrics of the runs of the rational agent; <code>null</code> if it was not run
+     */
+    public SolverResult[] getRationalResults() {
+        return rational;
+    }
+
+    /**
+     * Returns the metrics of the run of the nonrational agent on each board, in the order of the boards
+     * of the corpus
+     *
+     * @return metrics of the runs of the nonrational agent; <code>null</code> if it was not run
+     */
+    public SolverResult[] getRandomResults() {
+        return random;
+    }
+
+    /**
+     * Returns the score as text, with a table per agent and a row per group
+     *
+     * @return score as text
+     */
+    public String toText() {
+        StringBuilder text = new StringBuilder();
+        text.append("# Scores on corpus ").append(corpus.getVersion()).append(" (")
+                .append(corpus.getNumBoards()).append(" boards)\n\n");
+        text.append("Actions are over the runs that found the gold; times (in microseconds) and allocations ")
+                .append("are over all the runs.\n");
+
+        for (String agent : getAgents()) {
+            text.append("\n## ").append(agent).append("\n\n");
+            text.append("| group | boards | success | mean actions | median | p95 | max | moves | scans "
+                    + "| rotations | backtracks | mean time | median | p95 | max | allocated (B) |\n");
+            text.append("|---|---:|---:|---:|---:|---:|---:|---:|---:|---:|---:|---:|---:|---:|---:|---:|\n");
+
+            for (Summary summary : summarize(agent)) {
+                text.append("| ").append(summary.group)
+                        .append(" | ").append(summary.numBoards)
+                        .append(" | ").append(format(summary.successRate * 100, 1)).append('%')
+                        .append(" | ").append(format(summary.meanActions, 1))
+                        .append(" | ").append(format(summary.medianActions, 0))
+                        .append(" | ").append(format(summary.p95Actions, 0))
+                        .append(" | ").append(format(summary.maxActions, 0))
+                        .append(" | ").append(format(summary.meanMoves, 1))
+                        .append(" | ").append(format(summary.meanScans, 1))
+                        .append(" | ").append(format(summary.meanRotations, 1))
+                        .append(" | ").append(format(summary.meanBacktracks, 1))
+                        .append(" | ").append(format(summary.meanTime / 1000, 1))
+                        .append(" | ").append(format(summary.medianTime / 1000.0, 1))
+                        .append(" | ").append(format(summary.p95Time / 1000.0, 1))
+                        .append(" | ").append(format(summary.maxTime / 1000.0, 1))
+                        .append(" | ").append(format(summary.meanAllocatedBytes, 0)).append(" |\n");
+            }
+        }
+
+        return text.toString();
+    }
+
+    /**
+     * Returns the score as a JSON object (on a single line), with the summary of each agent and group
+     *
+     * @return score as a JSON object
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder("{\"corpus\":\"")
+                .append(SolverResult.escapeJson(corpus.getVersion())).append("\",\"boards\":")
+                .append(corpus.getNumBoards()).append(",\"agents\":{");
+
+        List<String> agents = getAgents();
+        for (int a = 0; a < agents.size(); a++) {
+            json.append(a == 0 ? "" : ",").append('"').append(agents.get(a)).append("\":[");
+
+            List<Summary> summaries = summarize(agents.get(a));
+            for (int i = 0; i < summaries.size(); i++) {
+                Summary summary = summaries.get(i);
+                json.append(i == 0 ? "" : ",")
+                        .append("{\"group\":\"").append(SolverResult.escapeJson(summary.group)).append('"')
+                        .append(",\"boards\":").append(summary.numBoards)
+                        .append(",\"success_rate\":").append(format(summary.successRate, 4))
+                        .append(",\"mean_actions\":").append(toJsonNumber(summary.meanActions, 3))
+                        .append(",\"median_actions\":").append(toJsonNumber(summary.medianActions, 0))
+                        .append(",\"p95_actions\":").append(toJsonNumber(summary.p95Actions, 0))
+                        .append(",\"max_actions\":").append(toJsonNumber(summary.maxActions, 0))
+                        .append(",\"mean_moves\":").append(toJsonNumber(summary.meanMoves, 3))
+                        .append(",\"mean_scans\":").append(toJsonNumber(summary.meanScans, 3))
+                        .append(",\"mean_rotations\":").append(toJsonNumber(summary.meanRotations, 3))
+                        .append(",\"mean_backtracks\":").append(toJsonNumber(summary.meanBacktracks, 3))
+                        .append(",\"mean_time_ns\":").append(format(summary.meanTime, 0))
+                        .append(",\"median_time_ns\":").append(summary.medianTime)
+                        .append(",\"p95_time_ns\":").append(summary.p95Time)
+                        .append(",\"max_time_ns\":").append(summary.maxTime)
+                        .append(",\"mean_allocated_bytes\":").append(format(summary.meanAllocatedBytes, 0))
+                        .append("}");
+            }
+            json.append("]");
+        }
+
+        return json.append("}}").toString();
+    }
+
+    /**
+     * Returns the summary of every agent and group as CSV rows (one per line, without the header), in
+     * the order of the columns of <code>CSV_HEADER</code>
+     *
+     * @return summary of every agent and group as CSV rows
+     */
+    public String toCsv() {
+        StringBuilder csv = new StringBuilder();
+
+        for (String agent : getAgents()) {
+            for (Summary summary : summarize(agent)) {
+                csv.append(SolverResult.escapeCsv(corpus.getVersion()))
+                        .append(',').append(SolverResult.escapeCsv(summary.group))
+                        .append(',').append(agent)
+                        .append(',').append(summary.numBoards)
+                        .append(',').append(format(summary.successRate, 4))
+                        .append(',').append(toCsvNumber(summary.meanActions, 3))
+                        .append(',').append(toCsvNumber(summary.medianActions, 0))
+                        .append(',').append(toCsvNumber(summary.p95Actions, 0))
+                        .append(',').append(toCsvNumber(summary.maxActions, 0))
+                        .append(',').append(toCsvNumber(summary.meanMoves, 3))
+                        .append(',').append(toCsvNumber(summary.meanScans, 3))
+                        .append(',').append(toCsvNumber(summary.meanRotations, 3))
+                        .append(',').append(toCsvNumber(summary.meanBacktracks, 3))
+                        .append(',').append(format(summary.meanTime, 0))
+                        .append(',').append(summary.medianTime)
+                        .append(',').append(summary.p95Time)
+                        .append(',').append(summary.maxTime)
+                        .append(',').append(format(summary.meanAllocatedBytes, 0))
+                        .append('\n');
+            }
+        }
+
+        return csv.toString();
+    }
+
+    /**
+     * Returns the value at the given percentile of the given values, by the nearest-rank method
+     *
+     * @param sorted values in increasing order
+     * @param percentile percentile (from 0 to 1)
+     * @return value at the given percentile; 0 if there are no values
+     */
+    public static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+
+        int rank = (int) Math.ceil(percentile * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    /**
+     * Returns the names of the agents that were run
+     *
+     * @return names of the agents that were run
+     */
+    private List<String> getAgents() {
+        ArrayList<String> agents = new ArrayList<String>();
+        if (rational != null) {
+            agents.add("rational");
+        }
+        if (random != null) {
+            agents.add("random");
+        }
+
+        return agents;
+    }
+
+    /**
+     * Returns the summaries of the given agent over each group of the corpus, followed by its summary
+     * over the whole corpus
+     *
+     * @param agent name of the agent
+     * @return summaries of the given agent
+     */
+    private List<Summary> summarize(String agent) {
+        SolverResult[] results = agent.equals("rational") ? rational : random;
+
+        ArrayList<Summary> summaries = new ArrayList<Summary>();
+        for (String group : corpus.getGroups()) {
+            summaries.add(new Summary(group, results));
+        }
+        summaries.add(new Summary(ALL, results));
+
+        return summaries;
+    }
+
+    /**
+     * Returns the given number with the given number of decimal places (<code>-</code> if it is
+     * <code>NaN</code>)
+     *
+     * @param value number to be written
+     * @param decimals number of decimal places
+     * @return given number with the given number of decimal places
+     */
+    private static String format(double value, int decimals) {
+        if (Double.isNaN(value)) {
+            return "-";
+        }
+
+        return String.format(Locale.ROOT, "%." + decimals + "f", value);
+    }
+
+    /**
+     * Returns the given number as a JSON number with the given number of decimal places
+     * (<code>null</code> if it is <code>NaN</code>)
+     *
+     * @param value number to be written
+     * @param decimals number of decimal places
+     * @return given number as a JSON number
+     */
+    private static String toJsonNumber(double value, int decimals) {
+        return Double.isNaN(value) ? "null" : format(value, decimals);
+    }
+
+    /**
+     * Returns the given number as a CSV field with the given number of decimal places (empty if it is
+     * <code>NaN</code>)
+     *
+     * @param value number to be written
+     * @param decimals number of decimal places
+     * @return given number as a CSV field
+     */
+    private static String toCsvNumber(double value, int decimals) {
+        return Double.isNaN(value) ? "" : format(value, decimals);
+    }
+
+    /**
+     * Class implementing the summary of the runs of an agent on a group of the corpus
+     */
+    private class Summary {
+        /* Name of the group */
+        private final String group;
+        /* Number of boards of the group */
+        private final int numBoards;
+        /* Share of the boards on which the agent found the gold */
+        private final double successRate;
+        /* Mean, median, 95th percentile, and maximum of the total number of actions of the successful runs
+           (NaN if there are none) */
+        private final double meanActions;
+        private final double medianActions;
+        private final double p95Actions;
+        private final double maxActions;
+        /* Mean number of each kind of action of the successful runs (NaN if there are none) */
+        private final double meanMoves;
+        private final double meanScans;
+        private final double meanRotations;
+        private final double meanBacktracks;
+        /* Mean, median, 95th percentile, and maximum of the solve time of all the runs, in nanoseconds */
+        private final double meanTime;
+        private final long medianTime;
+        private final long p95Time;
+        private final long maxTime;
+        /* Mean number of bytes allocated by a run (-1 if they cannot be measured) */
+        private final double meanAllocatedBytes;
+
+        /**
+         * Creates the summary of the given runs on the boards of the given group
+         *
+         * @param group name of the group (<code>ALL</code> for the whole corpus)
+         * @param results metrics of the run on each board of the corpus
+         */
+        private Summary(String group, SolverResult[] results) {
+            this.group = group;
+
+            long[] actions = new long[results.length];
+            long[] times = new long[results.length];
+            long moves = 0;
+            long scans = 0;
+            long rotations = 0;
+            long backtracks = 0;
+            long allocated = 0;
+            int numRuns = 0;
+            int numSolved = 0;
+
+            for (int i = 0; i < results.length; i++) {
+                if (!group.equals(ALL) && !corpus.getGroup(i).equals(group)) {
+                    continue;
+                }
+
+                SolverResult result = results[i];
+                times[numRuns++] = result.getWallTime();
+                allocated = allocated < 0 || result.getAllocatedBytes() < 0 ? -1 : allocated + result.getAllocatedBytes();
+
+                if (result.isGoldFound()) {
+                    actions[numSolved++] = result.getTotalActions();
+                    moves += result.getNumMoves();
+                    scans += result.getNumScans();
+                    rotations += result.getNumRotations();
+                    backtracks += result.getNumBacktracks();
+                }
+            }
+
+            actions = Arrays.copyOf(actions, numSolved);
+            times = Arrays.copyOf(times, numRuns);
+            Arrays.sort(actions);
+            Arrays.sort(times);
+
+            numBoards = numRuns;
+            successRate = numRuns == 0 ? 0 : (double) numSolved / numRuns;
+
+            meanActions = (double) Arrays.stream(actions).sum() / numSolved;
+            medianActions = numSolved == 0 ? Double.NaN : percentile(actions, 0.5);
+            p95Actions = numSolved == 0 ? Double.NaN : percentile(actions, 0.95);
+            maxActions = numSolved == 0 ? Double.NaN : percentile(actions, 1);
+            meanMoves = (double) moves / numSolved;
+            meanScans = (double) scans / numSolved;
+            meanRotations = (double) rotations / numSolved;
+            meanBacktracks = (double) backtracks / numSolved;
+
+            meanTime = (double) Arrays.stream(times).sum() / numRuns;
+            medianTime = percentile(times, 0.5);
+            p95Time = percentile(times, 0.95);
+            maxTime = percentile(times, 1);
+            meanAllocatedBytes = allocated < 0 ? -1 : (double) allocated / numRuns;
+        }
+    }
+}
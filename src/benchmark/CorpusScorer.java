@@ -0,0 +1,140 @@
+package benchmark;
+
+import gold_miner.Board;
+import gold_miner.BoardDefinition;
+import gold_miner.Miner;
+import headless.ExplorationPool;
+import headless.Solver;
+import headless.SolverResult;
+
+import java.util.SplittableRandom;
+
+/**
+ * Class implementing the <b>scorer</b> that runs the rational agent and the nonrational agent on every
+ * board of a corpus in parallel, and collects the metrics of the runs into a <code>CorpusScore</code>
+ *
+ * <p>The boards are run on an <code>ExplorationPool</code>, whose worker threads each own an exploration
+ * state that is reset for every board (as in <code>BatchRunner</code>). The metrics of each
+ * run are kept at the position of its board, so the score does not depend on the scheduling. The run of
+ * the nonrational agent on each board draws its decisions from its own stream, split from the seed in
+ * the order of the boards; hence, its counters do not depend on the number of worker threads either.</p>
+ *
+ * <p>Since the solve times of the first boards would otherwise include the compilation of the agents,
+ * the corpus is first run the given number of times without being measured.</p>
+ */
+public class CorpusScorer {
+    /* Number of worker threads */
+    private final int parallelism;
+    /* true if the rational agent is run on every board; false, otherwise */
+    private final boolean isRationalIncluded;
+    /* true if the nonrational agent is run on every board; false, otherwise */
+    private final boolean isRandomIncluded;
+    /* Maximum number of actions of each run of the nonrational agent */
+    private final int maxActions;
+    /* Seed of the source of the random decisions of the nonrational agent */
+    private final long seed;
+    /* Number of unmeasured passes over the corpus */
+    private final int numWarmups;
+
+    /* Solver that runs the agents */
+    private final Solver solver;
+
+    /**
+     * Creates a scorer with the given number of worker threads, agents, and warmup passes
+     *
+     * @param parallelism number of worker threads
+     * @param isRationalIncluded <code>true</code> if the rational agent is run on every board;
+     *                           <code>false</code>, otherwise
+     * @param isRandomIncluded <code>true</code> if the nonrational agent is run on every board;
+     *                         <code>false</code>, otherwise
+     * @param maxActions maximum number of actions of each run of the nonrational agent
+     * @param seed seed of the source of the random decisions of the nonrational agent
+     * @param numWarmups number of unmeasured passes over the corpus
+     */
+    public CorpusScorer(int parallelism, boolean isRationalIncluded, boolean isRandomIncluded, int maxActions,
+                        long seed, int numWarmups) {
+        this.parallelism = parallelism;
+        this.isRationalIncluded = isRationalIncluded;
+        this.isRandomIncluded = isRandomIncluded;
+        this.maxActions = maxActions;
+        this.seed = seed;
+        this.numWarmups = numWarmups;
+
+        solver = new Solver(Miner.TRACE_COUNTS);
+    }
+
+    /**
+     * Runs the agents on every board of the given corpus and returns their score
+     *
+     * @param corpus corpus of boards
+     * @return score of the agents on the given corpus
+     */
+    public CorpusScore score(Corpus corpus) {
+        int numBoards = corpus.getNumBoards();
+        SolverResult[] rational = isRationalIncluded ? new SolverResult[numBoards] : null;
+        SolverResult[] random = isRandomIncluded ? new SolverResult[numBoards] : null;
+
+        ExplorationPool pool = new ExplorationPool(parallelism);
+        try {
+            for (int pass = 0; pass < numWarmups; pass++) {
+                SplittableRandom[] streams = getStreams(numBoards);
+                pool.invoke(0, numBoards, index -> runBoard(corpus, index, streams, rational, random));
+            }
+
+            /* The measured pass overwrites the results of the warmup passes. */
+            SplittableRandom[] streams = getStreams(numBoards);
+            pool.invoke(0, numBoards, index -> runBoard(corpus, index, streams, rational, random));
+        } finally {
+            pool.shutdown();
+        }
+
+        return new CorpusScore(corpus, rational, random);
+    }
+
+    /**
+     * Returns the streams of the runs of the nonrational agent on the boards of a pass, split from the
+     * seed in the order of the boards (so every pass makes the same decisions)
+     *
+     * @param numBoards number of boards of the corpus
+     * @return stream of the run of the nonrational agent on each board; <code>null</code> if the
+     * nonrational agent is not run
+     */
+    private SplittableRandom[] getStreams(int numBoards) {
+        if (!isRandomIncluded) {
+            return null;
+        }
+
+        SplittableRandom source = new SplittableRandom(seed);
+        SplittableRandom[] streams = new SplittableRandom[numBoards];
+        for (int i = 0; i < numBoards; i++) {
+            streams[i] = source.split();
+        }
+
+        return streams;
+    }
+
+    /**
+     * Runs the agents on a single board using the exploration state of the current worker, and
+     * stores the metrics of the runs at the position of the board
+     *
+     * @param corpus corpus of boards
+     * @param index index of the board
+     * @param streams streams of the runs of the nonrational agent
+     * @param rational metrics of the runs of the rational agent (<code>null</code> if it is not run)
+     * @param random metrics of the runs of the nonrational agent (<code>null</code> if it is not run)
+     */
+    private void runBoard(Corpus corpus, int index, SplittableRandom[] streams, SolverResult[] rational,
+                          SolverResult[] random) {
+        BoardDefinition definition = corpus.getBoard(index);
+        Board b;
+        b = definition.createBoard();
+
+        if (rational != null) {
+            rational[index] = solver.solve(definition.getName(), ExplorationPool.getExploration(b));
+        }
+
+        if (random != null) {
+            random[index] = solver.solveRandom(definition.getName(), b, maxActions, streams[index]);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package benchmark;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+/**
+ * Class implementing the <b>measurement harness</b> of the benchmarks, which runs an operation
+ * through warmup iterations and then through measurement iterations of a fixed duration
+ *
+ * <p>The methodology follows that of the Java Microbenchmark Harness (JMH): the warmup iterations
+ * let the just-in-time compiler reach a steady state before anything is measured, the value
+ * returned by every run of the operation is consumed so that its work cannot be eliminated, and
+ * each configuration is usually run in a forked virtual machine (see <code>BenchmarkRunner</code>)
+ * so that the profile collected for one configuration does not bias the code compiled for the next.</p>
+ *
+ * <p>An iteration runs the operation in batches, timing each batch as a whole, so that the cost of
+ * reading the clock is negligible even for operations of a few nanoseconds. The size of the batches
+ * is doubled during the warmup until a batch takes at least a thousandth of an iteration.</p>
+ *
+ * <p>Besides the time per operation, the bytes allocated per operation on the current thread are
+ * measured, as well as the number and duration of the garbage collections during the measurement
+ * iterations (similar to the GC profiler of JMH).</p>
+ */
+public class Harness {
+    /* Number of warmup iterations */
+    private final int numWarmups;
+    /* Number of measurement iterations */
+    private final int numIterations;
+    /* Duration of each iteration, in nanoseconds */
+    private final long iterationTime;
+    /* Source of the number of bytes allocated by each thread (null if it cannot be measured) */
+    private final com.sun.management.ThreadMXBean threads;
+    /* Garbage collectors of the virtual machine */
+    private final List<GarbageCollectorMXBean> collectors;
+
+    /* Sum of the values returned by the operation, consumed once the measurement is over */
+    private long sink;
+    /* Consumed values, written so that the sum cannot be eliminated */
+    private static volatile long consumed;
+
+    /**
+     * Creates a harness running the given numbers of warmup and measurement iterations of the
+     * given duration
+     *
+     * @param numWarmups number of warmup iterations
+     * @param numIterations number of measurement iterations (at least 1)
+     * @param iterationTime duration of each iteration, in milliseconds
+     */
+    public Harness(int numWarmups, int numIterations, long iterationTime) {
+        this.numWarmups = numWarmups;
+        this.numIterations = numIterations;
+        this.iterationTime = iterationTime * 1000000;
+
+        /* Measuring the allocated bytes relies on an extension of the HotSpot virtual machine. */
+        com.sun.management.ThreadMXBean threadBean = null;
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean) {
+            threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+            if (!threadBean.isThreadAllocatedMemorySupported()) {
+                threadBean = null;
+            } else if (!threadBean.isThreadAllocatedMemoryEnabled()) {
+                threadBean.setThreadAllocatedMemoryEnabled(true);
+            }
+        }
+        this.threads = threadBean;
+
+        collectors = ManagementFactory.getGarbageCollectorMXBeans();
+    }
+
+    /**
+     * Prepares the given configuration of the given benchmark, measures its operation, and
+     * returns the result
+     *
+     * @param benchmark benchmark measured
+     * @param configuration number of the configuration (from 0)
+     * @param fork number of the forked virtual machine running the configuration (0 if it runs in
+     *             the virtual machine of the runner)
+     * @return result of the measurement
+     * @throws IOException if the configuration cannot be prepared
+     */
+    public BenchmarkResult run(Benchmark benchmark, int configuration, int fork) throws IOException {
+        Workload workload;
+        workload = benchmark.setUp(configuration);
+
+        /* Warm up, doubling the batches until the clock is read rarely enough. */
+        long batchSize = 1;
+        for (int i = 0; i < numWarmups; i++) {
+            long end = System.nanoTime() + iterationTime;
+
+            while (System.nanoTime() < end) {
+                long start = System.nanoTime();
+                runBatch(workload, batchSize);
+
+                if (System.nanoTime() - start < iterationTime / 1000 && batchSize < Long.MAX_VALUE / 2) {
+                    batchSize *= 2;
+                }
+            }
+        }
+
+        double[] samples = new double[numIterations];
+        long numOperations = 0;
+        long allocatedBytes = 0;
+        long startCount = getCollectionCount();
+        long startCollectionTime = getCollectionTime();
+
+        for (int i = 0; i < numIterations; i++) {
+            long operations = 0;
+            long startBytes = getAllocatedBytes();
+            long start = System.nanoTime();
+            long end = start + iterationTime;
+
+            /* At least one batch is run, however long the operation takes. */
+            long now;
+            do {
+                runBatch(workload, batchSize);
+                operations += batchSize;
+                now = System.nanoTime();
+            } while (now < end);
+
+            allocatedBytes += getAllocatedBytes() - startBytes;
+            numOperations += operations;
+            samples[i] = (double) (now - start) / operations;
+        }
+
+        long numCollections = getCollectionCount() - startCount;
+        long collectionTime = getCollectionTime() - startCollectionTime;
+
+        consumed = sink;
+
+        return new BenchmarkResult(benchmark.getName(), benchmark.getParameters(configuration), fork, samples,
+                numOperations, threads == null ? -1 : (double) allocatedBytes / numOperations, numCollections,
+                collectionTime);
+    }
+
+    /**
+     * Runs the given operation the given number of times, consuming the value of each run
+     *
+     * @param workload operation to be run
+     * @param batchSize number of runs
+     */
+    private void runBatch(Workload workload, long batchSize) {
+        long sum = 0;
+        for (long i = 0; i < batchSize; i++) {
+            sum += workload.run();
+        }
+
+        sink += sum;
+    }
+
+    /**
+     * Returns the total number of bytes allocated so far by the current thread
+     * (0 if it cannot be measured)
+     *
+     * @return total number of bytes allocated so far by the current thread
+     */
+    private long getAllocatedBytes() {
+        if (threads == null) {
+            return 0;
+        }
+
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Returns the total number of garbage collections so far, over all the collectors
+     *
+     * @return total number of garbage collections so far
+     */
+    private long getCollectionCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean collector : collectors) {
+            count += Math.max(0, collector.getCollectionCount());
+        }
+
+        return count;
+    }
+
+    /**
+     * Returns the total duration of the garbage collections so far, over all the collectors,
+     * in milliseconds
+     *
+     * @return total duration of the garbage collections so far, in milliseconds
+     */
+    private long getCollectionTime() {
+        long time = 0;
+        for (GarbageCollectorMXBean collector : collectors) {
+            time += Math.max(0, collector.getCollectionTime());
+        }
+
+        return time;
+    }
+}
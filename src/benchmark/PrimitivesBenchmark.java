@@ -0,0 +1,265 @@
+package benchmark;
+
+import gold_miner.Board;
+import gold_miner.BoardDefinition;
+import gold_miner.Exploration;
+import gold_miner.Miner;
+import gold_miner.Square;
+import headless.BoardGenerator;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.SplittableRandom;
+
+/**
+ * Class implementing the <b>micro-benchmarks of the primitives</b> of the agent's inner loops, that is,
+ * the per-step queries of the board, the exploration state, and the miner, as well as the creation of
+ * the board itself
+ *
+ * <p>Each configuration consists of a primitive and the dimension and densities of a single board drawn
+ * from the given seed. Before a primitive is measured, the rational agent searches the board once, so
+ * that the visited tiles (and the position of the miner) are those of an actual run. An operation then
+ * queries the primitive at the next of <code>NUM_POSITIONS</code> positions drawn from the seed, in turn,
+ * so that the branches of the primitive are not all predicted perfectly.</p>
+ *
+ * <p>The following are the primitives:</p>
+ * <ul>
+ *     <li><b>beaconScan</b> - <code>Board.beaconScan</code> at the beacons of the board (or at the
+ *     positions drawn, if there is no beacon)</li>
+ *     <li><b>getNeighbors</b> - <code>Board.getNeighbors</code>, including the list it allocates</li>
+ *     <li><b>hasUnvisitedNeighbors</b> - <code>Exploration.hasUnvisitedNeighbors</code></li>
+ *     <li><b>isOutOfBounds</b> - <code>Board.isOutOfBounds</code> at positions including a margin of one
+ *     tile around the board</li>
+ *     <li><b>getNextTile</b> - <code>Miner.getNextTile</code> at the positions drawn, in every direction</li>
+ *     <li><b>getNumRotateMemory</b> - <code>Miner.getNumRotateMemory</code> at the final position of the
+ *     miner, in every direction</li>
+ *     <li><b>constructor</b> - the creation of the board from the coordinates of its tiles</li>
+ * </ul>
+ */
+public class PrimitivesBenchmark implements Benchmark {
+    /* Seed of the boards and of the positions */
+    private final long seed;
+    /* Names of the primitives */
+    private final String[] primitives;
+    /* Dimensions of the boards */
+    private final int[] dimensions;
+    /* Probabilities that a square tile is a pit */
+    private final double[] pitDensities;
+    /* Probabilities that a square tile is a beacon */
+    private final double[] beaconDensities;
+
+    /**
+     * Names of all the primitives, in the order in which they are measured by default
+     */
+    public static final String[] PRIMITIVES = {"beaconScan", "getNeighbors", "hasUnvisitedNeighbors",
+            "isOutOfBounds", "getNextTile", "getNumRotateMemory", "constructor"};
+
+    /**
+     * Number of positions at which each primitive is queried, in turn (a power of two)
+     */
+    public static final int NUM_POSITIONS = 4096;
+
+    /**
+     * Creates the micro-benchmarks of the given primitives on the boards drawn from the given seed under
+     * every combination of the given parameters
+     *
+     * @param seed seed of the boards and of the positions
+     * @param primitives names of the primitives (see <code>PRIMITIVES</code>)
+     * @param dimensions dimensions of the boards (each at least 2)
+     * @param pitDensities probabilities that a square tile is a pit
+     * @param beaconDensities probabilities that a square tile is a beacon
+     * @throws IllegalArgumentException if a primitive is unknown
+     */
+    public PrimitivesBenchmark(long seed, String[] primitives, int[] dimensions, double[] pitDensities,
+                               double[] beaconDensities) {
+        for (String primitive : primitives) {
+            if (!Arrays.asList(PRIMITIVES).contains(primitive)) {
+                throw new IllegalArgumentException("Unknown primitive: " + primitive);
+            }
+        }
+
+        this.seed = seed;
+        this.primitives = primitives;
+        this.dimensions = dimensions;
+        this.pitDensities = pitDensities;
+        this.beaconDensities = beaconDensities;
+    }
+
+    /**
+     * Returns the name of this benchmark
+     *
+     * @return <code>primitives</code>
+     */
+    @Override
+    public String getName() {
+        return "primitives";
+    }
+
+    /**
+     * Returns the number of configurations of this benchmark, that is, the number of combinations of
+     * the primitives and the parameters
+     *
+     * @return number of configurations of this benchmark
+     */
+    @Override
+    public int getNumConfigurations() {
+        return primitives.length * dimensions.length * pitDensities.length * beaconDensities.length;
+    }
+
+    /**
+     * Returns the parameters of the given configuration, by name
+     *
+     * @param configuration number of the configuration (from 0)
+     * @return primitive, dimension, pit density, and beacon density of the given configuration
+     */
+    @Override
+    public LinkedHashMap<String, String> getParameters(int configuration) {
+        LinkedHashMap<String, String> parameters = new LinkedHashMap<String, String>();
+        parameters.put("primitive", getPrimitive(configuration));
+        parameters.put("dimension", String.valueOf(getDimension(configuration)));
+        parameters.put("pits", String.valueOf(getPitDensity(configuration)));
+        parameters.put("beacons", String.valueOf(getBeaconDensity(configuration)));
+
+        return parameters;
+    }
+
+    /**
+     * Generates the board of the given configuration, searches it once, and returns the query of the
+     * primitive of the configuration, one position per operation
+     *
+     * @param configuration number of the configuration (from 0)
+     * @return query of the primitive of the given configuration
+     * @throws IOException if no solvable board can be drawn under the given configuration
+     */
+    @Override
+    public Workload setUp(int configuration) throws IOException {
+        int dimension = getDimension(configuration);
+        BoardGenerator generator = new BoardGenerator(seed, 1, dimension, getPitDensity(configuration),
+                getBeaconDensity(configuration), BoardGenerator.GOLD_UNIFORM, BoardGenerator.REJECT);
+
+        BoardDefinition definition;
+        definition = generator.next();
+        Board b = definition.createBoard();
+
+        Exploration exploration = new Exploration(b);
+        Miner m = new Miner(exploration);
+        m.searchForGold(b, Miner.TRACE_NONE);
+
+        /* Positions within bounds, and positions including a margin of one tile around the board */
+        SplittableRandom random = new SplittableRandom(seed);
+        int[] rows = new int[NUM_POSITIONS];
+        int[] cols = new int[NUM_POSITIONS];
+        int[] marginRows = new int[NUM_POSITIONS];
+        int[] marginCols = new int[NUM_POSITIONS];
+        for (int i = 0; i < NUM_POSITIONS; i++) {
+            rows[i] = random.nextInt(dimension);
+            cols[i] = random.nextInt(dimension);
+            marginRows[i] = random.nextInt(-1, dimension + 1);
+            marginCols[i] = random.nextInt(-1, dimension + 1);
+        }
+
+        /* The beacons are drawn with replacement from the beacons of the board. */
+        int[] rBeacon = definition.getRBeacon();
+        int[] cBeacon = definition.getCBeacon();
+        int[] beaconRows = rows;
+        int[] beaconCols = cols;
+        if (rBeacon.length > 0) {
+            beaconRows = new int[NUM_POSITIONS];
+            beaconCols = new int[NUM_POSITIONS];
+            for (int i = 0; i < NUM_POSITIONS; i++) {
+                int beacon = random.nextInt(rBeacon.length);
+                beaconRows[i] = rBeacon[beacon];
+                beaconCols[i] = cBeacon[beacon];
+            }
+        }
+
+        int[] next = {0};
+        int mask = NUM_POSITIONS - 1;
+
+        switch (getPrimitive(configuration)) {
+            case "beaconScan":
+                int[] scanRows = beaconRows;
+                int[] scanCols = beaconCols;
+                return () -> {
+                    int i = next[0]++ & mask;
+                    return b.beaconScan(scanRows[i], scanCols[i]);
+                };
+            case "getNeighbors":
+                return () -> {
+                    int i = next[0]++ & mask;
+                    return b.getNeighbors(exploration.getSquare(rows[i], cols[i])).size();
+                };
+            case "hasUnvisitedNeighbors":
+                return () -> {
+                    int i = next[0]++ & mask;
+                    return exploration.hasUnvisitedNeighbors(rows[i], cols[i]) ? 1 : 0;
+                };
+            case "isOutOfBounds":
+                return () -> {
+                    int i = next[0]++ & mask;
+                    return b.isOutOfBounds(marginRows[i], marginCols[i]) ? 1 : 0;
+                };
+            case "getNextTile":
+                return () -> {
+                    int i = next[0]++ & mask;
+
+                    /* The direction is advanced in the memory of the miner only, which is not an action. */
+                    m.hiddenRotate();
+                    Square s = m.getNextTile(b, rows[i], cols[i]);
+                    return s == null ? -1 : s.getRow();
+                };
+            case "getNumRotateMemory":
+                return () -> {
+                    m.hiddenRotate();
+                    return m.getNumRotateMemory(b);
+                };
+            default:
+                return () -> {
+                    Board created = new Board(dimension, rBeacon, cBeacon, definition.getRPit(),
+                            definition.getCPit(), definition.getRGold(), definition.getCGold());
+                    return created.getGoldRow();
+                };
+        }
+    }
+
+    /**
+     * Returns the primitive of the given configuration
+     *
+     * @param configuration number of the configuration (from 0)
+     * @return name of the primitive of the given configuration
+     */
+    private String getPrimitive(int configuration) {
+        return primitives[configuration / (dimensions.length * pitDensities.length * beaconDensities.length)];
+    }
+
+    /**
+     * Returns the dimension of the board of the given configuration
+     *
+     * @param configuration number of the configuration (from 0)
+     * @return dimension of the board of the given configuration
+     */
+    private int getDimension(int configuration) {
+        return dimensions[configuration / (pitDensities.length * beaconDensities.length) % dimensions.length];
+    }
+
+    /**
+     * Returns the pit density of the board of the given configuration
+     *
+     * @param configuration number of the configuration (from 0)
+     * @return pit density of the board of the given configuration
+     */
+    private double getPitDensity(int configuration) {
+        return pitDensities[configuration / beaconDensities.length % pitDensities.length];
+    }
+
+    /**
+     * Returns the beacon density of the board of the given configuration
+     *
+     * @param configuration number of the configuration (from 0)
+     * @return beacon density of the board of the given configuration
+     */
+    private double getBeaconDensity(int configuration) {
+        return beaconDensities[configuration % beaconDensities.length];
+    }
+}
@@ -0,0 +1,278 @@
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Class implementing the <b>performance regression gate</b>, which compares the measurements of a
+ * candidate build of the rational agent on a benchmark corpus against a stored baseline, and flags the
+ * statistically significant regressions
+ *
+ * <p>Each of the number of actions, the solve time, and the allocated bytes is compared over each group
+ * of the corpus and over the whole corpus. The change of a measurement is the ratio of its total over
+ * the boards in the candidate to its total in the baseline (each board counting with its mean over the
+ * forks), minus 1.</p>
+ *
+ * <p>Since the number of actions of the rational agent is deterministic, it is compared board by board
+ * instead: any board on which the candidate takes more actions than the baseline is a regression, however
+ * small the change of the total, and a group in which some boards take fewer actions and none take more
+ * is an improvement.</p>
+ *
+ * <p>The confidence interval of the change of the solve time and of the allocated bytes is computed by a
+ * hierarchical bootstrap: in each resample,
+ * the boards are resampled with replacement (the same boards for the baseline and the candidate), and
+ * the forks of the baseline and of the candidate are resampled with replacement, each independently, so
+ * that the interval accounts both for the boards that happen to be in the corpus and for the variation
+ * of the solve times between virtual machines. The interval consists of the percentiles of the change
+ * over the resamples, which are drawn from the given seed, so the report of the same measurements is
+ * always the same.</p>
+ *
+ * <p>A change of the solve time or of the allocated bytes is a regression if the whole confidence
+ * interval lies above the tolerance, and an improvement if it lies below the opposite of the tolerance;
+ * the tolerance absorbs the differences between the machines on which the baseline and the candidate
+ * were measured. A board on which the baseline found the gold and the candidate did not is always a
+ * regression.</p>
+ */
+public class RegressionGate {
+    /* Number of bootstrap resamples */
+    private final int numResamples;
+    /* Confidence level of the intervals */
+    private final double confidence;
+    /* Tolerance of the relative change of the solve time and of the allocated bytes */
+    private final double tolerance;
+    /* Seed of the bootstrap resamples */
+    private final long seed;
+
+    /**
+     * Names of the measurements, in the order in which they are compared
+     */
+    public static final String[] METRICS = {"actions", "time_ns", "allocated_bytes"};
+
+    /**
+     * Creates a regression gate with the given bootstrap parameters and tolerance
+     *
+     * @param numResamples number of bootstrap resamples (at least 1)
+     * @param confidence confidence level of the intervals (between 0 and 1)
+     * @param tolerance tolerance of the relative change of the solve time and of the allocated bytes
+     * @param seed seed of the bootstrap resamples
+     */
+    public RegressionGate(int numResamples, double confidence, double tolerance, long seed) {
+        this.numResamples = numResamples;
+        this.confidence = confidence;
+        this.tolerance = tolerance;
+        this.seed = seed;
+    }
+
+    /**
+     * Compares the given candidate against the given baseline and returns the report of the comparison
+     *
+     * @param baseline measurements of the baseline
+     * @param candidate measurements of the candidate build
+     * @return report of the comparison
+     * @throws IllegalArgumentException if the baseline and the candidate were not measured on the same
+     *                                  boards of the same corpus
+     */
+    public RegressionReport compare(Baseline baseline, Baseline candidate) {
+        if (!baseline.getVersion().equals(candidate.getVersion())) {
+            throw new IllegalArgumentException("The baseline was measured on corpus " + baseline.getVersion()
+                    + " and the candidate on corpus " + candidate.getVersion());
+        }
+
+        /* The boards are paired by name, since the order of the boards is not part of a stored baseline. */
+        HashMap<String, Integer> candidateIndices = new HashMap<String, Integer>();
+        for (int i = 0; i < candidate.getNumBoards(); i++) {
+            candidateIndices.put(candidate.getBoard(i), i);
+        }
+        if (candidateIndices.size() != baseline.getNumBoards()) {
+            throw new IllegalArgumentException("The baseline has " + baseline.getNumBoards()
+                    + " boards and the candidate " + candidate.getNumBoards());
+        }
+
+        int numBoards = baseline.getNumBoards();
+        int[] pairs = new int[numBoards];
+        ArrayList<String> lostBoards = new ArrayList<String>();
+        for (int i = 0; i < numBoards; i++) {
+            Integer j = candidateIndices.get(baseline.getBoard(i));
+            if (j == null) {
+                throw new IllegalArgumentException("The candidate has no board " + baseline.getBoard(i));
+            }
+
+            pairs[i] = j;
+            if (baseline.isGoldFound(i) && !candidate.isGoldFound(j)) {
+                lostBoards.add(baseline.getBoard(i));
+            }
+        }
+
+        RegressionReport report = new RegressionReport(baseline.getVersion(), numBoards, numResamples, confidence,
+                lostBoards);
+
+        List<String> groups = baseline.getGroups();
+        groups.add(CorpusScore.ALL);
+        for (String group : groups) {
+            int[] boards = new int[numBoards];
+            int size = 0;
+            for (int i = 0; i < numBoards; i++) {
+                if (group.equals(CorpusScore.ALL) || baseline.getGroup(i).equals(group)) {
+                    boards[size++] = i;
+                }
+            }
+            boards = Arrays.copyOf(boards, size);
+
+            long[][][] baselineValues = getValues(baseline, boards, null);
+            long[][][] candidateValues = getValues(candidate, boards, pairs);
+
+            double[][] intervals = bootstrap(baselineValues, candidateValues, group);
+            for (int m = 0; m < METRICS.length; m++) {
+                /* The allocated bytes are left out if either build could not measure them. */
+                if (Arrays.stream(baselineValues[m]).flatMapToLong(Arrays::stream).anyMatch(v -> v < 0)
+                        || Arrays.stream(candidateValues[m]).flatMapToLong(Arrays::stream).anyMatch(v -> v < 0)) {
+                    continue;
+                }
+
+                double[] baselineMeans = getMeans(baselineValues[m]);
+                double[] candidateMeans = getMeans(candidateValues[m]);
+                int numIncreased = 0;
+                int numDecreased = 0;
+                for (int k = 0; k < size; k++) {
+                    numIncreased += candidateMeans[k] > baselineMeans[k] ? 1 : 0;
+                    numDecreased += candidateMeans[k] < baselineMeans[k] ? 1 : 0;
+                }
+
+                double baselineTotal = Arrays.stream(baselineMeans).sum();
+                double candidateTotal = Arrays.stream(candidateMeans).sum();
+                report.add(group, METRICS[m], baselineTotal / size, candidateTotal / size,
+                        baselineTotal == 0 ? Double.NaN : candidateTotal / baselineTotal - 1, intervals[m][0],
+                        intervals[m][1], m == 0 ? 0 : tolerance, numIncreased, numDecreased, m == 0);
+            }
+        }
+
+        return report;
+    }
+
+    /**
+     * Returns the value of each measurement on each of the given boards, in each fork
+     *
+     * @param measurements measurements of a build
+     * @param boards indices of the boards in the baseline
+     * @param pairs index of each board of the baseline in the given measurements (<code>null</code> if
+     *              the measurements are those of the baseline)
+     * @return value of each measurement on each board in each fork (indexed by measurement, fork, and
+     * board)
+     */
+    private static long[][][] getValues(Baseline measurements, int[] boards, int[] pairs) {
+        int numForks = measurements.getNumForks();
+        long[][][] values = new long[METRICS.length][numForks][boards.length];
+
+        for (int f = 0; f < numForks; f++) {
+            for (int k = 0; k < boards.length; k++) {
+                int i = pairs == null ? boards[k] : pairs[boards[k]];
+                values[0][f][k] = measurements.getActions(f, i);
+                values[1][f][k] = measurements.getTime(f, i);
+                values[2][f][k] = measurements.getAllocatedBytes(f, i);
+            }
+        }
+
+        return values;
+    }
+
+    /**
+     * Returns the bootstrap confidence interval of the change of each measurement other than the number
+     * of actions over the given boards, resampling the same boards and forks for every measurement
+     *
+     * @param baselineValues value of each measurement on each board in each fork, in the baseline
+     * @param candidateValues value of each measurement on each board in each fork, in the candidate
+     * @param group name of the group of the boards (from which the resamples are seeded)
+     * @return lower bound (first element) and upper bound (second element) of the confidence interval
+     * of the change of each measurement; <code>NaN</code> for the number of actions (which is compared
+     * board by board), and if the total of the baseline is 0
+     */
+    private double[][] bootstrap(long[][][] baselineValues, long[][][] candidateValues, String group) {
+        int size = baselineValues[0][0].length;
+        int numBaselineForks = baselineValues[0].length;
+        int numCandidateForks = candidateValues[0].length;
+        double[][] changes = new double[METRICS.length][numResamples];
+
+        /* The number of actions is compared board by board, so it has no interval. */
+        Arrays.fill(changes[0], Double.NaN);
+
+        /* The resamples of a group do not depend on the other groups. */
+        SplittableRandom random = new SplittableRandom(seed ^ group.hashCode());
+        int[] sample = new int[size];
+        int[] baselineForks = new int[numBaselineForks];
+        int[] candidateForks = new int[numCandidateForks];
+
+        for (int r = 0; r < numResamples; r++) {
+            for (int k = 0; k < size; k++) {
+                sample[k] = random.nextInt(size);
+            }
+            for (int f = 0; f < numBaselineForks; f++) {
+                baselineForks[f] = random.nextInt(numBaselineForks);
+            }
+            for (int f = 0; f < numCandidateForks; f++) {
+                candidateForks[f] = random.nextInt(numCandidateForks);
+            }
+
+            for (int m = 1; m < METRICS.length; m++) {
+                double baselineTotal = getTotal(baselineValues[m], baselineForks, sample);
+                double candidateTotal = getTotal(candidateValues[m], candidateForks, sample);
+                changes[m][r] = baselineTotal == 0 ? Double.NaN : candidateTotal / baselineTotal - 1;
+            }
+        }
+
+        double[][] intervals = new double[METRICS.length][];
+        for (int m = 0; m < METRICS.length; m++) {
+            double[] sorted = Arrays.stream(changes[m]).filter(c -> !Double.isNaN(c)).sorted().toArray();
+            if (sorted.length == 0) {
+                intervals[m] = new double[] {Double.NaN, Double.NaN};
+                continue;
+            }
+
+            double alpha = (1 - confidence) / 2;
+            int low = (int) Math.floor(alpha * (sorted.length - 1));
+            int high = (int) Math.ceil((1 - alpha) * (sorted.length - 1));
+            intervals[m] = new double[] {sorted[low], sorted[high]};
+        }
+
+        return intervals;
+    }
+
+    /**
+     * Returns the total over the given boards of the mean of each board over the given forks
+     *
+     * @param values value on each board in each fork (indexed by fork and board)
+     * @param forks indices of the forks (with repetitions)
+     * @param sample indices of the boards (with repetitions)
+     * @return total of the means over the given forks
+     */
+    private static double getTotal(long[][] values, int[] forks, int[] sample) {
+        long total = 0;
+        for (int fork : forks) {
+            long[] forkValues = values[fork];
+            for (int k : sample) {
+                total += forkValues[k];
+            }
+        }
+
+        return (double) total / forks.length;
+    }
+
+    /**
+     * Returns the mean of each board over all the forks
+     *
+     * @param values value on each board in each fork (indexed by fork and board)
+     * @return mean of each board over all the forks
+     */
+    private static double[] getMeans(long[][] values) {
+        double[] means = new double[values[0].length];
+        for (long[] forkValues : values) {
+            for (int k = 0; k < means.length; k++) {
+                means[k] += (double) forkValues[k] / values.length;
+            }
+        }
+
+        return means;
+    }
+}
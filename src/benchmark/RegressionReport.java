@@ -0,0 +1,359 @@
+package benchmark;
+
+import headless.SolverResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Class implementing the <b>report of a performance regression gate</b>, that is, the change of each
+ * measurement over each group of the corpus, with its bootstrap confidence interval and its verdict, and
+ * the boards on which the candidate no longer finds the gold
+ *
+ * <p>The verdict of a change is <code>regression</code>, <code>improvement</code>, or
+ * <code>unchanged</code> (see <code>RegressionGate</code>). The verdict of an exact comparison (the number
+ * of actions, which is deterministic) follows from the boards on which the measurement increased or
+ * decreased, and such a change has no confidence interval. The gate fails if any change is a regression
+ * or any board is lost.</p>
+ *
+ * <p>The report can be written as text (with a table of the changes), as a JSON object (on a single
+ * line), or as CSV rows (one per group and measurement).</p>
+ */
+public class RegressionReport {
+    /* Version of the corpus */
+    private final String version;
+    /* Number of boards compared */
+    private final int numBoards;
+    /* Number of bootstrap resamples */
+    private final int numResamples;
+    /* Confidence level of the intervals */
+    private final double confidence;
+    /* Boards on which the baseline found the gold and the candidate did not */
+    private final List<String> lostBoards;
+    /* Changes of the measurements, in the order in which they were compared */
+    private final List<Change> changes;
+
+    /**
+     * Verdict of a change whose confidence interval lies above the tolerance (or, for an exact comparison,
+     * of a measurement that increased on any board)
+     */
+    public static final String REGRESSION = "regression";
+    /**
+     * Verdict of a change whose confidence interval lies below the opposite of the tolerance (or, for an
+     * exact comparison, of a measurement that decreased on some boards and increased on none)
+     */
+    public static final String IMPROVEMENT = "improvement";
+    /**
+     * Verdict of any other change
+     */
+    public static final String UNCHANGED = "unchanged";
+
+    /**
+     * Header of the CSV rows returned by <code>toCsv</code>
+     */
+    public static final String CSV_HEADER = "corpus,group,metric,baseline_mean,candidate_mean,change,ci_low,ci_high,"
+            + "tolerance,increased_boards,decreased_boards,verdict";
+
+    /**
+     * Creates a report without any change
+     *
+     * @param version version of the corpus
+     * @param numBoards number of boards compared
+     * @param numResamples number of bootstrap resamples
+     * @param confidence confidence level of the intervals
+     * @param lostBoards boards on which the baseline found the gold and the candidate did not
+     */
+    public RegressionReport(String version, int numBoards, int numResamples, double confidence,
+                            List<String> lostBoards) {
+        this.version = version;
+        this.numBoards = numBoards;
+        this.numResamples = numResamples;
+        this.confidence = confidence;
+        this.lostBoards = lostBoards;
+        changes = new ArrayList<Change>();
+    }
+
+    /**
+     * Adds the change of a measurement over a group to this report
+     *
+     * @param group name of the group
+     * @param metric name of the measurement
+     * @param baselineMean mean of the measurement over the boards of the group, in the baseline
+     * @param candidateMean mean of the measurement over the boards of the group, in the candidate
+     * @param change relative change of the total of the measurement
+     * @param low lower bound of the confidence interval of the change
+     * @param high upper bound of the confidence interval of the change
+     * @param tolerance tolerance of the change
+     * @param numIncreased number of boards on which the measurement increased
+     * @param numDecreased number of boards on which the measurement decreased
+     * @param isExact <code>true</code> if the verdict follows from the boards on which the measurement
+     *                increased or decreased; <code>false</code> if it follows from the confidence interval
+     */
+    public void add(String group, String metric, double baselineMean, double candidateMean, double change,
+                    double low, double high, double tolerance, int numIncreased, int numDecreased,
+                    boolean isExact) {
+        changes.add(new Change(group, metric, baselineMean, candidateMean, change, low, high, tolerance,
+                numIncreased, numDecreased, isExact));
+    }
+
+    /**
+     * Returns whether the gate fails, that is, whether any change is a regression or any board is lost
+     *
+     * @return <code>true</code> if the gate fails; <code>false</code>, otherwise
+     */
+    public boolean isRegressed() {
+        if (!lostBoards.isEmpty()) {
+            return true;
+        }
+
+        for (Change change : changes) {
+            if (change.getVerdict().equals(REGRESSION)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns the report as text, with a table of the changes followed by the lost boards and the
+     * outcome of the gate
+     *
+     * @return report as text
+     */
+    public String toText() {
+        StringBuilder text = new StringBuilder();
+        text.append("# Performance regression gate on corpus ").append(version).append(" (").append(numBoards)
+                .append(" boards)\n\n");
+        text.append("Changes are of the totals over the boards of each group, with ")
+                .append(format(confidence * 100, 0)).append("% bootstrap confidence intervals (")
+                .append(numResamples).append(" resamples); the actions are compared board by board, and any ")
+                .append("board that takes more actions is a regression.\n\n");
+
+        text.append("| group | metric | baseline mean | candidate mean | change | interval | tolerance "
+                + "| increased boards | decreased boards | verdict |\n");
+        text.append("|---|---|---:|---:|---:|---:|---:|---:|---:|---|\n");
+        for (Change change : changes) {
+            text.append("| ").append(change.group)
+                    .append(" | ").append(change.metric)
+                    .append(" | ").append(format(change.baselineMean, 1))
+                    .append(" | ").append(format(change.candidateMean, 1))
+                    .append(" | ").append(formatPercent(change.change))
+                    .append(" | ").append(change.isExact ? "-" : "[" + formatPercent(change.low) + ", "
+                            + formatPercent(change.high) + "]")
+                    .append(" | ").append(change.isExact ? "-" : formatPercent(change.tolerance))
+                    .append(" | ").append(change.numIncreased)
+                    .append(" | ").append(change.numDecreased)
+                    .append(" | ").append(change.getVerdict()).append(" |\n");
+        }
+
+        if (!lostBoards.isEmpty()) {
+            text.append("\nBoards on which the gold is no longer found: ").append(String.join(", ", lostBoards))
+                    .append("\n");
+        }
+
+        text.append("\nResult: ").append(isRegressed() ? "FAIL" : "PASS").append("\n");
+        return text.toString();
+    }
+
+    /**
+     * Returns the report as a JSON object (on a single line)
+     *
+     * @return report as a JSON object
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder("{\"corpus\":\"").append(SolverResult.escapeJson(version))
+                .append("\",\"boards\":").append(numBoards)
+                .append(",\"resamples\":").append(numResamples)
+                .append(",\"confidence\":").append(format(confidence, 4))
+                .append(",\"regressed\":").append(isRegressed())
+                .append(",\"lost_boards\":[");
+
+        for (int i = 0; i < lostBoards.size(); i++) {
+            json.append(i == 0 ? "" : ",").append('"').append(SolverResult.escapeJson(lostBoards.get(i))).append('"');
+        }
+
+        json.append("],\"changes\":[");
+        for (int i = 0; i < changes.size(); i++) {
+            Change change = changes.get(i);
+            json.append(i == 0 ? "" : ",")
+                    .append("{\"group\":\"").append(SolverResult.escapeJson(change.group)).append('"')
+                    .append(",\"metric\":\"").append(change.metric).append('"')
+                    .append(",\"baseline_mean\":").append(toJsonNumber(change.baselineMean))
+                    .append(",\"candidate_mean\":").append(toJsonNumber(change.candidateMean))
+                    .append(",\"change\":").append(toJsonNumber(change.change))
+                    .append(",\"ci_low\":").append(toJsonNumber(change.low))
+                    .append(",\"ci_high\":").append(toJsonNumber(change.high))
+                    .append(",\"tolerance\":").append(toJsonNumber(change.tolerance))
+                    .append(",\"increased_boards\":").append(change.numIncreased)
+                    .append(",\"decreased_boards\":").append(change.numDecreased)
+                    .append(",\"verdict\":\"").append(change.getVerdict()).append("\"}");
+        }
+
+        return json.append("]}").toString();
+    }
+
+    /**
+     * Returns the changes as CSV rows (one per line, without the header), in the order of the columns of
+     * <code>CSV_HEADER</code>
+     *
+     * @return changes as CSV rows
+     */
+    public String toCsv() {
+        StringBuilder csv = new StringBuilder();
+
+        for (Change change : changes) {
+            csv.append(SolverResult.escapeCsv(version))
+                    .append(',').append(SolverResult.escapeCsv(change.group))
+                    .append(',').append(change.metric)
+                    .append(',').append(toCsvNumber(change.baselineMean))
+                    .append(',').append(toCsvNumber(change.candidateMean))
+                    .append(',').append(toCsvNumber(change.change))
+                    .append(',').append(toCsvNumber(change.low))
+                    .append(',').append(toCsvNumber(change.high))
+                    .append(',').append(toCsvNumber(change.tolerance))
+                    .append(',').append(change.numIncreased)
+                    .append(',').append(change.numDecreased)
+                    .append(',').append(change.getVerdict())
+                    .append('\n');
+        }
+
+        return csv.toString();
+    }
+
+    /**
+     * Returns the given number with the given number of decimal places (<code>-</code> if it is
+     * <code>NaN</code>)
+     *
+     * @param value number to be written
+     * @param decimals number of decimal places
+     * @return given number with the given number of decimal places
+     */
+    private static String format(double value, int decimals) {
+        if (Double.isNaN(value)) {
+            return "-";
+        }
+
+        return String.format(Locale.ROOT, "%." + decimals + "f", value);
+    }
+
+    /**
+     * Returns the given relative change as a signed percentage with two decimal places (<code>-</code>
+     * if it is <code>NaN</code>)
+     *
+     * @param value relative change to be written
+     * @return given relative change as a percentage
+     */
+    private static String formatPercent(double value) {
+        if (Double.isNaN(value)) {
+            return "-";
+        }
+
+        return String.format(Locale.ROOT, "%+.2f%%", value * 100);
+    }
+
+    /**
+     * Returns the given number as a JSON number with six decimal places (<code>null</code> if it is
+     * <code>NaN</code>)
+     *
+     * @param value number to be written
+     * @return given number as a JSON number
+     */
+    private static String toJsonNumber(double value) {
+        return Double.isNaN(value) ? "null" : format(value, 6);
+    }
+
+    /**
+     * Returns the given number as a CSV field with six decimal places (empty if it is <code>NaN</code>)
+     *
+     * @param value number to be written
+     * @return given number as a CSV field
+     */
+    private static String toCsvNumber(double value) {
+        return Double.isNaN(value) ? "" : format(value, 6);
+    }
+
+    /**
+     * Class implementing the change of a measurement over a group of the corpus
+     */
+    private static class Change {
+        /* Name of the group */
+        private final String group;
+        /* Name of the measurement */
+        private final String metric;
+        /* Mean of the measurement in the baseline */
+        private final double baselineMean;
+        /* Mean of the measurement in the candidate */
+        private final double candidateMean;
+        /* Relative change of the total of the measurement */
+        private final double change;
+        /* Lower bound of the confidence interval of the change */
+        private final double low;
+        /* Upper bound of the confidence interval of the change */
+        private final double high;
+        /* Tolerance of the change */
+        private final double tolerance;
+        /* Number of boards on which the measurement increased */
+        private final int numIncreased;
+        /* Number of boards on which the measurement decreased */
+        private final int numDecreased;
+        /* true if the verdict follows from the boards that changed; false if it follows from the interval */
+        private final boolean isExact;
+
+        /**
+         * Creates the change of a measurement over a group
+         *
+         * @param group name of the group
+         * @param metric name of the measurement
+         * @param baselineMean mean of the measurement in the baseline
+         * @param candidateMean mean of the measurement in the candidate
+         * @param change relative change of the total of the measurement
+         * @param low lower bound of the confidence interval of the change
+         * @param high upper bound of the confidence interval of the change
+         * @param tolerance tolerance of the change
+         * @param numIncreased number of boards on which the measurement increased
+         * @param numDecreased number of boards on which the measurement decreased
+         * @param isExact <code>true</code> if the verdict follows from the boards that changed;
+         *                <code>false</code> if it follows from the confidence interval
+         */
+        private Change(String group, String metric, double baselineMean, double candidateMean, double change,
+                       double low, double high, double tolerance, int numIncreased, int numDecreased,
+                       boolean isExact) {
+            this.group = group;
+            this.metric = metric;
+            this.baselineMean = baselineMean;
+            this.candidateMean = candidateMean;
+            this.change = change;
+            this.low = low;
+            this.high = high;
+            this.tolerance = tolerance;
+            this.numIncreased = numIncreased;
+            this.numDecreased = numDecreased;
+            this.isExact = isExact;
+        }
+
+        /**
+         * Returns the verdict of this change
+         *
+         * @return <code>REGRESSION</code> if the confidence interval lies above the tolerance (for an exact
+         * comparison, if the measurement increased on any board); <code>IMPROVEMENT</code> if it lies below
+         * the opposite of the tolerance (for an exact comparison, if the measurement decreased on some boards
+         * and increased on none); <code>UNCHANGED</code>, otherwise
+         */
+        private String getVerdict() {
+            if (isExact) {
+                return numIncreased > 0 ? REGRESSION : numDecreased > 0 ? IMPROVEMENT : UNCHANGED;
+            }
+
+            if (low > tolerance) {
+                return REGRESSION;
+            }
+            if (high < -tolerance) {
+                return IMPROVEMENT;
+            }
+
+            return UNCHANGED;
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package benchmark;
+
+import gold_miner.Board;
+import gold_miner.BoardDefinition;
+import gold_miner.Miner;
+import headless.BoardGenerator;
+import headless.Solver;
+import headless.SolverResult;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Class implementing the <b>driver of the scalability curves</b> of the rational agent, which runs
+ * the agent on seeded boards of geometrically growing dimensions, under every combination of the
+ * given densities and gold placements, until the boards no longer fit in memory or in the time budget
+ *
+ * <p>Each point of a curve consists of the given number of boards of one dimension, drawn by a
+ * <code>BoardGenerator</code> from the given seed. The boards are drawn before anything is measured;
+ * then, for each board, the board is created and searched by a <code>Solver</code> (so the reachability
+ * check is included, as in the headless engine). The heap used while creating and searching the board
+ * is tracked through the peak usage of the heap memory pools, above the usage after a garbage
+ * collection just before the board is created. Since the peaks of the pools may be reached at
+ * different times, their sum slightly overestimates the actual peak; and since the usage of a pool is
+ * only updated a region (or allocation buffer) at a time, the peak heap of the smallest boards reads
+ * as 0, and such points are left out of the fitted slopes.</p>
+ *
+ * <p>A curve stops growing once the next dimension is expected to exhaust the heap (judging from the
+ * peak heap per tile of the last point and from the memory needed to draw the boards), once the next
+ * point is expected to exceed the time budget (judging from the time of the last point, scaled by the
+ * number of tiles), or once the next dimension exceeds the largest dimension given. Running out of memory
+ * regardless also stops the curve, and is recorded as its reason for stopping.</p>
+ *
+ * <p>The log-log slopes of the curves (see <code>ScalingReport</code>) tell how each measurement
+ * grows with the number of tiles: a slope of 1 is linear in the number of tiles, and a slope of 0.5
+ * is linear in the dimension.</p>
+ */
+public class ScalabilityCurve {
+    /* Seed of the boards */
+    private final long seed;
+    /* Dimensions of the points, in increasing order (null to grow them geometrically) */
+    private final int[] dimensions;
+    /* Dimension of the first point, when the dimensions grow geometrically */
+    private final int startDimension;
+    /* Largest dimension of a point */
+    private final int maxDimension;
+    /* Probabilities that a square tile is a pit */
+    private final double[] pitDensities;
+    /* Probabilities that a square tile is a beacon */
+    private final double[] beaconDensities;
+    /* Policies for the placement of the gold square tile */
+    private final char[] goldPlacements;
+    /* Number of boards of each point */
+    private final int numBoards;
+    /* Number of unmeasured passes over the boards of each point */
+    private final int numWarmups;
+    /* Time budget of a point, in nanoseconds */
+    private final long maxTime;
+
+    /* Solver that runs the rational agent */
+    private final Solver solver;
+    /* Heap memory pools of the virtual machine */
+    private final List<MemoryPoolMXBean> heapPools;
+
+    /**
+     * Approximate number of bytes per tile needed to draw a board (the tiles and the union-find
+     * structure of the generator, and the coordinates of the board)
+     */
+    public static final long GENERATOR_BYTES_PER_TILE = 12;
+
+    /**
+     * Largest dimension of the boards that can be drawn by a <code>BoardGenerator</code>
+     */
+    public static final int GENERATOR_MAX_DIMENSION = 46340;
+
+    /**
+     * Creates the driver of the scalability curves under every combination of the given densities
+     * and gold placements
+     *
+     * @param seed seed of the boards
+     * @param dimensions dimensions of the points; <code>null</code> to double the dimension from
+     *                   <code>startDimension</code> up to <code>maxDimension</code>
+     * @param startDimension dimension of the first point, when the dimensions grow geometrically
+     *                       (at least 2)
+     * @param maxDimension largest dimension of a point
+     * @param pitDensities probabilities that a square tile is a pit
+     * @param beaconDensities probabilities that a square tile is a beacon
+     * @param goldPlacements policies for the placement of the gold square tile (see
+     *                       <code>BoardGenerator</code>)
+     * @param numBoards number of boards of each point (at least 1)
+     * @param numWarmups number of unmeasured passes over the boards of each point
+     * @param maxSeconds time budget of a point, in seconds
+     */
+    public ScalabilityCurve(long seed, int[] dimensions, int startDimension, int maxDimension,
+                            double[] pitDensities, double[] beaconDensities, char[] goldPlacements,
+                            int numBoards, int numWarmups, long maxSeconds) {
+        this.seed = seed;
+        this.dimensions = dimensions == null ? null : Arrays.stream(dimensions).sorted().toArray();
+        this.startDimension = startDimension;
+        this.maxDimension = Math.min(maxDimension, GENERATOR_MAX_DIMENSION);
+        this.pitDensities = pitDensities;
+        this.beaconDensities = beaconDensities;
+        this.goldPlacements = goldPlacements;
+        this.numBoards = numBoards;
+        this.numWarmups = numWarmups;
+        this.maxTime = maxSeconds * 1000000000L;
+
+        solver = new Solver(Miner.TRACE_COUNTS);
+
+        heapPools = new ArrayList<MemoryPoolMXBean>();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                heapPools.add(pool);
+            }
+        }
+    }
+
+    /**
+     * Measures every curve and returns the report of all of them, printing the progress to the
+     * given stream as each point is measured
+     *
+     * @param progress stream to which the progress is printed (usually the standard error stream)
+     * @return report of all the curves
+     * @throws IOException if no solvable board can be drawn for a point
+     */
+    public ScalingReport run(PrintStream progress) throws IOException {
+        ScalingReport report = new ScalingReport();
+
+        for (double pitDensity : pitDensities) {
+            for (double beaconDensity : beaconDensities) {
+                for (char goldPlacement : goldPlacements) {
+                    LinkedHashMap<String, String> parameters = new LinkedHashMap<String, String>();
+                    parameters.put("pits", String.valueOf(pitDensity));
+                    parameters.put("beacons", String.valueOf(beaconDensity));
+                    parameters.put("gold", SearchBenchmark.getGoldName(goldPlacement));
+
+                    ArrayList<ScalingPoint> points = new ArrayList<ScalingPoint>();
+                    String stopReason = runCurve(pitDensity, beaconDensity, goldPlacement, points, progress);
+                    report.add(parameters, points, stopReason);
+                }
+            }
+        }
+
+        return report;
+    }
+
+    /**
+     * Measures the points of a single curve, in increasing order of dimension, until the curve stops
+     * growing, and returns the reason why it stopped
+     *
+     * @param pitDensity probability that a square tile is a pit
+     * @param beaconDensity probability that a square tile is a beacon
+     * @param goldPlacement policy for the placement of the gold square tile
+     * @param points list to which the points are added
+     * @param progress stream to which the progress is printed
+     * @return reason why the curve stopped growing
+     * @throws IOException if no solvable board can be drawn for a point
+     */
+    private String runCurve(double pitDensity, double beaconDensity, char goldPlacement,
+                            List<ScalingPoint> points, PrintStream progress) throws IOException {
+        long maxHeap = Runtime.getRuntime().maxMemory();
+
+        for (int i = 0; ; i++) {
+            int dimension;
+            if (dimensions != null) {
+                if (i == dimensions.length) {
+                    return "last dimension";
+                }
+                dimension = dimensions[i];
+            } else {
+                long next = (long) startDimension << i;
+                if (next > maxDimension) {
+                    return "largest dimension";
+                }
+                dimension = (int) next;
+            }
+
+            long numTiles = (long) dimension * dimension;
+            if (dimension > GENERATOR_MAX_DIMENSION) {
+                return "largest dimension";
+            }
+
+            /* The next point is expected to scale like the last one, per tile. */
+            if (!points.isEmpty()) {
+                ScalingPoint last = points.get(points.size() - 1);
+                double heapPerTile = (double) last.getPeakHeap() / last.getNumTiles();
+                if (numTiles * (GENERATOR_BYTES_PER_TILE + heapPerTile) > maxHeap * 0.8) {
+                    return "memory";
+                }
+
+                if ((double) last.getTime() * (numBoards + numWarmups) * numTiles / last.getNumTiles() > maxTime) {
+                    return "time";
+                }
+            }
+
+            try {
+                ScalingPoint point = measure(dimension, pitDensity, beaconDensity, goldPlacement);
+                points.add(point);
+
+                progress.println("pits=" + pitDensity + " beacons=" + beaconDensity + " gold="
+                        + SearchBenchmark.getGoldName(goldPlacement) + " dimension=" + dimension + ": "
+                        + point.getTime() / 1000 + " us, " + point.getAllocatedBytes() + " B allocated, "
+                        + point.getPeakHeap() + " B peak heap");
+            } catch (OutOfMemoryError e) {
+                return "out of memory";
+            }
+        }
+    }
+
+    /**
+     * Measures the rational agent on the boards of the given dimension drawn under the given
+     * densities and gold placement
+     *
+     * @param dimension dimension of the boards
+     * @param pitDensity probability that a square tile is a pit
+     * @param beaconDensity probability that a square tile is a beacon
+     * @param goldPlacement policy for the placement of the gold square tile
+     * @return point of the curve at the given dimension
+     * @throws IOException if no solvable board can be drawn
+     */
+    private ScalingPoint measure(int dimension, double pitDensity, double beaconDensity, char goldPlacement)
+            throws IOException {
+        /* The boards are drawn first, so the generator is not part of the measurements. */
+        BoardDefinition[] definitions = new BoardDefinition[numBoards];
+        BoardGenerator generator = new BoardGenerator(seed, numBoards, dimension, pitDensity, beaconDensity,
+                goldPlacement, BoardGenerator.REJECT);
+        for (int i = 0; i < numBoards; i++) {
+            definitions[i] = generator.next();
+        }
+
+        for (int pass = 0; pass < numWarmups; pass++) {
+            for (BoardDefinition definition : definitions) {
+                solver.solve(definition);
+            }
+        }
+
+        long[] times = new long[numBoards];
+        long[] allocated = new long[numBoards];
+        long peakHeap = 0;
+        long totalActions = 0;
+
+        for (int i = 0; i < numBoards; i++) {
+            System.gc();
+            long baseline = getHeapUsed();
+            for (MemoryPoolMXBean pool : heapPools) {
+                pool.resetPeakUsage();
+            }
+
+            Board b = definitions[i].createBoard();
+            SolverResult result = solver.solve(definitions[i].getName(), b);
+
+            peakHeap = Math.max(peakHeap, getHeapPeak() - baseline);
+            times[i] = result.getWallTime();
+            allocated[i] = result.getAllocatedBytes();
+            totalActions += result.getTotalActions();
+        }
+
+        return new ScalingPoint(dimension, numBoards, median(times), median(allocated), Math.max(0, peakHeap),
+                (double) totalActions / numBoards);
+    }
+
+    /**
+     * Returns the heap currently used, over all the heap memory pools, in bytes
+     *
+     * @return heap currently used, in bytes
+     */
+    private long getHeapUsed() {
+        long used = 0;
+        for (MemoryPoolMXBean pool : heapPools) {
+            used += pool.getUsage().getUsed();
+        }
+
+        return used;
+    }
+
+    /**
+     * Returns the sum of the peak usages of the heap memory pools since they were last reset, in bytes
+     *
+     * @return sum of the peak usages of the heap memory pools, in bytes
+     */
+    private long getHeapPeak() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : heapPools) {
+            peak += pool.getPeakUsage().getUsed();
+        }
+
+        return peak;
+    }
+
+    /**
+     * Returns the median of the given values (the lower of the two middle values, if their number is even)
+     *
+     * @param values values whose median is returned (sorted in place)
+     * @return median of the given values
+     */
+    private static long median(long[] values) {
+        Arrays.sort(values);
+
+        return values[(values.length - 1) / 2];
+    }
+}
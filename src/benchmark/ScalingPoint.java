@@ -0,0 +1,109 @@
+package benchmark;
+
+/**
+ * Class implementing a <b>point of a scalability curve</b>, that is, the measurements of the rational
+ * agent on the boards of a single dimension drawn under given densities and gold placement
+ *
+ * <p>The time and the allocated bytes are the medians over the boards, so that a single board on
+ * which the agent happens to explore much more (or less) than usual does not bend the curve. The peak
+ * heap is the greatest over the boards, since it is what bounds the dimension that fits in memory.</p>
+ */
+public class ScalingPoint {
+    /* Dimension of the boards */
+    private final int dimension;
+    /* Number of boards measured */
+    private final int numBoards;
+    /* Median wall-clock time of a run (the reachability check and the search), in nanoseconds */
+    private final long time;
+    /* Median number of bytes allocated by a run (-1 if they cannot be measured) */
+    private final long allocatedBytes;
+    /* Greatest heap used above the baseline while creating and searching a board, in bytes */
+    private final long peakHeap;
+    /* Mean number of actions of a run */
+    private final double meanActions;
+
+    /**
+     * Creates a point of a scalability curve
+     *
+     * @param dimension dimension of the boards
+     * @param numBoards number of boards measured
+     * @param time median wall-clock time of a run, in nanoseconds
+     * @param allocatedBytes median number of bytes allocated by a run (-1 if they cannot be measured)
+     * @param peakHeap greatest heap used above the baseline while creating and searching a board,
+     *                 in bytes
+     * @param meanActions mean number of actions of a run
+     */
+    public ScalingPoint(int dimension, int numBoards, long time, long allocatedBytes, long peakHeap,
+                        double meanActions) {
+        this.dimension = dimension;
+        this.numBoards = numBoards;
+        this.time = time;
+        this.allocatedBytes = allocatedBytes;
+        this.peakHeap = peakHeap;
+        this.meanActions = meanActions;
+    }
+
+    /**
+     * Returns the dimension of the boards
+     *
+     * @return dimension of the boards
+     */
+    public int getDimension() {
+        return dimension;
+    }
+
+    /**
+     * Returns the number of square tiles of each board
+     *
+     * @return number of square tiles of each board
+     */
+    public long getNumTiles() {
+        return (long) dimension * dimension;
+    }
+
+    /**
+     * Returns the number of boards measured
+     *
+     * @return number of boards measured
+     */
+    public int getNumBoards() {
+        return numBoards;
+    }
+
+    /**
+     * Returns the median wall-clock time of a run, in nanoseconds
+     *
+     * @return median wall-clock time of a run, in nanoseconds
+     */
+    public long getTime() {
+        return time;
+    }
+
+    /**
+     * Returns the median number of bytes allocated by a run (-1 if they cannot be measured)
+     *
+     * @return median number of bytes allocated by a run
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * Returns the greatest heap used above the baseline while creating and searching a board,
+     * in bytes
+     *
+     * @return peak heap of a board, in bytes
+     */
+    public long getPeakHeap() {
+        return peakHeap;
+    }
+
+    /**
+     * Returns the mean number of actions of a run
+     *
+     * @return mean number of actions of a run
+     */
+    public double getMeanActions() {
+        return meanActions;
+    }
+}
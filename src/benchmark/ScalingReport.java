@@ -0,0 +1,315 @@
+package benchmark;
+
+import headless.SolverResult;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * Class implementing the <b>report of the scalability curves</b> of the rational agent, with the
+ * empirical complexity of the time, allocated bytes, and peak heap of each curve
+ *
+ * <p>The complexity of a measurement is the slope of the least-squares line through the logarithm of
+ * the measurement against the logarithm of the number of tiles: a measurement growing like
+ * <code>n^k</code> in the number of tiles <code>n</code> has a slope of <code>k</code>. The slope is
+ * fitted over all the points of the curve, together with its coefficient of determination, and over
+ * the last <code>TAIL_POINTS</code> points only, since the constant costs that dominate the smallest
+ * boards flatten the overall slope. The local slope between each point and the previous one shows
+ * where a curve bends.</p>
+ *
+ * <p>The report can be written as text (with a table per curve), as a JSON object (on a single line),
+ * or as CSV rows (one per point, with the local slopes).</p>
+ */
+public class ScalingReport {
+    /* Parameters of each curve, by name */
+    private final List<LinkedHashMap<String, String>> parameters;
+    /* Points of each curve, in increasing order of dimension */
+    private final List<List<ScalingPoint>> curves;
+    /* Reason why each curve stopped growing */
+    private final List<String> stopReasons;
+
+    /**
+     * Number of points at the end of a curve over which the tail slope is fitted
+     */
+    public static final int TAIL_POINTS = 3;
+
+    /**
+     * Header of the CSV rows returned by <code>toCsv</code>
+     */
+    public static final String CSV_HEADER = "pits,beacons,gold,dimension,tiles,boards,time_ns,allocated_bytes,"
+            + "peak_heap_bytes,mean_actions,time_slope,allocated_slope,peak_heap_slope";
+
+    /* Names of the measurements, and how each is read from a point */
+    private static final String[] METRICS = {"time", "allocated", "peak_heap"};
+    private static final List<ToLongFunction<ScalingPoint>> METRIC_VALUES = List.of(
+            ScalingPoint::getTime, ScalingPoint::getAllocatedBytes, ScalingPoint::getPeakHeap);
+
+    /**
+     * Creates a report without any curve
+     */
+    public ScalingReport() {
+        parameters = new ArrayList<LinkedHashMap<String, String>>();
+        curves = new ArrayList<List<ScalingPoint>>();
+        stopReasons = new ArrayList<String>();
+    }
+
+    /**
+     * Adds a curve to this report
+     *
+     * @param curveParameters parameters of the curve, by name
+     * @param points points of the curve, in increasing order of dimension
+     * @param stopReason reason why the curve stopped growing
+     */
+    public void add(LinkedHashMap<String, String> curveParameters, List<ScalingPoint> points, String stopReason) {
+        parameters.add(curveParameters);
+        curves.add(points);
+        stopReasons.add(stopReason);
+    }
+
+    /**
+     * Returns the slope, the intercept, and the coefficient of determination of the least-squares line
+     * through the logarithm of the given measurement against the logarithm of the number of tiles, over
+     * the given points (ignoring the points at which the measurement is not positive)
+     *
+     * @param points points of a curve
+     * @param metric measurement of a point
+     * @return slope (first element), intercept (second element), and coefficient of determination
+     * (third element) of the fitted line; all <code>NaN</code> if there are fewer than two points
+     */
+    public static double[] fit(List<ScalingPoint> points, ToLongFunction<ScalingPoint> metric) {
+        int n = 0;
+        double sumX = 0;
+        double sumY = 0;
+        double sumXX = 0;
+        double sumXY = 0;
+        double sumYY = 0;
+
+        for (ScalingPoint point : points) {
+            long value = metric.applyAsLong(point);
+            if (value <= 0) {
+                continue;
+            }
+
+            double x = Math.log(point.getNumTiles());
+            double y = Math.log(value);
+            n++;
+            sumX += x;
+            sumY += y;
+            sumXX += x * x;
+            sumXY += x * y;
+            sumYY += y * y;
+        }
+
+        double varianceX = n * sumXX - sumX * sumX;
+        if (n < 2 || varianceX == 0) {
+            return new double[] {Double.NaN, Double.NaN, Double.NaN};
+        }
+
+        double slope = (n * sumXY - sumX * sumY) / varianceX;
+        double intercept = (sumY - slope * sumX) / n;
+
+        /* A perfectly flat curve is perfectly fitted by a flat line. */
+        double varianceY = n * sumYY - sumY * sumY;
+        double r2 = varianceY <= 0 ? 1 : (n * sumXY - sumX * sumY) * (n * sumXY - sumX * sumY) / (varianceX * varianceY);
+
+        return new double[] {slope, intercept, r2};
+    }
+
+    /**
+     * Returns the report as text, with a table of the points of each curve followed by its slopes
+     *
+     * @return report as text
+     */
+    public String toText() {
+        StringBuilder text = new StringBuilder();
+        text.append("# Scalability of the rational agent\n\n");
+        text.append("Slopes are log-log against the number of tiles (1 = linear in the tiles, 0.5 = linear in ")
+                .append("the dimension). Times and allocations are medians over the boards of each point; ")
+                .append("the peak heap is the greatest over them.\n");
+
+        for (int c = 0; c < curves.size(); c++) {
+            List<ScalingPoint> points = curves.get(c);
+
+            text.append("\n## ").append(getLabel(c)).append("\n\n");
+            text.append("| dimension | tiles | time (us) | allocated (B) | peak heap (B) | actions "
+                    + "| time slope | allocated slope | peak heap slope |\n");
+            text.append("|---:|---:|---:|---:|---:|---:|---:|---:|---:|\n");
+
+            for (int i = 0; i < points.size(); i++) {
+                ScalingPoint point = points.get(i);
+                text.append("| ").append(point.getDimension())
+                        .append(" | ").append(point.getNumTiles())
+                        .append(" | ").append(format(point.getTime() / 1000.0, 1))
+                        .append(" | ").append(point.getAllocatedBytes())
+                        .append(" | ").append(point.getPeakHeap())
+                        .append(" | ").append(format(point.getMeanActions(), 1));
+
+                for (ToLongFunction<ScalingPoint> metric : METRIC_VALUES) {
+                    text.append(" | ").append(i == 0 ? "" : format(fit(points.subList(i - 1, i + 1), metric)[0], 2));
+                }
+                text.append(" |\n");
+            }
+
+            text.append("\n| measurement | slope | R^2 | tail slope |\n");
+            text.append("|---|---:|---:|---:|\n");
+            for (int m = 0; m < METRICS.length; m++) {
+                double[] overall = fit(points, METRIC_VALUES.get(m));
+                double[] tail = fit(getTail(points), METRIC_VALUES.get(m));
+
+                text.append("| ").append(METRICS[m])
+                        .append(" | ").append(format(overall[0], 2))
+                        .append(" | ").append(format(overall[2], 3))
+                        .append(" | ").append(format(tail[0], 2)).append(" |\n");
+            }
+
+            text.append("\nStopped: ").append(stopReasons.get(c)).append("\n");
+        }
+
+        return text.toString();
+    }
+
+    /**
+     * Returns the report as a JSON object (on a single line), with the points and slopes of each curve
+     *
+     * @return report as a JSON object
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder("{\"curves\":[");
+
+        for (int c = 0; c < curves.size(); c++) {
+            List<ScalingPoint> points = curves.get(c);
+            json.append(c == 0 ? "" : ",").append("{\"parameters\":{");
+
+            String separator = "";
+            for (Map.Entry<String, String> parameter : parameters.get(c).entrySet()) {
+                json.append(separator).append('"').append(SolverResult.escapeJson(parameter.getKey())).append("\":\"")
+                        .append(SolverResult.escapeJson(parameter.getValue())).append('"');
+                separator = ",";
+            }
+
+            json.append("},\"stopped\":\"").append(SolverResult.escapeJson(stopReasons.get(c))).append("\",\"points\":[");
+            for (int i = 0; i < points.size(); i++) {
+                ScalingPoint point = points.get(i);
+                json.append(i == 0 ? "" : ",")
+                        .append("{\"dimension\":").append(point.getDimension())
+                        .append(",\"tiles\":").append(point.getNumTiles())
+                        .append(",\"boards\":").append(point.getNumBoards())
+                        .append(",\"time_ns\":").append(point.getTime())
+                        .append(",\"allocated_bytes\":").append(point.getAllocatedBytes())
+                        .append(",\"peak_heap_bytes\":").append(point.getPeakHeap())
+                        .append(",\"mean_actions\":").append(format(point.getMeanActions(), 3))
+                        .append("}");
+            }
+
+            json.append("],\"slopes\":{");
+            for (int m = 0; m < METRICS.length; m++) {
+                double[] overall = fit(points, METRIC_VALUES.get(m));
+                double[] tail = fit(getTail(points), METRIC_VALUES.get(m));
+
+                json.append(m == 0 ? "" : ",").append('"').append(METRICS[m]).append("\":{")
+                        .append("\"slope\":").append(toJsonNumber(overall[0]))
+                        .append(",\"r2\":").append(toJsonNumber(overall[2]))
+                        .append(",\"tail_slope\":").append(toJsonNumber(tail[0]))
+                        .append("}");
+            }
+            json.append("}}");
+        }
+
+        return json.append("]}").toString();
+    }
+
+    /**
+     * Returns the points of every curve as CSV rows (one per line, without the header), in the order of
+     * the columns of <code>CSV_HEADER</code>, with the local slopes against the previous point of the curve
+     *
+     * @return points of every curve as CSV rows
+     */
+    public String toCsv() {
+        StringBuilder csv = new StringBuilder();
+
+        for (int c = 0; c < curves.size(); c++) {
+            List<ScalingPoint> points = curves.get(c);
+            LinkedHashMap<String, String> curveParameters = parameters.get(c);
+
+            for (int i = 0; i < points.size(); i++) {
+                ScalingPoint point = points.get(i);
+                csv.append(curveParameters.get("pits")).append(',').append(curveParameters.get("beacons"))
+                        .append(',').append(curveParameters.get("gold"))
+                        .append(',').append(point.getDimension())
+                        .append(',').append(point.getNumTiles())
+                        .append(',').append(point.getNumBoards())
+                        .append(',').append(point.getTime())
+                        .append(',').append(point.getAllocatedBytes())
+                        .append(',').append(point.getPeakHeap())
+                        .append(',').append(format(point.getMeanActions(), 3));
+
+                /* A slope that cannot be fitted is left empty. */
+                for (ToLongFunction<ScalingPoint> metric : METRIC_VALUES) {
+                    double slope = i == 0 ? Double.NaN : fit(points.subList(i - 1, i + 1), metric)[0];
+                    csv.append(',').append(Double.isNaN(slope) ? "" : format(slope, 3));
+                }
+                csv.append('\n');
+            }
+        }
+
+        return csv.toString();
+    }
+
+    /**
+     * Returns the label of the given curve, consisting of its parameters
+     *
+     * @param curve index of the curve
+     * @return label of the given curve
+     */
+    private String getLabel(int curve) {
+        StringBuilder label = new StringBuilder();
+        for (Map.Entry<String, String> parameter : parameters.get(curve).entrySet()) {
+            label.append(label.length() == 0 ? "" : ", ").append(parameter.getKey()).append('=')
+                    .append(parameter.getValue());
+        }
+
+        return label.toString();
+    }
+
+    /**
+     * Returns the last <code>TAIL_POINTS</code> points of the given curve (or all of them, if there are
+     * fewer)
+     *
+     * @param points points of a curve
+     * @return last points of the given curve
+     */
+    private static List<ScalingPoint> getTail(List<ScalingPoint> points) {
+        return points.subList(Math.max(0, points.size() - TAIL_POINTS), points.size());
+    }
+
+    /**
+     * Returns the given number with the given number of decimal places (<code>-</code> if it is
+     * <code>NaN</code>)
+     *
+     * @param value number to be written
+     * @param decimals number of decimal places
+     * @return given number with the given number of decimal places
+     */
+    private static String format(double value, int decimals) {
+        if (Double.isNaN(value)) {
+            return "-";
+        }
+
+        return String.format(Locale.ROOT, "%." + decimals + "f", value);
+    }
+
+    /**
+     * Returns the given number as a JSON number with three decimal places (<code>null</code> if it is
+     * <code>NaN</code>)
+     *
+     * @param value number to be written
+     * @return given number as a JSON number
+     */
+    private static String toJsonNumber(double value) {
+        return Double.isNaN(value) ? "null" : format(value, 3);
+    }
+}
@@ -0,0 +1,193 @@
+package benchmark;
+
+import gold_miner.Board;
+import gold_miner.BoardDefinition;
+import gold_miner.Exploration;
+import gold_miner.Miner;
+import headless.BoardGenerator;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+
+/**
+ * Class implementing the <b>end-to-end benchmark of the rational agent</b>, which measures
+ * <code>Miner.searchForGold(Board)</code> on fixed seeded boards under every combination of the
+ * given dimensions, pit densities, beacon densities, and gold placements
+ *
+ * <p>Each configuration consists of <code>BOARDS_PER_CONFIGURATION</code> solvable boards drawn by a
+ * <code>BoardGenerator</code> from the given seed, so the boards (and hence the results) are the same
+ * across runs and commits. An operation runs the rational agent from scratch on the next board of the
+ * configuration, in turn, with a fresh miner; the exploration state is reset rather than allocated
+ * anew (as in <code>BatchRunner</code>), so the operation measures the search itself.</p>
+ *
+ * <p>Since <code>searchForGold(Board)</code> records the actions with the full trace level (as for the
+ * GUI), the cost of recording them is included.</p>
+ */
+public class SearchBenchmark implements Benchmark {
+    /* Seed of the boards */
+    private final long seed;
+    /* Dimensions of the boards */
+    private final int[] dimensions;
+    /* Probabilities that a square tile is a pit */
+    private final double[] pitDensities;
+    /* Probabilities that a square tile is a beacon */
+    private final double[] beaconDensities;
+    /* Policies for the placement of the gold square tile */
+    private final char[] goldPlacements;
+
+    /**
+     * Number of boards of each configuration
+     */
+    public static final int BOARDS_PER_CONFIGURATION = 16;
+
+    /**
+     * Creates the benchmark of the rational agent on the boards drawn from the given seed under
+     * every combination of the given parameters
+     *
+     * @param seed seed of the boards
+     * @param dimensions dimensions of the boards (each at least 2)
+     * @param pitDensities probabilities that a square tile is a pit
+     * @param beaconDensities probabilities that a square tile is a beacon
+     * @param goldPlacements policies for the placement of the gold square tile (see
+     *                       <code>BoardGenerator</code>)
+     */
+    public SearchBenchmark(long seed, int[] dimensions, double[] pitDensities, double[] beaconDensities,
+                           char[] goldPlacements) {
+        this.seed = seed;
+        this.dimensions = dimensions;
+        this.pitDensities = pitDensities;
+        this.beaconDensities = beaconDensities;
+        this.goldPlacements = goldPlacements;
+    }
+
+    /**
+     * Returns the name of this benchmark
+     *
+     * @return <code>search</code>
+     */
+    @Override
+    public String getName() {
+        return "search";
+    }
+
+    /**
+     * Returns the number of configurations of this benchmark, that is, the number of combinations of
+     * the parameters
+     *
+     * @return number of configurations of this benchmark
+     */
+    @Override
+    public int getNumConfigurations() {
+        return dimensions.length * pitDensities.length * beaconDensities.length * goldPlacements.length;
+    }
+
+    /**
+     * Returns the parameters of the given configuration, by name
+     *
+     * @param configuration number of the configuration (from 0)
+     * @return dimension, pit density, beacon density, and gold placement of the given configuration
+     */
+    @Override
+    public LinkedHashMap<String, String> getParameters(int configuration) {
+        LinkedHashMap<String, String> parameters = new LinkedHashMap<String, String>();
+        parameters.put("dimension", String.valueOf(getDimension(configuration)));
+        parameters.put("pits", String.valueOf(getPitDensity(configuration)));
+        parameters.put("beacons", String.valueOf(getBeaconDensity(configuration)));
+        parameters.put("gold", getGoldName(getGoldPlacement(configuration)));
+
+        return parameters;
+    }
+
+    /**
+     * Generates the boards of the given configuration and returns the search of the rational agent
+     * on them, one board per operation
+     *
+     * @param configuration number of the configuration (from 0)
+     * @return search of the rational agent on the boards of the given configuration
+     * @throws IOException if no solvable board can be drawn under the given configuration
+     */
+    @Override
+    public Workload setUp(int configuration) throws IOException {
+        BoardGenerator generator = new BoardGenerator(seed, BOARDS_PER_CONFIGURATION, getDimension(configuration),
+                getPitDensity(configuration), getBeaconDensity(configuration), getGoldPlacement(configuration),
+                BoardGenerator.REJECT);
+
+        Board[] boards = new Board[BOARDS_PER_CONFIGURATION];
+        for (int i = 0; i < boards.length; i++) {
+            BoardDefinition definition;
+            definition = generator.next();
+            boards[i] = definition.createBoard();
+        }
+
+        Exploration exploration = new Exploration(boards[0]);
+        int[] next = {0};
+
+        return () -> {
+            Board b = boards[next[0]];
+            next[0] = (next[0] + 1) % boards.length;
+
+            exploration.reset(b);
+            Miner m = new Miner(exploration);
+            m.searchForGold(b);
+
+            return m.getNumMoves() + m.getNumRotations();
+        };
+    }
+
+    /**
+     * Returns the name of the given gold placement policy (as accepted by <code>--gold</code>)
+     *
+     * @param goldPlacement character code of the gold placement policy
+     * @return name of the given gold placement policy
+     */
+    public static String getGoldName(char goldPlacement) {
+        switch (goldPlacement) {
+            case BoardGenerator.GOLD_FAR:
+                return "far";
+            case BoardGenerator.GOLD_CORNER:
+                return "corner";
+            default:
+                return "uniform";
+        }
+    }
+
+    /**
+     * Returns the dimension of the boards of the given configuration
+     *
+     * @param configuration number of the configuration (from 0)
+     * @return dimension of the boards of the given configuration
+     */
+    private int getDimension(int configuration) {
+        return dimensions[configuration / (pitDensities.length * beaconDensities.length * goldPlacements.length)];
+    }
+
+    /**
+     * Returns the pit density of the boards of the given configuration
+     *
+     * @param configuration number of the configuration (from 0)
+     * @return pit density of the boards of the given configuration
+     */
+    private double getPitDensity(int configuration) {
+        return pitDensities[configuration / (beaconDensities.length * goldPlacements.length) % pitDensities.length];
+    }
+
+    /**
+     * Returns the beacon density of the boards of the given configuration
+     *
+     * @param configuration number of the configuration (from 0)
+     * @return beacon density of the boards of the given configuration
+     */
+    private double getBeaconDensity(int configuration) {
+        return beaconDensities[configuration / goldPlacements.length % beaconDensities.length];
+    }
+
+    /**
+     * Returns the gold placement policy of the boards of the given configuration
+     *
+     * @param configuration number of the configuration (from 0)
+     * @return gold placement policy of the boards of the given configuration
+     */
+    private char getGoldPlacement(int configuration) {
+        return goldPlacements[configuration % goldPlacements.length];
+    }
+}
@@ -0,0 +1,18 @@
+package benchmark;
+
+/**
+ * Interface for the <b>operation measured by a benchmark</b>, which is run repeatedly by a
+ * <code>Harness</code>
+ *
+ * <p>The value returned by each run is consumed by the harness, so that the just-in-time compiler
+ * cannot eliminate the work of the operation as dead code.</p>
+ */
+@FunctionalInterface
+public interface Workload {
+    /**
+     * Runs the operation once
+     *
+     * @return any value depending on the work of the operation (for instance, a counter of the agent)
+     */
+    long run();
+}
@@ -0,0 +1,7 @@
+/**
+ * Provides classes for <b>benchmarking</b> the engine, that is, for measuring the time and the
+ * allocations of the rational agent on fixed seeded boards, for scoring the agents on a versioned
+ * corpus of boards, and for comparing the rational agent against a stored performance baseline
+ */
+
+package benchmark;
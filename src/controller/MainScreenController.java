@@ -1,5 +1,7 @@
 package controller;
 
+import gold_miner.ActionLog;
+import gold_miner.ActionReplay;
 import gold_miner.Board;
 import gold_miner.GameMaster;
 import gold_miner.RandomMiner;
@@ -10,7 +12,6 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.WindowEvent;
 import java.awt.event.WindowListener;
-import java.util.LinkedList;
 
 /**
  * Class providing the <b>controller</b> for the processes related to the main
@@ -28,8 +29,8 @@ public class MainScreenController implements ActionListener, WindowListener {
     /* Controller for the processes related to the board configuration */
     private InitScreenController initCtrl;
 
-    /* Pre-loaded move sequence of the rational agent */
-    private LinkedList<String> preLoadedPath;
+    /* Replay of the pre-loaded move sequence of the rational agent */
+    private ActionReplay preLoadedPath;
 
     public MainScreenController(MainScreen scr, GameMaster game, InitScreenController initCtrl) {
         this.scr = scr;
@@ -42,7 +43,7 @@ public class MainScreenController implements ActionListener, WindowListener {
 
         /* Pre-load the move sequence of the rational agent. */
         if (game.getAIMode() == GameMaster.RATIONAL) {
-            preLoadedPath = game.searchForGold();
+            preLoadedPath = game.searchForGold().replay(game.getBoard());
         }
     }
 
@@ -158,45 +159,21 @@ public class MainScreenController implements ActionListener, WindowListener {
      * of the actions of the rational agent
      */
     public void rationalStepByStep() {
-        String details;             // details of the agent's action
-        details = preLoadedPath.poll();
+        /* Advance to the succeeding action of the agent. */
+        preLoadedPath.advance();
 
-        String[] tokDetails;        // tokenized details of the agent's action
-        tokDetails = details.split("\t");
+        /* Update the miner sprite depending on the action. */
+        if (preLoadedPath.getAction() == ActionLog.MOVE) {
+            scr.moveMiner(preLoadedPath.getRow(), preLoadedPath.getCol(), preLoadedPath.getFront());
 
-        /* The action per se of the agent is the first token. */
-        String currAction = tokDetails[0];
-        String[] tokCurrAction = currAction.split(" ");
-
-        /* Update the details displayed on the GUI depending on the action. */
-        if (tokCurrAction[0].equals("Scan")) {
-            scr.updateAll(tokDetails[1], tokDetails[2], tokDetails[3], tokDetails[4]);
-
-        } else if (tokCurrAction[0].equals("Move")) {
-            scr.moveMiner(Integer.parseInt(tokCurrAction[3]),
-                    Integer.parseInt(tokCurrAction[4]), tokCurrAction[5].charAt(0));
-
-            scr.updateAll(tokDetails[1], tokDetails[2], tokDetails[3], tokDetails[4]);
-
-        } else if (tokCurrAction[0].equals("Rotate")) {
-            scr.rotateMiner(Integer.parseInt(tokCurrAction[3]),
-                    Integer.parseInt(tokCurrAction[4]), tokCurrAction[5].charAt(0));
-
-            scr.updateAll(tokDetails[1], tokDetails[2], tokDetails[3], tokDetails[4]);
-
-        } else if (tokCurrAction[0].equals("Backtrack")) {
-            scr.updateAll(tokDetails[1], tokDetails[2], tokDetails[3], tokDetails[4]);
-
-        } else if (tokCurrAction[0].equals("Invalid")) {
-            scr.updateAll(tokDetails[1], tokDetails[2], tokDetails[3], tokDetails[4]);
-
-        } else if (tokCurrAction[0].equals("Possible")) {
-            scr.updateAll(tokDetails[1], tokDetails[2], tokDetails[3], tokDetails[4]);
-
-        } else if (tokCurrAction[0].equals("No")) {
-            scr.updateAll(tokDetails[1], tokDetails[2], tokDetails[3], tokDetails[4]);
+        } else if (preLoadedPath.getAction() == ActionLog.ROTATE) {
+            scr.rotateMiner(preLoadedPath.getRow(), preLoadedPath.getCol(), preLoadedPath.getFront());
         }
 
+        /* Update the details displayed on the GUI. */
+        scr.updateAll(preLoadedPath.getNumActions(), preLoadedPath.getMoveSequence(),
+                preLoadedPath.getPathStack(), preLoadedPath.getOutOfBoundsTiles());
+
         /* Disable the proceed button since demonstration is finished. */
         if (preLoadedPath.isEmpty()) {
             scr.setBtnEnabled(false);
@@ -240,7 +217,7 @@ public class MainScreenController implements ActionListener, WindowListener {
         /* The nonrational agent is susceptible to landing on pit tiles since its
         actions are randomly decided (no intelligent strategy or decision-making is involved).
          */
-        if (game.getBoard().getSquares()[game.getRandomRow()][game.getRandomCol()].getDesignation()
+        if (game.getBoard().getDesignation(game.getRandomRow(), game.getRandomCol())
                 == Board.GOLD) {
             scr.setBtnEnabled(false);
 
@@ -248,7 +225,7 @@ public class MainScreenController implements ActionListener, WindowListener {
             scr.updateAll(game.getRandomNumActions(), "The miner was successful!",
                     game.getRandomPathStack(), game.getRandomOutOfBoundsTiles());
 
-        } else if (game.getBoard().getSquares()[game.getRandomRow()][game.getRandomCol()].getDesignation()
+        } else if (game.getBoard().getDesignation(game.getRandomRow(), game.getRandomCol())
                 == Board.PIT) {
             scr.setBtnEnabled(false);
 
@@ -0,0 +1,341 @@
+package gold_miner;
+
+import java.util.Arrays;
+
+/**
+ * Class implementing the <b>compact record of the actions</b> undertaken by the rational agent
+ * in searching for the gold square tile
+ *
+ * <p>Each recorded action (referred to as an <i>event</i>) only stores its character code,
+ * the position and orientation of the miner, the distance returned by the most recent beacon,
+ * and the changes made to the path stack and to the scanned out-of-bounds tiles since the
+ * previous event. All of these are kept in primitive arrays. The full details displayed in the
+ * GUI (counters, path stack, and scanned out-of-bounds tiles) are only reconstructed on demand
+ * by replaying this record via <code>ActionReplay</code>.</p>
+ *
+ * <p>How much is stored depends on the trace level of the rational agent. With the events
+ * trace level, only the character code, position, and orientation of each event are recorded;
+ * the beacon distances, the path stack, and the scanned out-of-bounds tiles are only recorded
+ * with the full trace level. With the other trace levels, nothing is recorded at all.</p>
+ *
+ * <p>Note that the row and column numbers in this class (as well as in all other classes
+ * responsible for the back-end behavior) are zero-based.</p>
+ */
+public class ActionLog {
+    /* Character codes of the recorded events */
+    private char[] actions;
+    /* Row-coordinates of the miner at the time of each event */
+    private int[] rows;
+    /* Column-coordinates of the miner at the time of each event */
+    private int[] cols;
+    /* Directions to which the miner is facing at the time of each event */
+    private char[] fronts;
+    /* Distances returned by the most recent beacon at the time of each event */
+    private int[] beaconDistances;
+    /* Number of tiles popped from the path stack before each event */
+    private int[] numPops;
+    /* Bit flags describing the other changes in the state of the miner before each event */
+    private byte[] flags;
+
+    /* Level of detail with which the events are recorded */
+    private char traceLevel;
+    /* Number of recorded events */
+    private int size;
+
+    /* Changes in the state of the miner that are not yet attached to an event */
+    private int pendingPops;
+    private byte pendingFlags;
+
+    /* Flag signifying that the current position of the miner was pushed into the path stack */
+    private static final byte PUSH = 1;
+    /* Flag signifying that the tile in front of the miner was recorded as a scanned
+    out-of-bounds tile */
+    private static final byte OUT_OF_BOUNDS = 2;
+    /* Flag signifying that the number of backtracks was incremented */
+    private static final byte BACKTRACK = 4;
+
+    /* Initial number of events that can be recorded before the arrays are resized */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * Character code corresponding to a move by the miner
+     */
+    public static final char MOVE = 'M';
+    /**
+     * Character code corresponding to a scan by the miner
+     */
+    public static final char SCAN = 'S';
+    /**
+     * Character code corresponding to a rotation by the miner
+     */
+    public static final char ROTATE = 'R';
+    /**
+     * Character code corresponding to the start of a backtrack
+     */
+    public static final char BACKTRACK_START = 'B';
+    /**
+     * Character code corresponding to the end of a backtrack
+     */
+    public static final char BACKTRACK_END = 'E';
+    /**
+     * Character code corresponding to the detection of an invalid board layout
+     */
+    public static final char INVALID_LAYOUT = 'I';
+    /**
+     * Character code corresponding to the possible start of a backtrack (that is, after the
+     * miner has explored one of the cardinal directions of a beacon)
+     */
+    public static final char POSSIBLE_BACKTRACK = 'P';
+    /**
+     * Character code signifying that no backtrack occurred after the miner explored one of
+     * the cardinal directions of a beacon
+     */
+    public static final char NO_BACKTRACK = 'N';
+
+    /**
+     * Creates an empty record of actions given the trace level of the rational agent
+     *
+     * <p>The arrays holding the details not needed by the trace level are never allocated.</p>
+     *
+     * @param traceLevel character code specifying the level of detail of this record
+     */
+    public ActionLog(char traceLevel) {
+        this.traceLevel = traceLevel;
+
+        if (traceLevel == Miner.TRACE_EVENTS || traceLevel == Miner.TRACE_FULL) {
+            actions = new char[INITIAL_CAPACITY];
+            rows = new int[INITIAL_CAPACITY];
+            cols = new int[INITIAL_CAPACITY];
+            fronts = new char[INITIAL_CAPACITY];
+            flags = new byte[INITIAL_CAPACITY];
+        }
+
+        if (traceLevel == Miner.TRACE_FULL) {
+            beaconDistances = new int[INITIAL_CAPACITY];
+            numPops = new int[INITIAL_CAPACITY];
+        }
+
+        size = 0;
+        pendingPops = 0;
+        pendingFlags = 0;
+    }
+
+    /**
+     * Records an event, attaching to it all the changes in the state of the miner that
+     * have not yet been attached to a previous event
+     *
+     * @param action character code of the event
+     * @param row row-coordinate of the miner
+     * @param col column-coordinate of the miner
+     * @param front direction to which the miner is facing
+     * @param beaconDistance distance returned by the most recent beacon (-1 if the miner
+     *                       is not on a beacon)
+     */
+    public void record(char action, int row, int col, char front, int beaconDistance) {
+        /* Nothing is recorded with the less detailed trace levels. */
+        if (actions == null) {
+            return;
+        }
+
+        /* Double the capacity of the arrays once they are full. */
+        if (size == actions.length) {
+            int capacity = size * 2;
+
+            actions = Arrays.copyOf(actions, capacity);
+            rows = Arrays.copyOf(rows, capacity);
+            cols = Arrays.copyOf(cols, capacity);
+            fronts = Arrays.copyOf(fronts, capacity);
+            flags = Arrays.copyOf(flags, capacity);
+
+            if (traceLevel == Miner.TRACE_FULL) {
+                beaconDistances = Arrays.copyOf(beaconDistances, capacity);
+                numPops = Arrays.copyOf(numPops, capacity);
+            }
+        }
+
+        actions[size] = action;
+        rows[size] = row;
+        cols[size] = col;
+        fronts[size] = front;
+        flags[size] = pendingFlags;
+
+        if (traceLevel == Miner.TRACE_FULL) {
+            beaconDistances[size] = beaconDistance;
+            numPops[size] = pendingPops;
+        }
+
+        size++;
+
+        /* The pending changes are now attached to this event. */
+        pendingPops = 0;
+        pendingFlags = 0;
+    }
+
+    /**
+     * Records that the current position of the miner was pushed into the path stack
+     *
+     * <p>The position pushed is the one stored in the next recorded event.</p>
+     */
+    public void push() {
+        if (traceLevel == Miner.TRACE_FULL) {
+            pendingFlags |= PUSH;
+        }
+    }
+
+    /**
+     * Records that a tile was popped from the path stack
+     */
+    public void pop() {
+        pendingPops++;
+    }
+
+    /**
+     * Records that the out-of-bounds tile in front of the miner was added to the scanned
+     * out-of-bounds tiles
+     *
+     * <p>The position and orientation of the miner are the ones stored in the next
+     * recorded event.</p>
+     */
+    public void scanOutOfBounds() {
+        if (traceLevel == Miner.TRACE_FULL) {
+            pendingFlags |= OUT_OF_BOUNDS;
+        }
+    }
+
+    /**
+     * Records that the number of backtracks was incremented
+     */
+    public void countBacktrack() {
+        pendingFlags |= BACKTRACK;
+    }
+
+    /**
+     * Returns the character code specifying the level of detail of this record
+     *
+     * @return character code specifying the level of detail of this record
+     */
+    public char getTraceLevel() {
+        return traceLevel;
+    }
+
+    /**
+     * Returns the number of recorded events
+     *
+     * @return number of recorded events
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the character code of the specified event
+     *
+     * @param i index of the event
+     * @return character code of the specified event
+     */
+    public char getAction(int i) {
+        return actions[i];
+    }
+
+    /**
+     * Returns the row-coordinate of the miner at the time of the specified event
+     *
+     * @param i index of the event
+     * @return row-coordinate of the miner at the time of the specified event
+     */
+    public int getRow(int i) {
+        return rows[i];
+    }
+
+    /**
+     * Returns the column-coordinate of the miner at the time of the specified event
+     *
+     * @param i index of the event
+     * @return column-coordinate of the miner at the time of the specified event
+     */
+    public int getCol(int i) {
+        return cols[i];
+    }
+
+    /**
+     * Returns the direction to which the miner is facing at the time of the specified event
+     *
+     * @param i index of the event
+     * @return direction to which the miner is facing at the time of the specified event
+     */
+    public char getFront(int i) {
+        return fronts[i];
+    }
+
+    /**
+     * Returns the distance returned by the most recent beacon at the time of the specified
+     * event (-1 if the miner is not on a beacon)
+     *
+     * <p>This detail is only recorded with the full trace level.</p>
+     *
+     * @param i index of the event
+     * @return distance returned by the most recent beacon at the time of the specified event
+     */
+    public int getBeaconDistance(int i) {
+        return beaconDistances[i];
+    }
+
+    /**
+     * Returns the number of tiles popped from the path stack before the specified event
+     *
+     * <p>This detail is only recorded with the full trace level.</p>
+     *
+     * @param i index of the event
+     * @return number of tiles popped from the path stack before the specified event
+     */
+    public int getNumPops(int i) {
+        return numPops[i];
+    }
+
+    /**
+     * Returns <code>true</code> if the position of the miner was pushed into the path stack
+     * before the specified event (after the pops); <code>false</code>, otherwise
+     *
+     * @param i index of the event
+     * @return <code>true</code> if the position of the miner was pushed into the path stack
+     * before the specified event; <code>false</code>, otherwise
+     */
+    public boolean isPush(int i) {
+        return (flags[i] & PUSH) != 0;
+    }
+
+    /**
+     * Returns <code>true</code> if the out-of-bounds tile in front of the miner was added to
+     * the scanned out-of-bounds tiles before the specified event; <code>false</code>, otherwise
+     *
+     * @param i index of the event
+     * @return <code>true</code> if the out-of-bounds tile in front of the miner was added to
+     * the scanned out-of-bounds tiles before the specified event; <code>false</code>, otherwise
+     */
+    public boolean isOutOfBoundsScan(int i) {
+        return (flags[i] & OUT_OF_BOUNDS) != 0;
+    }
+
+    /**
+     * Returns <code>true</code> if the number of backtracks was incremented before the
+     * specified event; <code>false</code>, otherwise
+     *
+     * @param i index of the event
+     * @return <code>true</code> if the number of backtracks was incremented before the
+     * specified event; <code>false</code>, otherwise
+     */
+    public boolean isBacktrackCounted(int i) {
+        return (flags[i] & BACKTRACK) != 0;
+    }
+
+    /**
+     * Returns a replay of this record, which reconstructs the full details of each event
+     * on demand (for use in the GUI)
+     *
+     * @param b board explored by the miner
+     * @return replay of this record
+     */
+    public ActionReplay replay(Board b) {
+        return new ActionReplay(this, b);
+    }
+}
@@ -0,0 +1,291 @@
+package gold_miner;
+
+import java.util.Arrays;
+
+/**
+ * Class implementing the <b>replay of the compact record of actions</b> undertaken by the
+ * rational agent, reconstructing the full details of each event only when they are requested
+ * (for use in the GUI)
+ *
+ * <p>Note that the row and column numbers in this class (as well as in all other classes
+ * responsible for the back-end behavior) are zero-based.</p>
+ */
+public class ActionReplay {
+    /* Record of actions being replayed */
+    private ActionLog log;
+    /* Board explored by the miner */
+    private Board b;
+
+    /* Index of the current event (-1 if the replay has not yet started) */
+    private int index;
+
+    /* Number of rotations */
+    private int numRotate;
+    /* Number of scans */
+    private int numScan;
+    /* Number of moves */
+    private int numMove;
+    /* Number of backtracks */
+    private int numBacktrack;
+
+    /* Row- and column-coordinates of the square tiles comprising the path stack */
+    private int[] pathRows;
+    private int[] pathCols;
+    private int pathSize;
+
+    /* Row- and column-coordinates of the scanned out-of-bounds tiles */
+    private int[] outOfBoundsRows;
+    private int[] outOfBoundsCols;
+    private int outOfBoundsSize;
+
+    /**
+     * Creates a replay of the given record of actions
+     *
+     * @param log record of actions undertaken by the rational agent
+     * @param b board explored by the miner
+     */
+    public ActionReplay(ActionLog log, Board b) {
+        this.log = log;
+        this.b = b;
+
+        index = -1;
+
+        pathRows = new int[16];
+        pathCols = new int[16];
+        outOfBoundsRows = new int[16];
+        outOfBoundsCols = new int[16];
+
+        /* The first square tile visited by the miner is its initial position. */
+        pathRows[0] = 0;
+        pathCols[0] = 0;
+        pathSize = 1;
+        outOfBoundsSize = 0;
+    }
+
+    /**
+     * Returns <code>true</code> if all the recorded events have already been replayed;
+     * <code>false</code>, otherwise
+     *
+     * @return <code>true</code> if all the recorded events have already been replayed;
+     * <code>false</code>, otherwise
+     */
+    public boolean isEmpty() {
+        return index + 1 >= log.size();
+    }
+
+    /**
+     * Advances this replay to the next recorded event, applying its changes to the counters,
+     * the path stack, and the scanned out-of-bounds tiles
+     */
+    public void advance() {
+        index++;
+
+        /* Apply the changes to the path stack (the pops precede the push). */
+        if (isFull()) {
+            pathSize -= log.getNumPops(index);
+        }
+
+        if (log.isPush(index)) {
+            if (pathSize == pathRows.length) {
+                pathRows = Arrays.copyOf(pathRows, pathSize * 2);
+                pathCols = Arrays.copyOf(pathCols, pathSize * 2);
+            }
+
+            pathRows[pathSize] = log.getRow(index);
+            pathCols[pathSize] = log.getCol(index);
+            pathSize++;
+        }
+
+        /* The scanned out-of-bounds tile is the one in front of the miner. */
+        if (log.isOutOfBoundsScan(index)) {
+            if (outOfBoundsSize == outOfBoundsRows.length) {
+                outOfBoundsRows = Arrays.copyOf(outOfBoundsRows, outOfBoundsSize * 2);
+                outOfBoundsCols = Arrays.copyOf(outOfBoundsCols, outOfBoundsSize * 2);
+            }
+
+            int row = log.getRow(index);
+            int col = log.getCol(index);
+
+            switch (log.getFront(index)) {
+                case Miner.UP:
+                    row--;
+                    break;
+                case Miner.RIGHT:
+                    col++;
+                    break;
+                case Miner.LEFT:
+                    col--;
+                    break;
+                case Miner.DOWN:
+                    row++;
+                    break;
+            }
+
+            outOfBoundsRows[outOfBoundsSize] = row;
+            outOfBoundsCols[outOfBoundsSize] = col;
+            outOfBoundsSize++;
+        }
+
+        /* Increment the counters. */
+        if (log.isBacktrackCounted(index)) {
+            numBacktrack++;
+        }
+
+        switch (log.getAction(index)) {
+            case ActionLog.MOVE:
+                numMove++;
+                break;
+            case ActionLog.SCAN:
+                numScan++;
+                break;
+            case ActionLog.ROTATE:
+                numRotate++;
+                break;
+        }
+    }
+
+    /**
+     * Returns the character code of the current event
+     *
+     * @return character code of the current event
+     */
+    public char getAction() {
+        return log.getAction(index);
+    }
+
+    /**
+     * Returns the row-coordinate of the miner at the time of the current event
+     *
+     * @return row-coordinate of the miner at the time of the current event
+     */
+    public int getRow() {
+        return log.getRow(index);
+    }
+
+    /**
+     * Returns the column-coordinate of the miner at the time of the current event
+     *
+     * @return column-coordinate of the miner at the time of the current event
+     */
+    public int getCol() {
+        return log.getCol(index);
+    }
+
+    /**
+     * Returns the direction to which the miner is facing at the time of the current event
+     *
+     * @return direction to which the miner is facing at the time of the current event
+     */
+    public char getFront() {
+        return log.getFront(index);
+    }
+
+    /**
+     * Returns a string representation of the number of actions executed by the rational
+     * agent at the time of the current event (for use in the GUI)
+     *
+     * @return string representation of the number of actions executed by the rational agent
+     */
+    public String getNumActions() {
+        return  "Number of Moves: " + numMove + "\n" +
+                "Number of Scans: " + numScan + "\n" +
+                "Number of Rotations: " + numRotate + "\n" +
+                "Number of Backtracks: " + numBacktrack + "\n" +
+                "Beacon Return Value: " + (isFull() ? "" + log.getBeaconDistance(index) : "N/A");
+    }
+
+    /**
+     * Returns a string representation of the current event (for use in the GUI)
+     *
+     * @return string representation of the current event
+     */
+    public String getMoveSequence() {
+        String position;        // position and orientation of the miner
+        position = "" + (getRow() + 1) + " " + (getCol() + 1) + " " + getFront();
+
+        switch (getAction()) {
+            case ActionLog.MOVE:
+                return "Move: " + position;
+            case ActionLog.SCAN:
+                return "Scan: " + position;
+            case ActionLog.ROTATE:
+                return "Rotate: " + position;
+            case ActionLog.BACKTRACK_START:
+                return "Backtrack start ";
+            case ActionLog.BACKTRACK_END:
+                return "Backtrack end ";
+            case ActionLog.INVALID_LAYOUT:
+                return "Invalid board layout!";
+            case ActionLog.POSSIBLE_BACKTRACK:
+                return "Possible backtrack start ";
+            case ActionLog.NO_BACKTRACK:
+                return "No backtrack occurred ";
+        }
+
+        /* Should be unreachable code if the record is set up properly */
+        return "";
+    }
+
+    /**
+     * Returns a string representation of the path stack at the time of the current event
+     * (for use in the GUI)
+     *
+     * <p>Since the path stack is only recorded with the full trace level, the return value
+     * of this function is <code>"N/A"</code> for the other trace levels.</p>
+     *
+     * @return string representation of the path stack
+     */
+    public String getPathStack() {
+        if (!isFull()) {
+            return "N/A";
+        }
+
+        StringBuilder pathString = new StringBuilder();
+
+        for (int i = 0; i < pathSize; i++) {
+            pathString.append(b.getSquare(pathRows[i], pathCols[i]).toString()).append("\n");
+        }
+
+        return pathString.toString();
+    }
+
+    /**
+     * Returns a string representation of the scanned out-of-bounds tiles at the time of the
+     * current event (for use in the GUI)
+     *
+     * <p>Since the scanned out-of-bounds tiles are only recorded with the full trace level,
+     * the return value of this function is <code>"N/A"</code> for the other trace levels.</p>
+     *
+     * @return string representation of the scanned out-of-bounds tiles
+     */
+    public String getOutOfBoundsTiles() {
+        if (!isFull()) {
+            return "N/A";
+        }
+
+        /* No scanned out-of-bounds tiles yet */
+        if (outOfBoundsSize == 0) {
+            return "NONE";
+        }
+
+        StringBuilder currOOB = new StringBuilder();
+
+        for (int i = 0; i < outOfBoundsSize; i++) {
+            currOOB.append(new Square(outOfBoundsRows[i], outOfBoundsCols[i], Board.OUT_OF_BOUNDS).toString())
+                    .append("\n");
+        }
+
+        return currOOB.toString();
+    }
+
+    /**
+     * Returns <code>true</code> if the record being replayed was built with the full trace
+     * level; <code>false</code>, otherwise
+     *
+     * @return <code>true</code> if the record being replayed was built with the full trace
+     * level; <code>false</code>, otherwise
+     */
+    private boolean isFull() {
+        return log.getTraceLevel() == Miner.TRACE_FULL;
+    }
+}
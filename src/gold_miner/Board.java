@@ -6,14 +6,42 @@ import java.util.ArrayList;
  * Class implementing the <b>board</b> consisting of square tiles explored by the miner
  * either rationally (as a smart agent) or randomly
  *
+ * <p>The designations of the square tiles are stored in a <code>TileStore</code>: a single
+ * byte array in row-major order for ordinary boards, lazily allocated chunks for boards
+ * with hundreds of millions of tiles, a hash table of only the tiles that are not empty for
+ * huge boards with very few pits and beacons, or a memory-mapped file for boards that do not
+ * fit comfortably on the heap. <code>Square</code> objects are only created when they
+ * are requested.</p>
+ *
+ * <p>A board is immutable once created, and can thus be shared by any number of runs (even
+ * across threads). The tiles visited and the out-of-bounds tiles scanned during a run are kept
+ * in a separate <code>Exploration</code> state.</p>
+ *
+ * <p>The pits and beacons are additionally kept as row-major and column-major bitboards, so
+ * that straight-line queries (such as the distance to the nearest pit in front of the miner)
+ * examine 64 tiles per word operation instead of one tile at a time.</p>
+ *
  * <p>Note that the row and column numbers in this class (as well as in all other classes
  * responsible for the back-end behavior) are zero-based.</p>
  */
 public class Board {
-    /* ArrayList of the squares comprising the board */
-    private Square[][] squares;
-    /* Square tile that the miner must step on to win the game */
-    private Square goldSquare;
+    /* Designations of the square tiles comprising the board */
+    private final TileStore tiles;
+    /* Row-major and column-major bitboards of the pits */
+    private final TileBitset pits;
+    private final TileBitset pitCols;
+    /* Row-major and column-major bitboards of the beacons */
+    private final TileBitset beacons;
+    private final TileBitset beaconCols;
+    /* Row- and column-coordinates of the square tile that the miner must step on to win the game */
+    private final int goldRow;
+    private final int goldCol;
+    /* Rows (in the column of the gold tile) and columns (in the row of the gold tile) delimiting
+    the tiles that are not separated from the gold tile by a pit */
+    private int goldTop;
+    private int goldBottom;
+    private int goldLeft;
+    private int goldRight;
     /* Dimension of the board (its length is equal to its width) */
     private final int DIMENSION;
 
@@ -44,6 +72,27 @@ public class Board {
      */
     public static final char OUT_OF_BOUNDS = 'O';
 
+    /**
+     * Maximum number of square tiles for which the designations are stored in a single array;
+     * larger boards are stored in lazily allocated chunks
+     */
+    public static final long DENSE_LIMIT = 1L << 24;
+
+    /**
+     * Minimum number of square tiles for which the designations may be stored sparsely
+     */
+    public static final long SPARSE_MIN_TILES = 1L << 16;
+
+    /**
+     * Fraction of the square tiles that are not empty below which the designations of a board with
+     * at least <code>SPARSE_MIN_TILES</code> tiles are stored sparsely
+     */
+    public static final double SPARSE_DENSITY = 1.0 / 64;
+
+    /* Row and column offsets of the four neighbors of a square tile */
+    private static final int[] ROW_OFFSET = {-1, 1, 0, 0};
+    private static final int[] COL_OFFSET = {0, 0, -1, 1};
+
     /**
      * Creates a board object given the dimension, the row- and column-coordinates
      * of the beacons, the row- and column-coordinates of the pits, and the row- and
@@ -60,38 +109,145 @@ public class Board {
      */
     public Board(int dimension, ArrayList<Integer> rBeacon, ArrayList<Integer> cBeacon, ArrayList<Integer> rPit,
                  ArrayList<Integer> cPit, int rGold, int cGold) {
-        this.DIMENSION = dimension;
-        squares = new Square[dimension][dimension];
+        this(dimension, toArray(rBeacon), toArray(cBeacon), toArray(rPit), toArray(cPit), rGold, cGold);
+    }
 
+    /**
+     * Creates a board object given the dimension, the row- and column-coordinates
+     * of the beacons, the row- and column-coordinates of the pits, and the row- and
+     * column-coordinates of the gold square tile
+     *
+     * <p>Boards with more than <code>DENSE_LIMIT</code> tiles are stored in lazily allocated
+     * chunks, and their beacons and pits are set in parallel. Boards with at least
+     * <code>SPARSE_MIN_TILES</code> tiles, of which fewer than a fraction of
+     * <code>SPARSE_DENSITY</code> are not empty, only store the tiles that are not empty.</p>
+     *
+     * @param dimension number of square tiles spanning the length of the board (which
+     *                  is also equal to the number of tiles spanning its width)
+     * @param rBeacon row-coordinates of the beacons
+     * @param cBeacon column-coordinates of the beacons
+     * @param rPit row-coordinates of the pits
+     * @param cPit column-coordinates of the pits
+     * @param rGold row-coordinate of the gold square tile
+     * @param cGold column-coordinate of the gold square tile
+     */
+    public Board(int dimension, int[] rBeacon, int[] cBeacon, int[] rPit, int[] cPit, int rGold, int cGold) {
         /* Initialize all square tiles to be empty. */
-        for (int i = 0; i < dimension; i++) {
-            for (int j = 0; j < dimension; j++) {
-                squares[i][j] = new Square(i, j, EMPTY);
-            }
-        }
+        this(newTileStore(dimension, rBeacon.length + rPit.length + 1), dimension, rBeacon, cBeacon,
+                rPit, cPit, rGold, cGold);
+    }
+
+    /**
+     * Creates a board object whose designations are kept in the given storage, given the
+     * dimension, the row- and column-coordinates of the beacons, the row- and column-coordinates
+     * of the pits, and the row- and column-coordinates of the gold square tile
+     *
+     * <p>This allows the designations to be kept outside the heap (for instance, in a
+     * <code>MappedTileStore</code>). The bitboards of the board are obtained from the same
+     * storage.</p>
+     *
+     * @param tiles storage of the designations, in which all the square tiles are empty
+     * @param dimension number of square tiles spanning the length of the board (which
+     *                  is also equal to the number of tiles spanning its width)
+     * @param rBeacon row-coordinates of the beacons
+     * @param cBeacon column-coordinates of the beacons
+     * @param rPit row-coordinates of the pits
+     * @param cPit column-coordinates of the pits
+     * @param rGold row-coordinate of the gold square tile
+     * @param cGold column-coordinate of the gold square tile
+     */
+    public Board(TileStore tiles, int dimension, int[] rBeacon, int[] cBeacon, int[] rPit, int[] cPit,
+                 int rGold, int cGold) {
+        this.DIMENSION = dimension;
+        this.tiles = tiles;
 
         /* Set the beacons. */
-        for (int i = 0; i < rBeacon.size(); i++) {
-            squares[rBeacon.get(i)][cBeacon.get(i)].setDesignation(BEACON);
-        }
+        tiles.setDesignations(rBeacon, cBeacon, BEACON);
 
         /* Set the pits. */
-        for (int i = 0; i < rPit.size(); i++) {
-            squares[rPit.get(i)][cPit.get(i)].setDesignation(PIT);
-        }
+        tiles.setDesignations(rPit, cPit, PIT);
 
         /* Set the gold square tile. */
-        squares[rGold][cGold].setDesignation(GOLD);
-        goldSquare = squares[rGold][cGold];
+        tiles.setDesignation(rGold, cGold, GOLD);
+        goldRow = rGold;
+        goldCol = cGold;
+
+        /* Precompute the distances returned by the beacons. */
+        indexBeacons();
+
+        /* Build the bitboards from the final designations (a pit or the gold tile may
+        override a beacon at the same coordinates).
+         */
+        pits = tiles.newBitset(dimension);
+        pitCols = tiles.newBitset(dimension);
+        for (int i = 0; i < rPit.length; i++) {
+            if (getDesignation(rPit[i], cPit[i]) == PIT) {
+                pits.set(rPit[i], cPit[i]);
+                pitCols.set(cPit[i], rPit[i]);
+            }
+        }
+
+        beacons = tiles.newBitset(dimension);
+        beaconCols = tiles.newBitset(dimension);
+        for (int i = 0; i < rBeacon.length; i++) {
+            if (getDesignation(rBeacon[i], cBeacon[i]) == BEACON) {
+                beacons.set(rBeacon[i], cBeacon[i]);
+                beaconCols.set(cBeacon[i], rBeacon[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns the square tile at the given coordinates
+     *
+     * <p>The returned object is created anew every time this method is invoked. Since a board
+     * does not keep track of the visited tiles, the returned square tile stands alone; the
+     * square tiles of a run are obtained from its <code>Exploration</code> state instead.</p>
+     *
+     * @param row row-coordinate of the square tile
+     * @param col column-coordinate of the square tile
+     * @return square tile at the given coordinates
+     */
+    public Square getSquare(int row, int col) {
+        return new Square(row, col, getDesignation(row, col));
+    }
+
+    /**
+     * Returns the designation of the square tile at the given coordinates
+     *
+     * @param row row-coordinate of the square tile
+     * @param col column-coordinate of the square tile
+     * @return designation of the square tile at the given coordinates
+     */
+    public char getDesignation(int row, int col) {
+        return tiles.getDesignation(row, col);
+    }
+
+    /**
+     * Returns the row-coordinate of the gold square tile
+     *
+     * @return row-coordinate of the gold square tile
+     */
+    public int getGoldRow() {
+        return goldRow;
     }
 
     /**
-     * Returns all the squares comprising this board
+     * Returns the column-coordinate of the gold square tile
      *
-     * @return squares comprising this board
+     * @return column-coordinate of the gold square tile
      */
-    public Square[][] getSquares() {
-        return squares;
+    public int getGoldCol() {
+        return goldCol;
+    }
+
+    /**
+     * Returns the storage of the designations of the square tiles comprising this board
+     *
+     * @return storage of the designations of the square tiles comprising this board
+     */
+    public TileStore getTiles() {
+        return tiles;
     }
 
     /**
@@ -122,168 +278,358 @@ public class Board {
 
         /* Exclude out-of-bounds square tiles. */
         if (!isOutOfBounds(row - 1, col)) {     // Above the square tile
-            ret.add(squares[row - 1][col]);
+            ret.add(getSquare(row - 1, col));
         }
 
         if (!isOutOfBounds(row + 1, col)) {     // Below the square tile
-            ret.add(squares[row + 1][col]);
+            ret.add(getSquare(row + 1, col));
         }
 
         if (!isOutOfBounds(row, col - 1)) {     // Left of the square tile
-            ret.add(squares[row][col - 1]);
+            ret.add(getSquare(row, col - 1));
         }
 
         if (!isOutOfBounds(row, col + 1)) {     // Right of the square tile
-            ret.add(squares[row][col + 1]);
+            ret.add(getSquare(row, col + 1));
         }
 
         return ret;
     }
 
     /**
-     * Returns <code>true</code> if there is an unvisited square tile sharing an edge
-     * with the given square tile; <code>false</code>, otherwise
+     * Returns the distance between the given beacon and the gold square tile, provided
+     * that the gold tile is in one of its four cardinal directions and that there is no pit
+     * in between this tile and the gold tile
+     *
+     * <p>This function assumes that the given square tile is a beacon.</p>
+     *
+     * @param beacon beacon whose distance from the gold square tile is returned
+     * @return distance of the given beacon from the gold square tile, subject to the
+     * conditions explained
+     */
+    public int beaconScan(Square beacon) {
+        return beaconScan(beacon.getRow(), beacon.getCol());
+    }
+
+    /**
+     * Returns the distance between the beacon at the given coordinates and the gold square
+     * tile, provided that the gold tile is in one of its four cardinal directions and that
+     * there is no pit in between this tile and the gold tile
+     *
+     * <p>This function assumes that the square tile at the given coordinates is a beacon.
+     * It runs in constant time since it only consults the stretches of tiles around the gold
+     * tile computed during the creation of this board.</p>
      *
-     * @param s square tile whose neighboring square tiles are checked
-     * @return <code>true</code> if there is an unvisited square tile sharing an edge
-     * with the given square tile; <code>false</code>, otherwise
+     * @param beaconRow row-coordinate of the beacon
+     * @param beaconCol column-coordinate of the beacon
+     * @return distance of the given beacon from the gold square tile, subject to the
+     * conditions explained
      */
-    public boolean hasUnvisitedNeighbors(Square s) {
-        /* Neighboring square tiles of the given square tile */
-        ArrayList<Square> neighbors;
-        neighbors = getNeighbors(s);
+    public int beaconScan(int beaconRow, int beaconCol) {
+        /* Check if the beacon belongs to the same column as the gold square tile, with
+        no pit in between them.
+         */
+        if (beaconCol == goldCol && beaconRow != goldRow) {
+            if (goldTop <= beaconRow && beaconRow <= goldBottom) {
+                return Math.abs(beaconRow - goldRow);
+            }
 
-        /* Check if there is an unvisited neighbor. */
-        for (int i = 0; i < neighbors.size(); i++) {
-            if (!neighbors.get(i).getIsVisited()) {
-                return true;
+        } else if (beaconRow == goldRow) { /* Check if the beacon belongs to the same row as
+                                              the gold tile, with no pit in between them. */
+            if (goldLeft <= beaconCol && beaconCol <= goldRight) {
+                return Math.abs(beaconCol - goldCol);
             }
         }
 
-        return false;
+        /* Violation of the conditions explained */
+        return 0;
     }
 
     /**
-     * Returns the distance between the given beacon and the gold square tile, provided
-     * that the gold tile is in one of its four cardinal directions and that there is no pit
-     * in between this tile and the gold tile
+     * Computes the stretches of tiles in the same row and in the same column as the gold
+     * square tile that are not separated from it by a pit
      *
-     * <p>This function assumes that the given square tile is a beacon.</p>
+     * <p>This consists of one sweep along the row and one sweep along the column of the
+     * gold tile, each stopping at the first pit (or at the edge of the board) in either
+     * direction.</p>
+     */
+    private void indexBeacons() {
+        /* Sweep upwards and downwards from the gold square tile. */
+        goldTop = goldRow;
+        while (goldTop - 1 >= 0 && getDesignation(goldTop - 1, goldCol) != PIT) {
+            goldTop--;
+        }
+
+        goldBottom = goldRow;
+        while (goldBottom + 1 < DIMENSION && getDesignation(goldBottom + 1, goldCol) != PIT) {
+            goldBottom++;
+        }
+
+        /* Sweep to the left and to the right of the gold square tile. */
+        goldLeft = goldCol;
+        while (goldLeft - 1 >= 0 && getDesignation(goldRow, goldLeft - 1) != PIT) {
+            goldLeft--;
+        }
+
+        goldRight = goldCol;
+        while (goldRight + 1 < DIMENSION && getDesignation(goldRow, goldRight + 1) != PIT) {
+            goldRight++;
+        }
+    }
+
+    /**
+     * Returns the number of square tiles in front of the given position (that is, in the
+     * given direction) before the edge of this board
      *
-     * @param beacon beacon whose distance from the gold square tile is returned
-     * @return distance of the given beacon from the gold square tile, subject to the
-     * conditions explained
+     * @param row row-coordinate of the position
+     * @param col column-coordinate of the position
+     * @param front direction in which the tiles are counted
+     * @return number of square tiles in front of the given position before the edge of this board
      */
-    public int beaconScan(Square beacon) {
-        /* Row- and column-coordinates of the given beacon and gold square tile. */
-        int beaconRow;
-        int beaconCol;
-        int goldRow;
-        int goldCol;
-
-        beaconRow = beacon.getRow();
-        beaconCol = beacon.getCol();
-        goldRow = goldSquare.getRow();
-        goldCol = goldSquare.getCol();
-
-        /* Distance to be returned */
-        int distance = 0;
-
-        /* Check if the gold square tile belongs to the same column as the beacon. */
-        if (beaconCol == goldCol) {
-
-            /* Check the tiles above the beacon. */
-            if (beaconRow > goldRow) {
-                for (int i = beaconRow - 1; i >= 0; i--) {
-                    /* Violation of the condition that there must be no pit in between
-                    the beacon and the gold tile
-                     */
-                    if (squares[i][beaconCol].getDesignation() == PIT) {
-                        return 0;
-                    }
+    public int getDistanceToEdge(int row, int col, char front) {
+        switch (front) {
+            case Miner.UP:
+                return row;
+            case Miner.RIGHT:
+                return DIMENSION - 1 - col;
+            case Miner.LEFT:
+                return col;
+            case Miner.DOWN:
+                return DIMENSION - 1 - row;
+        }
 
-                    /* Return the distance since the gold tile has been found. */
-                    if (squares[i][beaconCol].getDesignation() == GOLD) {
-                        distance++;
-                        break;
-                    }
+        /* Should be unreachable code if the direction is valid */
+        return 0;
+    }
 
-                    /* Uncomment for debugging. */
-                    /* System.out.println("Up of Beacon: " + distance); */
+    /**
+     * Returns the distance between the given position and the nearest pit in front of it
+     * (that is, in the given direction); 0 if there is no such pit
+     *
+     * @param row row-coordinate of the position
+     * @param col column-coordinate of the position
+     * @param front direction in which the pit is searched
+     * @return distance between the given position and the nearest pit in front of it;
+     * 0 if there is no such pit
+     */
+    public int getDistanceToPit(int row, int col, char front) {
+        return getDistanceAhead(pits, pitCols, row, col, front, true);
+    }
 
-                    distance++;
-                }
+    /**
+     * Returns the distance between the given position and the nearest beacon in front of it
+     * (that is, in the given direction); 0 if there is no such beacon
+     *
+     * @param row row-coordinate of the position
+     * @param col column-coordinate of the position
+     * @param front direction in which the beacon is searched
+     * @return distance between the given position and the nearest beacon in front of it;
+     * 0 if there is no such beacon
+     */
+    public int getDistanceToBeacon(int row, int col, char front) {
+        return getDistanceAhead(beacons, beaconCols, row, col, front, true);
+    }
 
-            } else {  /* Scan below beacon. */
-                for (int i = beaconRow + 1; i < DIMENSION; i++) {
-                    /* Violation of the condition that there must be no pit in between
-                    the beacon and the gold tile
-                     */
-                    if (squares[i][beaconCol].getDesignation() == PIT) {
-                        return 0;
-                    }
+    /**
+     * Returns the distance between the given position and the gold square tile, provided that
+     * the gold tile is in front of it (that is, in the given direction); 0, otherwise
+     *
+     * @param row row-coordinate of the position
+     * @param col column-coordinate of the position
+     * @param front direction in which the gold square tile is searched
+     * @return distance between the given position and the gold square tile if it is in front
+     * of the position; 0, otherwise
+     */
+    public int getDistanceToGold(int row, int col, char front) {
+        switch (front) {
+            case Miner.UP:
+                return col == goldCol && goldRow < row ? row - goldRow : 0;
+            case Miner.RIGHT:
+                return row == goldRow && goldCol > col ? goldCol - col : 0;
+            case Miner.LEFT:
+                return row == goldRow && goldCol < col ? col - goldCol : 0;
+            case Miner.DOWN:
+                return col == goldCol && goldRow > row ? goldRow - row : 0;
+        }
 
-                    /* Return the distance since the gold tile has been found. */
-                    if (squares[i][beaconCol].getDesignation() == GOLD) {
-                        distance++;
-                        break;
-                    }
+        /* Should be unreachable code if the direction is valid */
+        return 0;
+    }
 
-                    /* Uncomment for debugging. */
-                    /* System.out.println("Down of Beacon: " + distance); */
+    /**
+     * Returns the distance between the given position and the nearest square tile in front of it
+     * (that is, in the given direction) whose bit in the given bitboards is equal to the given
+     * value; 0 if there is no such tile
+     *
+     * @param rows row-major bitboard
+     * @param cols column-major bitboard
+     * @param row row-coordinate of the position
+     * @param col column-coordinate of the position
+     * @param front direction in which the tile is searched
+     * @param value <code>true</code> to search for a set bit; <code>false</code> to search for
+     *              a clear bit
+     * @return distance between the given position and the nearest tile in front of it whose bit
+     * is equal to the given value; 0 if there is no such tile
+     */
+    int getDistanceAhead(TileBitset rows, TileBitset cols, int row, int col, char front,
+                         boolean value) {
+        /* There is no tile in front of a position at the edge of the board. */
+        if (getDistanceToEdge(row, col, front) == 0) {
+            return 0;
+        }
 
-                    distance++;
-                }
-            }
+        int found;          // position of the tile found in its row or column
+        switch (front) {
+            case Miner.UP:
+                found = cols.prevInLine(col, row - 1, 0, value);
+                return found == -1 ? 0 : row - found;
+            case Miner.RIGHT:
+                found = rows.nextInLine(row, col + 1, DIMENSION - 1, value);
+                return found == -1 ? 0 : found - col;
+            case Miner.LEFT:
+                found = rows.prevInLine(row, col - 1, 0, value);
+                return found == -1 ? 0 : col - found;
+            case Miner.DOWN:
+                found = cols.nextInLine(col, row + 1, DIMENSION - 1, value);
+                return found == -1 ? 0 : found - row;
+        }
 
-        } else if (beaconRow == goldRow) { /* Check if the gold tile belongs to the
-                                              same row as the beacon. */
-
-            /* Scan to the right of beacon. */
-            if (beaconCol < goldCol) {
-                for (int i = beaconCol + 1; i < DIMENSION; i++) {
-                    /* Violation of the condition that there must be no pit in between
-                    the beacon and the gold tile
-                     */
-                    if (squares[beaconRow][i].getDesignation() == PIT) {
-                        return 0;
-                    }
+        /* Should be unreachable code if the direction is valid */
+        return 0;
+    }
 
-                    /* Return the distance since the gold tile has been found. */
-                    if (squares[beaconRow][i].getDesignation() == GOLD) {
-                        distance++;
-                        break;
-                    }
+    /**
+     * Returns <code>true</code> if the gold square tile can be reached from the starting tile
+     * of the miner (the upper-left tile) without stepping on a pit; <code>false</code>, otherwise
+     *
+     * <p>If either of the two L-shaped paths from the starting tile to the gold square tile is
+     * free of pits (as is usual on a board with few pits), the gold tile is reachable, which is
+     * checked in time linear in the dimension of the board. Otherwise, this is a breadth-first
+     * search over the tiles that are not pits, which stops as soon as the gold square tile is
+     * reached. It takes time linear in the number of tiles, so an invalid board layout is
+     * detected without having the miner explore every tile it can reach.</p>
+     *
+     * @return <code>true</code> if the gold square tile can be reached from the starting tile
+     * of the miner; <code>false</code>, otherwise
+     */
+    public boolean isGoldReachable() {
+        /* On a board with few pits, one of the two L-shaped paths to the gold tile is usually clear. */
+        if (isClearPath(true) || isClearPath(false)) {
+            return true;
+        }
+
+        return floodFill(true) < 0;
+    }
+
+    /**
+     * Returns <code>true</code> if there is no pit on the L-shaped path from the starting tile of
+     * the miner to the gold square tile that goes either along the top row and then down the
+     * column of the gold tile, or down the left column and then along the row of the gold tile;
+     * <code>false</code>, otherwise
+     *
+     * <p>Each leg of the path is searched on the bitboards of the pits, 64 tiles per word
+     * operation, so this takes time linear in the dimension of the board.</p>
+     *
+     * @param isRowFirst <code>true</code> for the path along the top row first; <code>false</code>
+     *                   for the path down the left column first
+     * @return <code>true</code> if there is no pit on the given L-shaped path; <code>false</code>,
+     * otherwise
+     */
+    private boolean isClearPath(boolean isRowFirst) {
+        if (isRowFirst) {
+            return (goldCol == 0 || pits.nextInLine(0, 1, goldCol, true) == -1)
+                    && (goldRow == 0 || pitCols.nextInLine(goldCol, 1, goldRow, true) == -1);
+        }
+
+        return (goldRow == 0 || pitCols.nextInLine(0, 1, goldRow, true) == -1)
+                && (goldCol == 0 || pits.nextInLine(goldRow, 1, goldCol, true) == -1);
+    }
+
+    /**
+     * Returns the number of square tiles (including the starting tile of the miner) that can be
+     * reached from the starting tile of the miner without stepping on a pit
+     *
+     * <p>This is a breadth-first search over the tiles that are not pits, which takes time linear
+     * in the number of tiles.</p>
+     *
+     * @return number of square tiles that can be reached from the starting tile of the miner
+     */
+    public long getReachableSize() {
+        return floodFill(false);
+    }
+
+    /**
+     * Visits the square tiles that can be reached from the starting tile of the miner without
+     * stepping on a pit, in breadth-first order, and returns the number of tiles visited
+     *
+     * <p>The miner stands on the starting tile, so it is visited regardless of its designation.
+     * The tiles are marked in a bitset (whose pages are only allocated for the regions reached),
+     * and the frontier is kept in a circular queue of primitive coordinates.</p>
+     *
+     * @param stopAtGold <code>true</code> to stop as soon as the gold square tile is visited;
+     *                   <code>false</code> to visit every reachable tile
+     * @return -1 if the search stopped at the gold square tile; otherwise, the number of square
+     * tiles visited
+     */
+    private long floodFill(boolean stopAtGold) {
+        TileBitset reached;
+        reached = tiles.newBitset(DIMENSION);
+
+        /* Circular queue of the coordinates of the frontier (its capacity is a power of two) */
+        int[] queueRows = new int[64];
+        int[] queueCols = new int[64];
+        int head = 0;
+        int size = 1;
+
+        queueRows[0] = 0;
+        queueCols[0] = 0;
+        reached.set(0, 0);
+        long numReached = 1;
+
+        while (size > 0) {
+            int row = queueRows[head];
+            int col = queueCols[head];
+            head = (head + 1) & (queueRows.length - 1);
+            size--;
+
+            if (stopAtGold && row == goldRow && col == goldCol) {
+                return -1;
+            }
 
-                    /* Uncomment for debugging. */
-                    /* System.out.println("Right of Beacon: " + distance); */
+            for (int i = 0; i < ROW_OFFSET.length; i++) {
+                int nextRow = row + ROW_OFFSET[i];
+                int nextCol = col + COL_OFFSET[i];
 
-                    distance++;
+                if (isOutOfBounds(nextRow, nextCol) || reached.get(nextRow, nextCol)
+                        || pits.get(nextRow, nextCol)) {
+                    continue;
                 }
-            } else { /* Scan to the left of beacon. */
-                for (int i = beaconCol - 1; i >= 0; i--) {
-                    /* Violation of the condition that there must be no pit in between
-                    the beacon and the gold tile
-                     */
-                    if (squares[beaconRow][i].getDesignation() == PIT) {
-                        return 0;
-                    }
 
-                    /* Return the distance since the gold tile has been found. */
-                    if (squares[beaconRow][i].getDesignation() == GOLD) {
-                        distance++;
-                        break;
+                /* Unroll the circular queue into arrays twice as long once it is full. */
+                if (size == queueRows.length) {
+                    int[] rows = new int[size * 2];
+                    int[] cols = new int[size * 2];
+                    for (int j = 0; j < size; j++) {
+                        rows[j] = queueRows[(head + j) & (size - 1)];
+                        cols[j] = queueCols[(head + j) & (size - 1)];
                     }
 
-                    /* Uncomment for debugging. */
-                    /* System.out.println("Left of Beacon: " + distance); */
-
-                    distance++;
+                    queueRows = rows;
+                    queueCols = cols;
+                    head = 0;
                 }
+
+                int tail = (head + size) & (queueRows.length - 1);
+                queueRows[tail] = nextRow;
+                queueCols[tail] = nextCol;
+                size++;
+
+                reached.set(nextRow, nextCol);
+                numReached++;
             }
         }
 
-        return distance;
+        return numReached;
     }
 
     /**
@@ -318,10 +664,47 @@ public class Board {
 
         for (int i = 0; i < DIMENSION; i++) {
             for (int j = 0; j < DIMENSION; j++) {
-                ret += squares[i][j].toString() + "\t" + getNeighbors(squares[i][j]) + "\n";
+                ret += getSquare(i, j).toString() + "\t" + getNeighbors(getSquare(i, j)) + "\n";
             }
         }
 
         return ret;
     }
+
+    /**
+     * Returns an empty storage of the designations suited to a board with the given dimension
+     * and number of square tiles that are not empty
+     *
+     * @param dimension number of square tiles spanning the length of the board
+     * @param numDesignated number of square tiles that are not empty (counting a tile once for
+     *                      each of its designations)
+     * @return storage of the designations in which all the square tiles are empty
+     */
+    private static TileStore newTileStore(int dimension, int numDesignated) {
+        long numTiles = (long) dimension * dimension;
+
+        if (numTiles >= SPARSE_MIN_TILES && numDesignated < numTiles * SPARSE_DENSITY) {
+            return new SparseTileStore(numDesignated);
+        } else if (numTiles <= DENSE_LIMIT) {
+            return new DenseTileStore(dimension);
+        }
+
+        return new ChunkedTileStore(dimension);
+    }
+
+    /**
+     * Returns the elements of the given list of coordinates as an array
+     *
+     * @param list list of coordinates
+     * @return array containing the elements of the given list
+     */
+    private static int[] toArray(ArrayList<Integer> list) {
+        int[] array = new int[list.size()];
+
+        for (int i = 0; i < array.length; i++) {
+            array[i] = list.get(i);
+        }
+
+        return array;
+    }
 }
@@ -0,0 +1,155 @@
+package gold_miner;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Class implementing the <b>definition of a board</b>, that is, the dimension and the
+ * coordinates of the gold square tile, beacons, and pits from which a board is created
+ *
+ * <p>Unlike a board, a definition keeps the coordinates as given, so that it can be written
+ * back (for instance, to a file of boards). A definition may also carry a name identifying
+ * the board within a collection of boards.</p>
+ *
+ * <p>Note that the row and column numbers in this class (as well as in all other classes
+ * responsible for the back-end behavior) are zero-based.</p>
+ */
+public class BoardDefinition {
+    /* Name identifying the board (empty if the board is unnamed) */
+    private final String name;
+    /* Dimension of the board (its length is equal to its width) */
+    private final int dimension;
+    /* Row- and column-coordinates of the gold square tile */
+    private final int rGold;
+    private final int cGold;
+    /* Row- and column-coordinates of the beacons */
+    private final int[] rBeacon;
+    private final int[] cBeacon;
+    /* Row- and column-coordinates of the pits */
+    private final int[] rPit;
+    private final int[] cPit;
+
+    /**
+     * Creates a board definition given the name, the dimension, the row- and column-coordinates
+     * of the gold square tile, the row- and column-coordinates of the beacons, and the row- and
+     * column-coordinates of the pits
+     *
+     * @param name name identifying the board (empty if the board is unnamed)
+     * @param dimension number of square tiles spanning the length of the board (which
+     *                  is also equal to the number of tiles spanning its width)
+     * @param rGold row-coordinate of the gold square tile
+     * @param cGold column-coordinate of the gold square tile
+     * @param rBeacon row-coordinates of the beacons
+     * @param cBeacon column-coordinates of the beacons
+     * @param rPit row-coordinates of the pits
+     * @param cPit column-coordinates of the pits
+     */
+    public BoardDefinition(String name, int dimension, int rGold, int cGold, int[] rBeacon, int[] cBeacon,
+                           int[] rPit, int[] cPit) {
+        this.name = name;
+        this.dimension = dimension;
+        this.rGold = rGold;
+        this.cGold = cGold;
+        this.rBeacon = rBeacon;
+        this.cBeacon = cBeacon;
+        this.rPit = rPit;
+        this.cPit = cPit;
+    }
+
+    /**
+     * Creates the board described by this definition
+     *
+     * @return board described by this definition
+     */
+    public Board createBoard() {
+        return new Board(dimension, rBeacon, cBeacon, rPit, cPit, rGold, cGold);
+    }
+
+    /**
+     * Creates the board described by this definition, keeping its designations in the given
+     * memory-mapped file instead of on the heap
+     *
+     * <p>The side files of the bitsets of the board (and of its exploration states) are created
+     * in the directory of the given file.</p>
+     *
+     * @param file file in which the designations are stored (truncated first if it exists)
+     * @return board described by this definition
+     * @throws IOException if the file cannot be created or mapped
+     */
+    public Board createBoard(Path file) throws IOException {
+        return new Board(new MappedTileStore(dimension, file), dimension, rBeacon, cBeacon, rPit, cPit,
+                rGold, cGold);
+    }
+
+    /**
+     * Returns the name identifying the board (empty if the board is unnamed)
+     *
+     * @return name identifying the board
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the dimension of the board
+     *
+     * @return dimension of the board
+     */
+    public int getDimension() {
+        return dimension;
+    }
+
+    /**
+     * Returns the row-coordinate of the gold square tile
+     *
+     * @return row-coordinate of the gold square tile
+     */
+    public int getRGold() {
+        return rGold;
+    }
+
+    /**
+     * Returns the column-coordinate of the gold square tile
+     *
+     * @return column-coordinate of the gold square tile
+     */
+    public int getCGold() {
+        return cGold;
+    }
+
+    /**
+     * Returns the row-coordinates of the beacons
+     *
+     * @return row-coordinates of the beacons
+     */
+    public int[] getRBeacon() {
+        return rBeacon;
+    }
+
+    /**
+     * Returns the column-coordinates of the beacons
+     *
+     * @return column-coordinates of the beacons
+     */
+    public int[] getCBeacon() {
+        return cBeacon;
+    }
+
+    /**
+     * Returns the row-coordinates of the pits
+     *
+     * @return row-coordinates of the pits
+     */
+    public int[] getRPit() {
+        return rPit;
+    }
+
+    /**
+     * Returns the column-coordinates of the pits
+     *
+     * @return column-coordinates of the pits
+     */
+    public int[] getCPit() {
+        return cPit;
+    }
+}
@@ -0,0 +1,161 @@
+package gold_miner;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Class implementing the <b>chunked storage of the designations</b> of the square tiles,
+ * which splits the board into square chunks that are only allocated once a tile in them
+ * is given a designation other than empty
+ *
+ * <p>This storage is suitable for boards far larger than what a single array can hold
+ * (for instance, 10,000 &times; 10,000 tiles and beyond). A chunk that has never been
+ * allocated consists solely of empty tiles.</p>
+ *
+ * <p>Note that the row and column numbers in this class (as well as in all other classes
+ * responsible for the back-end behavior) are zero-based.</p>
+ */
+public class ChunkedTileStore implements TileStore {
+    /* Chunks of designations in row-major order (null if all the tiles in the chunk are empty) */
+    private byte[][] chunks;
+    /* Number of chunks spanning the length of the board */
+    private final int CHUNKS_PER_ROW;
+
+    /* Base-2 logarithm of the number of tiles spanning the length of a chunk */
+    private static final int CHUNK_SHIFT = 8;
+    /* Number of tiles spanning the length of a chunk */
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    /* Bit mask for the position of a tile within its chunk */
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    /* Minimum number of tiles to be set for the designations to be set in parallel */
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    /**
+     * Creates a chunked storage in which all the square tiles are initially empty
+     *
+     * @param dimension number of square tiles spanning the length of the board (which
+     *                  is also equal to the number of tiles spanning its width)
+     */
+    public ChunkedTileStore(int dimension) {
+        CHUNKS_PER_ROW = (dimension + CHUNK_SIZE - 1) >>> CHUNK_SHIFT;
+        chunks = new byte[CHUNKS_PER_ROW * CHUNKS_PER_ROW][];
+    }
+
+    /**
+     * Returns the designation of the square tile at the given coordinates
+     *
+     * @param row row-coordinate of the square tile
+     * @param col column-coordinate of the square tile
+     * @return designation of the square tile at the given coordinates
+     */
+    @Override
+    public char getDesignation(int row, int col) {
+        byte[] chunk = chunks[getChunkIndex(row, col)];
+
+        /* A chunk that has never been allocated consists solely of empty tiles. */
+        if (chunk == null) {
+            return Board.EMPTY;
+        }
+
+        return (char) chunk[((row & CHUNK_MASK) << CHUNK_SHIFT) | (col & CHUNK_MASK)];
+    }
+
+    /**
+     * Sets the designation of the square tile at the given coordinates
+     *
+     * @param row row-coordinate of the square tile
+     * @param col column-coordinate of the square tile
+     * @param designation designation of the square tile
+     */
+    @Override
+    public void setDesignation(int row, int col, char designation) {
+        int chunkIndex = getChunkIndex(row, col);
+
+        if (chunks[chunkIndex] == null) {
+            chunks[chunkIndex] = newChunk();
+        }
+
+        chunks[chunkIndex][((row & CHUNK_MASK) << CHUNK_SHIFT) | (col & CHUNK_MASK)] = (byte) designation;
+    }
+
+    /**
+     * Sets the designation of all the square tiles at the given coordinates
+     *
+     * <p>For large inputs, the chunks that are needed are first allocated in parallel,
+     * after which the designations are also set in parallel.</p>
+     *
+     * @param rows row-coordinates of the square tiles
+     * @param cols column-coordinates of the square tiles
+     * @param designation designation of the square tiles
+     */
+    @Override
+    public void setDesignations(int[] rows, int[] cols, char designation) {
+        if (rows.length < PARALLEL_THRESHOLD) {
+            for (int i = 0; i < rows.length; i++) {
+                setDesignation(rows[i], cols[i], designation);
+            }
+
+            return;
+        }
+
+        /* Determine the chunks that are needed but have not yet been allocated. */
+        boolean[] isNeeded = new boolean[chunks.length];
+        for (int i = 0; i < rows.length; i++) {
+            isNeeded[getChunkIndex(rows[i], cols[i])] = true;
+        }
+
+        /* Allocate these chunks in parallel (each chunk is allocated by exactly one thread). */
+        IntStream.range(0, chunks.length).parallel().forEach(i -> {
+            if (isNeeded[i] && chunks[i] == null) {
+                chunks[i] = newChunk();
+            }
+        });
+
+        /* Every thread writes the same designation, so overlapping coordinates are harmless. */
+        byte code = (byte) designation;
+        IntStream.range(0, rows.length).parallel().forEach(i ->
+                chunks[getChunkIndex(rows[i], cols[i])]
+                        [((rows[i] & CHUNK_MASK) << CHUNK_SHIFT) | (cols[i] & CHUNK_MASK)] = code);
+    }
+
+    /**
+     * Returns the number of chunks that have been allocated
+     *
+     * @return number of chunks that have been allocated
+     */
+    public int getNumAllocatedChunks() {
+        int numAllocated = 0;
+
+        for (int i = 0; i < chunks.length; i++) {
+            if (chunks[i] != null) {
+                numAllocated++;
+            }
+        }
+
+        return numAllocated;
+    }
+
+    /**
+     * Returns the index of the chunk containing the square tile at the given coordinates
+     *
+     * @param row row-coordinate of the square tile
+     * @param col column-coordinate of the square tile
+     * @return index of the chunk containing the square tile at the given coordinates
+     */
+    private int getChunkIndex(int row, int col) {
+        return (row >>> CHUNK_SHIFT) * CHUNKS_PER_ROW + (col >>> CHUNK_SHIFT);
+    }
+
+    /**
+     * Returns a newly allocated chunk consisting solely of empty tiles
+     *
+     * @return newly allocated chunk consisting solely of empty tiles
+     */
+    private static byte[] newChunk() {
+        byte[] chunk = new byte[CHUNK_SIZE * CHUNK_SIZE];
+        Arrays.fill(chunk, (byte) Board.EMPTY);
+
+        return chunk;
+    }
+}
@@ -0,0 +1,72 @@
+package gold_miner;
+
+import java.util.Arrays;
+
+/**
+ * Class implementing the <b>dense storage of the designations</b> of the square tiles,
+ * which keeps all the designations in a single byte array in row-major order
+ *
+ * <p>This storage is suitable for boards whose number of tiles fits comfortably in a
+ * single array.</p>
+ *
+ * <p>Note that the row and column numbers in this class (as well as in all other classes
+ * responsible for the back-end behavior) are zero-based.</p>
+ */
+public class DenseTileStore implements TileStore {
+    /* Designations of the square tiles, in row-major order */
+    private byte[] designations;
+    /* Dimension of the board (its length is equal to its width) */
+    private final int DIMENSION;
+
+    /**
+     * Creates a dense storage in which all the square tiles are initially empty
+     *
+     * @param dimension number of square tiles spanning the length of the board (which
+     *                  is also equal to the number of tiles spanning its width)
+     */
+    public DenseTileStore(int dimension) {
+        this.DIMENSION = dimension;
+        designations = new byte[dimension * dimension];
+
+        /* Initialize all square tiles to be empty. */
+        Arrays.fill(designations, (byte) Board.EMPTY);
+    }
+
+    /**
+     * Returns the designation of the square tile at the given coordinates
+     *
+     * @param row row-coordinate of the square tile
+     * @param col column-coordinate of the square tile
+     * @return designation of the square tile at the given coordinates
+     */
+    @Override
+    public char getDesignation(int row, int col) {
+        return (char) designations[row * DIMENSION + col];
+    }
+
+    /**
+     * Sets the designation of the square tile at the given coordinates
+     *
+     * @param row row-coordinate of the square tile
+     * @param col column-coordinate of the square tile
+     * @param designation designation of the square tile
+     */
+    @Override
+    public void setDesignation(int row, int col, char designation) {
+        designations[row * DIMENSION + col] = (byte) designation;
+    }
+
+    /**
+     * Sets the designation of all the square tiles at the given coordinates
+     *
+     * @param rows row-coordinates of the square tiles
+     * @param cols column-coordinates of the square tiles
+     * @param designation designation of the square tiles
+     */
+    @Override
+    public void setDesignations(int[] rows, int[] cols, char designation) {
+        for (int i = 0; i < rows.length; i++) {
+            designations[rows[i] * DIMENSION + cols[i]] = (byte) designation;
+        }
+    }
+}
@@ -0,0 +1,384 @@
+package gold_miner;
+
+import java.util.Arrays;
+
+/**
+ * Class implementing the <b>exploration state</b> of a single run of a miner over a board,
+ * that is, the square tiles it has already visited, the out-of-bounds tiles it has
+ * already scanned, and its path stack
+ *
+ * <p>The board itself (designations and beacon index) is immutable, so a single board can
+ * be shared by any number of runs, even across threads, as long as each run has its own
+ * exploration state.</p>
+ *
+ * <p>The visited tiles are kept in row-major and column-major bitsets (obtained from the storage
+ * of the board, so a memory-mapped board keeps them in mapped side files), and the scanned
+ * out-of-bounds tiles are stamped per edge of the board. Both are tagged with an epoch, so
+ * that <code>reset</code> prepares this state for another run without clearing or reallocating
+ * the memory used by the previous run (except on a sparse board, whose bitsets of the visited
+ * tiles are cleared in time proportional to the tiles visited by the previous run). The path stack is kept in
+ * primitive arrays that are likewise reused.</p>
+ *
+ * <p>Note that the row and column numbers in this class (as well as in all other classes
+ * responsible for the back-end behavior) are zero-based.</p>
+ */
+public class Exploration {
+    /* Board explored by the miner */
+    private Board b;
+
+    /* Bitset of the square tiles already visited by the miner */
+    private TileBitset visited;
+    /* Transposed (column-major) bitset of the square tiles already visited by the miner */
+    private TileBitset visitedCols;
+
+    /* Epochs in which the out-of-bounds tiles along each edge of the board were scanned
+    (indexed by the column for the top and bottom edges, and by the row for the left
+    and right edges)
+     */
+    private int[] scannedTop;
+    private int[] scannedBottom;
+    private int[] scannedLeft;
+    private int[] scannedRight;
+    /* Current epoch (tiles stamped with an earlier epoch are considered unscanned) */
+    private int epoch;
+
+    /* Row- and column-coordinates of the scanned out-of-bounds tiles, in the order in which
+    they were scanned */
+    private int[] outOfBoundsRows;
+    private int[] outOfBoundsCols;
+    private int outOfBoundsSize;
+
+    /* Row- and column-coordinates of the square tiles comprising the path stack */
+    private int[] pathRows;
+    private int[] pathCols;
+    private int pathSize;
+
+    /**
+     * Creates an exploration state over the given board, in which no tile has been visited
+     * or scanned yet
+     *
+     * @param b board explored by the miner
+     */
+    public Exploration(Board b) {
+        this.b = b;
+
+        int dimension = b.getDimension();
+        visited = b.getTiles().newBitset(dimension);
+        visitedCols = b.getTiles().newBitset(dimension);
+
+        scannedTop = new int[dimension];
+        scannedBottom = new int[dimension];
+        scannedLeft = new int[dimension];
+        scannedRight = new int[dimension];
+        epoch = 1;
+
+        outOfBoundsRows = new int[16];
+        outOfBoundsCols = new int[16];
+        outOfBoundsSize = 0;
+
+        pathRows = new int[64];
+        pathCols = new int[64];
+        pathSize = 0;
+    }
+
+    /**
+     * Discards all the visited tiles, scanned out-of-bounds tiles, and the path stack, so that this exploration
+     * state can be used for another run over the same board
+     *
+     * <p>On a paged or memory-mapped board, this takes constant time regardless of the size of the board.
+     * On a sparse board, clearing the bitsets of the visited tiles takes time proportional to the number of
+     * words in which the previous run visited a tile (see <code>SparseTileBitset.clear</code>).</p>
+     */
+    public void reset() {
+        visited.clear();
+        visitedCols.clear();
+        outOfBoundsSize = 0;
+        pathSize = 0;
+
+        epoch++;
+
+        /* Once the epoch wraps around, the stamps can no longer be told apart, so they are reset. */
+        if (epoch == 0) {
+            Arrays.fill(scannedTop, 0);
+            Arrays.fill(scannedBottom, 0);
+            Arrays.fill(scannedLeft, 0);
+            Arrays.fill(scannedRight, 0);
+
+            epoch = 1;
+        }
+    }
+
+    /**
+     * Discards all the visited tiles, scanned out-of-bounds tiles, and the path stack, so that this exploration
+     * state can be used for a run over the given board (which may differ from the board of the previous run)
+     *
+     * <p>The memory used by the previous run is reused as much as possible. The bitsets of the visited tiles
+     * are reallocated only if the dimension of the given board differs from that of the previous board, and
+     * the arrays of the scanned out-of-bounds tiles only if they are too short; otherwise, this takes as long as
+     * <code>reset()</code>.</p>
+     *
+     * @param b board to be explored by the miner in the next run
+     */
+    public void reset(Board b) {
+        int dimension = b.getDimension();
+
+        /* A board kept in another kind of storage also keeps its bitsets in another kind of storage. */
+        if (dimension != this.b.getDimension() || b.getTiles().getClass() != this.b.getTiles().getClass()) {
+            visited = b.getTiles().newBitset(dimension);
+            visitedCols = b.getTiles().newBitset(dimension);
+        }
+
+        /* Longer arrays can be kept since their stale stamps are older than the next epoch. */
+        if (dimension > scannedTop.length) {
+            scannedTop = new int[dimension];
+            scannedBottom = new int[dimension];
+            scannedLeft = new int[dimension];
+            scannedRight = new int[dimension];
+        }
+
+        this.b = b;
+        reset();
+    }
+
+    /**
+     * Returns the board explored by the miner
+     *
+     * @return board explored by the miner
+     */
+    public Board getBoard() {
+        return b;
+    }
+
+    /**
+     * Returns the square tile at the given coordinates
+     *
+     * <p>The returned object is a lightweight view of the board and of this exploration state;
+     * it is created anew every time this method is invoked.</p>
+     *
+     * @param row row-coordinate of the square tile
+     * @param col column-coordinate of the square tile
+     * @return square tile at the given coordinates
+     */
+    public Square getSquare(int row, int col) {
+        return new Square(this, row, col);
+    }
+
+    /**
+     * Returns <code>true</code> if the square tile at the given coordinates has already
+     * been visited by the miner; <code>false</code>, otherwise
+     *
+     * @param row row-coordinate of the square tile
+     * @param col column-coordinate of the square tile
+     * @return <code>true</code> if the square tile at the given coordinates has already
+     * been visited by the miner; <code>false</code>, otherwise
+     */
+    public boolean isVisited(int row, int col) {
+        return visited.get(row, col);
+    }
+
+    /**
+     * Marks the square tile at the given coordinates as visited by the miner
+     *
+     * <p>Within a run, the effect of this method is irreversible, that is, once the square
+     * tile is marked as visited, then it cannot be "unvisited" until this exploration state
+     * is reset.</p>
+     *
+     * @param row row-coordinate of the square tile
+     * @param col column-coordinate of the square tile
+     */
+    public void visit(int row, int col) {
+        visited.set(row, col);
+        visitedCols.set(col, row);
+    }
+
+    /**
+     * Returns <code>true</code> if there is an unvisited square tile sharing an edge
+     * with the given square tile; <code>false</code>, otherwise
+     *
+     * @param s square tile whose neighboring square tiles are checked
+     * @return <code>true</code> if there is an unvisited square tile sharing an edge
+     * with the given square tile; <code>false</code>, otherwise
+     */
+    public boolean hasUnvisitedNeighbors(Square s) {
+        return hasUnvisitedNeighbors(s.getRow(), s.getCol());
+    }
+
+    /**
+     * Returns <code>true</code> if there is an unvisited square tile sharing an edge
+     * with the square tile at the given coordinates; <code>false</code>, otherwise
+     *
+     * @param row row-coordinate of the square tile whose neighboring square tiles are checked
+     * @param col column-coordinate of the square tile whose neighboring square tiles are checked
+     * @return <code>true</code> if there is an unvisited square tile sharing an edge
+     * with the square tile at the given coordinates; <code>false</code>, otherwise
+     */
+    public boolean hasUnvisitedNeighbors(int row, int col) {
+        /* Check if there is an unvisited neighbor, excluding out-of-bounds square tiles. */
+        return (!b.isOutOfBounds(row - 1, col) && !isVisited(row - 1, col))
+                || (!b.isOutOfBounds(row + 1, col) && !isVisited(row + 1, col))
+                || (!b.isOutOfBounds(row, col - 1) && !isVisited(row, col - 1))
+                || (!b.isOutOfBounds(row, col + 1) && !isVisited(row, col + 1));
+    }
+
+    /**
+     * Returns the distance between the given position and the nearest visited square tile
+     * in front of it (that is, in the given direction); 0 if there is no such tile
+     *
+     * @param row row-coordinate of the position
+     * @param col column-coordinate of the position
+     * @param front direction in which the visited tile is searched
+     * @return distance between the given position and the nearest visited tile in front of it;
+     * 0 if there is no such tile
+     */
+    public int getDistanceToVisited(int row, int col, char front) {
+        return b.getDistanceAhead(visited, visitedCols, row, col, front, true);
+    }
+
+    /**
+     * Returns the distance between the given position and the nearest unvisited square tile
+     * in front of it (that is, in the given direction); 0 if there is no such tile
+     *
+     * @param row row-coordinate of the position
+     * @param col column-coordinate of the position
+     * @param front direction in which the unvisited tile is searched
+     * @return distance between the given position and the nearest unvisited tile in front of it;
+     * 0 if there is no such tile
+     */
+    public int getDistanceToUnvisited(int row, int col, char front) {
+        return b.getDistanceAhead(visited, visitedCols, row, col, front, false);
+    }
+
+    /**
+     * Returns <code>true</code> if the out-of-bounds tile at the given coordinates has already
+     * been scanned by the miner; <code>false</code>, otherwise
+     *
+     * <p>This function assumes that the given coordinates are just outside one of the edges
+     * of the board (that is, a tile that can be scanned from a tile within the board).</p>
+     *
+     * @param row row-coordinate of the out-of-bounds tile
+     * @param col column-coordinate of the out-of-bounds tile
+     * @return <code>true</code> if the out-of-bounds tile at the given coordinates has already
+     * been scanned by the miner; <code>false</code>, otherwise
+     */
+    public boolean isScannedOutOfBounds(int row, int col) {
+        if (row < 0) {
+            return scannedTop[col] == epoch;
+        } else if (row >= b.getDimension()) {
+            return scannedBottom[col] == epoch;
+        } else if (col < 0) {
+            return scannedLeft[row] == epoch;
+        } else {
+            return scannedRight[row] == epoch;
+        }
+    }
+
+    /**
+     * Marks the out-of-bounds tile at the given coordinates as scanned by the miner
+     *
+     * <p>This function assumes that the given coordinates are just outside one of the edges
+     * of the board (that is, a tile that can be scanned from a tile within the board).</p>
+     *
+     * @param row row-coordinate of the out-of-bounds tile
+     * @param col column-coordinate of the out-of-bounds tile
+     */
+    public void scanOutOfBounds(int row, int col) {
+        if (row < 0) {
+            scannedTop[col] = epoch;
+        } else if (row >= b.getDimension()) {
+            scannedBottom[col] = epoch;
+        } else if (col < 0) {
+            scannedLeft[row] = epoch;
+        } else {
+            scannedRight[row] = epoch;
+        }
+
+        /* Double the capacity of the arrays once they are full. */
+        if (outOfBoundsSize == outOfBoundsRows.length) {
+            outOfBoundsRows = Arrays.copyOf(outOfBoundsRows, outOfBoundsSize * 2);
+            outOfBoundsCols = Arrays.copyOf(outOfBoundsCols, outOfBoundsSize * 2);
+        }
+
+        outOfBoundsRows[outOfBoundsSize] = row;
+        outOfBoundsCols[outOfBoundsSize] = col;
+        outOfBoundsSize++;
+    }
+
+    /**
+     * Returns the number of out-of-bounds tiles scanned by the miner
+     *
+     * @return number of out-of-bounds tiles scanned by the miner
+     */
+    public int getNumOutOfBoundsScanned() {
+        return outOfBoundsSize;
+    }
+
+    /**
+     * Returns the scanned out-of-bounds tile at the given index, in the order in which
+     * the tiles were scanned
+     *
+     * @param index index of the scanned out-of-bounds tile
+     * @return scanned out-of-bounds tile at the given index
+     */
+    public Square getOutOfBoundsScanned(int index) {
+        return new Square(outOfBoundsRows[index], outOfBoundsCols[index], Board.OUT_OF_BOUNDS);
+    }
+
+    /**
+     * Pushes the square tile at the given coordinates into the path stack
+     *
+     * @param row row-coordinate of the square tile
+     * @param col column-coordinate of the square tile
+     */
+    public void pushPath(int row, int col) {
+        /* Double the capacity of the stack once it is full. */
+        if (pathSize == pathRows.length) {
+            pathRows = Arrays.copyOf(pathRows, pathSize * 2);
+            pathCols = Arrays.copyOf(pathCols, pathSize * 2);
+        }
+
+        pathRows[pathSize] = row;
+        pathCols[pathSize] = col;
+        pathSize++;
+    }
+
+    /**
+     * Pops the most recently pushed square tile from the path stack
+     *
+     * <p>This function assumes that the path stack is not empty. The coordinates of the popped
+     * tile can still be retrieved at the index equal to the new size of the path stack.</p>
+     */
+    public void popPath() {
+        pathSize--;
+    }
+
+    /**
+     * Returns the number of square tiles in the path stack
+     *
+     * @return number of square tiles in the path stack
+     */
+    public int getPathSize() {
+        return pathSize;
+    }
+
+    /**
+     * Returns the row-coordinate of the square tile at the given index of the path stack
+     * (0 being the bottom of the stack)
+     *
+     * @param index index of the square tile in the path stack
+     * @return row-coordinate of the square tile at the given index of the path stack
+     */
+    public int getPathRow(int index) {
+        return pathRows[index];
+    }
+
+    /**
+     * Returns the column-coordinate of the square tile at the given index of the path stack
+     * (0 being the bottom of the stack)
+     *
+     * @param index index of the square tile in the path stack
+     * @return column-coordinate of the square tile at the given index of the path stack
+     */
+    public int getPathCol(int index) {
+        return pathCols[index];
+    }
+}
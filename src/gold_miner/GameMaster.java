@@ -1,12 +1,18 @@
 package gold_miner;
 
 import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Class implementing the <b>game master of this pathfinding system</b>, the central class
  * that provides access to all the methods necessary to run the system
  *
+ * <p>Besides the game displayed in the GUI, a game master can host any number of independent
+ * sessions of the rational agent over the same board. Each session has its own exploration
+ * state and counters, so sessions can be run concurrently on different threads.</p>
+ *
  * <p>Note that the row and column numbers in this class (as well as in all other classes
  * responsible for the back-end behavior) are zero-based.</p>
  */
@@ -15,8 +21,17 @@ public class GameMaster {
     private Board b;
     /* Rational (smart) miner exploring the board */
     private Miner m;
+    /* true if the gold square tile can be reached from the starting tile of the miner */
+    private boolean isGoldReachable;
     /* Nonrational (random) miner exploring the board */
     private RandomMiner rm;
+    /* Source from which the stream of each nonrational miner is split */
+    private SplittableRandom random;
+
+    /* Independent sessions of the rational agent, keyed by their identifiers */
+    private ConcurrentHashMap<Integer, Session> sessions;
+    /* Identifier to be assigned to the next session */
+    private AtomicInteger nextSessionId;
 
     /* Identifies the speed at which the actions of the miner are shown
     (either step by step or fast) */
@@ -60,6 +75,24 @@ public class GameMaster {
         /* Since initialization of attributes depends on the choice made by the user,
         it is deferred and delegated to the setters.
          */
+        sessions = new ConcurrentHashMap<Integer, Session>();
+        nextSessionId = new AtomicInteger();
+
+        /* Unless a seed is set, the runs of the nonrational agent are not reproducible. */
+        random = new SplittableRandom();
+    }
+
+    /**
+     * Sets the seed of the source of the random decisions of the nonrational agent
+     *
+     * <p>Each nonrational miner subsequently created by this game master draws its decisions
+     * from its own stream, split from a source with the given seed. Hence, the same seed
+     * reproduces the same sequence of runs.</p>
+     *
+     * @param seed seed of the source of the random decisions of the nonrational agent
+     */
+    public void setSeed(long seed) {
+        random = new SplittableRandom(seed);
     }
 
     /**
@@ -67,6 +100,10 @@ public class GameMaster {
      * coordinates of the beacons, the row- and column-coordinates of the pits, and the
      * row- and column-coordinates of the gold square tile
      *
+     * <p>Whether the gold square tile can be reached from the starting tile of the miner is
+     * checked right away. If it cannot, the rational agent reports the invalid board layout
+     * at once instead of exploring every tile it can reach.</p>
+     *
      * @param dimension number of square tiles spanning the length of the board (which
      *                  is also equal to the number of tiles spanning its width)
      * @param rBeacon row-coordinates of the beacons
@@ -79,6 +116,7 @@ public class GameMaster {
     public void initGame(int dimension, ArrayList<Integer> rBeacon, ArrayList<Integer> cBeacon, ArrayList<Integer> rPit,
                          ArrayList<Integer> cPit, int rGold, int cGold){
         b = new Board(dimension, rBeacon, cBeacon, rPit, cPit, rGold, cGold);
+        isGoldReachable = b.isGoldReachable();
 
         /* Uncomment for debugging. */
         /* System.out.println(b); */
@@ -110,7 +148,7 @@ public class GameMaster {
                 m = new Miner(b);
                 break;
             case RANDOM:
-                rm = new RandomMiner();
+                rm = new RandomMiner(random.split());
                 break;
         }
     }
@@ -183,13 +221,64 @@ public class GameMaster {
     }
 
     /**
-     * Returns a record of the actions undertaken by the rational agent in searching
+     * Returns <code>true</code> if the gold square tile can be reached from the starting tile
+     * of the miner without stepping on a pit; <code>false</code>, otherwise (that is, the
+     * board layout is invalid)
+     *
+     * @return <code>true</code> if the gold square tile can be reached from the starting tile
+     * of the miner; <code>false</code>, otherwise
+     */
+    public boolean isGoldReachable() {
+        return isGoldReachable;
+    }
+
+    /**
+     * Returns the number of square tiles (including the starting tile of the miner) that can be
+     * reached from the starting tile of the miner without stepping on a pit
+     *
+     * <p>Unlike the check performed by <code>initGame</code>, this visits the whole reachable
+     * region, taking time linear in the number of tiles.</p>
+     *
+     * @return number of square tiles that can be reached from the starting tile of the miner
+     */
+    public long getReachableSize() {
+        return b.getReachableSize();
+    }
+
+    /**
+     * Returns a compact record of the actions undertaken by the rational agent in searching
      * for the gold square tile
      *
-     * @return record of the actions undertaken by the rational agent in searching
+     * <p>The actions are recorded with the most detailed trace level (for use in the GUI).
+     * The full details of each action are only reconstructed on demand by replaying the
+     * returned record.</p>
+     *
+     * @return compact record of the actions undertaken by the rational agent in searching
      * for the gold square tile
      */
-    public LinkedList<String> searchForGold() {
+    public ActionLog searchForGold() {
+        return searchForGold(Miner.TRACE_FULL);
+    }
+
+    /**
+     * Returns a compact record of the actions undertaken by the rational agent in searching
+     * for the gold square tile, recorded with the specified level of detail
+     *
+     * <p>The following are the possible trace levels:</p>
+     * <ul>
+     *     <li><b>None</b> - Neither the actions nor the counters are recorded.</li>
+     *     <li><b>Counts</b> - Only the counters are kept; no record is built.</li>
+     *     <li><b>Events</b> - The action code, position, and orientation of each action
+     *     are recorded.</li>
+     *     <li><b>Full</b> - Each action is recorded with all the details needed to reconstruct
+     *     the display of the GUI.</li>
+     * </ul>
+     *
+     * @param traceLevel character code specifying the level of detail of the record
+     * @return compact record of the actions undertaken by the rational agent in searching
+     * for the gold square tile, or <code>null</code> if the trace level is either none or counts
+     */
+    public ActionLog searchForGold(char traceLevel) {
         /* A meaningful record is only created by the rational agent.
 
         The nonrational agent cannot create a meaningful record since its decision-making
@@ -197,13 +286,118 @@ public class GameMaster {
         */
         switch(AIMode) {
             case RATIONAL:
-                return m.searchForGold(b);
+                /* The reachability check has already shown whether the search is futile. */
+                if (!isGoldReachable) {
+                    return m.reportInvalidLayout(traceLevel);
+                }
+
+                return m.searchForGold(b, traceLevel);
         }
 
         /* Return value for nonrational agent */
         return null;
     }
 
+    /**
+     * Returns the rational agent exploring the board (for instance, to retrieve its counters
+     * after a search recorded with the counts trace level)
+     *
+     * @return rational agent exploring the board
+     */
+    public Miner getMiner() {
+        return m;
+    }
+
+    /**
+     * Opens a new session of the rational agent over the current board and returns its identifier
+     *
+     * <p>The board is shared by all the sessions (since it is immutable), but each session has
+     * its own exploration state and counters. Sessions are independent of one another and of the
+     * game displayed in the GUI, and they may be searched concurrently on different threads.</p>
+     *
+     * <p>This method should only be invoked after the board has been initialized via
+     * <code>initGame</code>.</p>
+     *
+     * @return identifier of the newly opened session
+     */
+    public int openSession() {
+        int sessionId;
+        sessionId = nextSessionId.getAndIncrement();
+
+        /* The reachability of the current board is kept, since a later game may replace the board. */
+        sessions.put(sessionId, new Session(new Miner(b), isGoldReachable));
+
+        return sessionId;
+    }
+
+    /**
+     * Returns the rational agent of the session with the given identifier (for instance, to
+     * retrieve the counters of its most recent search); <code>null</code> if there is no such
+     * session
+     *
+     * @param sessionId identifier of the session
+     * @return rational agent of the session with the given identifier; <code>null</code> if
+     * there is no such session
+     */
+    public Miner getSession(int sessionId) {
+        Session session;
+        session = sessions.get(sessionId);
+
+        return session == null ? null : session.miner;
+    }
+
+    /**
+     * Returns a compact record of the actions undertaken by the rational agent of the session
+     * with the given identifier in searching for the gold square tile, recorded with the
+     * specified level of detail
+     *
+     * <p>Every search is a fresh run from the starting tile: the exploration state of the session
+     * is reset (without being allocated anew), and its counters start over from 0.</p>
+     *
+     * <p>As in <code>searchForGold(char)</code>, if the gold cannot be reached on the board on
+     * which the session was opened, the invalid board layout is reported at once.</p>
+     *
+     * @param sessionId identifier of the session
+     * @param traceLevel character code specifying the level of detail of the record
+     * @return compact record of the actions undertaken by the rational agent of the session,
+     * or <code>null</code> if the trace level is either none or counts
+     * @throws IllegalArgumentException if there is no session with the given identifier
+     */
+    public ActionLog searchForGold(int sessionId, char traceLevel) {
+        /* A new miner starts over on the reset exploration state, replacing that of the previous search. */
+        Session session;
+        session = sessions.computeIfPresent(sessionId, (id, previous) -> previous.restart());
+        if (session == null) {
+            throw new IllegalArgumentException("No open session with identifier " + sessionId);
+        }
+
+        if (!session.isGoldReachable) {
+            return session.miner.reportInvalidLayout(traceLevel);
+        }
+
+        /* The session explores the board on which it was opened. */
+        return session.miner.searchForGold(session.miner.getExploration().getBoard(), traceLevel);
+    }
+
+    /**
+     * Closes the session with the given identifier, discarding its exploration state
+     * and counters
+     *
+     * @param sessionId identifier of the session
+     */
+    public void closeSession(int sessionId) {
+        sessions.remove(sessionId);
+    }
+
+    /**
+     * Returns the number of sessions currently open
+     *
+     * @return number of sessions currently open
+     */
+    public int getNumSessions() {
+        return sessions.size();
+    }
+
     /**
      * Action corresponding to a move by the nonrational agent
      */
@@ -230,8 +424,9 @@ public class GameMaster {
      * for use in the naive decision-making of the nonrational agent
      *
      * <p>Technically, the integer generated is pseudorandom since the library used
-     * for its generation is Java's <code>ThreadLocalRandom</code>. Nevertheless,
-     * this is sufficient for the purposes of this system. </p>
+     * for its generation is Java's <code>SplittableRandom</code> (seeded via
+     * <code>setSeed</code>). Nevertheless, this is sufficient for the purposes of this
+     * system. </p>
      *
      * @param hi exclusive upper bound
      * @return random integer from 0 (inclusive) to the set upper bound (exclusive)
@@ -330,4 +525,41 @@ public class GameMaster {
     public String getRandomOutOfBoundsTiles() {
         return rm.getOutOfBoundsTiles();
     }
+
+    /**
+     * Class holding the state of a <b>session</b> of the rational agent, that is, its miner together
+     * with whether the gold can be reached on the board on which the session was opened
+     */
+    private static final class Session {
+        /* Rational agent of the session (replaced at every search) */
+        private final Miner miner;
+        /* true if the gold square tile can be reached on the board of the session */
+        private final boolean isGoldReachable;
+
+        /**
+         * Creates the state of a session with the given rational agent
+         *
+         * @param miner rational agent of the session
+         * @param isGoldReachable <code>true</code> if the gold square tile can be reached on the
+         *                        board of the session; <code>false</code>, otherwise
+         */
+        private Session(Miner miner, boolean isGoldReachable) {
+            this.miner = miner;
+            this.isGoldReachable = isGoldReachable;
+        }
+
+        /**
+         * Returns the state of this session for a fresh run, whose miner starts over from the
+         * starting tile on the reset exploration state of this session
+         *
+         * @return state of this session for a fresh run
+         */
+        private Session restart() {
+            Exploration exploration;
+            exploration = miner.getExploration();
+            exploration.reset();
+
+            return new Session(new Miner(exploration), isGoldReachable);
+        }
+    }
 }
@@ -0,0 +1,246 @@
+package gold_miner;
+
+import java.nio.MappedByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Class implementing a <b>bitset over the square tiles</b> of a board kept in a memory-mapped
+ * file instead of on the heap (for instance, for the visited tiles of a board with billions of
+ * tiles), indexed in row-major order
+ *
+ * <p>The bits are laid out in the file exactly as in the pages of <code>PagedTileBitset</code>, and
+ * the pages are likewise stamped with the epoch in which they were last written, so that clearing
+ * the whole bitset only advances the epoch. A page written in an earlier epoch is wiped only once
+ * it is written again; a page never written is already zero in the file.</p>
+ *
+ * <p>Note that the row and column numbers in this class (as well as in all other classes
+ * responsible for the back-end behavior) are zero-based.</p>
+ */
+public class MappedTileBitset implements TileBitset {
+    /* Mapped segments of the file of the bits, in eight-byte words */
+    private final MappedByteBuffer[] segments;
+    /* Number of words in the file of the bits */
+    private final long numWords;
+    /* Epochs in which the pages were last written (0 if a page has never been written) */
+    private final int[] pageEpochs;
+    /* Current epoch (pages stamped with an earlier epoch are considered clear) */
+    private int epoch;
+    /* Dimension of the board (its length is equal to its width) */
+    private final int DIMENSION;
+
+    /* Base-2 logarithm of the number of bits in a page */
+    private static final int PAGE_SHIFT = 16;
+    /* Number of words in a page */
+    private static final int PAGE_WORDS = 1 << (PAGE_SHIFT - 6);
+
+    /**
+     * Creates a bitset over the square tiles of a board kept in the given mapped segments, whose
+     * contents must be zero
+     *
+     * @param dimension number of square tiles spanning the length of the board (which
+     *                  is also equal to the number of tiles spanning its width)
+     * @param segments mapped segments of a file of at least one bit per tile (rounded up to
+     *                 eight-byte words)
+     */
+    MappedTileBitset(int dimension, MappedByteBuffer[] segments) {
+        this.DIMENSION = dimension;
+        this.segments = segments;
+
+        long numBits = (long) dimension * dimension;
+        numWords = (numBits + 63) >>> 6;
+        pageEpochs = new int[(int) ((numBits + (1L << PAGE_SHIFT) - 1) >>> PAGE_SHIFT)];
+        epoch = 1;
+    }
+
+    /**
+     * Returns <code>true</code> if the bit of the square tile at the given coordinates is set;
+     * <code>false</code>, otherwise
+     *
+     * @param row row-coordinate of the square tile
+     * @param col column-coordinate of the square tile
+     * @return <code>true</code> if the bit of the square tile at the given coordinates is set;
+     * <code>false</code>, otherwise
+     */
+    @Override
+    public boolean get(int row, int col) {
+        long index = (long) row * DIMENSION + col;
+
+        return (getWord(index >>> 6) & (1L << index)) != 0;
+    }
+
+    /**
+     * Sets the bit of the square tile at the given coordinates
+     *
+     * @param row row-coordinate of the square tile
+     * @param col column-coordinate of the square tile
+     */
+    @Override
+    public void set(int row, int col) {
+        long index = (long) row * DIMENSION + col;
+        int pageIndex = (int) (index >>> PAGE_SHIFT);
+
+        /* The page was written in an earlier epoch, so its stale bits are discarded first. */
+        if (pageEpochs[pageIndex] != 0 && pageEpochs[pageIndex] != epoch) {
+            long firstWord = (long) pageIndex * PAGE_WORDS;
+            for (long word = firstWord; word < Math.min(firstWord + PAGE_WORDS, numWords); word++) {
+                putWord(word, 0L);
+            }
+        }
+
+        pageEpochs[pageIndex] = epoch;
+        long word = index >>> 6;
+        putWord(word, getRawWord(word) | (1L << index));
+    }
+
+    /**
+     * Returns the position of the first tile in the given line, from the position
+     * <code>from</code> up to the position <code>to</code> (both inclusive), whose bit is equal
+     * to the given value; -1 if there is no such tile
+     *
+     * @param line index of the line (row or column) searched
+     * @param from position in the line at which the search starts
+     * @param to position in the line at which the search ends (not less than <code>from</code>)
+     * @param value <code>true</code> to search for a set bit; <code>false</code> to search for
+     *              a clear bit
+     * @return position of the first tile in the given range whose bit is equal to the given value;
+     * -1 if there is no such tile
+     */
+    @Override
+    public int nextInLine(int line, int from, int to, boolean value) {
+        long base = (long) line * DIMENSION;
+        long index = base + from;
+        long last = base + to;
+
+        while (index <= last) {
+            int pageIndex = (int) (index >>> PAGE_SHIFT);
+
+            /* A stale page has no set bit, so the search for a set bit skips it entirely. */
+            if (pageEpochs[pageIndex] != epoch && value) {
+                index = (long) (pageIndex + 1) << PAGE_SHIFT;
+                continue;
+            }
+
+            long word = getWord(index >>> 6);
+            if (!value) {
+                word = ~word;
+            }
+
+            /* Discard the bits before the current index. */
+            word &= -1L << index;
+
+            if (word != 0) {
+                long found = (index & ~63L) + Long.numberOfTrailingZeros(word);
+                return found <= last ? (int) (found - base) : -1;
+            }
+
+            index = (index & ~63L) + 64;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Returns the position of the first tile in the given line, from the position
+     * <code>from</code> down to the position <code>to</code> (both inclusive), whose bit is equal
+     * to the given value; -1 if there is no such tile
+     *
+     * @param line index of the line (row or column) searched
+     * @param from position in the line at which the search starts
+     * @param to position in the line at which the search ends (not greater than <code>from</code>)
+     * @param value <code>true</code> to search for a set bit; <code>false</code> to search for
+     *              a clear bit
+     * @return position of the first tile in the given range whose bit is equal to the given value;
+     * -1 if there is no such tile
+     */
+    @Override
+    public int prevInLine(int line, int from, int to, boolean value) {
+        long base = (long) line * DIMENSION;
+        long index = base + from;
+        long first = base + to;
+
+        while (index >= first) {
+            int pageIndex = (int) (index >>> PAGE_SHIFT);
+
+            /* A stale page has no set bit, so the search for a set bit skips it entirely. */
+            if (pageEpochs[pageIndex] != epoch && value) {
+                index = ((long) pageIndex << PAGE_SHIFT) - 1;
+                continue;
+            }
+
+            long word = getWord(index >>> 6);
+            if (!value) {
+                word = ~word;
+            }
+
+            /* Discard the bits after the current index. */
+            word &= -1L >>> (63 - (index & 63));
+
+            if (word != 0) {
+                long found = (index & ~63L) + 63 - Long.numberOfLeadingZeros(word);
+                return found >= first ? (int) (found - base) : -1;
+            }
+
+            index = (index & ~63L) - 1;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Clears all the bits of this bitset in constant time
+     *
+     * <p>Only the current epoch is advanced. The pages written in the earlier epochs are
+     * considered clear from then on, and they are wiped only once they are written again.</p>
+     */
+    @Override
+    public void clear() {
+        epoch++;
+
+        /* Once the epoch wraps around, the stamps can no longer be told apart, so every page is wiped. */
+        if (epoch == 0) {
+            for (long word = 0; word < numWords; word++) {
+                putWord(word, 0L);
+            }
+
+            Arrays.fill(pageEpochs, 0);
+            epoch = 1;
+        }
+    }
+
+    /**
+     * Returns the word at the given index if its page has been written in the current epoch;
+     * 0, otherwise
+     *
+     * @param word index of the word
+     * @return word at the given index if its page is current; 0, otherwise
+     */
+    private long getWord(long word) {
+        return pageEpochs[(int) (word >>> (PAGE_SHIFT - 6))] == epoch ? getRawWord(word) : 0L;
+    }
+
+    /**
+     * Returns the word at the given index as stored in the file, regardless of the epoch of its page
+     *
+     * @param word index of the word
+     * @return word at the given index as stored in the file
+     */
+    private long getRawWord(long word) {
+        long offset = word << 3;
+
+        return segments[(int) (offset >>> MappedTileStore.SEGMENT_SHIFT)]
+                .getLong((int) (offset & MappedTileStore.SEGMENT_MASK));
+    }
+
+    /**
+     * Stores the given word at the given index of the file
+     *
+     * @param word index of the word
+     * @param bits bits of the word
+     */
+    private void putWord(long word, long bits) {
+        long offset = word << 3;
+
+        segments[(int) (offset >>> MappedTileStore.SEGMENT_SHIFT)]
+                .putLong((int) (offset & MappedTileStore.SEGMENT_MASK), bits);
+    }
+}
@@ -0,0 +1,165 @@
+package gold_miner;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Class implementing the <b>memory-mapped storage of the designations</b> of the square tiles,
+ * which keeps one byte per tile in a file mapped into memory, in row-major order
+ *
+ * <p>This storage is suitable for boards that do not fit comfortably on the heap (for instance,
+ * 100,000 &times; 100,000 tiles). The designations are read in place from the mapping, so the
+ * operating system pages the tiles in and out as the miner explores the board. Empty tiles are
+ * stored as zero bytes; hence, the file starts out sparse, and only the regions with pits,
+ * beacons, or the gold square tile take up space on disk.</p>
+ *
+ * <p>The bitsets of the board and of its exploration states are likewise kept in mapped side files,
+ * created in the same directory as the file of the designations. A side file is unlinked as soon as
+ * it has been mapped, so it no longer appears in the directory, but its disk space is only freed
+ * once its mapping is garbage-collected.</p>
+ *
+ * <p>Note that the row and column numbers in this class (as well as in all other classes
+ * responsible for the back-end behavior) are zero-based.</p>
+ */
+public class MappedTileStore implements TileStore {
+    /* Mapped segments of the file of the designations, in row-major order */
+    private final MappedByteBuffer[] segments;
+    /* Directory in which the side files of the bitsets are created */
+    private final Path directory;
+    /* Dimension of the board (its length is equal to its width) */
+    private final int DIMENSION;
+
+    /* Base-2 logarithm of the number of bytes in a full segment */
+    static final int SEGMENT_SHIFT = 30;
+    /* Bit mask for the position of a byte within its segment */
+    static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+
+    /**
+     * Creates a memory-mapped storage in the given file, in which all the square tiles are
+     * initially empty
+     *
+     * <p>An existing file is truncated first. The file is kept once the storage is no longer
+     * used.</p>
+     *
+     * @param dimension number of square tiles spanning the length of the board (which
+     *                  is also equal to the number of tiles spanning its width)
+     * @param file file in which the designations are stored
+     * @throws IOException if the file cannot be created or mapped
+     */
+    public MappedTileStore(int dimension, Path file) throws IOException {
+        this.DIMENSION = dimension;
+
+        directory = file.toAbsolutePath().getParent();
+
+        segments = map(file, (long) dimension * dimension, false);
+    }
+
+    /**
+     * Returns the designation of the square tile at the given coordinates
+     *
+     * @param row row-coordinate of the square tile
+     * @param col column-coordinate of the square tile
+     * @return designation of the square tile at the given coordinates
+     */
+    @Override
+    public char getDesignation(int row, int col) {
+        long index = (long) row * DIMENSION + col;
+        byte code = segments[(int) (index >>> SEGMENT_SHIFT)].get((int) (index & SEGMENT_MASK));
+
+        /* Empty tiles are stored as zero bytes, so that the file starts out sparse. */
+        return code == 0 ? Board.EMPTY : (char) code;
+    }
+
+    /**
+     * Sets the designation of the square tile at the given coordinates
+     *
+     * @param row row-coordinate of the square tile
+     * @param col column-coordinate of the square tile
+     * @param designation designation of the square tile
+     */
+    @Override
+    public void setDesignation(int row, int col, char designation) {
+        long index = (long) row * DIMENSION + col;
+        byte code = designation == Board.EMPTY ? 0 : (byte) designation;
+
+        segments[(int) (index >>> SEGMENT_SHIFT)].put((int) (index & SEGMENT_MASK), code);
+    }
+
+    /**
+     * Sets the designation of all the square tiles at the given coordinates
+     *
+     * @param rows row-coordinates of the square tiles
+     * @param cols column-coordinates of the square tiles
+     * @param designation designation of the square tiles
+     */
+    @Override
+    public void setDesignations(int[] rows, int[] cols, char designation) {
+        for (int i = 0; i < rows.length; i++) {
+            setDesignation(rows[i], cols[i], designation);
+        }
+    }
+
+    /**
+     * Returns a new bitset over the square tiles of the board, kept in a mapped side file in the
+     * directory of the designations (unlinked as soon as it has been mapped, and whose disk space
+     * is freed once the mapping is garbage-collected)
+     *
+     * @param dimension number of square tiles spanning the length of the board
+     * @return new bitset over the square tiles of the board, in which no bit is set
+     * @throws UncheckedIOException if the side file cannot be created or mapped
+     */
+    @Override
+    public TileBitset newBitset(int dimension) {
+        try {
+            Path file = Files.createTempFile(directory, "tiles", ".bits");
+            long numBytes = (((long) dimension * dimension + 63) >>> 6) * 8;
+
+            return new MappedTileBitset(dimension, map(file, numBytes, true));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Maps the given file, truncated and then extended to the given size (so that its contents are
+     * zero), in segments of at most <code>2^SEGMENT_SHIFT</code> bytes
+     *
+     * <p>The channel is closed once the segments have been mapped, since a mapping stays valid until
+     * it is garbage-collected.</p>
+     *
+     * @param file file to be mapped
+     * @param size size of the file, in bytes
+     * @param isTemporary <code>true</code> if the file is deleted once it is closed; <code>false</code>,
+     *                    otherwise
+     * @return mapped segments of the file
+     * @throws IOException if the file cannot be created or mapped
+     */
+    static MappedByteBuffer[] map(Path file, long size, boolean isTemporary) throws IOException {
+        MappedByteBuffer[] segments = new MappedByteBuffer[(int) ((size + SEGMENT_MASK) >>> SEGMENT_SHIFT)];
+
+        FileChannel channel;
+        if (isTemporary) {
+            channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.DELETE_ON_CLOSE);
+        } else {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        }
+
+        try (channel) {
+            /* Mapping past the end of the file extends it with zeros, without writing them. */
+            for (int i = 0; i < segments.length; i++) {
+                long position = (long) i << SEGMENT_SHIFT;
+                segments[i] = channel.map(FileChannel.MapMode.READ_WRITE, position,
+                        Math.min(SEGMENT_MASK + 1, size - position));
+            }
+        }
+
+        return segments;
+    }
+}
@@ -1,14 +1,17 @@
 package gold_miner;
 
-import java.util.ArrayList;
-import java.util.LinkedList;
-import java.util.Stack;
-
 /**
  * Class implementing the <b>rational agent</b> whose actions are deliberated via more
  * sophisticated decision-making processes (explained in the technical report accompanying
  * this program)
  *
+ * <p>The search itself allocates nothing per action: the direction of this miner is kept as
+ * an ordinal into the clockwise order of the cardinal directions, the tile in front of it is
+ * examined by its coordinates rather than through a <code>Square</code> object, the scanned
+ * out-of-bounds tiles are stamped per edge of the board, and the path stack is kept in
+ * primitive arrays by the exploration state (so that its memory is reused once the state
+ * is reset).</p>
+ *
  * <p>Note that the row and column numbers in this class (as well as in all other classes
  * responsible for the back-end behavior) are zero-based.</p>
  */
@@ -20,31 +23,27 @@ public class Miner {
 
     /* Direction to which this miner is facing */
     private char front;
+    /* Ordinal of the direction to which this miner is facing, with respect to CLOCKWISE */
+    private int dir;
 
-    /* List of out-of-bounds tiles scanned by this miner */
-    private ArrayList<Square> scannedOutOfBounds;
-    /* Stack storing the square tiles that will be part of the final path to the gold tile */
-    private Stack<Square> path;
-    /* Sequence of actions followed by this miner to reach the gold tile */
-    private LinkedList<String> preLoadedMoves;
-
-    /* String representation of the current action of this agent (for use in the GUI) */
-    private ArrayList<String> currStack;
-
-    /* Out-of-bounds tile currently being considered by this rational agent */
-    private Square currOutOfBounds;
+    /* Tiles visited, out-of-bounds tiles scanned, and path stack of this miner */
+    private Exploration exploration;
+    /* Compact record of the actions followed by this miner to reach the gold tile */
+    private ActionLog actionLog;
+    /* Level of detail with which the actions of this miner are recorded */
+    private char traceLevel;
 
     /* Number of rotations */
-    private static int numRotate = 0;
+    private int numRotate;
     /* Number of scans */
-    private static int numScan = 0;
+    private int numScan;
     /* Number of moves */
-    private static int numMove = 0;
+    private int numMove;
     /* Number of backtracks */
-    private static int numBacktrack  = 0;
+    private int numBacktrack;
 
     /* Distance to the gold square tile as returned by the beacon (for use in the GUI) */
-    private static int beaconDistance = -1;
+    private int beaconDistance;
 
     /**
      * Character code corresponding to a move to the tile above this miner's current position
@@ -63,6 +62,13 @@ public class Miner {
      */
     public static final char DOWN = 'D';
 
+    /* Directions in the clockwise order of rotation */
+    private static final char[] CLOCKWISE = {RIGHT, DOWN, LEFT, UP};
+    /* Offsets of the row- and column-coordinates of the tile in front of this miner, indexed
+    by the ordinal of the direction to which it is facing */
+    private static final int[] ROW_OFFSET = {0, 1, 0, -1};
+    private static final int[] COL_OFFSET = {1, 0, -1, 0};
+
     /**
      * Character code signifying that the gold square tile has been reached by this miner
      */
@@ -82,6 +88,28 @@ public class Miner {
      */
     public static char FAIL = 'F';
 
+    /**
+     * Character code specifying that neither the actions nor the counters of this miner
+     * are recorded (only the outcome of the search is of interest)
+     */
+    public static final char TRACE_NONE = 'N';
+    /**
+     * Character code specifying that only the counters of the actions of this miner are kept,
+     * without any string building or per-action record
+     */
+    public static final char TRACE_COUNTS = 'C';
+    /**
+     * Character code specifying that the counters are kept and that the action code, position,
+     * and orientation of each action of this miner are recorded
+     */
+    public static final char TRACE_EVENTS = 'E';
+    /**
+     * Character code specifying that the counters are kept and that each action of this miner
+     * is recorded with all the details needed to reconstruct the display of the GUI (beacon
+     * distance, path stack, and scanned out-of-bounds tiles)
+     */
+    public static final char TRACE_FULL = 'F';
+
     /**
      * Creates a rational agent whose actions are deliberated via more sophisticated decision-making
      * processes (explained in the technical report accompanying this program)
@@ -89,6 +117,19 @@ public class Miner {
      * @param b board explored by this agent (miner)
      */
     public Miner(Board b) {
+        this(new Exploration(b));
+    }
+
+    /**
+     * Creates a rational agent that explores a board using the given exploration state
+     *
+     * <p>This allows the exploration state of an earlier run over the same board to be reused
+     * (after resetting it) instead of being allocated anew.</p>
+     *
+     * @param exploration exploration state of this agent (miner), in which no tile has been
+     *                    visited or scanned yet
+     */
+    public Miner(Exploration exploration) {
         row = 0;
         col = 0;
 
@@ -96,19 +137,25 @@ public class Miner {
         Right was chosen arbitrarily.
          */
         front = RIGHT;
+        dir = 0;
 
-        /* Each side/edge of the board gives n possible out-of-bounds tiles, where n is the dimension. */
-        scannedOutOfBounds = new ArrayList<Square>(b.getDimension() * 4);
-        path = new Stack<Square>();
-        currStack = new ArrayList<String>();
-        preLoadedMoves = new LinkedList<String>();
+        this.exploration = exploration;
 
-        currOutOfBounds = null;
+        /* The counters belong to this run alone, so that several runs (even on different
+        threads) do not affect one another.
+         */
+        numRotate = 0;
+        numScan = 0;
+        numMove = 0;
+        numBacktrack = 0;
+        beaconDistance = -1;
+        /* The GUI needs the most detailed record of the actions. */
+        traceLevel = TRACE_FULL;
+        actionLog = new ActionLog(traceLevel);
 
         /* The first square tile visited by the miner is its initial position. */
-        path.add(b.getSquares()[0][0]);
-        currStack.add(b.getSquares()[0][0].toString() + "\n");
-        b.getSquares()[0][0].visit();
+        exploration.pushPath(0, 0);
+        exploration.visit(0, 0);
     }
 
     /**
@@ -146,39 +193,17 @@ public class Miner {
      * alter its current position. </p>
      */
     public void rotate() {
-        /* Reflects the clockwise direction of rotation */
-        char[] order = {RIGHT, DOWN, LEFT, UP};
-
-        int index;          // index with respect to the character array order
-        index = 0;          // initialized to prevent error flag from the compiler
-        switch (front) {
-            case RIGHT:
-                index = 0;
-                break;
-            case DOWN:
-                index = 1;
-                break;
-            case LEFT:
-                index = 2;
-                break;
-            case UP:
-                index = 3;
-                break;
-        }
-
         /* Perform actual rotation. */
-        index = (index + 1) % order.length;
-        front = order[index];
+        dir = (dir + 1) & 3;
+        front = CLOCKWISE[dir];
 
         /* Increment counter. */
-        numRotate++;
+        if (traceLevel != TRACE_NONE) {
+            numRotate++;
+        }
 
         /* Add to the sequence of actions. */
-        preLoadedMoves.add("Rotate " + this + "\t"
-                + getNumActions() + "\t"
-                + "Rotate: " + getMoveSequence() + "\t"
-                + getPathStack() + "\t"
-                + getOutOfBoundsTiles());
+        actionLog.record(ActionLog.ROTATE, row, col, front, beaconDistance);
 
         /* Uncomment for debugging. */
         /* System.out.println("Rotate " + numRotate + ": " + this); */
@@ -198,29 +223,9 @@ public class Miner {
      * this agent.</p>
      */
     public void hiddenRotate() {
-        /* Reflects the clockwise direction of rotation */
-        char[] order = {RIGHT, DOWN, LEFT, UP};
-
-        int index;          // index with respect to the character array order
-        index = 0;          // initialized to prevent error flag from the compiler
-        switch (front) {
-            case RIGHT:
-                index = 0;
-                break;
-            case DOWN:
-                index = 1;
-                break;
-            case LEFT:
-                index = 2;
-                break;
-            case UP:
-                index = 3;
-                break;
-        }
-
         /* Perform pseudo-rotation, as explained in the method documentation. */
-        index = (index + 1) % order.length;
-        front = order[index];
+        dir = (dir + 1) & 3;
+        front = CLOCKWISE[dir];
 
         /* Do not increment counter, and do not add this to the sequence of actions. */
 
@@ -238,41 +243,28 @@ public class Miner {
      * @param b board on which this miner is moving
      */
     public void move(Board b) {
+        int nextRow = row + ROW_OFFSET[dir];
+        int nextCol = col + COL_OFFSET[dir];
+
         /* This miner should not move to an out-of-bounds square tile. */
-        switch (front) {
-            case UP:
-                if (!b.isOutOfBounds(row - 1, col))
-                    row--;
-                break;
-            case RIGHT:
-                if (!b.isOutOfBounds(row, col + 1))
-                    col++;
-                break;
-            case LEFT:
-                if (!b.isOutOfBounds(row, col - 1))
-                    col--;
-                break;
-            case DOWN:
-                if (!b.isOutOfBounds(row + 1, col))
-                    row++;
-                break;
+        if (!b.isOutOfBounds(nextRow, nextCol)) {
+            row = nextRow;
+            col = nextCol;
         }
 
         /* Mark the new position of the miner as visited. */
-        b.getSquares()[row][col].visit();
+        exploration.visit(row, col);
         /* Include the newly occupied tile to the path stack. */
-        path.push(b.getSquares()[row][col]);
-        currStack.add(b.getSquares()[row][col].toString() + "\n");
+        exploration.pushPath(row, col);
+        actionLog.push();
 
         /* Increment counter. */
-        numMove++;
+        if (traceLevel != TRACE_NONE) {
+            numMove++;
+        }
 
         /* Add to the sequence of actions. */
-        preLoadedMoves.add("Move " + this + "\t"
-                + getNumActions() + "\t"
-                + "Move: " + getMoveSequence() + "\t"
-                + getPathStack() + "\t"
-                + getOutOfBoundsTiles());
+        actionLog.record(ActionLog.MOVE, row, col, front, beaconDistance);
 
         /* Uncomment for debugging. */
         /* System.out.println("Move " + numMove + ": " + this); */
@@ -290,83 +282,71 @@ public class Miner {
      * @return square tile in front of this rational agent
      */
     public Square getNextTile(Board b) {
-        /* Only the square tile in front of the miner is returned. */
-        switch (front) {
-            case UP:
-                if (!b.isOutOfBounds(row - 1, col)) {
-                    return b.getSquares()[row - 1][col];
-                } else {
-                    currOutOfBounds = new Square(row - 1, col, Board.OUT_OF_BOUNDS);
-                }
-                break;
-
-            case RIGHT:
-                if (!b.isOutOfBounds(row, col + 1)) {
-                    return b.getSquares()[row][col + 1];
-                } else {
-                    currOutOfBounds = new Square(row, col + 1, Board.OUT_OF_BOUNDS);
-                }
-                break;
+        return getNextTile(b, row, col);
+    }
 
-            case LEFT:
-                if (!b.isOutOfBounds(row, col - 1)) {
-                    return b.getSquares()[row][col - 1];
-                } else {
-                    currOutOfBounds = new Square(row, col - 1, Board.OUT_OF_BOUNDS);
-                }
-                break;
+    /**
+     * Returns the square tile in front of the given position, in the direction to which
+     * this rational agent is facing
+     *
+     * @param b board explored by this rational agent (miner)
+     * @param row row-coordinate of the position
+     * @param col column-coordinate of the position
+     * @return square tile in front of the given position; <code>null</code> if it is out of bounds
+     */
+    public Square getNextTile(Board b, int row, int col) {
+        int nextRow = row + ROW_OFFSET[dir];
+        int nextCol = col + COL_OFFSET[dir];
 
-            case DOWN:
-                if (!b.isOutOfBounds(row + 1, col)) {
-                    return b.getSquares()[row + 1][col];
-                } else {
-                    currOutOfBounds = new Square(row + 1, col, Board.OUT_OF_BOUNDS);
-                }
-                break;
+        /* There is no within-bounds square tile in front of the position. */
+        if (b.isOutOfBounds(nextRow, nextCol)) {
+            return null;
         }
 
-        /* There is no within-bounds square tile in front of the miner. */
-        return null;
+        return exploration.getSquare(nextRow, nextCol);
     }
 
-    public Square getNextTile(Board b, int row, int col) {
-        /* Only the square tile in front of the miner is returned. */
-        switch (front) {
-            case UP:
-                if (!b.isOutOfBounds(row - 1, col)) {
-                    return b.getSquares()[row - 1][col];
-                } else {
-                    currOutOfBounds = new Square(row - 1, col, Board.OUT_OF_BOUNDS);
-                }
-                break;
+    /**
+     * Returns <code>true</code> if this miner can move to the square tile in front of it when
+     * facing in the direction with the given ordinal, that is, if the tile is within bounds,
+     * is not a pit, and has not yet been visited; <code>false</code>, otherwise
+     *
+     * @param b board explored by this rational agent (miner)
+     * @param direction ordinal of the direction, with respect to the clockwise order of rotation
+     * @return <code>true</code> if this miner can move to the square tile in front of it when
+     * facing in the given direction; <code>false</code>, otherwise
+     */
+    private boolean isAllowed(Board b, int direction) {
+        int nextRow = row + ROW_OFFSET[direction];
+        int nextCol = col + COL_OFFSET[direction];
 
-            case RIGHT:
-                if (!b.isOutOfBounds(row, col + 1)) {
-                    return b.getSquares()[row][col + 1];
-                } else {
-                    currOutOfBounds = new Square(row, col + 1, Board.OUT_OF_BOUNDS);
-                }
-                break;
+        return !b.isOutOfBounds(nextRow, nextCol) && b.getDesignation(nextRow, nextCol) != Board.PIT
+                && !exploration.isVisited(nextRow, nextCol);
+    }
 
-            case LEFT:
-                if (!b.isOutOfBounds(row, col - 1)) {
-                    return b.getSquares()[row][col - 1];
-                } else {
-                    currOutOfBounds = new Square(row, col - 1, Board.OUT_OF_BOUNDS);
-                }
-                break;
+    /**
+     * Scans the square tile in front of this miner, unless it is already known to this miner
+     * (that is, a visited tile or an out-of-bounds tile that has already been scanned)
+     *
+     * @param b board explored by this rational agent (miner)
+     */
+    private void scanAhead(Board b) {
+        int nextRow = row + ROW_OFFSET[dir];
+        int nextCol = col + COL_OFFSET[dir];
 
-            case DOWN:
-                if (!b.isOutOfBounds(row + 1, col)) {
-                    return b.getSquares()[row + 1][col];
-                } else {
-                    currOutOfBounds = new Square(row + 1, col, Board.OUT_OF_BOUNDS);
-                }
-                break;
+        /* Scan this next tile only if it has not been scanned beforehand. */
+        if (!b.isOutOfBounds(nextRow, nextCol)) {
+            if (!exploration.isVisited(nextRow, nextCol)) {
+                scan();
+            }
+        } else if (!exploration.isScannedOutOfBounds(nextRow, nextCol)) {
+            /* The rational agent also keeps track of the scanned out-of-bounds tiles
+            to prevent redundancy.
+             */
+            exploration.scanOutOfBounds(nextRow, nextCol);
+            actionLog.scanOutOfBounds();
+            scan();
         }
-
-        /* There is no within-bounds square tile in front of the miner. */
-        return null;
     }
 
     /**
@@ -387,62 +367,56 @@ public class Miner {
      * movement
      */
     public char moveUntilAllowed(Board b) {
-        Square nextTile;                // Square tile in front of the miner
-        nextTile = getNextTile(b);
+        /* Without a record of the actions, a straight run of moves over empty tiles (each followed
+        by a scan of the next unvisited tile) can be carried out in bulk, using the bitboards of
+        the board to find where the run ends instead of probing the tiles one at a time.
+         */
+        if (traceLevel == TRACE_COUNTS || traceLevel == TRACE_NONE) {
+            skipStraightRun(b);
+        }
 
         /* The miner cannot move into an out-of-bounds tile nor can it move into a pit (since this
         would result in a losing game-over situation). Moreover, as part of its decision-making
         processes, it should not move (that is, re-visit) an already visited tile outside of
         backtracking.
         */
-        while (nextTile != null && nextTile.getDesignation() != Board.PIT
-                && !nextTile.getIsVisited()) {
-            /* Move the miner. This is safe at the first iteration since the next tile has already
-            been determined prior to loop initialization. */
+        while (isAllowed(b, dir)) {
+            /* Move the miner. This is safe since the next tile has already been checked
+            by the loop condition. */
             move(b);
 
-            Square currTile;                        // Newly occupied tile
-            currTile = b.getSquares()[row][col];
+            char designation;                       // designation of the newly occupied tile
+            designation = b.getDesignation(row, col);
 
             /* Reaching either a gold or a beacon automatically halts the move sequence. */
-            if (currTile.getDesignation() == Board.GOLD) {
+            if (designation == Board.GOLD) {
                 beaconDistance = -1;
                 return GOLD_FOUND;
-            } else if (currTile.getDesignation() == Board.BEACON) {
-                beaconDistance = b.beaconScan(b.getSquares()[row][col]);
+            } else if (designation == Board.BEACON) {
+                beaconDistance = b.beaconScan(row, col);
                 return BEACON_FOUND;
             } else {
                 /* This miner did not land on a beacon tile. */
                 beaconDistance = -1;
             }
 
-            /* Get the tile in front of the miner. */
-            nextTile = getNextTile(b);
+            /* Scan the tile in front of the miner if it is not yet known. */
+            scanAhead(b);
 
-            /* Scan this next tile only if it has been scanned beforehand. */
-            if (nextTile != null && !nextTile.getIsVisited()) {
-                scan();
-            } else if (nextTile == null) {
-                /* The rational agent also keeps track of the scanned out-of-bounds tiles
-                to prevent redundancy.
-                */
-                if (!scannedOutOfBounds.contains(currOutOfBounds)) {
-                    scannedOutOfBounds.add(currOutOfBounds);
-                    scan();
-                }
-            }
+            int nextRow = row + ROW_OFFSET[dir];
+            int nextCol = col + COL_OFFSET[dir];
 
             /* The tile in front of the miner is a pit. */
-            if (nextTile != null && nextTile.getDesignation() == Board.PIT) {
+            if (!b.isOutOfBounds(nextRow, nextCol) && b.getDesignation(nextRow, nextCol) == Board.PIT) {
 
                 /* Although the miner does not move to pit, this pit is still marked as visited
                 so as to prevent redundant scanning (since the under-the-hood decision-making as
                 to whether a tile is scanned or not involves checking if it has been visited. */
-                nextTile.visit();
+                exploration.visit(nextRow, nextCol);
             }
 
             /* Uncomment for debugging. */
-            /* System.out.println("---->" + nextTile); */
+            /* System.out.println("---->" + getNextTile(b)); */
         }
 
         /* Uncomment for debugging. */
@@ -452,6 +426,72 @@ public class Miner {
         return STOP_FOUND;
     }
 
+    /**
+     * Moves this miner over the longest straight run of empty, unvisited square tiles in
+     * front of it, which can be carried out without any decision (that is, each move lands
+     * on an empty tile and is followed by the scan of an unvisited, non-pit tile)
+     *
+     * <p>The run is stopped one move short of any tile that needs the per-tile handling of
+     * <code>moveUntilAllowed</code> (a beacon, the gold tile, a pit, a visited tile, or the edge
+     * of the board). Since no record of the actions is built, only the position of the miner,
+     * the visited tiles, the path stack, and the counters are updated.</p>
+     *
+     * @param b board explored by this rational agent (miner)
+     */
+    private void skipStraightRun(Board b) {
+        int edge;           // number of tiles in front of the miner before the edge of the board
+        edge = b.getDistanceToEdge(row, col, front);
+
+        /* The nearest tile that the miner should neither move into nor scan */
+        int blocker;
+        blocker = edge + 1;
+
+        int pit = b.getDistanceToPit(row, col, front);
+        if (pit != 0 && pit < blocker) {
+            blocker = pit;
+        }
+
+        int visited = exploration.getDistanceToVisited(row, col, front);
+        if (visited != 0 && visited < blocker) {
+            blocker = visited;
+        }
+
+        /* The nearest tile that halts the move sequence upon being reached */
+        int halt;
+        halt = edge + 1;
+
+        int beacon = b.getDistanceToBeacon(row, col, front);
+        if (beacon != 0 && beacon < halt) {
+            halt = beacon;
+        }
+
+        int gold = b.getDistanceToGold(row, col, front);
+        if (gold != 0 && gold < halt) {
+            halt = gold;
+        }
+
+        int numSteps;
+        numSteps = Math.min(Math.min(blocker - 2, halt - 1), edge - 1);
+
+        for (int i = 0; i < numSteps; i++) {
+            row += ROW_OFFSET[dir];
+            col += COL_OFFSET[dir];
+
+            exploration.visit(row, col);
+            exploration.pushPath(row, col);
+        }
+
+        if (numSteps > 0) {
+            beaconDistance = -1;
+
+            /* Increment counters (one move and one scan per tile). */
+            if (traceLevel != TRACE_NONE) {
+                numMove += numSteps;
+                numScan += numSteps;
+            }
+        }
+    }
+
     /**
      * Returns the minimum number of times that this miner must rotate in order to face
      * the first unscanned square tile
@@ -460,10 +500,10 @@ public class Miner {
      * that there is no unvisited or unscanned tile among its neighboring tiles, signaling
      * the need to backtrack. </p>
      *
-     * <p>Under the hood, this function calls the method <code>hiddenRotate</code>, which is
-     * a pseudo-rotation (as opposed to an actual, locomotive rotation), in order to "recall"
-     * whether it has visited or scanned neighboring tiles. Therefore, the execution of
-     * this method does not contribute to the number of actions incurred. </p>
+     * <p>Under the hood, this function performs pseudo-rotations (as opposed to actual,
+     * locomotive rotations) by stepping through the ordinals of the directions, in order to
+     * "recall" whether it has visited or scanned neighboring tiles. Therefore, the execution
+     * of this method does not contribute to the number of actions incurred. </p>
      *
      * @param b board explored by this rational agent (miner)
      * @return minimum number of times that this miner must rotate in order to face the
@@ -473,12 +513,6 @@ public class Miner {
         int numRotate;                  // return value
         numRotate = 0;
 
-        Square nextTile;                // neighboring tiles of the current tile
-        nextTile = getNextTile(b);
-
-        /* Uncomment for debugging. */
-        /* System.out.println("******************************** " + nextTile); */
-
         /* If a miner needs to perform at least 4 rotations, then there is no unvisited
         or unscanned tile among its neighboring square tiles, signaling the need to backtrack.
 
@@ -486,25 +520,13 @@ public class Miner {
         would result in a losing game-over situation). Moreover, as part of its decision-making
         processes, it should not move (that is, re-visit) an already visited tile outside of
         backtracking.
+
+        Since this function is merely for decision-making, it must not change the state
+        of the miner in any way whatsoever; only the ordinal of the direction considered
+        is advanced.
         */
-        while (numRotate < 4 && (nextTile == null || (nextTile.getDesignation() == Board.PIT
-                || nextTile.getIsVisited()))) {
-            /* Pseudo-rotate and increment counter. */
-            hiddenRotate();
+        while (numRotate < 4 && !isAllowed(b, (dir + numRotate) & 3)) {
             numRotate++;
-
-            /* Consider the neighboring tile in another direction. */
-            nextTile = getNextTile(b, row, col);
-        }
-
-        /* Since this function is merely for decision-making, it must not change the state
-        of the miner in any way whatsoever. Therefore, the miner must perform pseudo-rotation
-        to restore its original orientation. */
-        int remRotate;
-        remRotate = 4 - numRotate;              // there are four cardinal directions
-
-        for (int i = 0; i < remRotate; i++) {
-            hiddenRotate();
         }
 
         return numRotate;
@@ -538,21 +560,8 @@ public class Miner {
                 /* Perform actual rotation. */
                 rotate();
 
-                /* Get the tile in front of the miner. */
-                Square nextTile = getNextTile(b);
-
-                /* Scan this next tile only if it has been scanned beforehand. */
-                if (nextTile != null && !nextTile.getIsVisited()) {
-                    scan();
-                } else if (nextTile == null) {
-                    /* The rational agent also keeps track of the scanned out-of-bounds tiles
-                    to prevent redundancy.
-                     */
-                    if (!scannedOutOfBounds.contains(currOutOfBounds)) {
-                        scannedOutOfBounds.add(currOutOfBounds);
-                        scan();
-                    }
-                }
+                /* Scan the tile in front of the miner if it is not yet known. */
+                scanAhead(b);
             }
         }
 
@@ -613,6 +622,29 @@ public class Miner {
         }
     }
 
+    /**
+     * Performs the least number of clockwise rotations needed for this miner to face the
+     * <b>neighboring</b> square tile at the given coordinates
+     *
+     * @param toRow row-coordinate of the neighboring square tile
+     * @param toCol column-coordinate of the neighboring square tile
+     */
+    private void rotateUntilFacing(int toRow, int toCol) {
+        int target;             // ordinal of the direction of the neighboring tile
+        target = 0;
+        while (row + ROW_OFFSET[target] != toRow || col + COL_OFFSET[target] != toCol) {
+            target++;
+        }
+
+        /* Rotations are clockwise, so facing the tile takes between 0 and 3 rotations. */
+        int numRotate;
+        numRotate = (target - dir) & 3;
+
+        for (int i = 0; i < numRotate; i++) {
+            rotate();
+        }
+    }
+
     /**
      * Action corresponding to backtracking, that is, retracing the previously taken path
      * and finding the earliest square tile in the path stack with an unvisited neighbor;
@@ -631,69 +663,54 @@ public class Miner {
      */
     public boolean backtrack(Board b) {
         /* Add to the sequence of actions. */
-        preLoadedMoves.add("Backtrack start " + "\t"
-                + getNumActions() + "\t"
-                + "Backtrack start " + "\t"
-                + getPathStack() + "\t"
-                + getOutOfBoundsTiles());
+        actionLog.record(ActionLog.BACKTRACK_START, row, col, front, beaconDistance);
 
         /* Uncomment for debugging. */
         /* System.out.println("-- backtrack start --\n");
-        System.out.println(path); */
-
+        System.out.println(getPathStack()); */
 
-        /* Pop the most recent move from the path stack (consider error catching
-        for trying to pop from an empty stack for a more robust/smarter implementation).
-         */
-        try {
-            path.pop();
-            currStack.remove(currStack.size() - 1);
 
-        } catch (Exception e) {     /* Invalid board configuration */
+        /* Pop the most recent move from the path stack. */
+        if (exploration.getPathSize() == 0) {     /* Invalid board configuration */
             /* Add to the sequence of actions. */
-            preLoadedMoves.add("Invalid board layout" + "\t"
-                    + getNumActions() + "\t"
-                    + "Invalid board layout!" + "\t"
-                    + getPathStack() + "\t"
-                    + getOutOfBoundsTiles());
+            actionLog.record(ActionLog.INVALID_LAYOUT, row, col, front, beaconDistance);
 
             /* Uncomment for debugging. */
             /* System.out.println("Invalid board layout!"); */
             return false;
         }
 
+        exploration.popPath();
+        actionLog.pop();
+
         /* Backtracking per se
 
         Continue popping from the stack until a tile with an unvisited neighbor can be found.
          */
-        while (!path.isEmpty()) {
-            Square toSquare;                // popped tile to which the miner should face
-            toSquare = path.pop();
+        while (exploration.getPathSize() > 0) {
+            /* Popped tile to which the miner should face */
+            exploration.popPath();
+            int toRow = exploration.getPathRow(exploration.getPathSize());
+            int toCol = exploration.getPathCol(exploration.getPathSize());
 
             /* Remove from the GUI display as well. */
-            currStack.remove(currStack.size() - 1);
-
-            Square currSquare;              // tile currently occupied by the miner
-            currSquare = b.getSquares()[row][col];
+            actionLog.pop();
 
             /* Face and move to the popped tile (that is, the previously occupied tile
             before backtracking occurred).
              */
-            rotateUntilFacing(currSquare, toSquare);
+            rotateUntilFacing(toRow, toCol);
             move(b);
 
             /* Backtracking is completed. */
-            if (b.hasUnvisitedNeighbors(toSquare)) {
-                /* Uncomment for debugging. */
-                /* System.out.println(path); */
-
+            if (exploration.hasUnvisitedNeighbors(toRow, toCol)) {
                 break;
             } else {
                 /* Since move pushes a tile into the path stack, this newly pushed tile
                 must be popped again to continue the backtracking.
                  */
-                path.pop();
-                currStack.remove(currStack.size() - 1);
+                exploration.popPath();
+                actionLog.pop();
             }
 
         }
@@ -702,14 +719,13 @@ public class Miner {
         scan();
 
         /* Increment counter. */
-        numBacktrack++;
+        if (traceLevel != TRACE_NONE) {
+            numBacktrack++;
+        }
+        actionLog.countBacktrack();
 
         /* Add to the sequence of actions. */
-        preLoadedMoves.add("Backtrack end " + "\t"
-                + getNumActions() + "\t"
-                + "Backtrack end " + "\t"
-                + getPathStack() + "\t"
-                + getOutOfBoundsTiles());
+        actionLog.record(ActionLog.BACKTRACK_END, row, col, front, beaconDistance);
 
         /* Uncomment for debugging. */
         /* System.out.println("-- backtrack " + numBacktrack + " end --\n"); */
@@ -736,63 +752,33 @@ public class Miner {
             to be checked/explored.
              */
             boolean isAllVisited;
-            isAllVisited = true;
-
-            Square nextTileTest;
-            nextTileTest = getNextTile(b);
-
-            for (int i = 0; i < distance; i++) {
-                /* Uncomment for debugging. */
-                /* System.out.println(nextTileTest); */
-
-                /* Get the tile in front of the miner. */
-
-                /* If there is an unvisited tile in this direction, terminate
-                the loop already and proceed to the succeeding loop.
-                 */
-                if (nextTileTest == null) {
-                    break;
-                }
-
-                if (!nextTileTest.getIsVisited()) {
-                    isAllVisited = false;
-                    break;
-                } else {
-                    nextTileTest = getNextTile(b, nextTileTest.getRow(), nextTileTest.getCol());
-                }
-            }
+            int unvisited;          // distance to the nearest unvisited tile in front of the miner
+            unvisited = exploration.getDistanceToUnvisited(row, col, front);
+            isAllVisited = unvisited == 0 || unvisited > distance;
 
             /* Uncomment for debugging. */
             /* System.out.println(isAllVisited); */
 
             /* Move by a certain number of tiles, at most the distance returned by the beacon. */
             for (int i = 0; i < distance && !isAllVisited; i++) {
-                /* Get the tile in front of the miner. */
-                Square nextTile;
-                nextTile = getNextTile(b);
-
-                /* Scan this next tile only if it has been scanned beforehand. */
-                if (nextTile != null && !nextTile.getIsVisited()) {
-                    scan();
-                } else if (nextTile == null) {
-                     /* The rational agent also keeps track of the scanned out-of-bounds tiles
-                    to prevent redundancy.
-                     */
-                    if (!scannedOutOfBounds.contains(currOutOfBounds)) {
-                        scannedOutOfBounds.add(currOutOfBounds);
-                        scan();
-                    }
-                }
+                /* Scan the tile in front of the miner if it is not yet known. */
+                scanAhead(b);
+
+                int nextRow = row + ROW_OFFSET[dir];
+                int nextCol = col + COL_OFFSET[dir];
 
                 /* The miner is already at the edge of the board. */
-                if (nextTile == null) {
+                if (b.isOutOfBounds(nextRow, nextCol)) {
                     /* Uncomment for debugging. */
                     /* System.out.println("Next tile is out of bounds"); */
                     break;
                 }
 
+                char designation;           // designation of the tile in front of the miner
+                designation = b.getDesignation(nextRow, nextCol);
+
                 /* The next tile is the gold tile tile. */
-                if (nextTile.getDesignation() == Board.GOLD) {
+                if (designation == Board.GOLD) {
                     /* Uncomment for debugging. */
                     /* System.out.println("Next tile is gold"); */
 
@@ -800,19 +786,19 @@ public class Miner {
                     move(b);
                     return;
 
-                } else if (nextTile.getDesignation() == Board.PIT) { /* The next tile is a pit. */
+                } else if (designation == Board.PIT) { /* The next tile is a pit. */
                     /* Uncomment for debugging. */
                     /* System.out.println("Next tile is pit"); */
 
                     /* Consider next cardinal direction already. */
                     break;
 
-                } else if (nextTile.getDesignation() == Board.BEACON) { /* The next tile is another beacon. */
+                } else if (designation == Board.BEACON) { /* The next tile is another beacon. */
                     /* Uncomment for debugging. */
                     /* System.out.println("Next tile is beacon"); */
 
                     int secondDistance;         // distance returned by the second encountered beacon
-                    secondDistance = b.beaconScan(nextTile);
+                    secondDistance = b.beaconScan(nextRow, nextCol);
 
                     /* If the distance returned by this other beacon is 0,
                     then miner is in the wrong direction; otherwise, it should have returned
@@ -846,11 +832,7 @@ public class Miner {
             /* System.out.println("###### " + j); */
 
             /* Add to the sequence of actions. */
-            preLoadedMoves.add("Possible backtrack start " + "\t"
-                    + getNumActions() + "\t"
-                    + "Possible backtrack start " + "\t"
-                    + getPathStack() + "\t"
-                    + getOutOfBoundsTiles());
+            actionLog.record(ActionLog.POSSIBLE_BACKTRACK, row, col, front, beaconDistance);
 
 
             /* For instance, if the miner is approaches the beacon facing up, then
@@ -884,14 +866,14 @@ public class Miner {
             if backtracking has occurred.
              */
             int prevSize;
-            prevSize = path.size();
+            prevSize = exploration.getPathSize();
 
             /* Go back to the beacon. */
             while (row != beaconRow || col != beaconCol) {     // THIS BLOCK IS SKIPPED
-                path.pop();
-                path.pop();
-                currStack.remove(currStack.size() - 1);
-                currStack.remove(currStack.size() - 1);
+                exploration.popPath();
+                exploration.popPath();
+                actionLog.pop();
+                actionLog.pop();
                 move(b);
             }
 
@@ -901,26 +883,21 @@ public class Miner {
             }
 
             /* Add to the sequence of actions if backtracking did occur. */
-            if (prevSize != path.size()) {
+            if (prevSize != exploration.getPathSize()) {
                 /* For GUI */
-                preLoadedMoves.add("Backtrack end " + "\t"
-                        + getNumActions() + "\t"
-                        + "Backtrack end " + "\t"
-                        + getPathStack() + "\t"
-                        + getOutOfBoundsTiles());
+                actionLog.record(ActionLog.BACKTRACK_END, row, col, front, beaconDistance);
 
                 /* Increment counter */
-                numBacktrack++;
+                if (traceLevel != TRACE_NONE) {
+                    numBacktrack++;
+                }
+                actionLog.countBacktrack();
             } else {        /* Backtracking did not occur. */
-                preLoadedMoves.add("No backtrack occurred " + "\t"
-                        + getNumActions() + "\t"
-                        + "No backtrack occurred " + "\t"
-                        + getPathStack() + "\t"
-                        + getOutOfBoundsTiles());
+                actionLog.record(ActionLog.NO_BACKTRACK, row, col, front, beaconDistance);
             }
 
             /* Uncomment for debugging. */
-            /* System.out.println(path);
+            /* System.out.println(getPathStack());
             System.out.println("-- backtrack " + numBacktrack + " end --\n"); */
         }
     }
@@ -936,31 +913,67 @@ public class Miner {
      */
     public void scan() {
         /* Increment counter. */
-        numScan++;
+        if (traceLevel != TRACE_NONE) {
+            numScan++;
+        }
 
         /* Add to the sequence of actions. */
-        preLoadedMoves.add("Scan " + this + "\t"
-                        + getNumActions() + "\t"
-                        + "Scan: " + getMoveSequence() + "\t"
-                        + getPathStack() + "\t"
-                        + getOutOfBoundsTiles());
+        actionLog.record(ActionLog.SCAN, row, col, front, beaconDistance);
 
         /* Uncomment for debugging. */
         /* System.out.println("Scan " + numScan); */
     }
 
-    public LinkedList<String> searchForGold(Board b) {
+    /**
+     * Searches for the gold square tile and returns a compact record of the actions
+     * undertaken by this rational agent
+     *
+     * <p>The actions are recorded with the most detailed trace level, that is,
+     * <code>TRACE_FULL</code>. The full details of each action (for use in the GUI) are
+     * only reconstructed on demand by replaying the returned record.</p>
+     *
+     * @param b board explored by this rational agent (miner)
+     * @return compact record of the actions undertaken by this rational agent
+     */
+    public ActionLog searchForGold(Board b) {
+        return searchForGold(b, TRACE_FULL);
+    }
+
+    /**
+     * Searches for the gold square tile, recording the actions undertaken by this rational
+     * agent with the specified level of detail
+     *
+     * <p>The following are the possible trace levels:</p>
+     * <ul>
+     *     <li><b>None</b> - Neither the actions nor the counters are recorded.</li>
+     *     <li><b>Counts</b> - Only the counters are kept; no record is built.</li>
+     *     <li><b>Events</b> - The action code, position, and orientation of each action
+     *     are recorded.</li>
+     *     <li><b>Full</b> - Each action is recorded with all the details needed to reconstruct
+     *     the display of the GUI.</li>
+     * </ul>
+     *
+     * @param b board explored by this rational agent (miner)
+     * @param traceLevel character code specifying the level of detail of the record
+     * @return compact record of the actions undertaken by this rational agent, or
+     * <code>null</code> if the trace level is either none or counts
+     */
+    public ActionLog searchForGold(Board b, char traceLevel) {
+        this.traceLevel = traceLevel;
+        actionLog = new ActionLog(traceLevel);
+
         scan();
 
-        while (b.getSquares()[row][col].getDesignation() != Board.GOLD) {
+        while (b.getDesignation(row, col) != Board.GOLD) {
             char moveCode = moveUntilAllowed(b);
 
             if (moveCode == GOLD_FOUND) {
                 /* Game over */
                 break;
             } else if (moveCode == BEACON_FOUND) {
+                /* The distance was already returned by the beacon upon landing on it. */
                 int distance;
-                distance = b.beaconScan(b.getSquares()[row][col]);
+                distance = beaconDistance;
 
                 /* Uncomment for debugging. */
                 /* System.out.println("---------------> Dist: " + distance); */
@@ -990,13 +1003,91 @@ public class Miner {
         /* System.out.println(this); */
 
         /* Uncomment for debugging. */
-        /* System.out.println("Final Path: " + path);
-        System.out.println("Scanned Out of Bound: " + scannedOutOfBounds); */
+        /* System.out.println("Final Path: " + getPathStack());
+        System.out.println("Scanned Out of Bound: " + getOutOfBoundsTiles()); */
 
         /* Uncomment for debugging. */
-        /* System.out.println("Pre-loaded Moves: " + preLoadedMoves); */
+        /* System.out.println("Pre-loaded Moves: " + actionLog); */
+
+        /* No record is built for the less detailed trace levels. */
+        if (traceLevel == TRACE_NONE || traceLevel == TRACE_COUNTS) {
+            return null;
+        }
+
+        return actionLog;
+    }
+
+    /**
+     * Gives up the search for the gold square tile without undertaking any action, since the
+     * board layout is already known to be invalid, and returns the record of this outcome
+     *
+     * <p>This is used when a reachability check of the board (see <code>Board.isGoldReachable</code>)
+     * has shown that the gold square tile cannot be reached from the starting tile, sparing the
+     * miner from exploring every tile it can reach before reaching the same conclusion.</p>
+     *
+     * @param traceLevel character code specifying the level of detail of the record
+     * @return record consisting only of the detection of the invalid board layout, or
+     * <code>null</code> if the trace level is either none or counts
+     */
+    public ActionLog reportInvalidLayout(char traceLevel) {
+        this.traceLevel = traceLevel;
+        actionLog = new ActionLog(traceLevel);
+
+        /* Add to the sequence of actions. */
+        actionLog.record(ActionLog.INVALID_LAYOUT, row, col, front, beaconDistance);
+
+        /* No record is built for the less detailed trace levels. */
+        if (traceLevel == TRACE_NONE || traceLevel == TRACE_COUNTS) {
+            return null;
+        }
 
-        return preLoadedMoves;
+        return actionLog;
+    }
+
+    /**
+     * Returns the number of moves executed by this rational agent
+     *
+     * @return number of moves executed by this rational agent
+     */
+    public int getNumMoves() {
+        return numMove;
+    }
+
+    /**
+     * Returns the number of scans executed by this rational agent
+     *
+     * @return number of scans executed by this rational agent
+     */
+    public int getNumScans() {
+        return numScan;
+    }
+
+    /**
+     * Returns the number of rotations executed by this rational agent
+     *
+     * @return number of rotations executed by this rational agent
+     */
+    public int getNumRotations() {
+        return numRotate;
+    }
+
+    /**
+     * Returns the exploration state of this rational agent, that is, the tiles it has visited
+     * and the out-of-bounds tiles it has scanned
+     *
+     * @return exploration state of this rational agent
+     */
+    public Exploration getExploration() {
+        return exploration;
+    }
+
+    /**
+     * Returns the number of backtracks executed by this rational agent
+     *
+     * @return number of backtracks executed by this rational agent
+     */
+    public int getNumBacktracks() {
+        return numBacktrack;
     }
 
     /**
@@ -1032,8 +1123,9 @@ public class Miner {
     public String getPathStack() {
         String pathString = "";
 
-        for (int i = 0; i < currStack.size(); i++)
-            pathString += currStack.get(i);
+        for (int i = 0; i < exploration.getPathSize(); i++)
+            pathString += exploration.getSquare(exploration.getPathRow(i), exploration.getPathCol(i)).toString()
+                    + "\n";
 
         return pathString;
     }
@@ -1048,9 +1140,9 @@ public class Miner {
         currOOB = "";
 
         /* Concatenate the newly scanned out-of-bounds tile. */
-        if (scannedOutOfBounds.size() > 0) {
-            for (int i = 0; i < scannedOutOfBounds.size(); i++) {
-                currOOB += scannedOutOfBounds.get(i).toString() + "\n";
+        if (exploration.getNumOutOfBoundsScanned() > 0) {
+            for (int i = 0; i < exploration.getNumOutOfBoundsScanned(); i++) {
+                currOOB += exploration.getOutOfBoundsScanned(i).toString() + "\n";
             }
         } else {        // No scanned out-of-bounds tiles yet
             currOOB = "NONE";
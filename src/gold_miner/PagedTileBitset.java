@@ -0,0 +1,236 @@
+package gold_miner;
+
+import java.util.Arrays;
+
+/**
+ * Class implementing a <b>paged bitset over the square tiles</b> of a board on the heap, indexed
+ * in row-major order (for instance, to keep track of the tiles visited by the miner)
+ *
+ * <p>The bits are stored in pages that are only allocated once a bit in them is set, so that
+ * a board with hundreds of millions of tiles only pays for the regions actually touched.</p>
+ *
+ * <p>Since the bits of a row are contiguous, searching a row for the nearest set (or clear)
+ * bit examines 64 tiles per word operation. A bitset whose coordinates are passed in swapped
+ * order (column first) is the transposed, column-major counterpart, which allows columns to
+ * be searched the same way.</p>
+ *
+ * <p>Every page is stamped with the epoch in which it was last written; a page stamped with an
+ * earlier epoch is treated as if no bit in it were set. Clearing the whole bitset therefore
+ * only advances the epoch, which takes constant time regardless of the size of the board,
+ * and the pages already allocated are reused afterwards.</p>
+ *
+ * <p>Note that the row and column numbers in this class (as well as in all other classes
+ * responsible for the back-end behavior) are zero-based.</p>
+ */
+public class PagedTileBitset implements TileBitset {
+    /* Pages of bits (null if no bit in the page has been set) */
+    private final long[][] pages;
+    /* Epochs in which the pages were last written (0 if a page has never been written) */
+    private final int[] pageEpochs;
+    /* Current epoch (pages stamped with an earlier epoch are considered clear) */
+    private int epoch;
+    /* Number of words in each page */
+    private final int PAGE_WORDS;
+    /* Dimension of the board (its length is equal to its width) */
+    private final int DIMENSION;
+
+    /* Base-2 logarithm of the number of bits in a full page */
+    private static final int PAGE_SHIFT = 16;
+    /* Bit mask for the position of a word within its page */
+    private static final int WORD_MASK = (1 << (PAGE_SHIFT - 6)) - 1;
+
+    /**
+     * Creates a bitset over the square tiles of a board in which no bit is set
+     *
+     * @param dimension number of square tiles spanning the length of the board (which
+     *                  is also equal to the number of tiles spanning its width)
+     */
+    public PagedTileBitset(int dimension) {
+        this.DIMENSION = dimension;
+
+        long numBits = (long) dimension * dimension;
+        pages = new long[(int) ((numBits + (1L << PAGE_SHIFT) - 1) >>> PAGE_SHIFT)][];
+        pageEpochs = new int[pages.length];
+        epoch = 1;
+
+        /* A board with only one page does not need a full-sized page. */
+        PAGE_WORDS = (int) Math.min(WORD_MASK + 1, (numBits + 63) >>> 6);
+    }
+
+    /**
+     * Returns <code>true</code> if the bit of the square tile at the given coordinates is set;
+     * <code>false</code>, otherwise
+     *
+     * @param row row-coordinate of the square tile
+     * @param col column-coordinate of the square tile
+     * @return <code>true</code> if the bit of the square tile at the given coordinates is set;
+     * <code>false</code>, otherwise
+     */
+    @Override
+    public boolean get(int row, int col) {
+        long index = (long) row * DIMENSION + col;
+        int pageIndex = (int) (index >>> PAGE_SHIFT);
+        long[] page = getPage(pageIndex);
+
+        return page != null && (page[(int) (index >>> 6) & WORD_MASK] & (1L << index)) != 0;
+    }
+
+    /**
+     * Sets the bit of the square tile at the given coordinates
+     *
+     * @param row row-coordinate of the square tile
+     * @param col column-coordinate of the square tile
+     */
+    @Override
+    public void set(int row, int col) {
+        long index = (long) row * DIMENSION + col;
+        int pageIndex = (int) (index >>> PAGE_SHIFT);
+
+        if (pages[pageIndex] == null) {
+            pages[pageIndex] = new long[PAGE_WORDS];
+        } else if (pageEpochs[pageIndex] != epoch) {
+            /* The page was written in an earlier epoch, so its stale bits are discarded first. */
+            Arrays.fill(pages[pageIndex], 0L);
+        }
+
+        pageEpochs[pageIndex] = epoch;
+        pages[pageIndex][(int) (index >>> 6) & WORD_MASK] |= 1L << index;
+    }
+
+    /**
+     * Returns the position of the first tile in the given line, from the position
+     * <code>from</code> up to the position <code>to</code> (both inclusive), whose bit is equal
+     * to the given value; -1 if there is no such tile
+     *
+     * <p>A line is a row if the coordinates of this bitset are in row-major order, and a column
+     * if they are in column-major order.</p>
+     *
+     * @param line index of the line (row or column) searched
+     * @param from position in the line at which the search starts
+     * @param to position in the line at which the search ends (not less than <code>from</code>)
+     * @param value <code>true</code> to search for a set bit; <code>false</code> to search for
+     *              a clear bit
+     * @return position of the first tile in the given range whose bit is equal to the given value;
+     * -1 if there is no such tile
+     */
+    @Override
+    public int nextInLine(int line, int from, int to, boolean value) {
+        long base = (long) line * DIMENSION;
+        long index = base + from;
+        long last = base + to;
+
+        while (index <= last) {
+            int pageIndex = (int) (index >>> PAGE_SHIFT);
+            long[] page = getPage(pageIndex);
+
+            /* An unallocated (or stale) page has no set bit, so the search for a set bit skips it entirely. */
+            if (page == null && value) {
+                index = (long) (pageIndex + 1) << PAGE_SHIFT;
+                continue;
+            }
+
+            long word = page == null ? 0L : page[(int) (index >>> 6) & WORD_MASK];
+            if (!value) {
+                word = ~word;
+            }
+
+            /* Discard the bits before the current index. */
+            word &= -1L << index;
+
+            if (word != 0) {
+                long found = (index & ~63L) + Long.numberOfTrailingZeros(word);
+                return found <= last ? (int) (found - base) : -1;
+            }
+
+            index = (index & ~63L) + 64;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Returns the position of the first tile in the given line, from the position
+     * <code>from</code> down to the position <code>to</code> (both inclusive), whose bit is equal
+     * to the given value; -1 if there is no such tile
+     *
+     * <p>A line is a row if the coordinates of this bitset are in row-major order, and a column
+     * if they are in column-major order.</p>
+     *
+     * @param line index of the line (row or column) searched
+     * @param from position in the line at which the search starts
+     * @param to position in the line at which the search ends (not greater than <code>from</code>)
+     * @param value <code>true</code> to search for a set bit; <code>false</code> to search for
+     *              a clear bit
+     * @return position of the first tile in the given range whose bit is equal to the given value;
+     * -1 if there is no such tile
+     */
+    @Override
+    public int prevInLine(int line, int from, int to, boolean value) {
+        long base = (long) line * DIMENSION;
+        long index = base + from;
+        long first = base + to;
+
+        while (index >= first) {
+            int pageIndex = (int) (index >>> PAGE_SHIFT);
+            long[] page = getPage(pageIndex);
+
+            /* An unallocated (or stale) page has no set bit, so the search for a set bit skips it entirely. */
+            if (page == null && value) {
+                index = ((long) pageIndex << PAGE_SHIFT) - 1;
+                continue;
+            }
+
+            long word = page == null ? 0L : page[(int) (index >>> 6) & WORD_MASK];
+            if (!value) {
+                word = ~word;
+            }
+
+            /* Discard the bits after the current index. */
+            word &= -1L >>> (63 - (index & 63));
+
+            if (word != 0) {
+                long found = (index & ~63L) + 63 - Long.numberOfLeadingZeros(word);
+                return found >= first ? (int) (found - base) : -1;
+            }
+
+            index = (index & ~63L) - 1;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Clears all the bits of this bitset in constant time
+     *
+     * <p>Only the current epoch is advanced. The pages written in the earlier epochs are
+     * considered clear from then on, and they are wiped only once they are written again.</p>
+     */
+    @Override
+    public void clear() {
+        epoch++;
+
+        /* Once the epoch wraps around, the stamps can no longer be told apart, so they are reset. */
+        if (epoch == 0) {
+            Arrays.fill(pageEpochs, 0);
+            for (int i = 0; i < pages.length; i++) {
+                if (pages[i] != null) {
+                    Arrays.fill(pages[i], 0L);
+                }
+            }
+
+            epoch = 1;
+        }
+    }
+
+    /**
+     * Returns the page at the given index if it has been written in the current epoch;
+     * <code>null</code>, otherwise
+     *
+     * @param pageIndex index of the page
+     * @return page at the given index if it has been written in the current epoch;
+     * <code>null</code>, otherwise
+     */
+    private long[] getPage(int pageIndex) {
+        return pageEpochs[pageIndex] == epoch ? pages[pageIndex] : null;
+    }
+}
@@ -1,13 +1,17 @@
 package gold_miner;
 
 import java.util.ArrayList;
+import java.util.SplittableRandom;
 import java.util.Stack;
-import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Class implementing the <b>nonrational agent</b> whose actions are randomly decided
  * as long as it does not result in the miner going out of bounds
  *
+ * <p>The random decisions are drawn from a <code>SplittableRandom</code> owned by this miner.
+ * Given a seeded source (or a stream split from one), a run is fully reproducible, regardless
+ * of the thread on which it is executed.</p>
+ *
  * <p>Note that the row and column numbers in this class (as well as in all other classes
  * responsible for the back-end behavior) are zero-based.</p>
  */
@@ -32,12 +36,17 @@ public class RandomMiner {
     /* String representation of the current action of this agent (for use in the GUI) */
     private String currMove;
 
+    /* Source of the random decisions of this miner */
+    private SplittableRandom random;
+    /* Level of detail with which the actions of this miner are recorded */
+    private final char traceLevel;
+
     /* Number of rotations */
-    private static int numRotate = 0;
+    private int numRotate;
     /* Number of scans */
-    private static int numScan = 0;
+    private int numScan;
     /* Number of moves */
-    private static int numMove = 0;
+    private int numMove;
 
     /**
      * Character code corresponding to a move to the tile above this miner's current position
@@ -77,6 +86,11 @@ public class RandomMiner {
      * Character code indicating that this nonrational miner fell on a pit
      */
     public static final char FAIL = 'F';
+    /**
+     * Character code indicating that this nonrational miner ran out of actions before reaching
+     * either the gold square tile or a pit
+     */
+    public static final char EXHAUSTED = 'E';
 
     /**
      * List of the possible directions to which this miner can face (that is, the four
@@ -88,21 +102,89 @@ public class RandomMiner {
      */
     public static final char[] POSSIBLE_ACTION = {MOVE, SCAN, ROTATE};
 
+    /* Reflects the clockwise direction of rotation */
+    private static final char[] CLOCKWISE = {RIGHT, DOWN, LEFT, UP};
+
     /**
      * Creates a nonrational agent whose actions are randomly decided as long as it does
      * not result in this miner going out of bounds
+     *
+     * <p>The random decisions are drawn from an unseeded source; hence, the run cannot
+     * be reproduced.</p>
      */
     public RandomMiner() {
+        this(new SplittableRandom());
+    }
+
+    /**
+     * Creates a nonrational agent whose actions are randomly decided (using the given source)
+     * as long as it does not result in this miner going out of bounds
+     *
+     * <p>The source is used exclusively by this miner, so it should not be shared with other
+     * miners; a separate stream can be obtained for each miner via <code>split</code>.</p>
+     *
+     * @param random source of the random decisions of this miner
+     */
+    public RandomMiner(SplittableRandom random) {
+        this(random, Miner.TRACE_FULL);
+    }
+
+    /**
+     * Creates a nonrational agent whose actions are randomly decided (using the given source)
+     * as long as it does not result in this miner going out of bounds, and whose actions are
+     * recorded with the specified level of detail
+     *
+     * <p>The trace levels are those of the rational agent. With <code>Miner.TRACE_FULL</code>,
+     * the path stack and the string representation of each action are recorded (for use in the
+     * GUI). With any other level, none of them is recorded, so a run does not allocate any memory;
+     * the counters are kept unless the level is <code>Miner.TRACE_NONE</code>.</p>
+     *
+     * @param random source of the random decisions of this miner
+     * @param traceLevel character code specifying the level of detail of the record
+     *                   of the actions of this miner
+     */
+    public RandomMiner(SplittableRandom random, char traceLevel) {
+        this.traceLevel = traceLevel;
+
+        if (traceLevel == Miner.TRACE_FULL) {
+            path = new Stack<Square>();
+            currPath = new ArrayList<String>();
+        }
+
+        reset(random);
+    }
+
+    /**
+     * Returns this miner to its initial position, facing a random direction, so that it can be
+     * used for another run, with its decisions drawn from the given source
+     *
+     * <p>Unless the path stack and the string representations of the actions are recorded,
+     * this does not allocate any memory.</p>
+     *
+     * @param random source of the random decisions of this miner in the next run
+     */
+    public void reset(SplittableRandom random) {
+        this.random = random;
+
         row = 0;
         col = 0;
 
-        path = new Stack<Square>();
-        currPath = new ArrayList<String>();
+        /* The counters belong to this run alone. */
+        numRotate = 0;
+        numScan = 0;
+        numMove = 0;
 
         /* Randomize the direction to which the miner is facing. */
         front = POSSIBLE_FRONT[getRandom(POSSIBLE_FRONT.length)];
-        path.add(new Square(0, 0, 'E'));
-        currPath.add(new Square(0, 0, 'E').toString() + "\n");
+
+        if (traceLevel == Miner.TRACE_FULL) {
+            path.clear();
+            currPath.clear();
+            currMove = null;
+
+            path.add(new Square(0, 0, 'E'));
+            currPath.add(new Square(0, 0, 'E').toString() + "\n");
+        }
     }
 
     /**
@@ -140,9 +222,6 @@ public class RandomMiner {
      * alter its current position. </p>
      */
     public void rotate() {
-        /* Reflects the clockwise direction of rotation */
-        char[] order = {RIGHT, DOWN, LEFT, UP};
-
         int index;          // index with respect to the character array order
         index = 0;          // initialized to prevent error flag from the compiler
         switch (front) {
@@ -161,17 +240,21 @@ public class RandomMiner {
         }
 
         /* Perform actual rotation. */
-        index = (index + 1) % order.length;
-        front = order[index];
+        index = (index + 1) % CLOCKWISE.length;
+        front = CLOCKWISE[index];
 
         /* Increment counter. */
-        numRotate++;
+        if (traceLevel != Miner.TRACE_NONE) {
+            numRotate++;
+        }
 
         /* Uncomment for debugging. */
         /* System.out.println("Rotate " + numRotate + ": " + this); */
 
         /* Handle GUI updates. */
-        currMove = "Rotate: " + (row + 1) + " " + (col + 1) + " " + front;
+        if (traceLevel == Miner.TRACE_FULL) {
+            currMove = "Rotate: " + (row + 1) + " " + (col + 1) + " " + front;
+        }
     }
 
     /**
@@ -204,20 +287,24 @@ public class RandomMiner {
                 break;
         }
 
-        /* Mark the new position of the miner as visited. */
-        b.getSquares()[row][col].visit();
         /* Include the newly occupied tile to the path stack. */
-        path.push(b.getSquares()[row][col]);
-        currPath.add(b.getSquares()[row][col].toString() + "\n");
+        if (traceLevel == Miner.TRACE_FULL) {
+            path.push(b.getSquare(row, col));
+            currPath.add(b.getSquare(row, col).toString() + "\n");
+        }
 
         /* Increment counter. */
-        numMove++;
+        if (traceLevel != Miner.TRACE_NONE) {
+            numMove++;
+        }
 
         /* Uncomment for debugging. */
         /* System.out.println("Move " + numMove + ": " + this); */
 
         /* Handle GUI updates. */
-        currMove = "Move: " + (row + 1) + " " + (col + 1) + " " + front;
+        if (traceLevel == Miner.TRACE_FULL) {
+            currMove = "Move: " + (row + 1) + " " + (col + 1) + " " + front;
+        }
     }
 
     /**
@@ -230,13 +317,99 @@ public class RandomMiner {
      */
     public void scan() {
         /* Increment counter. */
-        numScan++;
+        if (traceLevel != Miner.TRACE_NONE) {
+            numScan++;
+        }
 
         /* Uncomment for debugging. */
         /* System.out.println("Scan " + numScan); */
 
         /* Handle GUI updates. */
-        currMove = "Scan: " + (row + 1) + " " + (col + 1) + " " + front;
+        if (traceLevel == Miner.TRACE_FULL) {
+            currMove = "Scan: " + (row + 1) + " " + (col + 1) + " " + front;
+        }
+    }
+
+    /**
+     * Lets this nonrational agent act randomly on the given board until it reaches either
+     * the gold square tile or a pit, or until it has executed the maximum number of actions,
+     * and returns the outcome of the run
+     *
+     * <p>Each action is chosen in the same way as in the GUI. Since the nonrational agent
+     * is not guaranteed to reach a terminal square tile, the number of actions is capped.</p>
+     *
+     * <p>The maximum number of actions is an <code>int</code>, like the counters of the actions,
+     * so that no counter can overflow before the run is cut off.</p>
+     *
+     * @param b board on which this miner is acting
+     * @param maxActions maximum number of actions to be executed
+     * @return <code>SUCCESS</code> if this miner reached the gold square tile, <code>FAIL</code>
+     * if it fell on a pit, or <code>EXHAUSTED</code> if it ran out of actions
+     */
+    public char searchForGold(Board b, int maxActions) {
+        results = EXHAUSTED;
+
+        for (int i = 0; i < maxActions; i++) {
+            switch (POSSIBLE_ACTION[getRandom(POSSIBLE_ACTION.length)]) {
+                case MOVE:
+                    move(b);
+                    break;
+                case SCAN:
+                    scan();
+                    break;
+                case ROTATE:
+                    rotate();
+                    break;
+            }
+
+            /* The run ends once this miner is on a terminal square tile. */
+            if (b.getDesignation(row, col) == Board.GOLD) {
+                results = SUCCESS;
+                break;
+            } else if (b.getDesignation(row, col) == Board.PIT) {
+                results = FAIL;
+                break;
+            }
+        }
+
+        return results;
+    }
+
+    /**
+     * Returns the outcome of the most recent run of <code>searchForGold</code>
+     *
+     * @return <code>SUCCESS</code> if this miner reached the gold square tile, <code>FAIL</code>
+     * if it fell on a pit, or <code>EXHAUSTED</code> if it ran out of actions
+     */
+    public char getResults() {
+        return results;
+    }
+
+    /**
+     * Returns the number of moves executed by this miner
+     *
+     * @return number of moves executed by this miner
+     */
+    public int getNumMoves() {
+        return numMove;
+    }
+
+    /**
+     * Returns the number of scans executed by this miner
+     *
+     * @return number of scans executed by this miner
+     */
+    public int getNumScans() {
+        return numScan;
+    }
+
+    /**
+     * Returns the number of rotations executed by this miner
+     *
+     * @return number of rotations executed by this miner
+     */
+    public int getNumRotations() {
+        return numRotate;
     }
 
     /**
@@ -244,14 +417,15 @@ public class RandomMiner {
      * for use in the naive decision-making of the nonrational agent
      *
      * <p>Technically, the integer generated is pseudorandom since the library used
-     * for its generation is Java's <code>ThreadLocalRandom</code>. Nevertheless,
-     * this is sufficient for the purposes of this system. </p>
+     * for its generation is Java's <code>SplittableRandom</code>. Nevertheless,
+     * this is sufficient for the purposes of this system, and it allows a run to be
+     * reproduced from the seed of its source. </p>
      *
      * @param hi exclusive upper bound
      * @return random integer from 0 (inclusive) to the set upper bound (exclusive)
      */
     public int getRandom(int hi) {
-        return ThreadLocalRandom.current().nextInt(0, hi);
+        return random.nextInt(hi);
     }
 
     /**
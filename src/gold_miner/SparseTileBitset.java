@@ -0,0 +1,328 @@
+package gold_miner;
+
+import java.util.Arrays;
+
+/**
+ * Class implementing a <b>sparse bitset over the square tiles</b> of a board, which keeps only
+ * the 64-bit words containing a set bit, in a hash table keyed by the index of the word
+ *
+ * <p>This bitset backs the boards kept in a <code>SparseTileStore</code>. Its memory is
+ * proportional to the number of words with a set bit, regardless of the dimension of the board.
+ * In particular, a straight run of the miner along a row of a huge board sets one bit in each of
+ * as many columns, which would touch as many full pages of the transposed (column-major)
+ * <code>PagedTileBitset</code>, but only adds as many words to this bitset.</p>
+ *
+ * <p>The pages (of <code>2^16</code> bits, as in <code>PagedTileBitset</code>) containing a set
+ * bit are also kept, in a second table, so that the search for a set bit along a line skips the
+ * pages without any set bit entirely. Both tables use open addressing with linear probing over
+ * primitive arrays, and are kept at most half full.</p>
+ *
+ * <p>Note that the row and column numbers in this class (as well as in all other classes
+ * responsible for the back-end behavior) are zero-based.</p>
+ */
+public class SparseTileBitset implements TileBitset {
+    /* Indices of the words in the slots of the table of words (FREE if the slot is free) */
+    private long[] wordKeys;
+    /* Bits of the words in the slots of the table of words */
+    private long[] words;
+    /* Number of occupied slots of the table of words */
+    private int numWords;
+
+    /* Indices of the pages in the slots of the table of pages (FREE if the slot is free) */
+    private long[] pageKeys;
+    /* Number of occupied slots of the table of pages */
+    private int numPages;
+
+    /* Dimension of the board (its length is equal to its width) */
+    private final int DIMENSION;
+
+    /* Base-2 logarithm of the number of bits in a page */
+    private static final int PAGE_SHIFT = 16;
+    /* Initial number of slots of each table */
+    private static final int INITIAL_CAPACITY = 16;
+    /* Key of a free slot (no index is negative) */
+    private static final long FREE = -1L;
+    /* Multiplier spreading the keys over the slots (the golden ratio in fixed point) */
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    /**
+     * Creates a sparse bitset over the square tiles of a board in which no bit is set
+     *
+     * @param dimension number of square tiles spanning the length of the board (which
+     *                  is also equal to the number of tiles spanning its width)
+     */
+    public SparseTileBitset(int dimension) {
+        this.DIMENSION = dimension;
+
+        wordKeys = newKeys(INITIAL_CAPACITY);
+        words = new long[INITIAL_CAPACITY];
+        numWords = 0;
+        pageKeys = newKeys(INITIAL_CAPACITY);
+        numPages = 0;
+    }
+
+    /**
+     * Returns <code>true</code> if the bit of the square tile at the given coordinates is set;
+     * <code>false</code>, otherwise
+     *
+     * @param row row-coordinate of the square tile
+     * @param col column-coordinate of the square tile
+     * @return <code>true</code> if the bit of the square tile at the given coordinates is set;
+     * <code>false</code>, otherwise
+     */
+    @Override
+    public boolean get(int row, int col) {
+        long index = (long) row * DIMENSION + col;
+
+        return (getWord(index >>> 6) & (1L << index)) != 0;
+    }
+
+    /**
+     * Sets the bit of the square tile at the given coordinates
+     *
+     * @param row row-coordinate of the square tile
+     * @param col column-coordinate of the square tile
+     */
+    @Override
+    public void set(int row, int col) {
+        long index = (long) row * DIMENSION + col;
+        long word = index >>> 6;
+
+        int slot = find(wordKeys, word);
+        if (wordKeys[slot] == FREE) {
+            wordKeys[slot] = word;
+            numWords++;
+
+            /* A new word may belong to a page without any set bit so far. */
+            int pageSlot = find(pageKeys, index >>> PAGE_SHIFT);
+            if (pageKeys[pageSlot] == FREE) {
+                pageKeys[pageSlot] = index >>> PAGE_SHIFT;
+                numPages++;
+
+                if (numPages * 2 > pageKeys.length) {
+                    pageKeys = rehash(pageKeys, null, pageKeys.length * 2);
+                }
+            }
+        }
+
+        words[slot] |= 1L << index;
+
+        /* Double the number of slots once the table is half full. */
+        if (numWords * 2 > wordKeys.length) {
+            long[] oldKeys = wordKeys;
+            long[] oldWords = words;
+
+            words = new long[oldKeys.length * 2];
+            wordKeys = rehash(oldKeys, oldWords, oldKeys.length * 2);
+        }
+    }
+
+    /**
+     * Returns the position of the first tile in the given line, from the position
+     * <code>from</code> up to the position <code>to</code> (both inclusive), whose bit is equal
+     * to the given value; -1 if there is no such tile
+     *
+     * @param line index of the line (row or column) searched
+     * @param from position in the line at which the search starts
+     * @param to position in the line at which the search ends (not less than <code>from</code>)
+     * @param value <code>true</code> to search for a set bit; <code>false</code> to search for
+     *              a clear bit
+     * @return position of the first tile in the given range whose bit is equal to the given value;
+     * -1 if there is no such tile
+     */
+    @Override
+    public int nextInLine(int line, int from, int to, boolean value) {
+        long base = (long) line * DIMENSION;
+        long index = base + from;
+        long last = base + to;
+
+        while (index <= last) {
+            long pageIndex = index >>> PAGE_SHIFT;
+
+            /* A page without any set bit is skipped entirely by the search for a set bit. */
+            if (value && pageKeys[find(pageKeys, pageIndex)] == FREE) {
+                index = (pageIndex + 1) << PAGE_SHIFT;
+                continue;
+            }
+
+            long word = getWord(index >>> 6);
+            if (!value) {
+                word = ~word;
+            }
+
+            /* Discard the bits before the current index. */
+            word &= -1L << index;
+
+            if (word != 0) {
+                long found = (index & ~63L) + Long.numberOfTrailingZeros(word);
+                return found <= last ? (int) (found - base) : -1;
+            }
+
+            index = (index & ~63L) + 64;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Returns the position of the first tile in the given line, from the position
+     * <code>from</code> down to the position <code>to</code> (both inclusive), whose bit is equal
+     * to the given value; -1 if there is no such tile
+     *
+     * @param line index of the line (row or column) searched
+     * @param from position in the line at which the search starts
+     * @param to position in the line at which the search ends (not greater than <code>from</code>)
+     * @param value <code>true</code> to search for a set bit; <code>false</code> to search for
+     *              a clear bit
+     * @return position of the first tile in the given range whose bit is equal to the given value;
+     * -1 if there is no such tile
+     */
+    @Override
+    public int prevInLine(int line, int from, int to, boolean value) {
+        long base = (long) line * DIMENSION;
+        long index = base + from;
+        long first = base + to;
+
+        while (index >= first) {
+            long pageIndex = index >>> PAGE_SHIFT;
+
+            /* A page without any set bit is skipped entirely by the search for a set bit. */
+            if (value && pageKeys[find(pageKeys, pageIndex)] == FREE) {
+                index = (pageIndex << PAGE_SHIFT) - 1;
+                continue;
+            }
+
+            long word = getWord(index >>> 6);
+            if (!value) {
+                word = ~word;
+            }
+
+            /* Discard the bits after the current index. */
+            word &= -1L >>> (63 - (index & 63));
+
+            if (word != 0) {
+                long found = (index & ~63L) + 63 - Long.numberOfLeadingZeros(word);
+                return found >= first ? (int) (found - base) : -1;
+            }
+
+            index = (index & ~63L) - 1;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Clears all the bits of this bitset
+     *
+     * <p>This takes time proportional to the number of words that had a set bit (and at least
+     * <code>INITIAL_CAPACITY</code>), rather than to the largest number of slots ever allocated:
+     * a table larger than the words cleared from it require is replaced by one of the required
+     * size, so that a bitset reused after a huge board does not keep paying for its tables.</p>
+     */
+    @Override
+    public void clear() {
+        int wordCapacity = capacityFor(numWords);
+        if (wordKeys.length > wordCapacity) {
+            wordKeys = newKeys(wordCapacity);
+            words = new long[wordCapacity];
+        } else {
+            Arrays.fill(wordKeys, FREE);
+            Arrays.fill(words, 0L);
+        }
+        numWords = 0;
+
+        int pageCapacity = capacityFor(numPages);
+        if (pageKeys.length > pageCapacity) {
+            pageKeys = newKeys(pageCapacity);
+        } else {
+            Arrays.fill(pageKeys, FREE);
+        }
+        numPages = 0;
+    }
+
+    /**
+     * Returns the word at the given index; 0 if no bit in it is set
+     *
+     * @param word index of the word
+     * @return word at the given index; 0 if no bit in it is set
+     */
+    private long getWord(long word) {
+        int slot = find(wordKeys, word);
+
+        return wordKeys[slot] == FREE ? 0L : words[slot];
+    }
+
+    /**
+     * Returns the slot of the given table holding the given key, or the free slot at which the
+     * key would be inserted if it is absent
+     *
+     * @param keys keys in the slots of the table (the number of slots is a power of two)
+     * @param key key searched
+     * @return slot holding the given key, or the free slot at which it would be inserted
+     */
+    private static int find(long[] keys, long key) {
+        int mask = keys.length - 1;
+
+        int slot = (int) ((key * HASH_MULTIPLIER) >>> 32) & mask;
+        while (keys[slot] != FREE && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+
+        return slot;
+    }
+
+    /**
+     * Moves every occupied slot of the given table (and the corresponding words, if any) into a
+     * table with the given number of slots
+     *
+     * @param oldKeys keys in the slots of the table
+     * @param oldWords words in the slots of the table (<code>null</code> for the table of pages)
+     * @param capacity number of slots of the new table (a power of two)
+     * @return keys in the slots of the new table
+     */
+    private long[] rehash(long[] oldKeys, long[] oldWords, int capacity) {
+        long[] keys = newKeys(capacity);
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE) {
+                int slot = find(keys, oldKeys[i]);
+                keys[slot] = oldKeys[i];
+
+                if (oldWords != null) {
+                    words[slot] = oldWords[i];
+                }
+            }
+        }
+
+        return keys;
+    }
+
+    /**
+     * Returns the smallest number of slots of a table that holds the given number of keys while
+     * being at most half full (and no less than <code>INITIAL_CAPACITY</code>)
+     *
+     * @param numKeys number of keys held by the table
+     * @return smallest number of slots of a table that holds the given number of keys
+     */
+    private static int capacityFor(int numKeys) {
+        int capacity = INITIAL_CAPACITY;
+        while (numKeys * 2 > capacity) {
+            capacity *= 2;
+        }
+
+        return capacity;
+    }
+
+    /**
+     * Returns the keys of a table with the given number of slots, all of which are free
+     *
+     * @param capacity number of slots of the table
+     * @return keys of a table whose slots are all free
+     */
+    private static long[] newKeys(int capacity) {
+        long[] keys = new long[capacity];
+        Arrays.fill(keys, FREE);
+
+        return keys;
+    }
+}
@@ -0,0 +1,204 @@
+package gold_miner;
+
+import java.util.Arrays;
+
+/**
+ * Class implementing the <b>sparse storage of the designations</b> of the square tiles, which
+ * keeps only the designations other than empty, in a hash table keyed by the packed row- and
+ * column-coordinates of the tiles
+ *
+ * <p>This storage is suitable for huge boards with very few pits and beacons, on which the
+ * other storages would spend almost all of their memory on empty tiles. Its memory is
+ * proportional to the number of tiles that are not empty, regardless of the dimension of the
+ * board, and a designation is looked up in expected constant time.</p>
+ *
+ * <p>On huge boards, the bitsets of the board and of its exploration states are likewise sparse
+ * (see <code>SparseTileBitset</code>).</p>
+ *
+ * <p>The table uses open addressing with linear probing over primitive arrays (so no key or
+ * value is ever boxed), and it is kept at most half full.</p>
+ *
+ * <p>Note that the row and column numbers in this class (as well as in all other classes
+ * responsible for the back-end behavior) are zero-based.</p>
+ */
+public class SparseTileStore implements TileStore {
+    /* Packed coordinates of the tiles in the slots of the table (FREE if the slot is free) */
+    private long[] keys;
+    /* Designations of the tiles in the slots of the table */
+    private byte[] designations;
+    /* Number of occupied slots */
+    private int size;
+    /* Bit mask for the index of a slot (the number of slots is a power of two) */
+    private int mask;
+
+    /* Key of a free slot (no packed coordinates are negative) */
+    private static final long FREE = -1L;
+    /* Multiplier spreading the packed coordinates over the slots (the golden ratio in fixed point) */
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+    /* Maximum number of tiles of a board whose bitsets are paged rather than sparse */
+    private static final long PAGED_BITSET_LIMIT = 1L << 30;
+
+    /**
+     * Creates a sparse storage in which all the square tiles are initially empty, with room for
+     * the given number of tiles that are not empty before the table needs to grow
+     *
+     * @param expectedSize expected number of square tiles that are not empty
+     */
+    public SparseTileStore(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize) * 2 - 1) << 1;
+
+        keys = new long[capacity];
+        Arrays.fill(keys, FREE);
+        designations = new byte[capacity];
+        size = 0;
+        mask = capacity - 1;
+    }
+
+    /**
+     * Returns the designation of the square tile at the given coordinates
+     *
+     * @param row row-coordinate of the square tile
+     * @param col column-coordinate of the square tile
+     * @return designation of the square tile at the given coordinates
+     */
+    @Override
+    public char getDesignation(int row, int col) {
+        long key = pack(row, col);
+
+        for (int slot = getSlot(key); ; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return (char) designations[slot];
+            }
+
+            /* A tile that is absent from the table is empty. */
+            if (keys[slot] == FREE) {
+                return Board.EMPTY;
+            }
+        }
+    }
+
+    /**
+     * Sets the designation of the square tile at the given coordinates
+     *
+     * @param row row-coordinate of the square tile
+     * @param col column-coordinate of the square tile
+     * @param designation designation of the square tile
+     */
+    @Override
+    public void setDesignation(int row, int col, char designation) {
+        long key = pack(row, col);
+
+        int slot = getSlot(key);
+        while (keys[slot] != FREE && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+
+        if (keys[slot] == FREE) {
+            /* An empty tile that is absent from the table is already empty. */
+            if (designation == Board.EMPTY) {
+                return;
+            }
+
+            keys[slot] = key;
+            size++;
+        }
+
+        designations[slot] = (byte) designation;
+
+        /* Double the number of slots once the table is half full. */
+        if (size * 2 > keys.length) {
+            grow();
+        }
+    }
+
+    /**
+     * Sets the designation of all the square tiles at the given coordinates
+     *
+     * @param rows row-coordinates of the square tiles
+     * @param cols column-coordinates of the square tiles
+     * @param designation designation of the square tiles
+     */
+    @Override
+    public void setDesignations(int[] rows, int[] cols, char designation) {
+        for (int i = 0; i < rows.length; i++) {
+            setDesignation(rows[i], cols[i], designation);
+        }
+    }
+
+    /**
+     * Returns a new bitset over the square tiles of the board, which is sparse for boards with
+     * more than <code>PAGED_BITSET_LIMIT</code> tiles
+     *
+     * <p>The memory of a sparse bitset is proportional to the number of its set bits rather than
+     * to the number of tiles, but looking up a word costs a probe of its hash table, which makes
+     * the exploration about twice as slow. Up to the limit, a paged bitset takes at most
+     * 128 MiB even if every page is touched, so it is kept.</p>
+     *
+     * @param dimension number of square tiles spanning the length of the board
+     * @return new bitset over the square tiles of the board, in which no bit is set
+     */
+    @Override
+    public TileBitset newBitset(int dimension) {
+        if ((long) dimension * dimension <= PAGED_BITSET_LIMIT) {
+            return new PagedTileBitset(dimension);
+        }
+
+        return new SparseTileBitset(dimension);
+    }
+
+    /**
+     * Returns the number of square tiles whose designations are kept (that is, the tiles
+     * that are not empty)
+     *
+     * @return number of square tiles whose designations are kept
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Moves every occupied slot into a table with twice as many slots
+     */
+    private void grow() {
+        long[] oldKeys = keys;
+        byte[] oldDesignations = designations;
+
+        keys = new long[oldKeys.length * 2];
+        Arrays.fill(keys, FREE);
+        designations = new byte[keys.length];
+        mask = keys.length - 1;
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE) {
+                int slot = getSlot(oldKeys[i]);
+                while (keys[slot] != FREE) {
+                    slot = (slot + 1) & mask;
+                }
+
+                keys[slot] = oldKeys[i];
+                designations[slot] = oldDesignations[i];
+            }
+        }
+    }
+
+    /**
+     * Returns the slot at which the search for the given key starts
+     *
+     * @param key packed coordinates of a square tile
+     * @return slot at which the search for the given key starts
+     */
+    private int getSlot(long key) {
+        return (int) ((key * HASH_MULTIPLIER) >>> 32) & mask;
+    }
+
+    /**
+     * Returns the packed coordinates of the square tile at the given coordinates
+     *
+     * @param row row-coordinate of the square tile
+     * @param col column-coordinate of the square tile
+     * @return packed coordinates of the square tile (row in the upper half, column in the lower half)
+     */
+    private static long pack(int row, int col) {
+        return ((long) row << 32) | col;
+    }
+}
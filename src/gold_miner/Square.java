@@ -3,6 +3,11 @@ package gold_miner;
 /**
  * Class implementing the <b>square tile</b> comprising the board
  *
+ * <p>A square tile obtained from the exploration state of a run is a lightweight view of it:
+ * whether it has been visited is read from and written to the exploration state itself.
+ * A square tile created via the public constructor (for instance, an out-of-bounds tile)
+ * stands alone.</p>
+ *
  * <p>Note that the row and column numbers in this class (as well as in all other classes
  * responsible for the back-end behavior) are zero-based.</p>
  */
@@ -14,9 +19,13 @@ public class Square {
 
     /* Designation of the square tile (empty, beacon, pit, or gold) */
     private char designation;
-    /* true if the square tile has already been visited by the miner; false, otherwise */
+    /* true if the square tile has already been visited by the miner; false, otherwise
+    (only used if this square tile is not a view of an exploration state) */
     private boolean isVisited;
 
+    /* Exploration state of which this square tile is a view (null if this square tile stands alone) */
+    private Exploration e;
+
     /**
      * Creates a square tile object given the row number, column number, and designation
      * of the tile
@@ -32,6 +41,22 @@ public class Square {
 
         /* A tile is initially unvisited. */
         this.isVisited = false;
+        this.e = null;
+    }
+
+    /**
+     * Creates a square tile object that is a view of the tile at the specified row and column
+     * numbers, as explored in the given exploration state
+     *
+     * @param e exploration state of which this square tile is a view
+     * @param row row number of this square tile
+     * @param col column number of this square tile
+     */
+    Square(Exploration e, int row, int col) {
+        this.row = row;
+        this.col = col;
+        this.designation = e.getBoard().getDesignation(row, col);
+        this.e = e;
     }
 
     /**
@@ -79,14 +104,18 @@ public class Square {
      * <code>false</code>, otherwise
      */
     public boolean getIsVisited() {
+        if (e != null) {
+            return e.isVisited(row, col);
+        }
+
         return isVisited;
     }
 
     /**
      * Sets the designation of this square tile to the specified designation
      *
-     * <p>This method should only be invoked once, that is, during the creation of the <code>Board</code>
-     * object. Once the designation has been set, then it is already immutable.</p>
+     * <p>This method should only be invoked once, that is, right after the creation of a standalone
+     * square tile. Once the designation has been set, then it is already immutable.</p>
      *
      * <p>The following are the possible designations of this square tile:</p>
      * <ul>
@@ -111,7 +140,11 @@ public class Square {
      * as visited, then it cannot be "unvisited."</p>
      */
     public void visit() {
-        isVisited = true;
+        if (e != null) {
+            e.visit(row, col);
+        } else {
+            isVisited = true;
+        }
     }
 
     /**
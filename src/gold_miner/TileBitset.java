@@ -0,0 +1,78 @@
+package gold_miner;
+
+/**
+ * Interface for a <b>bitset over the square tiles</b> of a board, indexed in row-major order
+ * (for instance, to keep track of the tiles visited by the miner)
+ *
+ * <p>A bitset whose coordinates are passed in swapped order (column first) is the transposed,
+ * column-major counterpart, which allows columns to be searched the same way as rows.</p>
+ *
+ * <p>Bitsets are obtained from the storage of the board (see <code>TileStore.newBitset</code>),
+ * which keeps them on the heap (<code>PagedTileBitset</code>), in a table of the words with a
+ * set bit (<code>SparseTileBitset</code>), or in a memory-mapped file
+ * (<code>MappedTileBitset</code>).</p>
+ *
+ * <p>Note that the row and column numbers in this interface (as well as in all other classes
+ * responsible for the back-end behavior) are zero-based.</p>
+ */
+public interface TileBitset {
+    /**
+     * Returns <code>true</code> if the bit of the square tile at the given coordinates is set;
+     * <code>false</code>, otherwise
+     *
+     * @param row row-coordinate of the square tile
+     * @param col column-coordinate of the square tile
+     * @return <code>true</code> if the bit of the square tile at the given coordinates is set;
+     * <code>false</code>, otherwise
+     */
+    boolean get(int row, int col);
+
+    /**
+     * Sets the bit of the square tile at the given coordinates
+     *
+     * @param row row-coordinate of the square tile
+     * @param col column-coordinate of the square tile
+     */
+    void set(int row, int col);
+
+    /**
+     * Returns the position of the first tile in the given line, from the position
+     * <code>from</code> up to the position <code>to</code> (both inclusive), whose bit is equal
+     * to the given value; -1 if there is no such tile
+     *
+     * <p>A line is a row if the coordinates of this bitset are in row-major order, and a column
+     * if they are in column-major order.</p>
+     *
+     * @param line index of the line (row or column) searched
+     * @param from position in the line at which the search starts
+     * @param to position in the line at which the search ends (not less than <code>from</code>)
+     * @param value <code>true</code> to search for a set bit; <code>false</code> to search for
+     *              a clear bit
+     * @return position of the first tile in the given range whose bit is equal to the given value;
+     * -1 if there is no such tile
+     */
+    int nextInLine(int line, int from, int to, boolean value);
+
+    /**
+     * Returns the position of the first tile in the given line, from the position
+     * <code>from</code> down to the position <code>to</code> (both inclusive), whose bit is equal
+     * to the given value; -1 if there is no such tile
+     *
+     * <p>A line is a row if the coordinates of this bitset are in row-major order, and a column
+     * if they are in column-major order.</p>
+     *
+     * @param line index of the line (row or column) searched
+     * @param from position in the line at which the search starts
+     * @param to position in the line at which the search ends (not greater than <code>from</code>)
+     * @param value <code>true</code> to search for a set bit; <code>false</code> to search for
+     *              a clear bit
+     * @return position of the first tile in the given range whose bit is equal to the given value;
+     * -1 if there is no such tile
+     */
+    int prevInLine(int line, int from, int to, boolean value);
+
+    /**
+     * Clears all the bits of this bitset
+     */
+    void clear();
+}
@@ -0,0 +1,56 @@
+package gold_miner;
+
+/**
+ * Interface for the <b>storage of the designations</b> of the square tiles comprising a board
+ *
+ * <p>The designations are set only while the board is being created. Once the board has been
+ * created, the storage is only read.</p>
+ *
+ * <p>Note that the row and column numbers in this interface (as well as in all other classes
+ * responsible for the back-end behavior) are zero-based.</p>
+ */
+public interface TileStore {
+    /**
+     * Returns the designation of the square tile at the given coordinates
+     *
+     * @param row row-coordinate of the square tile
+     * @param col column-coordinate of the square tile
+     * @return designation of the square tile at the given coordinates
+     */
+    char getDesignation(int row, int col);
+
+    /**
+     * Sets the designation of the square tile at the given coordinates
+     *
+     * @param row row-coordinate of the square tile
+     * @param col column-coordinate of the square tile
+     * @param designation designation of the square tile
+     */
+    void setDesignation(int row, int col, char designation);
+
+    /**
+     * Sets the designation of all the square tiles at the given coordinates
+     *
+     * <p>Implementations may set the designations in parallel for large inputs.</p>
+     *
+     * @param rows row-coordinates of the square tiles
+     * @param cols column-coordinates of the square tiles
+     * @param designation designation of the square tiles
+     */
+    void setDesignations(int[] rows, int[] cols, char designation);
+
+    /**
+     * Returns a new bitset over the square tiles of the board, in which no bit is set
+     *
+     * <p>The bitsets of the board (pits and beacons) and of its exploration states (visited tiles)
+     * are obtained from its storage, so that a storage kept outside the heap can keep its bitsets
+     * outside the heap as well. By default, the bitset is kept on the heap.</p>
+     *
+     * @param dimension number of square tiles spanning the length of the board (which
+     *                  is also equal to the number of tiles spanning its width)
+     * @return new bitset over the square tiles of the board, in which no bit is set
+     */
+    default TileBitset newBitset(int dimension) {
+        return new PagedTileBitset(dimension);
+    }
+}
@@ -1,5 +1,7 @@
 package gui;
 
+import gold_miner.ActionLog;
+import gold_miner.ActionReplay;
 import gold_miner.Board;
 import gold_miner.GameMaster;
 import gold_miner.RandomMiner;
@@ -11,7 +13,6 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.WindowListener;
 import java.util.ArrayList;
-import java.util.LinkedList;
 import javax.swing.Timer;
 
 /**
@@ -365,9 +366,9 @@ public class MainScreen extends JFrame {
     /**
      * Updates the display depending on the action executed by the rational agent
      *
-     * @param preLoadedPath pre-loaded sequence of actions executed by the rational agent
+     * @param preLoadedPath replay of the pre-loaded sequence of actions executed by the rational agent
      */
-    public void beginRationalMovement(LinkedList<String> preLoadedPath) {
+    public void beginRationalMovement(ActionReplay preLoadedPath) {
 
         /* As the fast view runs automatically, the user does not need to press the PROCEED button */
         setBtnEnabled(false);
@@ -376,54 +377,26 @@ public class MainScreen extends JFrame {
         ActionListener a = new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
-                /* Once an action event is fired, the succeeding action on the pre-loaded path is
-                retrieved and parsed
+                /* Once an action event is fired, the replay advances to the succeeding action
+                on the pre-loaded path
                 */
-                String details = preLoadedPath.poll();
-                String[] tokDetails = details.split("\t");
+                preLoadedPath.advance();
 
-                /* The segment of the pre-loaded path node storing the action command is further
-                parsed
+                /* If the "move" or "rotate" action code is retrieved, the miner sprite on the board
+                is moved or rotated accordingly
                 */
-                String currAction = tokDetails[0];
-                String[] tokCurrAction = currAction.split(" ");
+                if (preLoadedPath.getAction() == ActionLog.MOVE) {
+                    moveMiner(preLoadedPath.getRow(), preLoadedPath.getCol(), preLoadedPath.getFront());
 
-                /* For each of the possible action sequence codes, updateAll() is called to update
+                } else if (preLoadedPath.getAction() == ActionLog.ROTATE) {
+                    rotateMiner(preLoadedPath.getRow(), preLoadedPath.getCol(), preLoadedPath.getFront());
+                }
+
+                /* For each of the possible action codes, updateAll() is called to update
                 the miner details on the right panel of the window
                 */
-                if (tokCurrAction[0].equals("Scan")) {
-                    updateAll(tokDetails[1], tokDetails[2], tokDetails[3], tokDetails[4]);
-
-                } else if (tokCurrAction[0].equals("Move")) {
-                    /* If the "move" sequence code is retrieved, the miner sprite on the board is
-                    moved accordingly
-                    */
-                    moveMiner(Integer.parseInt(tokCurrAction[3]),
-                            Integer.parseInt(tokCurrAction[4]), tokCurrAction[5].charAt(0));
-
-                    updateAll(tokDetails[1], tokDetails[2], tokDetails[3], tokDetails[4]);
-
-                }  else if (tokCurrAction[0].equals("Rotate")) {
-                    /* If the "rotate" sequence code is retrieved, the miner sprite on the board is
-                    rotated accordingly
-                    */
-                    rotateMiner(Integer.parseInt(tokCurrAction[3]),
-                            Integer.parseInt(tokCurrAction[4]), tokCurrAction[5].charAt(0));
-
-                    updateAll(tokDetails[1], tokDetails[2], tokDetails[3], tokDetails[4]);
-
-                } else if (tokCurrAction[0].equals("Backtrack")) {
-                    updateAll(tokDetails[1], tokDetails[2], tokDetails[3], tokDetails[4]);
-
-                } else if (tokCurrAction[0].equals("Invalid")) {
-                    updateAll(tokDetails[1], tokDetails[2], tokDetails[3], tokDetails[4]);
-
-                } else if (tokCurrAction[0].equals("Possible")) {
-                    updateAll(tokDetails[1], tokDetails[2], tokDetails[3], tokDetails[4]);
-
-                } else if (tokCurrAction[0].equals("No")) {
-                    updateAll(tokDetails[1], tokDetails[2], tokDetails[3], tokDetails[4]);
-                }
+                updateAll(preLoadedPath.getNumActions(), preLoadedPath.getMoveSequence(),
+                        preLoadedPath.getPathStack(), preLoadedPath.getOutOfBoundsTiles());
 
                 /* Once the pre-loaded path is empty, the timer stops firing action events */
                 if (preLoadedPath.isEmpty()) {
@@ -496,7 +469,7 @@ public class MainScreen extends JFrame {
                 further actions are ceased and the string "The miner was successful!" is appended to the
                 action sequence text field
                 */
-                if (game.getBoard().getSquares()[game.getRandomRow()][game.getRandomCol()].getDesignation()
+                if (game.getBoard().getDesignation(game.getRandomRow(), game.getRandomCol())
                         == Board.GOLD) {
                     results = RandomMiner.SUCCESS;
                     timer.stop();
@@ -507,7 +480,7 @@ public class MainScreen extends JFrame {
                 further actions are ceased and the string "The miner failed." is appended to the
                 action sequence text field
                 */
-                } else if (game.getBoard().getSquares()[game.getRandomRow()][game.getRandomCol()].getDesignation()
+                } else if (game.getBoard().getDesignation(game.getRandomRow(), game.getRandomCol())
                         == Board.PIT) {
                     results = RandomMiner.FAIL;
                     timer.stop();
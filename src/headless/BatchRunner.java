@@ -0,0 +1,316 @@
+package headless;
+
+import gold_miner.Board;
+import gold_miner.BoardDefinition;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+/**
+ * Class implementing the <b>batch runner</b> that runs the rational agent (and, optionally,
+ * the nonrational agent) on every board of a corpus in parallel
+ *
+ * <p>The boards are read lazily, in chunks, and each chunk is run on an
+ * <code>ExplorationPool</code>. A chunk is split recursively down to single boards, so that idle
+ * workers can steal the remaining boards of a chunk with larger boards. Only a bounded number
+ * of chunks is pending at any time; hence, corpora of any size can be processed without
+ * loading them all into memory.</p>
+ *
+ * <p>Each worker thread of the pool owns an exploration state, which is reset for every board
+ * it runs on instead of being allocated anew. The metrics of each run are written to the
+ * output stream as soon as the run is finished; therefore, the order of the results does not
+ * follow the order of the boards. Boards without a name are named after their file and their
+ * one-based position in the file.</p>
+ *
+ * <p>The run of the nonrational agent on each board draws its decisions from its own stream,
+ * split from the source of this runner as the boards are read. The stream of a board thus
+ * depends only on the seed and on the position of the board in the batch, so a seeded batch
+ * yields the same counters regardless of the number of worker threads.</p>
+ */
+public class BatchRunner {
+    /* Solver that runs the agents */
+    private final Solver solver;
+    /* Number of worker threads */
+    private final int parallelism;
+    /* true if the nonrational agent is also run on every board; false, otherwise */
+    private final boolean isRandomIncluded;
+    /* Maximum number of actions of each run of the nonrational agent */
+    private final int maxActions;
+    /* Output format (either json or csv) */
+    private final String format;
+    /* Source from which the stream of each run of the nonrational agent is split */
+    private SplittableRandom random;
+
+    /* Stream to which the metrics of the current batch are written */
+    private PrintStream out;
+    /* Pool running the chunks of the current batch */
+    private ExplorationPool pool;
+    /* Permits for the pending chunks of the current batch */
+    private Semaphore pending;
+    /* First failure of a run in the current batch (if any) */
+    private AtomicReference<Throwable> failure;
+    /* Number of boards submitted in the current batch */
+    private long numBoards;
+
+    /* Number of boards in each chunk submitted to the pool */
+    private static final int CHUNK_SIZE = 64;
+    /* Number of pending chunks per worker thread */
+    private static final int CHUNKS_PER_WORKER = 4;
+
+    /**
+     * Creates a batch runner with the specified solver, number of worker threads, agents,
+     * and output format
+     *
+     * @param solver solver that runs the agents
+     * @param parallelism number of worker threads
+     * @param isRandomIncluded <code>true</code> if the nonrational agent is also run on every
+     *                         board; <code>false</code>, otherwise
+     * @param maxActions maximum number of actions of each run of the nonrational agent
+     * @param format output format (either <code>json</code> or <code>csv</code>)
+     */
+    public BatchRunner(Solver solver, int parallelism, boolean isRandomIncluded, int maxActions,
+                       String format) {
+        this.solver = solver;
+        this.parallelism = parallelism;
+        this.isRandomIncluded = isRandomIncluded;
+        this.maxActions = maxActions;
+        this.format = format;
+
+        /* Unless a seed is set, the runs of the nonrational agent are not reproducible. */
+        random = new SplittableRandom();
+    }
+
+    /**
+     * Sets the seed of the source from which the stream of each run of the nonrational agent
+     * is split
+     *
+     * @param seed seed of the source of the random decisions of the nonrational agent
+     */
+    public void setSeed(long seed) {
+        random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Returns the files of boards at the given path, that is, the path itself if it is a file, or
+     * the regular files directly inside it (sorted by name) if it is a directory
+     *
+     * @param path path to a file of boards or to a directory of files of boards
+     * @return files of boards at the given path
+     * @throws IOException if the directory cannot be read
+     */
+    public static List<Path> listFiles(Path path) throws IOException {
+        List<Path> files = new ArrayList<Path>();
+
+        if (Files.isDirectory(path)) {
+            try (Stream<Path> entries = Files.list(path)) {
+                entries.filter(Files::isRegularFile).forEach(files::add);
+            }
+            Collections.sort(files);
+        } else {
+            files.add(path);
+        }
+
+        return files;
+    }
+
+    /**
+     * Runs the agents on every board in the given files in parallel, writing the metrics of each
+     * run to the given stream as soon as the run is finished
+     *
+     * <p>Each file may be either in the text format or in the binary format of the boards.</p>
+     *
+     * @param files files of boards
+     * @param out stream to which the metrics are written
+     * @return number of boards run
+     * @throws IOException if a file cannot be read or a board is malformed
+     * @throws IllegalStateException if a run failed (with the first failure as its cause)
+     * @throws InterruptedException if the current thread is interrupted while waiting for the runs
+     */
+    public long run(List<Path> files, PrintStream out) throws IOException, InterruptedException {
+        start(out);
+
+        try {
+            for (Path file : files) {
+                /* Once a run has failed, the remaining files are not opened. */
+                if (failure.get() != null) {
+                    break;
+                }
+
+                try (FileChannel in = FileChannel.open(file)) {
+                    submitAll(BinaryBoardReader.open(file, in), file.getFileName().toString());
+                }
+            }
+        } finally {
+            finish();
+        }
+
+        return numBoards;
+    }
+
+    /**
+     * Starts a batch, writing the metrics of its runs to the given stream
+     *
+     * <p>The boards of the batch are then submitted via <code>submitAll</code>, and the batch
+     * is ended via <code>finish</code>.</p>
+     *
+     * @param out stream to which the metrics are written
+     */
+    public void start(PrintStream out) {
+        this.out = out;
+        if (format.equals("csv")) {
+            out.println(SolverResult.CSV_HEADER);
+        }
+
+        pool = new ExplorationPool(parallelism);
+        pending = new Semaphore(parallelism * CHUNKS_PER_WORKER);
+        failure = new AtomicReference<Throwable>();
+        numBoards = 0;
+    }
+
+    /**
+     * Submits every board of the given source to the current batch, waiting whenever too many
+     * chunks are pending
+     *
+     * <p>Once a run of the batch has failed, no more boards are read or submitted, since
+     * <code>finish</code> reports the failure regardless.</p>
+     *
+     * @param boards source of the boards
+     * @param source name of the source of the boards (used to name the unnamed boards)
+     * @throws IOException if the boards cannot be read or a board is malformed
+     * @throws InterruptedException if the current thread is interrupted while waiting
+     */
+    public void submitAll(BoardSource boards, String source) throws IOException, InterruptedException {
+        BoardDefinition[] chunk = new BoardDefinition[CHUNK_SIZE];
+        SplittableRandom[] streams = new SplittableRandom[CHUNK_SIZE];
+        int chunkSize = 0;
+        int index = 0;
+
+        BoardDefinition definition;
+        while (failure.get() == null && (definition = boards.next()) != null) {
+            index++;
+
+            /* Unnamed boards are named after their position so that their results can be told apart. */
+            if (definition.getName().isEmpty()) {
+                definition = new BoardDefinition(source + "#" + index, definition.getDimension(),
+                        definition.getRGold(), definition.getCGold(), definition.getRBeacon(),
+                        definition.getCBeacon(), definition.getRPit(), definition.getCPit());
+            }
+
+            /* The streams are split in the order of the boards, which does not depend on the scheduling. */
+            if (isRandomIncluded) {
+                streams[chunkSize] = random.split();
+            }
+
+            chunk[chunkSize++] = definition;
+            if (chunkSize == CHUNK_SIZE) {
+                if (!submit(chunk, streams, chunkSize)) {
+                    return;
+                }
+
+                chunk = new BoardDefinition[CHUNK_SIZE];
+                streams = new SplittableRandom[CHUNK_SIZE];
+                chunkSize = 0;
+            }
+        }
+
+        if (chunkSize > 0) {
+            submit(chunk, streams, chunkSize);
+        }
+    }
+
+    /**
+     * Waits until all the runs of the current batch are finished, and ends the batch
+     *
+     * @return number of boards run in the batch
+     * @throws IllegalStateException if a run of the batch failed (with the first failure as its cause)
+     * @throws InterruptedException if the current thread is interrupted while waiting for the runs
+     */
+    public long finish() throws InterruptedException {
+        try {
+            /* All the chunks are finished once all the permits are available again. */
+            pending.acquire(parallelism * CHUNKS_PER_WORKER);
+        } finally {
+            pool.shutdown();
+        }
+
+        out.flush();
+
+        if (failure.get() != null) {
+            throw new IllegalStateException("A run failed", failure.get());
+        }
+
+        return numBoards;
+    }
+
+    /**
+     * Submits a chunk of boards to the pool, waiting first if too many chunks are pending
+     *
+     * <p>The chunk is not submitted if a run of the batch has already failed.</p>
+     *
+     * @param chunk boards in the chunk
+     * @param streams streams of the runs of the nonrational agent on the boards in the chunk
+     * @param chunkSize number of boards in the chunk
+     * @return <code>true</code> if the chunk was submitted; <code>false</code> if a run of the batch
+     * has already failed
+     * @throws InterruptedException if the current thread is interrupted while waiting
+     */
+    private boolean submit(BoardDefinition[] chunk, SplittableRandom[] streams, int chunkSize)
+            throws InterruptedException {
+        pending.acquire();
+
+        /* A run may have failed while this thread was waiting for a permit. */
+        if (failure.get() != null) {
+            pending.release();
+            return false;
+        }
+
+        numBoards += chunkSize;
+
+        pool.execute(0, chunkSize, index -> runBoard(chunk[index], streams[index]),
+                t -> failure.compareAndSet(null, t), pending::release);
+
+        return true;
+    }
+
+    /**
+     * Runs the agents on a single board using the exploration state of the current worker,
+     * and writes the metrics of the runs
+     *
+     * @param definition definition of the board
+     * @param stream stream of the run of the nonrational agent on the board
+     */
+    private void runBoard(BoardDefinition definition, SplittableRandom stream) {
+        Board b;
+        b = definition.createBoard();
+
+        write(solver.solve(definition.getName(), ExplorationPool.getExploration(b)));
+
+        if (isRandomIncluded) {
+            write(solver.solveRandom(definition.getName(), b, maxActions, stream));
+        }
+    }
+
+    /**
+     * Writes the metrics of a run to the given stream
+     *
+     * @param result metrics of the run
+     */
+    private void write(SolverResult result) {
+        String line;
+        line = format.equals("csv") ? result.toCsv() : result.toJson();
+
+        synchronized (out) {
+            out.println(line);
+        }
+    }
+}
@@ -0,0 +1,401 @@
+package headless;
+
+import gold_miner.BoardDefinition;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+
+/**
+ * Class implementing the <b>reader of a binary file of boards</b>, which returns the boards one at
+ * a time straight from a channel, without parsing any text
+ *
+ * <p>A binary file of boards starts with a header (the magic number <code>GMBD</code> and the
+ * version of the format), followed by one record per board. Each record consists of the length of
+ * its body, the body, and the CRC-32 checksum of the body. The body consists of:</p>
+ * <ul>
+ *     <li>the length of the name of the board (two bytes), followed by the name in UTF-8</li>
+ *     <li>the dimension of the board and the row- and column-coordinates of the gold square tile
+ *     (four bytes each)</li>
+ *     <li>the beacon layer and the pit layer, each consisting of its encoding (one byte), the
+ *     number of tiles set in it (four bytes), the length of its data (four bytes), and its data</li>
+ * </ul>
+ *
+ * <p>A layer has one bit per square tile, in row-major order. In the bit-packed encoding, bit
+ * <code>i</code> of the <code>w</code>-th eight-byte word is the tile with index
+ * <code>64w + i</code>. In the run-length encoding, the data is a sequence of lengths of runs
+ * alternating between clear and set bits (starting with clear bits), each written seven bits per
+ * byte. All the other integers are big-endian.</p>
+ *
+ * <p>Unlike the text format described in <code>BoardReader</code>, the coordinates in this format
+ * are zero-based, since it is not meant to be written by hand.</p>
+ */
+public class BinaryBoardReader implements BoardSource {
+    /* Source of the bytes of the file */
+    private final ReadableByteChannel in;
+    /* Bytes read from the channel but not yet decoded */
+    private ByteBuffer buffer;
+    /* Checksum of the body of the record being read */
+    private final CRC32 checksum;
+    /* true once the end of the channel has been reached; false, otherwise */
+    private boolean isEndOfChannel;
+    /* true once the header of the file has been read; false, otherwise */
+    private boolean isHeaderRead;
+    /* Number of boards read so far */
+    private long index;
+
+    /**
+     * Magic number at the start of a binary file of boards (<code>GMBD</code> in ASCII)
+     */
+    public static final int MAGIC = 0x474D4244;
+    /**
+     * Version of the binary format of the boards
+     */
+    public static final short VERSION = 1;
+    /**
+     * Code of the bit-packed encoding of a layer
+     */
+    public static final byte BIT_PACKED = 0;
+    /**
+     * Code of the run-length encoding of a layer
+     */
+    public static final byte RUN_LENGTH = 1;
+
+    /* Initial capacity of the buffer, in bytes */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Creates a reader of the boards in the given channel
+     *
+     * @param in source of the bytes of the file of boards
+     */
+    public BinaryBoardReader(ReadableByteChannel in) {
+        this.in = in;
+        buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        buffer.flip();
+        checksum = new CRC32();
+        isEndOfChannel = false;
+        isHeaderRead = false;
+        index = 0;
+    }
+
+    /**
+     * Returns a source of the boards in the given file, which may be either a binary file of boards
+     * or a file in the text format described in <code>BoardReader</code>
+     *
+     * <p>The caller keeps ownership of the channel and closes it once the boards have been read.</p>
+     *
+     * @param file path to a file of boards, in either format
+     * @param channel channel opened on the given file
+     * @return source of the boards in the given file
+     * @throws IOException if the file cannot be read
+     */
+    public static BoardSource open(Path file, FileChannel channel) throws IOException {
+        if (isBinary(file)) {
+            return new BinaryBoardReader(channel);
+        }
+
+        return new BoardReader(Channels.newReader(channel, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns a source of the boards in the given stream (for instance, the standard input), which
+     * may be either in the binary format or in the text format described in <code>BoardReader</code>
+     *
+     * <p>Since a stream cannot be reopened, its first four bytes are peeked through a buffer and
+     * compared with the magic number, and the chosen reader then reads the stream from its
+     * start.</p>
+     *
+     * @param in stream of the file of boards, in either format
+     * @return source of the boards in the given stream
+     * @throws IOException if the stream cannot be read
+     */
+    public static BoardSource open(InputStream in) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(in);
+
+        buffered.mark(4);
+        byte[] magic = buffered.readNBytes(4);
+        buffered.reset();
+
+        if (magic.length == 4 && ByteBuffer.wrap(magic).getInt() == MAGIC) {
+            return new BinaryBoardReader(Channels.newChannel(buffered));
+        }
+
+        return new BoardReader(new InputStreamReader(buffered, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns <code>true</code> if the given file starts with the magic number of a binary file
+     * of boards; <code>false</code>, otherwise
+     *
+     * @param file path to the file
+     * @return <code>true</code> if the given file is a binary file of boards; <code>false</code>,
+     * otherwise
+     * @throws IOException if the file cannot be read
+     */
+    public static boolean isBinary(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file)) {
+            ByteBuffer magic = ByteBuffer.allocate(4);
+            while (magic.hasRemaining() && channel.read(magic) != -1) {
+                /* Keep reading until the magic number is complete or the file ends. */
+            }
+
+            return !magic.hasRemaining() && magic.getInt(0) == MAGIC;
+        }
+    }
+
+    /**
+     * Returns the next board in the file; <code>null</code> if there are no more boards
+     *
+     * @return next board in the file; <code>null</code> if there are no more boards
+     * @throws IOException if the file cannot be read, its checksum does not match, or the record of
+     * the board is malformed
+     */
+    @Override
+    public BoardDefinition next() throws IOException {
+        if (!isHeaderRead) {
+            if (!fill(6) || buffer.getInt() != MAGIC) {
+                throw new IOException("Not a binary file of boards");
+            }
+
+            short version = buffer.getShort();
+            if (version != VERSION) {
+                throw new IOException("Unsupported version of the binary format: " + version);
+            }
+
+            isHeaderRead = true;
+        }
+
+        /* The file may only end between records. */
+        if (!fill(1)) {
+            return null;
+        }
+
+        index++;
+        if (!fill(4)) {
+            throw error("Truncated record");
+        }
+
+        /* The length is not covered by the checksum, so it is bounded before the record is buffered. */
+        int length = buffer.getInt();
+        if (length < 0 || length > Integer.MAX_VALUE - 16 || length + 4L > getRemainingBytes()
+                || !fill(length + 4)) {
+            throw error("Truncated record");
+        }
+
+        /* Verify the checksum before decoding anything. */
+        checksum.reset();
+        checksum.update(buffer.array(), buffer.arrayOffset() + buffer.position(), length);
+        if ((int) checksum.getValue() != buffer.getInt(buffer.position() + length)) {
+            throw error("Checksum mismatch");
+        }
+
+        int end = buffer.position() + length;
+        try {
+            byte[] name = new byte[buffer.getShort() & 0xFFFF];
+            buffer.get(name);
+
+            int dimension = buffer.getInt();
+            int rGold = buffer.getInt();
+            int cGold = buffer.getInt();
+            if (dimension < 1 || rGold < 0 || rGold >= dimension || cGold < 0 || cGold >= dimension) {
+                throw error("Invalid dimension or coordinates of the gold square tile");
+            }
+
+            int[][] beacons = getLayer(dimension, end, "beacon");
+            int[][] pits = getLayer(dimension, end, "pit");
+            if (buffer.position() != end) {
+                throw error("Unexpected data at the end of the record");
+            }
+
+            /* Skip the checksum, which was already verified. */
+            buffer.position(end + 4);
+
+            return new BoardDefinition(new String(name, StandardCharsets.UTF_8), dimension, rGold, cGold,
+                    beacons[0], beacons[1], pits[0], pits[1]);
+        } catch (BufferUnderflowException e) {
+            throw error("Truncated record");
+        }
+    }
+
+    /**
+     * Decodes the next layer of the record, returning the row- and column-coordinates of its
+     * tiles (in row-major order)
+     *
+     * @param dimension dimension of the board
+     * @param recordEnd position of the buffer at the end of the body of the record
+     * @param designation designation of the tiles in the layer (for the error message)
+     * @return row-coordinates (first element) and column-coordinates (second element) of the tiles
+     * in the layer
+     * @throws IOException if the layer is malformed
+     */
+    private int[][] getLayer(int dimension, int recordEnd, String designation) throws IOException {
+        byte encoding = buffer.get();
+        int numSet = buffer.getInt();
+        int length = buffer.getInt();
+
+        long numTiles = (long) dimension * dimension;
+        if (numSet < 0 || numSet > numTiles || length < 0 || length > recordEnd - buffer.position()) {
+            throw error("Malformed " + designation + " layer");
+        }
+
+        int[] rows = new int[numSet];
+        int[] cols = new int[numSet];
+        int count = 0;
+        int end = buffer.position() + length;
+
+        if (encoding == BIT_PACKED) {
+            if (length != ((numTiles + 63) >>> 6) * 8) {
+                throw error("Malformed " + designation + " layer");
+            }
+
+            for (long word = 0; buffer.position() < end; word++) {
+                long bits = buffer.getLong();
+
+                /* Visit only the set bits of the word. */
+                while (bits != 0) {
+                    long tile = (word << 6) + Long.numberOfTrailingZeros(bits);
+                    if (tile >= numTiles || count == numSet) {
+                        throw error("Malformed " + designation + " layer");
+                    }
+
+                    rows[count] = (int) (tile / dimension);
+                    cols[count] = (int) (tile % dimension);
+                    count++;
+                    bits &= bits - 1;
+                }
+            }
+        } else if (encoding == RUN_LENGTH) {
+            long position = 0;
+            boolean isSet = false;
+
+            while (buffer.position() < end) {
+                long run = getVarLong(end);
+                if (run > numTiles - position || (isSet && run > numSet - count)) {
+                    throw error("Malformed " + designation + " layer");
+                }
+
+                if (isSet) {
+                    for (long tile = position; tile < position + run; tile++) {
+                        rows[count] = (int) (tile / dimension);
+                        cols[count] = (int) (tile % dimension);
+                        count++;
+                    }
+                }
+
+                position += run;
+                isSet = !isSet;
+            }
+
+            if (position != numTiles) {
+                throw error("Malformed " + designation + " layer");
+            }
+        } else {
+            throw error("Unknown encoding of the " + designation + " layer: " + encoding);
+        }
+
+        if (count != numSet) {
+            throw error("Malformed " + designation + " layer");
+        }
+
+        return new int[][] {rows, cols};
+    }
+
+    /**
+     * Returns the next nonnegative integer of the record, written seven bits per byte (least
+     * significant first), with the high bit of each byte set if more bytes follow
+     *
+     * @param end position of the buffer past which the integer cannot extend
+     * @return next nonnegative integer of the record
+     * @throws IOException if the integer is malformed
+     */
+    private long getVarLong(int end) throws IOException {
+        long value = 0;
+
+        for (int shift = 0; shift < 63; shift += 7) {
+            if (buffer.position() == end) {
+                break;
+            }
+
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+
+        throw error("Malformed run length");
+    }
+
+    /**
+     * Returns the number of bytes not yet decoded, in the buffer and in the rest of the channel;
+     * <code>Long.MAX_VALUE</code> if the size of the channel is unknown (for instance, the standard
+     * input)
+     *
+     * @return number of bytes not yet decoded; <code>Long.MAX_VALUE</code> if it is unknown
+     * @throws IOException if the size of the channel cannot be read
+     */
+    private long getRemainingBytes() throws IOException {
+        if (!(in instanceof FileChannel)) {
+            return Long.MAX_VALUE;
+        }
+
+        FileChannel channel = (FileChannel) in;
+        return buffer.remaining() + channel.size() - channel.position();
+    }
+
+    /**
+     * Reads from the channel until the buffer holds at least the given number of bytes not yet
+     * decoded, growing the buffer as the bytes arrive if it is too small
+     *
+     * <p>Since the buffer at most doubles once it is full, a corrupt length read from a channel of
+     * unknown size cannot make it allocate much more than the bytes actually in the channel.</p>
+     *
+     * @param numBytes number of bytes needed
+     * @return <code>true</code> if the buffer holds the given number of bytes; <code>false</code>
+     * if the channel ends before
+     * @throws IOException if the channel cannot be read
+     */
+    private boolean fill(int numBytes) throws IOException {
+        if (buffer.remaining() >= numBytes) {
+            return true;
+        }
+
+        buffer.compact();
+        while (buffer.position() < numBytes && !isEndOfChannel) {
+            if (!buffer.hasRemaining()) {
+                ByteBuffer larger = ByteBuffer.allocate((int) Math.min(numBytes, 2L * buffer.capacity()));
+                buffer.flip();
+                larger.put(buffer);
+                buffer = larger;
+            }
+
+            if (in.read(buffer) == -1) {
+                isEndOfChannel = true;
+            }
+        }
+
+        buffer.flip();
+        return buffer.remaining() >= numBytes;
+    }
+
+    /**
+     * Returns an exception with the given message, prefixed with the position of the board
+     * most recently read
+     *
+     * @param message message describing the malformed record
+     * @return exception with the given message, prefixed with the position of the board
+     */
+    private IOException error(String message) {
+        return new IOException("Board " + index + ": " + message);
+    }
+}
@@ -0,0 +1,325 @@
+package headless;
+
+import gold_miner.BoardDefinition;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * Class implementing the <b>writer of a binary file of boards</b>, which writes the boards one at
+ * a time in the format read by <code>BinaryBoardReader</code>
+ *
+ * <p>The beacons and the pits of each board are written as layers with one bit per square tile,
+ * either bit-packed or run-length encoded, whichever is shorter. The layers are built from the
+ * sorted coordinates of the board, so a sparse board is written without ever allocating a bit per
+ * tile.</p>
+ *
+ * <p>The records are gathered in a buffer, which is written to the channel whenever it is full
+ * and when the writer is flushed.</p>
+ */
+public class BinaryBoardWriter {
+    /* Destination of the bytes of the file */
+    private final WritableByteChannel out;
+    /* Records not yet written to the channel */
+    private ByteBuffer buffer;
+    /* Body of the record being written */
+    private ByteBuffer record;
+    /* Checksum of the body of the record being written */
+    private final CRC32 checksum;
+
+    /* Initial capacity of the buffers, in bytes */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Creates a writer of boards to the given channel, starting with the header of the file
+     *
+     * @param out destination of the bytes of the file of boards
+     */
+    public BinaryBoardWriter(WritableByteChannel out) {
+        this.out = out;
+        buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        record = ByteBuffer.allocate(BUFFER_SIZE);
+        checksum = new CRC32();
+
+        buffer.putInt(BinaryBoardReader.MAGIC);
+        buffer.putShort(BinaryBoardReader.VERSION);
+    }
+
+    /**
+     * Writes the given board as a record: the length of its body, the body (name, dimension,
+     * gold square tile, beacon layer, and pit layer), and the checksum of the body
+     *
+     * @param definition definition of the board
+     * @throws IOException if the board cannot be written
+     */
+    public void write(BoardDefinition definition) throws IOException {
+        byte[] name = definition.getName().getBytes(StandardCharsets.UTF_8);
+        if (name.length > 0xFFFF) {
+            throw new IOException("Name of the board is too long: " + definition.getName());
+        }
+
+        int dimension = definition.getDimension();
+        long[] beacons = toSortedTiles(definition.getRBeacon(), definition.getCBeacon(), dimension);
+        long[] pits = toSortedTiles(definition.getRPit(), definition.getCPit(), dimension);
+
+        long numTiles = (long) dimension * dimension;
+        long size = 2 + name.length + 12 + getLayerSize(beacons, numTiles) + getLayerSize(pits, numTiles);
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new IOException("Board is too large for the binary format: " + definition.getName());
+        }
+
+        record.clear();
+        if (record.capacity() < size) {
+            record = ByteBuffer.allocate((int) size);
+        }
+
+        record.putShort((short) name.length);
+        record.put(name);
+        record.putInt(dimension);
+        record.putInt(definition.getRGold());
+        record.putInt(definition.getCGold());
+        putLayer(beacons, numTiles);
+        putLayer(pits, numTiles);
+        record.flip();
+
+        checksum.reset();
+        checksum.update(record.array(), 0, record.limit());
+
+        /* The body is written directly if it does not fit in the buffer even when it is empty. */
+        if (buffer.remaining() < record.limit() + 8) {
+            flush();
+        }
+
+        if (buffer.remaining() < record.limit() + 8) {
+            buffer.putInt(record.limit());
+            flush();
+            writeFully(record);
+            buffer.putInt((int) checksum.getValue());
+        } else {
+            buffer.putInt(record.limit());
+            buffer.put(record);
+            buffer.putInt((int) checksum.getValue());
+        }
+    }
+
+    /**
+     * Writes every board of the given source
+     *
+     * @param boards source of the boards
+     * @return number of boards written
+     * @throws IOException if the boards cannot be obtained or written
+     */
+    public long writeAll(BoardSource boards) throws IOException {
+        long numBoards = 0;
+
+        BoardDefinition definition;
+        while ((definition = boards.next()) != null) {
+            write(definition);
+            numBoards++;
+        }
+
+        return numBoards;
+    }
+
+    /**
+     * Writes the boards gathered so far to the channel
+     *
+     * @throws IOException if the boards cannot be written
+     */
+    public void flush() throws IOException {
+        buffer.flip();
+        writeFully(buffer);
+        buffer.clear();
+    }
+
+    /**
+     * Writes all the remaining bytes of the given buffer to the channel
+     *
+     * @param bytes buffer whose remaining bytes are written
+     * @throws IOException if the bytes cannot be written
+     */
+    private void writeFully(ByteBuffer bytes) throws IOException {
+        while (bytes.hasRemaining()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Returns the distinct row-major indices of the square tiles at the given coordinates, in
+     * ascending order
+     *
+     * @param rows row-coordinates of the square tiles
+     * @param cols column-coordinates of the square tiles
+     * @param dimension dimension of the board
+     * @return distinct row-major indices of the square tiles, in ascending order
+     */
+    private static long[] toSortedTiles(int[] rows, int[] cols, int dimension) {
+        long[] tiles = new long[rows.length];
+        for (int i = 0; i < tiles.length; i++) {
+            tiles[i] = (long) rows[i] * dimension + cols[i];
+        }
+        Arrays.sort(tiles);
+
+        /* Remove the duplicates, which denote the same tile. */
+        int numDistinct = 0;
+        for (int i = 0; i < tiles.length; i++) {
+            if (numDistinct == 0 || tiles[i] != tiles[numDistinct - 1]) {
+                tiles[numDistinct++] = tiles[i];
+            }
+        }
+
+        return Arrays.copyOf(tiles, numDistinct);
+    }
+
+    /**
+     * Returns the number of bytes of the layer of the given square tiles, including its header
+     * (encoding, number of tiles, and length)
+     *
+     * @param tiles distinct row-major indices of the square tiles, in ascending order
+     * @param numTiles number of square tiles of the board
+     * @return number of bytes of the layer
+     */
+    private static long getLayerSize(long[] tiles, long numTiles) {
+        return 9 + Math.min(getBitPackedSize(numTiles), getRunLengthSize(tiles, numTiles));
+    }
+
+    /**
+     * Returns the number of bytes of the bit-packed encoding of a layer
+     *
+     * @param numTiles number of square tiles of the board
+     * @return number of bytes of the bit-packed encoding of a layer
+     */
+    private static long getBitPackedSize(long numTiles) {
+        return ((numTiles + 63) >>> 6) * 8;
+    }
+
+    /**
+     * Returns the number of bytes of the run-length encoding of the layer of the given square tiles
+     *
+     * @param tiles distinct row-major indices of the square tiles, in ascending order
+     * @param numTiles number of square tiles of the board
+     * @return number of bytes of the run-length encoding of the layer
+     */
+    private static long getRunLengthSize(long[] tiles, long numTiles) {
+        long size = 0;
+        long position = 0;
+
+        int i = 0;
+        while (i < tiles.length) {
+            int end = getRunEnd(tiles, i);
+
+            size += getVarLongSize(tiles[i] - position) + getVarLongSize(end - i);
+            position = tiles[i] + (end - i);
+            i = end;
+        }
+
+        /* The run of clear bits at the end is only written if it is not empty (or if it is the only run). */
+        if (position < numTiles || tiles.length == 0) {
+            size += getVarLongSize(numTiles - position);
+        }
+
+        return size;
+    }
+
+    /**
+     * Puts the layer of the given square tiles into the body of the record, in whichever
+     * encoding is shorter
+     *
+     * @param tiles distinct row-major indices of the square tiles, in ascending order
+     * @param numTiles number of square tiles of the board
+     */
+    private void putLayer(long[] tiles, long numTiles) {
+        long bitPackedSize = getBitPackedSize(numTiles);
+        long runLengthSize = getRunLengthSize(tiles, numTiles);
+
+        if (bitPackedSize <= runLengthSize) {
+            record.put(BinaryBoardReader.BIT_PACKED);
+            record.putInt(tiles.length);
+            record.putInt((int) bitPackedSize);
+
+            /* Bit i of word w is the tile with row-major index 64 * w + i. */
+            int i = 0;
+            for (long word = 0; word < bitPackedSize / 8; word++) {
+                long bits = 0;
+                while (i < tiles.length && (tiles[i] >>> 6) == word) {
+                    bits |= 1L << tiles[i];
+                    i++;
+                }
+                record.putLong(bits);
+            }
+        } else {
+            record.put(BinaryBoardReader.RUN_LENGTH);
+            record.putInt(tiles.length);
+            record.putInt((int) runLengthSize);
+
+            /* The runs alternate between clear and set bits, starting with clear bits. */
+            long position = 0;
+            int i = 0;
+            while (i < tiles.length) {
+                int end = getRunEnd(tiles, i);
+
+                putVarLong(tiles[i] - position);
+                putVarLong(end - i);
+                position = tiles[i] + (end - i);
+                i = end;
+            }
+
+            if (position < numTiles || tiles.length == 0) {
+                putVarLong(numTiles - position);
+            }
+        }
+    }
+
+    /**
+     * Returns the index (in the given array) just past the run of consecutive square tiles
+     * starting at the given index
+     *
+     * @param tiles distinct row-major indices of the square tiles, in ascending order
+     * @param start index (in the given array) of the first tile of the run
+     * @return index just past the last tile of the run
+     */
+    private static int getRunEnd(long[] tiles, int start) {
+        int end = start + 1;
+        while (end < tiles.length && tiles[end] == tiles[end - 1] + 1) {
+            end++;
+        }
+
+        return end;
+    }
+
+    /**
+     * Puts the given nonnegative integer into the body of the record, seven bits per byte
+     * (least significant first), with the high bit of each byte set if more bytes follow
+     *
+     * @param value nonnegative integer
+     */
+    private void putVarLong(long value) {
+        while (value >= 0x80) {
+            record.put((byte) (value | 0x80));
+            value >>>= 7;
+        }
+
+        record.put((byte) value);
+    }
+
+    /**
+     * Returns the number of bytes taken by the given nonnegative integer when put via
+     * <code>putVarLong</code>
+     *
+     * @param value nonnegative integer
+     * @return number of bytes taken by the given integer
+     */
+    private static int getVarLongSize(long value) {
+        int size = 1;
+        while (value >= 0x80) {
+            value >>>= 7;
+            size++;
+        }
+
+        return size;
+    }
+}
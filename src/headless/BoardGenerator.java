@@ -0,0 +1,414 @@
+package headless;
+
+import gold_miner.Board;
+import gold_miner.BoardDefinition;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+
+/**
+ * Class implementing the <b>generator of random boards</b>, which returns a given number of boards
+ * drawn from a seed, one at a time, so that corpora of any size can be generated (and run) without
+ * holding them all in memory
+ *
+ * <p>Each square tile other than the starting tile of the miner (the upper-left tile) and the gold
+ * square tile is independently a pit with the given pit density, a beacon with the given beacon
+ * density, or empty otherwise. The gold square tile is placed according to the given policy.</p>
+ *
+ * <p>A board is solvable if the gold square tile can be reached from the starting tile without
+ * stepping on a pit. The connectivity of the tiles is kept in a union-find structure, which is
+ * updated incrementally as the tiles are laid out (and as pits are removed), so checking whether
+ * a board is solvable takes a single pass over its tiles. An unsolvable board is either rejected
+ * and drawn anew (so the boards follow the distribution of the solvable boards exactly), or
+ * repaired by removing the pits on a random monotone path from the gold square tile towards the
+ * starting tile until both are connected.</p>
+ *
+ * <p>Each board is drawn from its own stream, split from a source with the given seed in the order
+ * of the boards; hence, the boards depend only on the seed and on their position. Only the tiles
+ * and the union-find structure of the board currently being generated are kept, and both are reused
+ * across boards.</p>
+ *
+ * <p>Note that the row and column numbers in this class (as well as in all other classes
+ * responsible for the back-end behavior) are zero-based.</p>
+ */
+public class BoardGenerator implements BoardSource {
+    /* Seed of the source of the boards */
+    private final long seed;
+    /* Number of boards to be generated */
+    private final long numBoards;
+    /* Dimension of the boards */
+    private final int dimension;
+    /* Probability that a square tile is a pit */
+    private final double pitDensity;
+    /* Probability that a square tile is a beacon */
+    private final double beaconDensity;
+    /* Policy for the placement of the gold square tile */
+    private final char goldPlacement;
+    /* Handling of the unsolvable boards */
+    private final char solvability;
+
+    /* Source from which the stream of each board is split */
+    private final SplittableRandom random;
+    /* Number of boards generated so far */
+    private long index;
+    /* Number of unsolvable boards that were rejected so far */
+    private long numRejected;
+    /* Number of unsolvable boards that were repaired so far */
+    private long numRepaired;
+
+    /* Designations of the square tiles of the board being generated, in row-major order */
+    private final char[] tiles;
+    /* Parent of each square tile in the union-find structure (the root is its own parent) */
+    private final int[] parent;
+    /* Number of square tiles in the set of each root in the union-find structure */
+    private final int[] size;
+
+    /**
+     * Policy placing the gold square tile uniformly at random on any tile other than the starting
+     * tile of the miner
+     */
+    public static final char GOLD_UNIFORM = 'U';
+    /**
+     * Policy placing the gold square tile uniformly at random on the tiles at least as far from the
+     * starting tile of the miner as the opposite diagonal (in terms of the number of moves)
+     */
+    public static final char GOLD_FAR = 'F';
+    /**
+     * Policy placing the gold square tile on the corner opposite the starting tile of the miner
+     */
+    public static final char GOLD_CORNER = 'C';
+
+    /**
+     * Character code for keeping the unsolvable boards as they are
+     */
+    public static final char UNCHECKED = 'N';
+    /**
+     * Character code for rejecting the unsolvable boards and drawing them anew
+     */
+    public static final char REJECT = 'J';
+    /**
+     * Character code for repairing the unsolvable boards by removing pits
+     */
+    public static final char REPAIR = 'R';
+
+    /**
+     * Maximum number of consecutive unsolvable boards that are rejected before giving up
+     */
+    public static final int MAX_ATTEMPTS = 1000;
+
+    /* Row and column offsets of the four neighbors of a square tile */
+    private static final int[] ROW_OFFSET = {0, 1, 0, -1};
+    private static final int[] COL_OFFSET = {1, 0, -1, 0};
+
+    /**
+     * Creates a generator of the given number of boards drawn from the given seed
+     *
+     * @param seed seed of the source of the boards
+     * @param numBoards number of boards to be generated
+     * @param dimension dimension of the boards (at least 2)
+     * @param pitDensity probability that a square tile is a pit
+     * @param beaconDensity probability that a square tile is a beacon
+     * @param goldPlacement policy for the placement of the gold square tile (<code>GOLD_UNIFORM</code>,
+     *                      <code>GOLD_FAR</code>, or <code>GOLD_CORNER</code>)
+     * @param solvability handling of the unsolvable boards (<code>UNCHECKED</code>, <code>REJECT</code>,
+     *                    or <code>REPAIR</code>)
+     * @throws IllegalArgumentException if the dimension, densities, or character codes are invalid
+     */
+    public BoardGenerator(long seed, long numBoards, int dimension, double pitDensity, double beaconDensity,
+                          char goldPlacement, char solvability) {
+        if (dimension < 2 || (long) dimension * dimension > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Invalid dimension of the generated boards: " + dimension);
+        }
+
+        /* Negated comparisons also reject NaN. */
+        if (!(pitDensity >= 0 && beaconDensity >= 0 && pitDensity + beaconDensity <= 1)) {
+            throw new IllegalArgumentException("The densities must be nonnegative and add up to at most 1");
+        }
+
+        if (goldPlacement != GOLD_UNIFORM && goldPlacement != GOLD_FAR && goldPlacement != GOLD_CORNER) {
+            throw new IllegalArgumentException("Unknown gold placement policy: " + goldPlacement);
+        }
+
+        if (solvability != UNCHECKED && solvability != REJECT && solvability != REPAIR) {
+            throw new IllegalArgumentException("Unknown handling of the unsolvable boards: " + solvability);
+        }
+
+        this.seed = seed;
+        this.numBoards = numBoards;
+        this.dimension = dimension;
+        this.pitDensity = pitDensity;
+        this.beaconDensity = beaconDensity;
+        this.goldPlacement = goldPlacement;
+        this.solvability = solvability;
+
+        random = new SplittableRandom(seed);
+        index = 0;
+        numRejected = 0;
+        numRepaired = 0;
+
+        tiles = new char[dimension * dimension];
+        parent = new int[dimension * dimension];
+        size = new int[dimension * dimension];
+    }
+
+    /**
+     * Returns the next generated board; <code>null</code> if the given number of boards has
+     * already been generated
+     *
+     * <p>The boards are named after the seed and their one-based position.</p>
+     *
+     * @return next generated board; <code>null</code> if there are no more boards
+     * @throws IOException if no solvable board is drawn after <code>MAX_ATTEMPTS</code> attempts
+     */
+    @Override
+    public BoardDefinition next() throws IOException {
+        if (index == numBoards) {
+            return null;
+        }
+
+        index++;
+        SplittableRandom stream = random.split();
+
+        int attempts = 0;
+        int gold = layOut(stream);
+        while (!isConnected(0, gold)) {
+            if (solvability == UNCHECKED) {
+                break;
+            }
+
+            if (solvability == REPAIR) {
+                repair(gold, stream);
+                numRepaired++;
+                break;
+            }
+
+            numRejected++;
+            if (++attempts == MAX_ATTEMPTS) {
+                throw new IOException("No solvable board after " + MAX_ATTEMPTS + " attempts (board "
+                        + index + "); lower the pit density");
+            }
+
+            gold = layOut(stream);
+        }
+
+        return toDefinition(seed + "#" + index, gold);
+    }
+
+    /**
+     * Returns the number of unsolvable boards that were rejected so far
+     *
+     * @return number of unsolvable boards that were rejected so far
+     */
+    public long getNumRejected() {
+        return numRejected;
+    }
+
+    /**
+     * Returns the number of unsolvable boards that were repaired so far
+     *
+     * @return number of unsolvable boards that were repaired so far
+     */
+    public long getNumRepaired() {
+        return numRepaired;
+    }
+
+    /**
+     * Draws the gold square tile, pits, and beacons of a board from the given stream, connecting
+     * every tile that is not a pit to its upper and left neighbors that are not pits either
+     *
+     * @param stream stream from which the board is drawn
+     * @return row-major index of the gold square tile
+     */
+    private int layOut(SplittableRandom stream) {
+        int gold = drawGold(stream);
+
+        for (int row = 0; row < dimension; row++) {
+            for (int col = 0; col < dimension; col++) {
+                int tile = row * dimension + col;
+                parent[tile] = tile;
+                size[tile] = 1;
+
+                /* The starting tile of the miner is always empty. */
+                if (tile == gold) {
+                    tiles[tile] = Board.GOLD;
+                } else if (tile == 0) {
+                    tiles[tile] = Board.EMPTY;
+                } else {
+                    double u = stream.nextDouble();
+                    if (u < pitDensity) {
+                        tiles[tile] = Board.PIT;
+                        continue;
+                    }
+
+                    tiles[tile] = u < pitDensity + beaconDensity ? Board.BEACON : Board.EMPTY;
+                }
+
+                /* The lower and right neighbors are connected when they are laid out. */
+                if (row > 0 && tiles[tile - dimension] != Board.PIT) {
+                    union(tile, tile - dimension);
+                }
+                if (col > 0 && tiles[tile - 1] != Board.PIT) {
+                    union(tile, tile - 1);
+                }
+            }
+        }
+
+        return gold;
+    }
+
+    /**
+     * Returns the row-major index of the gold square tile drawn from the given stream according to
+     * the placement policy
+     *
+     * @param stream stream from which the gold square tile is drawn
+     * @return row-major index of the gold square tile
+     */
+    private int drawGold(SplittableRandom stream) {
+        switch (goldPlacement) {
+            case GOLD_CORNER:
+                return dimension * dimension - 1;
+            case GOLD_FAR:
+                /* The tiles with row + col >= dimension - 1 are drawn as a triangle of rows. */
+                int numFar = dimension * (dimension + 1) / 2;
+                int k = stream.nextInt(numFar);
+                int row = 0;
+                while (k > row) {
+                    k -= row + 1;
+                    row++;
+                }
+                return row * dimension + (dimension - 1 - row + k);
+            default:
+                /* Any tile other than the starting tile (index 0) */
+                return 1 + stream.nextInt(dimension * dimension - 1);
+        }
+    }
+
+    /**
+     * Removes the pits on a random monotone path from the gold square tile towards the starting
+     * tile of the miner, stopping as soon as the gold square tile is connected to the starting tile
+     *
+     * @param gold row-major index of the gold square tile
+     * @param stream stream from which the path is drawn
+     */
+    private void repair(int gold, SplittableRandom stream) {
+        int row = gold / dimension;
+        int col = gold % dimension;
+
+        while (!isConnected(0, gold)) {
+            /* Every monotone path is equally likely to be taken. */
+            if (col == 0 || (row > 0 && stream.nextInt(row + col) < row)) {
+                row--;
+            } else {
+                col--;
+            }
+
+            int tile = row * dimension + col;
+            if (tiles[tile] == Board.PIT) {
+                tiles[tile] = Board.EMPTY;
+
+                for (int i = 0; i < ROW_OFFSET.length; i++) {
+                    int neighborRow = row + ROW_OFFSET[i];
+                    int neighborCol = col + COL_OFFSET[i];
+
+                    if (neighborRow >= 0 && neighborRow < dimension && neighborCol >= 0 && neighborCol < dimension
+                            && tiles[neighborRow * dimension + neighborCol] != Board.PIT) {
+                        union(tile, neighborRow * dimension + neighborCol);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the definition of the board currently laid out
+     *
+     * @param name name identifying the board
+     * @param gold row-major index of the gold square tile
+     * @return definition of the board currently laid out
+     */
+    private BoardDefinition toDefinition(String name, int gold) {
+        int numBeacons = 0;
+        int numPits = 0;
+        for (char tile : tiles) {
+            if (tile == Board.BEACON) {
+                numBeacons++;
+            } else if (tile == Board.PIT) {
+                numPits++;
+            }
+        }
+
+        int[] rBeacon = new int[numBeacons];
+        int[] cBeacon = new int[numBeacons];
+        int[] rPit = new int[numPits];
+        int[] cPit = new int[numPits];
+
+        numBeacons = 0;
+        numPits = 0;
+        for (int tile = 0; tile < tiles.length; tile++) {
+            if (tiles[tile] == Board.BEACON) {
+                rBeacon[numBeacons] = tile / dimension;
+                cBeacon[numBeacons] = tile % dimension;
+                numBeacons++;
+            } else if (tiles[tile] == Board.PIT) {
+                rPit[numPits] = tile / dimension;
+                cPit[numPits] = tile % dimension;
+                numPits++;
+            }
+        }
+
+        return new BoardDefinition(name, dimension, gold / dimension, gold % dimension, rBeacon, cBeacon,
+                rPit, cPit);
+    }
+
+    /**
+     * Returns <code>true</code> if the given square tiles are in the same set of the union-find
+     * structure; <code>false</code>, otherwise
+     *
+     * @param first row-major index of the first square tile
+     * @param second row-major index of the second square tile
+     * @return <code>true</code> if the given square tiles are connected; <code>false</code>, otherwise
+     */
+    private boolean isConnected(int first, int second) {
+        return find(first) == find(second);
+    }
+
+    /**
+     * Returns the root of the set of the given square tile in the union-find structure, halving
+     * the path to the root along the way
+     *
+     * @param tile row-major index of the square tile
+     * @return row-major index of the root of the set of the given square tile
+     */
+    private int find(int tile) {
+        while (parent[tile] != tile) {
+            parent[tile] = parent[parent[tile]];
+            tile = parent[tile];
+        }
+
+        return tile;
+    }
+
+    /**
+     * Merges the sets of the given square tiles in the union-find structure, attaching the root
+     * of the smaller set to the root of the larger set
+     *
+     * @param first row-major index of the first square tile
+     * @param second row-major index of the second square tile
+     */
+    private void union(int first, int second) {
+        int firstRoot = find(first);
+        int secondRoot = find(second);
+        if (firstRoot == secondRoot) {
+            return;
+        }
+
+        if (size[firstRoot] < size[secondRoot]) {
+            int temp = firstRoot;
+            firstRoot = secondRoot;
+            secondRoot = temp;
+        }
+
+        parent[secondRoot] = firstRoot;
+        size[firstRoot] += size[secondRoot];
+    }
+}
@@ -0,0 +1,247 @@
+package headless;
+
+import gold_miner.BoardDefinition;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * Class implementing the <b>reader of a file of boards</b>, which returns the boards one at
+ * a time so that files with any number of boards can be processed without loading them
+ * all into memory
+ *
+ * <p>Each board is described by a block of lines, each of which starts with a keyword:</p>
+ * <ul>
+ *     <li><code>name</code> followed by the name of the board (optional; must precede
+ *     the dimension)</li>
+ *     <li><code>dimension</code> followed by the dimension of the board (starts the
+ *     description of the board, unless preceded by its name)</li>
+ *     <li><code>gold</code> followed by the row- and column-coordinates of the gold square
+ *     tile (mandatory)</li>
+ *     <li><code>beacon</code> followed by the row- and column-coordinates of a beacon
+ *     (one line per beacon)</li>
+ *     <li><code>pit</code> followed by the row- and column-coordinates of a pit
+ *     (one line per pit)</li>
+ * </ul>
+ *
+ * <p>Blank lines and lines starting with <code>#</code> are ignored. Similar to the front-end,
+ * the coordinates in the file follow a one-based index, and beacons at the coordinates of the
+ * gold square tile are ignored.</p>
+ */
+public class BoardReader implements BoardSource {
+    /* Source of the lines of the file */
+    private BufferedReader in;
+    /* Number of the line most recently read */
+    private int lineNumber;
+    /* Line read ahead of the board currently being parsed (null if there is none) */
+    private String pending;
+
+    /**
+     * Creates a reader of the boards in the given source
+     *
+     * @param in source of the lines of the file of boards
+     */
+    public BoardReader(Reader in) {
+        this.in = in instanceof BufferedReader ? (BufferedReader) in : new BufferedReader(in);
+        lineNumber = 0;
+        pending = null;
+    }
+
+    /**
+     * Returns the next board in the file; <code>null</code> if there are no more boards
+     *
+     * @return next board in the file; <code>null</code> if there are no more boards
+     * @throws IOException if the file cannot be read or the description of the board is malformed
+     */
+    @Override
+    public BoardDefinition next() throws IOException {
+        String name = "";
+        int dimension = -1;
+        int rGold = -1;
+        int cGold = -1;
+
+        int numBeacons = 0;
+        int[] rBeacon = new int[16];
+        int[] cBeacon = new int[16];
+        int numPits = 0;
+        int[] rPit = new int[16];
+        int[] cPit = new int[16];
+
+        String line;
+        while ((line = readLine()) != null) {
+            String[] tokens;
+            tokens = line.trim().split("\\s+");
+
+            /* A line that starts the description of another board ends the current one. */
+            if (dimension != -1 && (tokens[0].equals("name") || tokens[0].equals("dimension"))) {
+                pending = line;
+                break;
+            }
+
+            switch (tokens[0]) {
+                case "name":
+                    name = line.trim().substring("name".length()).trim();
+                    break;
+                case "dimension":
+                    dimension = parseInt(tokens, 1);
+                    if (dimension < 1) {
+                        throw error("Board size must be positive");
+                    }
+                    break;
+                case "gold":
+                    checkDimension(dimension);
+                    rGold = parseCoordinate(tokens, 1, dimension, "gold");
+                    cGold = parseCoordinate(tokens, 2, dimension, "gold");
+                    break;
+                case "beacon":
+                    checkDimension(dimension);
+                    if (numBeacons == rBeacon.length) {
+                        rBeacon = Arrays.copyOf(rBeacon, numBeacons * 2);
+                        cBeacon = Arrays.copyOf(cBeacon, numBeacons * 2);
+                    }
+                    rBeacon[numBeacons] = parseCoordinate(tokens, 1, dimension, "beacon");
+                    cBeacon[numBeacons] = parseCoordinate(tokens, 2, dimension, "beacon");
+                    numBeacons++;
+                    break;
+                case "pit":
+                    checkDimension(dimension);
+                    if (numPits == rPit.length) {
+                        rPit = Arrays.copyOf(rPit, numPits * 2);
+                        cPit = Arrays.copyOf(cPit, numPits * 2);
+                    }
+                    rPit[numPits] = parseCoordinate(tokens, 1, dimension, "pit");
+                    cPit[numPits] = parseCoordinate(tokens, 2, dimension, "pit");
+                    numPits++;
+                    break;
+                default:
+                    throw error("Unknown keyword: " + tokens[0]);
+            }
+        }
+
+        /* No more boards in the file */
+        if (dimension == -1) {
+            if (!name.isEmpty()) {
+                throw error("Missing dimension (board " + name + ")");
+            }
+
+            return null;
+        }
+
+        /* Inputting the coordinates of the gold square tile is mandatory. */
+        if (rGold == -1) {
+            throw error("Missing coordinates of the gold square tile");
+        }
+
+        /* Ignore the beacons at the coordinates of the gold tile. */
+        int numKept = 0;
+        for (int i = 0; i < numBeacons; i++) {
+            if (!(rBeacon[i] == rGold && cBeacon[i] == cGold)) {
+                rBeacon[numKept] = rBeacon[i];
+                cBeacon[numKept] = cBeacon[i];
+                numKept++;
+            }
+        }
+
+        return new BoardDefinition(name, dimension, rGold, cGold,
+                Arrays.copyOf(rBeacon, numKept), Arrays.copyOf(cBeacon, numKept),
+                Arrays.copyOf(rPit, numPits), Arrays.copyOf(cPit, numPits));
+    }
+
+    /**
+     * Returns the next line that is neither blank nor a comment; <code>null</code> if the end
+     * of the file has been reached
+     *
+     * @return next line that is neither blank nor a comment; <code>null</code> if the end of
+     * the file has been reached
+     * @throws IOException if the file cannot be read
+     */
+    private String readLine() throws IOException {
+        if (pending != null) {
+            String line = pending;
+            pending = null;
+            return line;
+        }
+
+        String line;
+        while ((line = in.readLine()) != null) {
+            lineNumber++;
+
+            String trimmed = line.trim();
+            if (!trimmed.isEmpty() && !trimmed.startsWith("#")) {
+                return line;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Throws an exception if the dimension of the board has not yet been read
+     *
+     * @param dimension dimension of the board (-1 if it has not yet been read)
+     * @throws IOException if the dimension of the board has not yet been read
+     */
+    private void checkDimension(int dimension) throws IOException {
+        if (dimension == -1) {
+            throw error("The dimension must precede the coordinates");
+        }
+    }
+
+    /**
+     * Returns the integer at the given position of the tokens of a line
+     *
+     * @param tokens tokens of the line
+     * @param index position of the integer among the tokens
+     * @return integer at the given position of the tokens
+     * @throws IOException if there is no integer at the given position
+     */
+    private int parseInt(String[] tokens, int index) throws IOException {
+        if (index >= tokens.length) {
+            throw error("Missing number after " + tokens[0]);
+        }
+
+        try {
+            return Integer.parseInt(tokens[index]);
+        } catch (NumberFormatException e) {
+            throw error("Enter numerical characters only (" + tokens[0] + ")");
+        }
+    }
+
+    /**
+     * Returns the zero-based coordinate corresponding to the one-based coordinate at the given
+     * position of the tokens of a line
+     *
+     * @param tokens tokens of the line
+     * @param index position of the coordinate among the tokens
+     * @param dimension dimension of the board
+     * @param designation designation of the square tile (for the error message)
+     * @return zero-based coordinate corresponding to the one-based coordinate at the given position
+     * @throws IOException if the coordinate is missing, malformed, or out of bounds
+     */
+    private int parseCoordinate(String[] tokens, int index, int dimension, String designation)
+            throws IOException {
+        /* Note that the input follows one-based indexing. */
+        int coordinate;
+        coordinate = parseInt(tokens, index) - 1;
+
+        /* Note that the back-end follows zero-based indexing. */
+        if (coordinate < 0 || coordinate > dimension - 1) {
+            throw error("Out-of-bounds positions (" + designation + ")");
+        }
+
+        return coordinate;
+    }
+
+    /**
+     * Returns an exception with the given message, prefixed with the number of the line
+     * most recently read
+     *
+     * @param message message describing the malformed input
+     * @return exception with the given message, prefixed with the line number
+     */
+    private IOException error(String message) {
+        return new IOException("Line " + lineNumber + ": " + message);
+    }
+}
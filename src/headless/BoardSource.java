@@ -0,0 +1,19 @@
+package headless;
+
+import gold_miner.BoardDefinition;
+
+import java.io.IOException;
+
+/**
+ * Interface for a <b>source of boards</b>, which returns the boards one at a time so that
+ * collections of boards of any size can be processed without holding them all in memory
+ */
+public interface BoardSource {
+    /**
+     * Returns the next board; <code>null</code> if there are no more boards
+     *
+     * @return next board; <code>null</code> if there are no more boards
+     * @throws IOException if the next board cannot be obtained
+     */
+    BoardDefinition next() throws IOException;
+}
@@ -0,0 +1,85 @@
+package headless;
+
+import gold_miner.BoardDefinition;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Class implementing the <b>writer of a file of boards</b>, which writes the boards one at a time
+ * in the format read by <code>BoardReader</code>
+ *
+ * <p>Similar to the front-end, the coordinates in the file follow a one-based index.</p>
+ */
+public class BoardWriter {
+    /* Destination of the lines of the file */
+    private final BufferedWriter out;
+
+    /**
+     * Creates a writer of boards to the given destination
+     *
+     * @param out destination of the lines of the file of boards
+     */
+    public BoardWriter(Writer out) {
+        this.out = out instanceof BufferedWriter ? (BufferedWriter) out : new BufferedWriter(out);
+    }
+
+    /**
+     * Writes the given board, preceded by its name (if it has one) and followed by a blank line
+     *
+     * @param definition definition of the board
+     * @throws IOException if the board cannot be written
+     */
+    public void write(BoardDefinition definition) throws IOException {
+        if (!definition.getName().isEmpty()) {
+            out.write("name " + definition.getName() + "\n");
+        }
+
+        /* Note that the output follows one-based indexing. */
+        out.write("dimension " + definition.getDimension() + "\n");
+        out.write("gold " + (definition.getRGold() + 1) + " " + (definition.getCGold() + 1) + "\n");
+
+        int[] rBeacon = definition.getRBeacon();
+        int[] cBeacon = definition.getCBeacon();
+        for (int i = 0; i < rBeacon.length; i++) {
+            out.write("beacon " + (rBeacon[i] + 1) + " " + (cBeacon[i] + 1) + "\n");
+        }
+
+        int[] rPit = definition.getRPit();
+        int[] cPit = definition.getCPit();
+        for (int i = 0; i < rPit.length; i++) {
+            out.write("pit " + (rPit[i] + 1) + " " + (cPit[i] + 1) + "\n");
+        }
+
+        out.write("\n");
+    }
+
+    /**
+     * Writes every board of the given source
+     *
+     * @param boards source of the boards
+     * @return number of boards written
+     * @throws IOException if the boards cannot be obtained or written
+     */
+    public long writeAll(BoardSource boards) throws IOException {
+        long numBoards = 0;
+
+        BoardDefinition definition;
+        while ((definition = boards.next()) != null) {
+            write(definition);
+            numBoards++;
+        }
+
+        return numBoards;
+    }
+
+    /**
+     * Flushes the boards written so far to the destination
+     *
+     * @throws IOException if the boards cannot be written
+     */
+    public void flush() throws IOException {
+        out.flush();
+    }
+}
@@ -0,0 +1,164 @@
+package headless;
+
+import gold_miner.Board;
+import gold_miner.Exploration;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * Class implementing the <b>pool of worker threads</b> that runs the agents on the boards of a
+ * corpus, in which each worker owns an exploration state that is reused across the boards it runs on
+ *
+ * <p>The pool is a work-stealing <code>ForkJoinPool</code>. A range of boards is split recursively
+ * in halves down to single boards, so that idle workers can steal the remaining boards of a range
+ * with larger boards. A board run on a worker explores the board via <code>getExploration</code>,
+ * which resets the exploration state of the worker instead of allocating a new one.</p>
+ *
+ * <p>This pool backs both the batch runner and the scorer of the benchmark corpus.</p>
+ */
+public class ExplorationPool {
+    /* Pool of the worker threads */
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates a pool with the specified number of worker threads
+     *
+     * @param parallelism number of worker threads
+     */
+    public ExplorationPool(int parallelism) {
+        pool = new ForkJoinPool(parallelism, Worker::new, null, false);
+    }
+
+    /**
+     * Returns the exploration state of the current worker, prepared for a run over the given board
+     *
+     * <p>This method must be invoked from a worker thread of an <code>ExplorationPool</code> (that is,
+     * from the action on a board of a range).</p>
+     *
+     * @param b board to be explored by the miner in the next run
+     * @return exploration state of the current worker, in which no tile of the given board has been
+     * visited or scanned yet
+     */
+    public static Exploration getExploration(Board b) {
+        /* Reuse the exploration state of this worker instead of allocating a new one. */
+        Worker worker = (Worker) Thread.currentThread();
+        if (worker.exploration == null) {
+            worker.exploration = new Exploration(b);
+        } else {
+            worker.exploration.reset(b);
+        }
+
+        return worker.exploration;
+    }
+
+    /**
+     * Runs the given action on every board in the given range on this pool, and waits until all
+     * of them are finished
+     *
+     * @param from index of the first board in the range (inclusive)
+     * @param to index of the last board in the range (exclusive)
+     * @param action action on a board, given its index
+     */
+    public void invoke(int from, int to, IntConsumer action) {
+        pool.invoke(new RangeTask(from, to, action));
+    }
+
+    /**
+     * Runs the given action on every board in the given range on this pool, without waiting
+     *
+     * <p>The given handler is invoked with the failure of the range (if any), and the given
+     * completion is invoked once the whole range is finished, whether or not it failed.</p>
+     *
+     * @param from index of the first board in the range (inclusive)
+     * @param to index of the last board in the range (exclusive)
+     * @param action action on a board, given its index
+     * @param onFailure handler of the failure of the range
+     * @param onCompletion completion of the range
+     */
+    public void execute(int from, int to, IntConsumer action, Consumer<Throwable> onFailure,
+                        Runnable onCompletion) {
+        pool.execute(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                try {
+                    new RangeTask(from, to, action).invoke();
+                } catch (Throwable t) {
+                    onFailure.accept(t);
+                } finally {
+                    onCompletion.run();
+                }
+            }
+        });
+    }
+
+    /**
+     * Shuts down this pool once the ranges already submitted to it are finished
+     */
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Class implementing a worker thread of the pool, which owns the exploration state
+     * reused across the boards it runs on
+     */
+    private static class Worker extends ForkJoinWorkerThread {
+        /* Exploration state of this worker (null until its first board) */
+        private Exploration exploration;
+
+        /**
+         * Creates a worker thread of the given pool
+         *
+         * @param pool pool to which this worker belongs
+         */
+        private Worker(ForkJoinPool pool) {
+            super(pool);
+        }
+    }
+
+    /**
+     * Class implementing the task that runs an action on a range of boards, splitting the range
+     * in halves until it consists of a single board
+     */
+    private static class RangeTask extends RecursiveAction {
+        /* Version of the serialized form (ForkJoinTask is serializable, although no task is serialized) */
+        private static final long serialVersionUID = 1L;
+
+        /* Index of the first board in the range (inclusive) */
+        private final int from;
+        /* Index of the last board in the range (exclusive) */
+        private final int to;
+        /* Action on a board, given its index */
+        private final IntConsumer action;
+
+        /**
+         * Creates a task that runs the given action on the given range of boards
+         *
+         * @param from index of the first board in the range (inclusive)
+         * @param to index of the last board in the range (exclusive)
+         * @param action action on a board, given its index
+         */
+        private RangeTask(int from, int to, IntConsumer action) {
+            this.from = from;
+            this.to = to;
+            this.action = action;
+        }
+
+        /**
+         * Runs the action on the range of boards, splitting it if it has more than one board
+         */
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                action.accept(from);
+            } else if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new RangeTask(from, mid, action), new RangeTask(mid, to, action));
+            }
+        }
+    }
+}
@@ -0,0 +1,706 @@
+package headless;
+
+import gold_miner.Board;
+import gold_miner.BoardDefinition;
+import gold_miner.Miner;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.function.BiFunction;
+
+/**
+ * Class for activating the <b>Gold Miner system without the graphical user interface</b>
+ *
+ * <p>Only the back-end classes are used, so neither AWT nor Swing is ever loaded. This class
+ * is the entry point of the headless engine module and of its runtime image, and is also
+ * invoked by <code>GoldMiner --headless</code>.</p>
+ *
+ * <p>The rational agent is run on each board, and the metrics of each run (numbers of moves,
+ * scans, rotations, backtracks, and total actions, wall-clock time, and allocated bytes) are
+ * printed either as JSON objects (one per line) or as CSV rows.</p>
+ *
+ * <p>A directory of files of boards, or any of the batch options, runs the boards in parallel
+ * through a <code>BatchRunner</code>, in which case the results are printed in the order in which
+ * the runs finish. With <code>--mapped</code>, the boards are instead kept in memory-mapped files and
+ * run one at a time, in the order in which they are read.</p>
+ *
+ * <p>With <code>--monte-carlo</code>, the nonrational agent is instead evaluated on each board by
+ * simulating the given number of episodes in parallel through <code>MonteCarlo</code>, or, with
+ * <code>--markov</code>, by solving its Markov chain exactly through <code>MarkovAnalysis</code>.</p>
+ *
+ * <p>With <code>--generate</code>, the given number of random boards of the given dimension is
+ * instead written (in the format described in <code>BoardReader</code>, or, with <code>--binary</code>,
+ * in the format described in <code>BinaryBoardReader</code>) through a <code>BoardGenerator</code>, so
+ * that synthetic corpora can be created or piped to another run.</p>
+ *
+ * <p>Note that, although the back-end implementation uses a zero-based index,
+ * the command-line arguments and the files of boards follow a one-based index (similar
+ * to the front-end).</p>
+ */
+public class HeadlessGoldMiner {
+    /* Default maximum number of actions of each run of the nonrational agent */
+    private static final int DEFAULT_MAX_ACTIONS = 100000;
+    /* Default probability that a square tile of a generated board is a pit */
+    private static final double DEFAULT_PIT_DENSITY = 0.1;
+    /* Default probability that a square tile of a generated board is a beacon */
+    private static final double DEFAULT_BEACON_DENSITY = 0.05;
+
+    /* Usage of the command-line arguments */
+    private static final String USAGE = String.join("\n",
+            "Usage: HeadlessGoldMiner [options] <board file | board directory | ->",
+            "       (board files may be in the text or the binary format)",
+            "       HeadlessGoldMiner [options] <dimension> <gold row> <gold column>",
+            "       HeadlessGoldMiner --generate <count> [generator options] <dimension>",
+            "Options:",
+            "  --format json|csv                     output format (default: json)",
+            "  --trace none|counts|events|full       level of detail of the record of the actions",
+            "                                        (default: counts; with none, the counters of",
+            "                                        the actions are reported as null)",
+            "  --beacons \"<row> <col>, ...\"          beacons of a board given as arguments",
+            "  --pits \"<row> <col>, ...\"             pits of a board given as arguments",
+            "  --output <file>                       file to which the results are written",
+            "                                        (default: standard output)",
+            "  --mapped <directory>                  keep each board in a memory-mapped file in the",
+            "                                        given directory instead of on the heap",
+            "                                        (boards are run one at a time)",
+            "Batch options:",
+            "  --threads <n>                         number of worker threads",
+            "                                        (default: number of processors)",
+            "  --random                              also run the nonrational agent on every board",
+            "  --max-actions <n>                     maximum number of actions of each run of the",
+            "                                        nonrational agent (default: 100000)",
+            "  --seed <n>                            seed of the random decisions of the nonrational",
+            "                                        agent (default: unseeded)",
+            "  --monte-carlo <episodes>              estimate the success rate, pit death rate, and",
+            "                                        steps to gold of the nonrational agent on each",
+            "                                        board from the given number of episodes",
+            "  --markov                              compute the success probability and expected",
+            "                                        actions of the nonrational agent on each board",
+            "                                        exactly",
+            "Generator options:",
+            "  --pit-density <p>                     probability that a tile is a pit (default: 0.1)",
+            "  --beacon-density <p>                  probability that a tile is a beacon",
+            "                                        (default: 0.05)",
+            "  --gold uniform|far|corner             placement of the gold (default: uniform)",
+            "  --unsolvable reject|repair|keep       handling of the boards whose gold cannot be",
+            "                                        reached (default: reject)",
+            "  --binary                              write the boards in the binary format",
+            "  --seed <n>                            seed of the boards (default: unseeded)");
+
+    /**
+     * Empty constructor
+     */
+    public HeadlessGoldMiner() {
+
+    }
+
+    /**
+     * Activates the Gold Miner system without the graphical user interface, running the
+     * rational agent on each board and printing the metrics of each run
+     *
+     * <p>The board is either read from a file of boards (in the format described in either
+     * <code>BoardReader</code> or <code>BinaryBoardReader</code>; <code>-</code> stands for the
+     * standard input, whose format is likewise told from its first bytes) or given as arguments: the dimension of
+     * the board, followed by the row- and column-coordinates of the gold square tile, with the
+     * beacons and pits given as options.</p>
+     *
+     * @param args array of command-line arguments
+     */
+    public static void main(String[] args) {
+        String format = "json";
+        char traceLevel = Miner.TRACE_COUNTS;
+        String beacons = "";
+        String pits = "";
+        String output = null;
+        int threads = 0;
+        boolean isRandomIncluded = false;
+        int maxActions = DEFAULT_MAX_ACTIONS;
+        Long seed = null;
+        long numEpisodes = 0;
+        boolean isMarkov = false;
+        long numGenerated = 0;
+        double pitDensity = DEFAULT_PIT_DENSITY;
+        double beaconDensity = DEFAULT_BEACON_DENSITY;
+        char goldPlacement = BoardGenerator.GOLD_UNIFORM;
+        char solvability = BoardGenerator.REJECT;
+        boolean isBinary = false;
+        Path mappedDirectory = null;
+        ArrayList<String> operands = new ArrayList<String>();
+
+        /* Parse the options. */
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--format":
+                    format = getValue(args, ++i);
+                    if (!format.equals("json") && !format.equals("csv")) {
+                        exit("Unknown format: " + format);
+                    }
+                    break;
+                case "--trace":
+                    traceLevel = parseTraceLevel(getValue(args, ++i));
+                    break;
+                case "--beacons":
+                    beacons = getValue(args, ++i);
+                    break;
+                case "--pits":
+                    pits = getValue(args, ++i);
+                    break;
+                case "--output":
+                    output = getValue(args, ++i);
+                    break;
+                case "--threads":
+                    threads = (int) parsePositive(getValue(args, ++i), "threads");
+                    break;
+                case "--random":
+                    isRandomIncluded = true;
+                    break;
+                case "--max-actions":
+                    long actions = parsePositive(getValue(args, ++i), "max-actions");
+
+                    /* The counters of the actions of the nonrational agent are ints. */
+                    if (actions > Integer.MAX_VALUE) {
+                        exit("The value of --max-actions must be at most " + Integer.MAX_VALUE);
+                    }
+                    maxActions = (int) actions;
+                    break;
+                case "--markov":
+                    isMarkov = true;
+                    break;
+                case "--monte-carlo":
+                    numEpisodes = parsePositive(getValue(args, ++i), "monte-carlo");
+                    break;
+                case "--generate":
+                    numGenerated = parsePositive(getValue(args, ++i), "generate");
+                    break;
+                case "--pit-density":
+                    pitDensity = parseDensity(getValue(args, ++i), "pit-density");
+                    break;
+                case "--beacon-density":
+                    beaconDensity = parseDensity(getValue(args, ++i), "beacon-density");
+                    break;
+                case "--gold":
+                    goldPlacement = parseGoldPlacement(getValue(args, ++i));
+                    break;
+                case "--unsolvable":
+                    solvability = parseSolvability(getValue(args, ++i));
+                    break;
+                case "--mapped":
+                    mappedDirectory = Paths.get(getValue(args, ++i));
+                    break;
+                case "--binary":
+                    isBinary = true;
+                    break;
+                case "--seed":
+                    try {
+                        seed = Long.parseLong(getValue(args, ++i));
+                    } catch (NumberFormatException e) {
+                        exit("The value of --seed must be an integer");
+                    }
+                    break;
+                default:
+                    /* An unknown option would otherwise be mistaken for an operand. */
+                    if (args[i].startsWith("--")) {
+                        exit("Unknown option: " + args[i] + "\n" + USAGE);
+                    }
+
+                    operands.add(args[i]);
+            }
+        }
+
+        try {
+            PrintStream out = System.out;
+            if (output != null) {
+                out = new PrintStream(new BufferedOutputStream(new FileOutputStream(output)));
+            }
+
+            if (numGenerated > 0) {
+                if (operands.size() != 1) {
+                    exit(USAGE);
+                }
+
+                int dimension = (int) parsePositive(operands.get(0), "generate dimension");
+                if (dimension < 2 || pitDensity + beaconDensity > 1) {
+                    exit("The dimension must be at least 2 and the densities must add up to at most 1");
+                }
+
+                BoardGenerator generator = new BoardGenerator(seed == null ? new SplittableRandom().nextLong() : seed,
+                        numGenerated, dimension, pitDensity, beaconDensity, goldPlacement, solvability);
+                if (isBinary) {
+                    BinaryBoardWriter writer = new BinaryBoardWriter(Channels.newChannel(out));
+                    writer.writeAll(generator);
+                    writer.flush();
+                } else {
+                    BoardWriter writer = new BoardWriter(new OutputStreamWriter(out));
+                    writer.writeAll(generator);
+                    writer.flush();
+                }
+                out.close();
+                return;
+            }
+
+            boolean isDirectory = operands.size() == 1 && Files.isDirectory(Paths.get(operands.get(0)));
+            /* The nonrational agent is evaluated in parallel even if the boards are memory-mapped. */
+            if (threads == 0 && (numEpisodes > 0 || isMarkov
+                    || mappedDirectory == null && (isDirectory || isRandomIncluded))) {
+                threads = Runtime.getRuntime().availableProcessors();
+            }
+
+            if (numEpisodes > 0) {
+                MonteCarlo monteCarlo = new MonteCarlo(threads, maxActions);
+                SplittableRandom seeds = seed == null ? new SplittableRandom() : new SplittableRandom(seed);
+
+                /* The seed of the evaluation of each board is drawn in the order of the boards. */
+                String csvFormat = format;
+                long episodes = numEpisodes;
+                evaluateEach(operands, beacons, pits, MonteCarloResult.CSV_HEADER, format, mappedDirectory, out,
+                        (name, b) -> {
+                            MonteCarloResult result = monteCarlo.run(name, b, episodes, seeds.nextLong());
+                            return csvFormat.equals("csv") ? result.toCsv() : result.toJson();
+                        });
+                out.close();
+                return;
+            }
+
+            if (isMarkov) {
+                MarkovAnalysis analysis = new MarkovAnalysis(threads);
+
+                String csvFormat = format;
+                evaluateEach(operands, beacons, pits, MarkovResult.CSV_HEADER, format, mappedDirectory, out,
+                        (name, b) -> {
+                            MarkovResult result = analysis.run(name, b);
+                            return csvFormat.equals("csv") ? result.toCsv() : result.toJson();
+                        });
+                out.close();
+                return;
+            }
+
+            if (mappedDirectory != null) {
+                if (threads > 0) {
+                    exit("The boards kept in memory-mapped files are run one at a time, so --mapped cannot be "
+                            + "combined with --threads");
+                }
+
+                Solver solver = new Solver(traceLevel);
+                SplittableRandom random = seed == null ? new SplittableRandom() : new SplittableRandom(seed);
+
+                /* The boards are run one at a time; as in a batch, the stream of the run of the nonrational
+                agent on each board is split from the seed in the order of the boards. */
+                String csvFormat = format;
+                boolean isRandom = isRandomIncluded;
+                int limit = maxActions;
+                evaluateEach(operands, beacons, pits, SolverResult.CSV_HEADER, format, mappedDirectory, out,
+                        (name, b) -> {
+                            SolverResult result = solver.solve(name, b);
+                            String line = csvFormat.equals("csv") ? result.toCsv() : result.toJson();
+                            if (!isRandom) {
+                                return line;
+                            }
+
+                            result = solver.solveRandom(name, b, limit, random.split());
+                            return line + System.lineSeparator()
+                                    + (csvFormat.equals("csv") ? result.toCsv() : result.toJson());
+                        });
+                out.close();
+                return;
+            }
+
+            if (threads > 0) {
+                BatchRunner runner = new BatchRunner(new Solver(traceLevel), threads, isRandomIncluded,
+                        maxActions, format);
+                if (seed != null) {
+                    runner.setSeed(seed);
+                }
+
+                runBatch(operands, beacons, pits, runner, out);
+                out.close();
+                return;
+            }
+
+            if (operands.size() == 1 && !operands.get(0).equals("-")) {
+                /* The boards are read from a file (in either format). */
+                Path file = Paths.get(operands.get(0));
+                try (FileChannel in = FileChannel.open(file)) {
+                    run(BinaryBoardReader.open(file, in), new Solver(traceLevel), format, out);
+                }
+            } else if (operands.size() == 1) {
+                run(BinaryBoardReader.open(System.in), new Solver(traceLevel), format, out);
+            } else if (operands.size() == 3) {
+                /* The board is given as arguments, which are parsed like a file with one board. */
+                run(new BoardReader(new StringReader(toBoardFile(operands.get(0), operands.get(1), operands.get(2),
+                        beacons, pits))), new Solver(traceLevel), format, out);
+            } else {
+                exit(USAGE);
+            }
+
+            out.close();
+        } catch (IOException e) {
+            exit(e.getMessage());
+        }
+    }
+
+    /**
+     * Evaluates each of the boards given by the operands, one board at a time, and prints the result
+     * of the evaluation of a board as soon as it is finished
+     *
+     * @param operands operands of the command (either a file of boards, a directory of files of boards,
+     *                 <code>-</code> for the standard input, or the dimension of the board followed by the
+     *                 row- and column-coordinates of the gold square tile)
+     * @param beacons coordinates of the beacons of a board given as arguments, separated by commas
+     * @param pits coordinates of the pits of a board given as arguments, separated by commas
+     * @param csvHeader header of the CSV rows (printed only if the output format is CSV)
+     * @param format output format (either <code>json</code> or <code>csv</code>)
+     * @param mappedDirectory directory in which the memory-mapped files of the boards are created;
+     *                        <code>null</code> to keep the boards on the heap
+     * @param out stream to which the results are printed
+     * @param evaluation evaluation of a board (given its name), which returns the result as a line in the
+     *                   output format
+     * @throws IOException if the boards cannot be read, a board is malformed, or a memory-mapped file
+     * cannot be created
+     */
+    private static void evaluateEach(ArrayList<String> operands, String beacons, String pits, String csvHeader,
+                                     String format, Path mappedDirectory, PrintStream out,
+                                     BiFunction<String, Board, String> evaluation) throws IOException {
+        if (format.equals("csv")) {
+            out.println(csvHeader);
+        }
+
+        if (operands.size() == 1 && !operands.get(0).equals("-")) {
+            /* The boards are read from a file or from the files in a directory. */
+            for (Path file : BatchRunner.listFiles(Paths.get(operands.get(0)))) {
+                try (FileChannel in = FileChannel.open(file)) {
+                    evaluateEach(BinaryBoardReader.open(file, in), mappedDirectory, out, evaluation);
+                }
+            }
+        } else if (operands.size() == 1) {
+            evaluateEach(BinaryBoardReader.open(System.in), mappedDirectory, out, evaluation);
+        } else if (operands.size() == 3) {
+            evaluateEach(new BoardReader(new StringReader(toBoardFile(operands.get(0), operands.get(1),
+                    operands.get(2), beacons, pits))), mappedDirectory, out, evaluation);
+        } else {
+            exit(USAGE);
+        }
+    }
+
+    /**
+     * Evaluates each board of the given source, printing the result of the evaluation of a board
+     * as soon as it is finished
+     *
+     * @param boards source of the boards
+     * @param mappedDirectory directory in which the memory-mapped files of the boards are created;
+     *                        <code>null</code> to keep the boards on the heap
+     * @param out stream to which the results are printed
+     * @param evaluation evaluation of a board (given its name), which returns the result as a line in the
+     *                   output format
+     * @throws IOException if the boards cannot be read, a board is malformed, or a memory-mapped file
+     * cannot be created
+     */
+    private static void evaluateEach(BoardSource boards, Path mappedDirectory, PrintStream out,
+                                     BiFunction<String, Board, String> evaluation) throws IOException {
+        BoardDefinition definition;
+        while ((definition = boards.next()) != null) {
+            out.println(evaluate(definition, mappedDirectory, evaluation));
+            out.flush();
+        }
+    }
+
+    /**
+     * Creates the board described by the given definition, either on the heap or in a memory-mapped
+     * file (deleted after the evaluation) in the given directory, and returns its evaluation
+     *
+     * @param definition definition of the board
+     * @param mappedDirectory directory in which the memory-mapped file of the board is created;
+     *                        <code>null</code> to keep the board on the heap
+     * @param evaluation evaluation of the board (given its name)
+     * @param <T> type of the result of the evaluation
+     * @return result of the evaluation of the board
+     * @throws IOException if the memory-mapped file cannot be created
+     */
+    private static <T> T evaluate(BoardDefinition definition, Path mappedDirectory,
+                                  BiFunction<String, Board, T> evaluation) throws IOException {
+        if (mappedDirectory == null) {
+            return evaluation.apply(definition.getName(), definition.createBoard());
+        }
+
+        /* The file stays mapped after it is deleted, until the board is garbage-collected. */
+        Path file = Files.createTempFile(mappedDirectory, "board", ".tiles");
+        try {
+            return evaluation.apply(definition.getName(), definition.createBoard(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Runs the agents on the boards given by the operands in parallel, using the given batch runner
+     *
+     * @param operands operands of the command (either a file of boards, a directory of files of boards,
+     *                 <code>-</code> for the standard input, or the dimension of the board followed by the
+     *                 row- and column-coordinates of the gold square tile)
+     * @param beacons coordinates of the beacons of a board given as arguments, separated by commas
+     * @param pits coordinates of the pits of a board given as arguments, separated by commas
+     * @param runner batch runner
+     * @param out stream to which the metrics are printed
+     * @throws IOException if the boards cannot be read or a board is malformed
+     */
+    private static void runBatch(ArrayList<String> operands, String beacons, String pits, BatchRunner runner,
+                                 PrintStream out) throws IOException {
+        try {
+            if (operands.size() == 1 && !operands.get(0).equals("-")) {
+                /* The boards are read from a file or from the files in a directory. */
+                runner.run(BatchRunner.listFiles(Paths.get(operands.get(0))), out);
+                return;
+            }
+
+            runner.start(out);
+            try {
+                if (operands.size() == 1) {
+                    runner.submitAll(BinaryBoardReader.open(System.in), "stdin");
+                } else if (operands.size() == 3) {
+                    runner.submitAll(new BoardReader(new StringReader(toBoardFile(operands.get(0),
+                            operands.get(1), operands.get(2), beacons, pits))), "board");
+                } else {
+                    exit(USAGE);
+                }
+            } finally {
+                runner.finish();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exit("Interrupted");
+        } catch (IllegalStateException e) {
+            /* The first failure of a run is reported like any other error. */
+            exit(e.getMessage() + ": " + e.getCause());
+        }
+    }
+
+    /**
+     * Runs the rational agent on each board of the given source, printing the metrics of each
+     * run to the given stream as soon as the run is finished
+     *
+     * @param boards source of the boards
+     * @param solver solver that runs the rational agent
+     * @param format output format (either <code>json</code> or <code>csv</code>)
+     * @param out stream to which the metrics are printed
+     * @throws IOException if the boards cannot be read or a board is malformed
+     */
+    public static void run(BoardSource boards, Solver solver, String format, PrintStream out)
+            throws IOException {
+        run(boards, solver, format, null, out);
+    }
+
+    /**
+     * Runs the rational agent on each board of the given source, printing the metrics of each
+     * run to the given stream as soon as the run is finished
+     *
+     * <p>Given a directory, each board is kept in a memory-mapped file created in it (and deleted
+     * after the run) instead of on the heap, so that boards far larger than the heap can be
+     * explored.</p>
+     *
+     * @param boards source of the boards
+     * @param solver solver that runs the rational agent
+     * @param format output format (either <code>json</code> or <code>csv</code>)
+     * @param mappedDirectory directory in which the memory-mapped files of the boards are created;
+     *                        <code>null</code> to keep the boards on the heap
+     * @param out stream to which the metrics are printed
+     * @throws IOException if the boards cannot be read, a board is malformed, or a memory-mapped
+     * file cannot be created
+     */
+    public static void run(BoardSource boards, Solver solver, String format, Path mappedDirectory,
+                           PrintStream out) throws IOException {
+        if (format.equals("csv")) {
+            out.println(SolverResult.CSV_HEADER);
+        }
+
+        BoardDefinition definition;
+        while ((definition = boards.next()) != null) {
+            SolverResult result = evaluate(definition, mappedDirectory, solver::solve);
+            out.println(format.equals("csv") ? result.toCsv() : result.toJson());
+        }
+
+        out.flush();
+    }
+
+    /**
+     * Returns the character code of the trace level with the given name
+     *
+     * @param name name of the trace level (<code>none</code>, <code>counts</code>,
+     *             <code>events</code>, or <code>full</code>)
+     * @return character code of the trace level with the given name
+     */
+    public static char parseTraceLevel(String name) {
+        switch (name) {
+            case "none":
+                return Miner.TRACE_NONE;
+            case "counts":
+                return Miner.TRACE_COUNTS;
+            case "events":
+                return Miner.TRACE_EVENTS;
+            case "full":
+                return Miner.TRACE_FULL;
+        }
+
+        exit("Unknown trace level: " + name);
+
+        /* Unreachable code since the system exits */
+        return Miner.TRACE_COUNTS;
+    }
+
+    /**
+     * Returns the positive integer given as the value of an option
+     *
+     * @param value value of the option
+     * @param option name of the option (for the error message)
+     * @return positive integer given as the value of the option
+     */
+    private static long parsePositive(String value, String option) {
+        try {
+            long n = Long.parseLong(value);
+            if (n > 0) {
+                return n;
+            }
+        } catch (NumberFormatException e) {
+            /* Handled below together with the nonpositive values */
+        }
+
+        exit("The value of --" + option + " must be a positive integer");
+
+        /* Unreachable code since the system exits */
+        return 1;
+    }
+
+    /**
+     * Returns the probability given as the value of an option
+     *
+     * @param value value of the option
+     * @param option name of the option (for the error message)
+     * @return probability given as the value of the option
+     */
+    private static double parseDensity(String value, String option) {
+        try {
+            double p = Double.parseDouble(value);
+            if (p >= 0 && p <= 1) {
+                return p;
+            }
+        } catch (NumberFormatException e) {
+            /* Handled below together with the out-of-range values */
+        }
+
+        exit("The value of --" + option + " must be a number from 0 to 1");
+
+        /* Unreachable code since the system exits */
+        return 0;
+    }
+
+    /**
+     * Returns the character code of the gold placement policy with the given name
+     *
+     * @param name name of the policy (<code>uniform</code>, <code>far</code>, or <code>corner</code>)
+     * @return character code of the gold placement policy with the given name
+     */
+    private static char parseGoldPlacement(String name) {
+        switch (name) {
+            case "uniform":
+                return BoardGenerator.GOLD_UNIFORM;
+            case "far":
+                return BoardGenerator.GOLD_FAR;
+            case "corner":
+                return BoardGenerator.GOLD_CORNER;
+        }
+
+        exit("Unknown gold placement: " + name);
+
+        /* Unreachable code since the system exits */
+        return BoardGenerator.GOLD_UNIFORM;
+    }
+
+    /**
+     * Returns the character code of the handling of the unsolvable boards with the given name
+     *
+     * @param name name of the handling (<code>reject</code>, <code>repair</code>, or <code>keep</code>)
+     * @return character code of the handling of the unsolvable boards with the given name
+     */
+    private static char parseSolvability(String name) {
+        switch (name) {
+            case "reject":
+                return BoardGenerator.REJECT;
+            case "repair":
+                return BoardGenerator.REPAIR;
+            case "keep":
+                return BoardGenerator.UNCHECKED;
+        }
+
+        exit("Unknown handling of the unsolvable boards: " + name);
+
+        /* Unreachable code since the system exits */
+        return BoardGenerator.REJECT;
+    }
+
+    /**
+     * Returns the description (in the format of a file of boards) of the board given as
+     * command-line arguments
+     *
+     * @param dimension dimension of the board
+     * @param rGold row-coordinate of the gold square tile
+     * @param cGold column-coordinate of the gold square tile
+     * @param beacons coordinates of the beacons, separated by commas
+     * @param pits coordinates of the pits, separated by commas
+     * @return description of the board in the format of a file of boards
+     */
+    private static String toBoardFile(String dimension, String rGold, String cGold, String beacons,
+                                      String pits) {
+        StringBuilder board = new StringBuilder();
+        board.append("dimension ").append(dimension).append("\n");
+        board.append("gold ").append(rGold).append(" ").append(cGold).append("\n");
+
+        for (String beacon : beacons.split(",")) {
+            if (!beacon.trim().isEmpty()) {
+                board.append("beacon ").append(beacon.trim()).append("\n");
+            }
+        }
+
+        for (String pit : pits.split(",")) {
+            if (!pit.trim().isEmpty()) {
+                board.append("pit ").append(pit.trim()).append("\n");
+            }
+        }
+
+        return board.toString();
+    }
+
+    /**
+     * Returns the value of the option preceding the given position of the command-line arguments,
+     * terminating the system if the option is the last argument
+     *
+     * @param args array of command-line arguments
+     * @param i position of the value in the command-line arguments
+     * @return value of the option preceding the given position
+     */
+    private static String getValue(String[] args, int i) {
+        if (i >= args.length) {
+            exit("Missing value after " + args[i - 1]);
+        }
+
+        return args[i];
+    }
+
+    /**
+     * Prints the given message to the standard error stream and terminates the system
+     *
+     * @param message message describing the malformed input
+     */
+    private static void exit(String message) {
+        System.err.println(message);
+        System.exit(1);
+    }
+}
@@ -0,0 +1,524 @@
+package headless;
+
+import gold_miner.Board;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Class implementing the <b>exact analysis</b> of the nonrational agent on a board, which treats
+ * the agent as a Markov chain and solves for its success probability and its expected number of
+ * actions directly, instead of simulating its episodes
+ *
+ * <p>A state of the chain consists of the position of the miner and the direction to which it is
+ * facing. At each step, the miner moves, scans, or rotates, each with probability 1/3; a move that
+ * would take the miner out of bounds leaves it in place, and the gold square tile and the pits are
+ * absorbing. Since a scan never changes the state, it is eliminated from the equations, and the
+ * four states of each square tile (one per direction, linked by the clockwise rotation) are solved
+ * exactly in terms of the adjacent tiles. Every tile can reach an absorbing tile, so the miner is
+ * eventually absorbed with probability 1.</p>
+ *
+ * <p>Solving the four states of every tile in terms of the adjacent tiles is a block Jacobi
+ * iteration. Since the walk of the miner is diffusive (and not reversible, as a move keeps the
+ * direction to which the miner is facing), such an iteration (and likewise Gauss-Seidel) needs a
+ * number of sweeps that grows with the square of the dimension, and over-relaxing it diverges.
+ * Instead, the fixed point of the block Jacobi iteration is solved for by the biconjugate gradient
+ * stabilized method (BiCGSTAB), whose number of iterations grows roughly linearly with the
+ * dimension.</p>
+ *
+ * <p>The sweeps over the tiles and the dot products are split into bands of tiles on a
+ * work-stealing <code>ForkJoinPool</code>. The bands (and the order in which the partial sums are
+ * combined) depend only on the dimension of the board; hence, the results do not depend on the
+ * number of worker threads.</p>
+ *
+ * <p>Three quantities are solved for each state: the probability of reaching the gold square tile,
+ * the expected number of actions until the miner is absorbed, and the expected number of actions
+ * restricted to the episodes that reach the gold square tile (from which the expected number of
+ * actions given that the gold square tile is reached is obtained). Unlike the Monte Carlo
+ * evaluation, the number of actions is not capped.</p>
+ */
+public class MarkovAnalysis {
+    /* Number of worker threads */
+    private final int parallelism;
+
+    /* Residual (relative to the constant terms) below which a system is deemed solved */
+    private static final double TOLERANCE = 1e-12;
+    /* Maximum number of iterations per system */
+    private static final int MAX_ITERATIONS = 100000;
+    /* Number of tiles below which a band is no longer split */
+    private static final int TILES_PER_TASK = 1024;
+
+    /* Row and column offsets of a move in each direction, in clockwise order (right, down, left, up) */
+    private static final int[] ROW_OFFSET = {0, 1, 0, -1};
+    private static final int[] COL_OFFSET = {1, 0, -1, 0};
+
+    /* Codes of the states reached by a move that are not open states */
+    private static final int OUT_OF_BOUNDS = -1;
+    private static final int TO_GOLD = -2;
+    private static final int TO_PIT = -3;
+
+    /**
+     * Creates an exact analysis with the specified number of worker threads
+     *
+     * @param parallelism number of worker threads
+     */
+    public MarkovAnalysis(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Solves the Markov chain of the nonrational agent on the given board and returns the success
+     * probability and the expected numbers of actions of the agent
+     *
+     * @param name name identifying the board (empty if the board is unnamed)
+     * @param b board explored by the agent
+     * @return results of the analysis
+     */
+    public MarkovResult run(String name, Board b) {
+        long startTime = System.nanoTime();
+
+        Chain chain = new Chain(b);
+        double[][] values;
+
+        /* The solvers run within the pool, so that the bands of tiles are forked by its workers. */
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            values = pool.invoke(ForkJoinTask.adapt(() -> {
+                /* The success probabilities are needed by the actions restricted to the successful episodes. */
+                double[] success = chain.solve(0, null, 1);
+                return new double[][] {success, chain.solve(1, null, 0), chain.solve(1, success, 0)};
+            }));
+        } finally {
+            pool.shutdown();
+        }
+
+        double[] success = values[0];
+        double[] actions = values[1];
+        double[] actionsOnSuccess = values[2];
+
+        /* The miner starts on the upper-left tile, facing a random direction. */
+        double startSuccess = 0;
+        double startActions = 0;
+        double startActionsOnSuccess = 0;
+        for (int f = 0; f < 4; f++) {
+            startSuccess += success[f] / 4;
+            startActions += actions[f] / 4;
+            startActionsOnSuccess += actionsOnSuccess[f] / 4;
+        }
+
+        /* Without any pit, the miner is absorbed on the gold square tile with probability 1. Otherwise, a
+        probability within the tolerance of either end of its range is the residual of the solver, so
+        it is rounded to that end instead of being reported as an impossible outcome. */
+        if (!chain.hasPit || startSuccess > 1 - TOLERANCE) {
+            startSuccess = 1;
+        } else if (startSuccess < TOLERANCE) {
+            startSuccess = 0;
+        }
+
+        return new MarkovResult(name, b.getDimension(), startSuccess, startActions,
+                startSuccess == 0 ? 0 : startActionsOnSuccess / startSuccess, chain.numIterations,
+                chain.isConverged, System.nanoTime() - startTime);
+    }
+
+    /**
+     * Interface for a computation over a band of tiles, which returns a partial sum
+     */
+    private interface Kernel {
+        /**
+         * Performs the computation over the given band of tiles and returns its partial sum
+         *
+         * @param from index of the first tile in the band (inclusive)
+         * @param to index of the last tile in the band (exclusive)
+         * @return partial sum over the band
+         */
+        double run(int from, int to);
+    }
+
+    /**
+     * Class implementing the Markov chain of the nonrational agent on a board, whose states are
+     * indexed by the square tile (in row-major order) and then by the direction (in clockwise order)
+     */
+    private static class Chain {
+        /* Number of square tiles */
+        private final int numTiles;
+        /* State reached by a move from each state (or the code of a state that is not open) */
+        private final int[] next;
+        /* true for the square tiles that are absorbing (gold or pit); false, otherwise */
+        private final boolean[] isAbsorbing;
+        /* Colors of the square tiles on the checkerboard (parity of the sum of their coordinates) */
+        private final byte[] colors;
+        /* true if the board has at least one pit; false, otherwise */
+        private final boolean hasPit;
+
+        /* Total number of iterations over all the systems solved */
+        private int numIterations;
+        /* true if all the systems solved so far converged; false, otherwise */
+        private boolean isConverged;
+
+        /**
+         * Creates the Markov chain of the nonrational agent on the given board
+         *
+         * @param b board explored by the agent
+         */
+        private Chain(Board b) {
+            int dimension = b.getDimension();
+
+            numTiles = dimension * dimension;
+            isAbsorbing = new boolean[numTiles];
+            colors = new byte[numTiles];
+            boolean isPitFound = false;
+            for (int row = 0; row < dimension; row++) {
+                for (int col = 0; col < dimension; col++) {
+                    colors[row * dimension + col] = (byte) ((row + col) & 1);
+                    isAbsorbing[row * dimension + col] = b.getDesignation(row, col) == Board.GOLD
+                            || b.getDesignation(row, col) == Board.PIT;
+                    isPitFound |= b.getDesignation(row, col) == Board.PIT;
+                }
+            }
+            hasPit = isPitFound;
+
+            next = new int[numTiles * 4];
+            for (int row = 0; row < dimension; row++) {
+                for (int col = 0; col < dimension; col++) {
+                    for (int f = 0; f < 4; f++) {
+                        int nextRow = row + ROW_OFFSET[f];
+                        int nextCol = col + COL_OFFSET[f];
+                        int state = (row * dimension + col) * 4 + f;
+
+                        /* A move keeps the direction to which the miner is facing. */
+                        if (nextRow < 0 || nextRow >= dimension || nextCol < 0 || nextCol >= dimension) {
+                            next[state] = OUT_OF_BOUNDS;
+                        } else if (b.getDesignation(nextRow, nextCol) == Board.GOLD) {
+                            next[state] = TO_GOLD;
+                        } else if (b.getDesignation(nextRow, nextCol) == Board.PIT) {
+                            next[state] = TO_PIT;
+                        } else {
+                            next[state] = (nextRow * dimension + nextCol) * 4 + f;
+                        }
+                    }
+                }
+            }
+
+            numIterations = 0;
+            isConverged = true;
+        }
+
+        /**
+         * Solves for the values of the states, given the cost of each action and the value of
+         * the gold square tile (the value of a pit being 0)
+         *
+         * <p>The values satisfy <code>x = T x + c</code>, where <code>T x + c</code> solves the four
+         * states of every tile in terms of the adjacent tiles (see <code>sweep</code>). The system
+         * <code>(I - T) x = c</code> is solved via BiCGSTAB.</p>
+         *
+         * @param cost cost of each action (multiplied by the weights, if any)
+         * @param weights weights of the cost of the actions in each state (<code>null</code> if the
+         *                cost is the same in every state)
+         * @param goldValue value of the gold square tile
+         * @return values of the states
+         */
+        private double[] solve(double cost, double[] weights, double goldValue) {
+            int n = numTiles * 4;
+            double[] x = new double[n];
+            double[] r = new double[n];
+            double[] rHat = new double[n];
+            double[] p = new double[n];
+            double[] v = new double[n];
+            double[] s = new double[n];
+            double[] t = new double[n];
+
+            /* With x = 0, the residual is the constant term c. */
+            sweep(x, r, cost, weights, goldValue);
+            parallel((from, to) -> copy(r, rHat, from, to));
+
+            double normC = Math.sqrt(parallel((from, to) -> dot(r, r, from, to)));
+            if (normC == 0) {
+                return x;
+            }
+
+            double rho = 1;
+            double alpha = 1;
+            double omega = 1;
+
+            for (int i = 0; i < MAX_ITERATIONS; i++) {
+                numIterations++;
+
+                double rhoNext = parallel((from, to) -> dot(rHat, r, from, to));
+                double beta = (rhoNext / rho) * (alpha / omega);
+                rho = rhoNext;
+
+                /* p = r + beta (p - omega v) */
+                double b = beta;
+                double w = omega;
+                parallel((from, to) -> {
+                    for (int j = from * 4; j < to * 4; j++) {
+                        p[j] = r[j] + b * (p[j] - w * v[j]);
+                    }
+                    return 0;
+                });
+
+                multiply(p, v);
+                alpha = rho / parallel((from, to) -> dot(rHat, v, from, to));
+
+                /* s = r - alpha v */
+                double a = alpha;
+                parallel((from, to) -> {
+                    for (int j = from * 4; j < to * 4; j++) {
+                        s[j] = r[j] - a * v[j];
+                    }
+                    return 0;
+                });
+
+                if (Math.sqrt(parallel((from, to) -> dot(s, s, from, to))) <= TOLERANCE * normC) {
+                    parallel((from, to) -> {
+                        for (int j = from * 4; j < to * 4; j++) {
+                            x[j] += a * p[j];
+                        }
+                        return 0;
+                    });
+                    return x;
+                }
+
+                multiply(s, t);
+                omega = parallel((from, to) -> dot(t, s, from, to)) / parallel((from, to) -> dot(t, t, from, to));
+
+                /* x = x + alpha p + omega s, and r = s - omega t */
+                double o = omega;
+                double normR = Math.sqrt(parallel((from, to) -> {
+                    double sum = 0;
+                    for (int j = from * 4; j < to * 4; j++) {
+                        x[j] += a * p[j] + o * s[j];
+                        r[j] = s[j] - o * t[j];
+                        sum += r[j] * r[j];
+                    }
+                    return sum;
+                }));
+
+                if (normR <= TOLERANCE * normC) {
+                    return x;
+                }
+            }
+
+            isConverged = false;
+            return x;
+        }
+
+        /**
+         * Computes <code>y = (I - T) x</code>, that is, the linear part of the system
+         *
+         * @param x vector to be multiplied
+         * @param y vector to which the product is written
+         */
+        private void multiply(double[] x, double[] y) {
+            sweep(x, y, 0, null, 0);
+            parallel((from, to) -> {
+                for (int j = from * 4; j < to * 4; j++) {
+                    y[j] = x[j] - y[j];
+                }
+                return 0;
+            });
+        }
+
+        /**
+         * Computes <code>y = T x + c</code> by a red-black Gauss-Seidel sweep: the tiles of the first
+         * color are solved in terms of <code>x</code>, and then the tiles of the second color in terms
+         * of the tiles of the first color just solved
+         *
+         * <p>A move always leads to a tile of the other color, so the tiles of one color are solved
+         * independently of each other, in parallel.</p>
+         *
+         * @param x values of the states
+         * @param y vector to which the solved values are written (0 for the absorbing tiles)
+         * @param cost cost of each action (multiplied by the weights, if any)
+         * @param weights weights of the cost of the actions in each state (<code>null</code> if the
+         *                cost is the same in every state)
+         * @param goldValue value of the gold square tile
+         */
+        private void sweep(double[] x, double[] y, double cost, double[] weights, double goldValue) {
+            parallel((from, to) -> solveTiles(x, y, cost, weights, goldValue, 0, from, to));
+            parallel((from, to) -> solveTiles(y, y, cost, weights, goldValue, 1, from, to));
+        }
+
+        /**
+         * Solves the four states of every tile of the given color in a band in terms of the values
+         * of the adjacent tiles
+         *
+         * <p>In each direction <code>f</code>, the value of a state satisfies
+         * <code>y[f] = u[f] + v[f] * y[f + 1]</code>: after eliminating the scan (which keeps the
+         * state), the move and the rotation each occur with probability 1/2. If the move stays
+         * within the board, <code>u[f]</code> is half the sum of the cost of the three actions and
+         * the value of the state reached by the move, and <code>v[f]</code> is 1/2; otherwise,
+         * <code>u[f]</code> is the cost of the three actions, and <code>v[f]</code> is 1. The cycle
+         * of the four directions is then solved exactly.</p>
+         *
+         * @param x values of the states
+         * @param y vector to which the solved values are written (0 for the absorbing tiles)
+         * @param cost cost of each action (multiplied by the weights, if any)
+         * @param weights weights of the cost of the actions in each state (<code>null</code> if the
+         *                cost is the same in every state)
+         * @param goldValue value of the gold square tile
+         * @param color color of the square tiles to be solved
+         * @param from index of the first tile in the band (inclusive)
+         * @param to index of the last tile in the band (exclusive)
+         * @return 0 (no partial sum is computed)
+         */
+        private double solveTiles(double[] x, double[] y, double cost, double[] weights, double goldValue,
+                                  int color, int from, int to) {
+            for (int tile = from; tile < to; tile++) {
+                int state = tile * 4;
+
+                if (colors[tile] != color) {
+                    continue;
+                }
+
+                if (isAbsorbing[tile]) {
+                    y[state] = 0;
+                    y[state + 1] = 0;
+                    y[state + 2] = 0;
+                    y[state + 3] = 0;
+                    continue;
+                }
+
+                double u0 = getConstant(x, cost, weights, goldValue, state);
+                double u1 = getConstant(x, cost, weights, goldValue, state + 1);
+                double u2 = getConstant(x, cost, weights, goldValue, state + 2);
+                double u3 = getConstant(x, cost, weights, goldValue, state + 3);
+                double v0 = next[state] == OUT_OF_BOUNDS ? 1 : 0.5;
+                double v1 = next[state + 1] == OUT_OF_BOUNDS ? 1 : 0.5;
+                double v2 = next[state + 2] == OUT_OF_BOUNDS ? 1 : 0.5;
+                double v3 = next[state + 3] == OUT_OF_BOUNDS ? 1 : 0.5;
+
+                /* Unroll the cycle once around to express the first value in terms of itself. */
+                double y0 = (u0 + v0 * (u1 + v1 * (u2 + v2 * u3))) / (1 - v0 * v1 * v2 * v3);
+                y[state + 3] = u3 + v3 * y0;
+                y[state + 2] = u2 + v2 * y[state + 3];
+                y[state + 1] = u1 + v1 * y[state + 2];
+                y[state] = y0;
+            }
+
+            return 0;
+        }
+
+        /**
+         * Returns the constant term <code>u</code> of the given state in terms of the values
+         * of the states
+         *
+         * @param x values of the states
+         * @param cost cost of each action (multiplied by the weights, if any)
+         * @param weights weights of the cost of the actions in each state (<code>null</code> if the
+         *                cost is the same in every state)
+         * @param goldValue value of the gold square tile
+         * @param state index of the state
+         * @return constant term of the given state
+         */
+        private double getConstant(double[] x, double cost, double[] weights, double goldValue, int state) {
+            /* Cost of the three actions (move, scan, and rotate) per step, after eliminating the scan */
+            double actionCost = 3 * (weights == null ? cost : cost * weights[state]);
+
+            switch (next[state]) {
+                case OUT_OF_BOUNDS:
+                    return actionCost;
+                case TO_GOLD:
+                    return (actionCost + goldValue) / 2;
+                case TO_PIT:
+                    return actionCost / 2;
+                default:
+                    return (actionCost + x[next[state]]) / 2;
+            }
+        }
+
+        /**
+         * Copies the states of a band of tiles
+         *
+         * @param source vector to be copied
+         * @param target vector to which the states are copied
+         * @param from index of the first tile in the band (inclusive)
+         * @param to index of the last tile in the band (exclusive)
+         * @return 0 (no partial sum is computed)
+         */
+        private static double copy(double[] source, double[] target, int from, int to) {
+            System.arraycopy(source, from * 4, target, from * 4, (to - from) * 4);
+            return 0;
+        }
+
+        /**
+         * Returns the dot product of two vectors over the states of a band of tiles
+         *
+         * @param a first vector
+         * @param b second vector
+         * @param from index of the first tile in the band (inclusive)
+         * @param to index of the last tile in the band (exclusive)
+         * @return dot product of the two vectors over the band
+         */
+        private static double dot(double[] a, double[] b, int from, int to) {
+            double sum = 0;
+            for (int j = from * 4; j < to * 4; j++) {
+                sum += a[j] * b[j];
+            }
+
+            return sum;
+        }
+
+        /**
+         * Runs the given computation over all the tiles, in bands forked within the current pool,
+         * and returns the sum of the partial sums
+         *
+         * @param kernel computation over a band of tiles
+         * @return sum of the partial sums
+         */
+        private double parallel(Kernel kernel) {
+            return new BandTask(kernel, 0, numTiles).invoke();
+        }
+    }
+
+    /**
+     * Class implementing the task that runs a computation over a band of tiles, splitting the band
+     * in halves until it has at most <code>TILES_PER_TASK</code> tiles
+     */
+    private static class BandTask extends RecursiveTask<Double> {
+        /* Version of the serialized form (ForkJoinTask is serializable, although no task is serialized) */
+        private static final long serialVersionUID = 1L;
+
+        /* Computation over a band of tiles */
+        private final Kernel kernel;
+        /* Index of the first tile in the band (inclusive) */
+        private final int from;
+        /* Index of the last tile in the band (exclusive) */
+        private final int to;
+
+        /**
+         * Creates a task that runs the given computation over the given band of tiles
+         *
+         * @param kernel computation over a band of tiles
+         * @param from index of the first tile in the band (inclusive)
+         * @param to index of the last tile in the band (exclusive)
+         */
+        private BandTask(Kernel kernel, int from, int to) {
+            this.kernel = kernel;
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * Runs the computation over the band, splitting it if it has more than
+         * <code>TILES_PER_TASK</code> tiles, and returns the sum of the partial sums
+         *
+         * @return sum of the partial sums over the band
+         */
+        @Override
+        protected Double compute() {
+            if (to - from <= TILES_PER_TASK) {
+                return kernel.run(from, to);
+            }
+
+            int mid = (from + to) >>> 1;
+            BandTask second = new BandTask(kernel, mid, to);
+            second.fork();
+            double first = new BandTask(kernel, from, mid).compute();
+
+            /* The partial sums are always combined in the same order. */
+            return first + second.join();
+        }
+    }
+}
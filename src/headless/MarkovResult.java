@@ -0,0 +1,159 @@
+package headless;
+
+/**
+ * Class implementing the <b>results of the exact analysis</b> of the nonrational agent on a board,
+ * which can be written as a JSON object or as a CSV row
+ *
+ * <p>Since the miner is eventually absorbed with probability 1, the probability of falling on
+ * a pit is the complement of the success probability. On a board without any pit, the success
+ * probability is exactly 1, so the probability of falling on a pit is exactly 0.</p>
+ */
+public class MarkovResult {
+    /* Name identifying the board (empty if the board is unnamed) */
+    private final String name;
+    /* Dimension of the board */
+    private final int dimension;
+
+    /* Probability that the miner reaches the gold square tile */
+    private final double successProbability;
+    /* Expected number of actions until the miner reaches the gold square tile or falls on a pit */
+    private final double expectedActions;
+    /* Expected number of actions given that the miner reaches the gold square tile */
+    private final double expectedActionsToGold;
+
+    /* Number of iterations of the iterative solver */
+    private final int numIterations;
+    /* true if the iterative solver converged; false, otherwise */
+    private final boolean isConverged;
+    /* Wall-clock time of the analysis, in nanoseconds */
+    private final long wallTime;
+
+    /**
+     * Header of the CSV rows returned by <code>toCsv</code>
+     */
+    public static final String CSV_HEADER = "board,dimension,success_probability,pit_death_probability,"
+            + "expected_actions,expected_actions_to_gold,iterations,converged,wall_time_ns";
+
+    /**
+     * Creates the results of the exact analysis of the nonrational agent
+     *
+     * @param name name identifying the board (empty if the board is unnamed)
+     * @param dimension dimension of the board
+     * @param successProbability probability that the miner reaches the gold square tile
+     * @param expectedActions expected number of actions until the miner reaches the gold square
+     *                        tile or falls on a pit
+     * @param expectedActionsToGold expected number of actions given that the miner reaches the gold
+     *                              square tile (0 if it cannot be reached)
+     * @param numIterations number of iterations of the iterative solver
+     * @param isConverged <code>true</code> if the iterative solver converged; <code>false</code>,
+     *                    otherwise
+     * @param wallTime wall-clock time of the analysis, in nanoseconds
+     */
+    public MarkovResult(String name, int dimension, double successProbability, double expectedActions,
+                        double expectedActionsToGold, int numIterations, boolean isConverged, long wallTime) {
+        this.name = name;
+        this.dimension = dimension;
+        this.successProbability = successProbability;
+        this.expectedActions = expectedActions;
+        this.expectedActionsToGold = expectedActionsToGold;
+        this.numIterations = numIterations;
+        this.isConverged = isConverged;
+        this.wallTime = wallTime;
+    }
+
+    /**
+     * Returns the probability that the miner reaches the gold square tile
+     *
+     * @return probability that the miner reaches the gold square tile
+     */
+    public double getSuccessProbability() {
+        return successProbability;
+    }
+
+    /**
+     * Returns the probability that the miner falls on a pit
+     *
+     * @return probability that the miner falls on a pit
+     */
+    public double getPitDeathProbability() {
+        return 1 - successProbability;
+    }
+
+    /**
+     * Returns the expected number of actions until the miner reaches the gold square tile or
+     * falls on a pit
+     *
+     * @return expected number of actions until the miner reaches the gold square tile or falls
+     * on a pit
+     */
+    public double getExpectedActions() {
+        return expectedActions;
+    }
+
+    /**
+     * Returns the expected number of actions given that the miner reaches the gold square tile
+     * (0 if it cannot be reached)
+     *
+     * @return expected number of actions given that the miner reaches the gold square tile
+     */
+    public double getExpectedActionsToGold() {
+        return expectedActionsToGold;
+    }
+
+    /**
+     * Returns the number of iterations of the iterative solver
+     *
+     * @return number of iterations of the iterative solver
+     */
+    public int getNumIterations() {
+        return numIterations;
+    }
+
+    /**
+     * Returns <code>true</code> if the iterative solver converged; <code>false</code>, otherwise
+     *
+     * @return <code>true</code> if the iterative solver converged; <code>false</code>, otherwise
+     */
+    public boolean isConverged() {
+        return isConverged;
+    }
+
+    /**
+     * Returns the wall-clock time of the analysis, in nanoseconds
+     *
+     * @return wall-clock time of the analysis, in nanoseconds
+     */
+    public long getWallTime() {
+        return wallTime;
+    }
+
+    /**
+     * Returns a JSON object (on a single line) containing the results of this analysis
+     *
+     * @return JSON object containing the results of this analysis
+     */
+    public String toJson() {
+        return "{\"board\":\"" + SolverResult.escapeJson(name) + "\""
+                + ",\"dimension\":" + dimension
+                + ",\"success_probability\":" + successProbability
+                + ",\"pit_death_probability\":" + getPitDeathProbability()
+                + ",\"expected_actions\":" + expectedActions
+                + ",\"expected_actions_to_gold\":" + expectedActionsToGold
+                + ",\"iterations\":" + numIterations
+                + ",\"converged\":" + isConverged
+                + ",\"wall_time_ns\":" + wallTime
+                + "}";
+    }
+
+    /**
+     * Returns a CSV row containing the results of this analysis, in the order of the columns
+     * of <code>CSV_HEADER</code>
+     *
+     * @return CSV row containing the results of this analysis
+     */
+    public String toCsv() {
+        return SolverResult.escapeCsv(name) + "," + dimension + "," + successProbability + ","
+                + getPitDeathProbability() + "," + expectedActions + "," + expectedActionsToGold + ","
+                + numIterations + "," + isConverged + "," + wallTime;
+    }
+}
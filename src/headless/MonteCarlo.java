@@ -0,0 +1,183 @@
+package headless;
+
+import gold_miner.Board;
+import gold_miner.Miner;
+import gold_miner.RandomMiner;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Class implementing the <b>Monte Carlo evaluation</b> of the nonrational agent, which simulates
+ * a large number of its episodes on a board in parallel and estimates its success rate, its pit
+ * death rate, and the distribution of its number of actions
+ *
+ * <p>The episodes are split recursively across a work-stealing <code>ForkJoinPool</code> into tasks
+ * of a fixed number of episodes. Each task draws the decisions of its episodes from its own stream,
+ * split from a source with the given seed along the same recursion; hence, the outcome of every
+ * episode depends only on the seed, and the estimates are identical regardless of the number of
+ * worker threads.</p>
+ *
+ * <p>Each worker thread owns a nonrational miner (which records neither its path stack nor its
+ * actions) and tallies the outcomes of its episodes in primitive counters and a histogram, which
+ * are combined once all the episodes are finished. Thus, an episode does not allocate any
+ * memory.</p>
+ */
+public class MonteCarlo {
+    /* Number of worker threads */
+    private final int parallelism;
+    /* Maximum number of actions of each episode */
+    private final int maxActions;
+
+    /* Number of episodes below which a task is no longer split */
+    private static final int EPISODES_PER_TASK = 1024;
+
+    /**
+     * Creates a Monte Carlo evaluation with the specified number of worker threads and maximum
+     * number of actions of each episode
+     *
+     * @param parallelism number of worker threads
+     * @param maxActions maximum number of actions of each episode
+     */
+    public MonteCarlo(int parallelism, int maxActions) {
+        this.parallelism = parallelism;
+        this.maxActions = maxActions;
+    }
+
+    /**
+     * Simulates the given number of episodes of the nonrational agent on the given board and
+     * returns the estimates
+     *
+     * @param name name identifying the board (empty if the board is unnamed)
+     * @param b board explored by the agent
+     * @param numEpisodes number of episodes
+     * @param seed seed of the source of the random decisions of the agent
+     * @return estimates of the evaluation
+     */
+    public MonteCarloResult run(String name, Board b, long numEpisodes, long seed) {
+        /* The workers are kept so that their tallies can be combined after the episodes. */
+        ConcurrentLinkedQueue<Worker> workers = new ConcurrentLinkedQueue<Worker>();
+        ForkJoinPool pool = new ForkJoinPool(parallelism, p -> {
+            Worker worker = new Worker(p);
+            workers.add(worker);
+            return worker;
+        }, null, false);
+
+        long startTime = System.nanoTime();
+        try {
+            pool.invoke(new EpisodeTask(b, 0, numEpisodes, new SplittableRandom(seed)));
+        } finally {
+            pool.shutdown();
+        }
+        long wallTime = System.nanoTime() - startTime;
+
+        long numSuccess = 0;
+        long numFail = 0;
+        StepHistogram steps = new StepHistogram();
+        for (Worker worker : workers) {
+            numSuccess += worker.numSuccess;
+            numFail += worker.numFail;
+            steps.merge(worker.steps);
+        }
+
+        return new MonteCarloResult(name, b.getDimension(), numEpisodes, numSuccess, numFail, steps, wallTime);
+    }
+
+    /**
+     * Class implementing a worker thread of the pool, which owns the nonrational miner reused
+     * across its episodes and the tallies of their outcomes
+     */
+    private static class Worker extends ForkJoinWorkerThread {
+        /* Nonrational miner of this worker (null until its first episode) */
+        private RandomMiner miner;
+        /* Number of episodes in which the miner reached the gold square tile */
+        private long numSuccess;
+        /* Number of episodes in which the miner fell on a pit */
+        private long numFail;
+        /* Numbers of actions of the episodes in which the miner reached the gold square tile */
+        private final StepHistogram steps;
+
+        /**
+         * Creates a worker thread of the given pool
+         *
+         * @param pool pool to which this worker belongs
+         */
+        private Worker(ForkJoinPool pool) {
+            super(pool);
+            steps = new StepHistogram();
+        }
+    }
+
+    /**
+     * Class implementing the task that simulates a range of episodes, splitting the range in
+     * halves until it has at most <code>EPISODES_PER_TASK</code> episodes
+     */
+    private class EpisodeTask extends RecursiveAction {
+        /* Version of the serialized form (ForkJoinTask is serializable, although no task is serialized) */
+        private static final long serialVersionUID = 1L;
+
+        /* Board explored by the agent */
+        private final Board b;
+        /* Index of the first episode in the range (inclusive) */
+        private final long from;
+        /* Index of the last episode in the range (exclusive) */
+        private final long to;
+        /* Source of the random decisions of the episodes in the range */
+        private final SplittableRandom random;
+
+        /**
+         * Creates a task that simulates the given range of episodes
+         *
+         * @param b board explored by the agent
+         * @param from index of the first episode in the range (inclusive)
+         * @param to index of the last episode in the range (exclusive)
+         * @param random source of the random decisions of the episodes in the range
+         */
+        private EpisodeTask(Board b, long from, long to, SplittableRandom random) {
+            this.b = b;
+            this.from = from;
+            this.to = to;
+            this.random = random;
+        }
+
+        /**
+         * Simulates the range of episodes, splitting it if it has more than
+         * <code>EPISODES_PER_TASK</code> episodes
+         */
+        @Override
+        protected void compute() {
+            if (to - from > EPISODES_PER_TASK) {
+                long mid = (from + to) >>> 1;
+
+                /* The second half is given a new stream before the first half draws from this one. */
+                SplittableRandom second = random.split();
+                invokeAll(new EpisodeTask(b, from, mid, random), new EpisodeTask(b, mid, to, second));
+                return;
+            }
+
+            Worker worker = (Worker) Thread.currentThread();
+            if (worker.miner == null) {
+                /* The source is a placeholder since it is replaced before every episode. */
+                worker.miner = new RandomMiner(new SplittableRandom(0), Miner.TRACE_COUNTS);
+            }
+
+            RandomMiner rm = worker.miner;
+            for (long i = from; i < to; i++) {
+                rm.reset(random);
+
+                switch (rm.searchForGold(b, maxActions)) {
+                    case RandomMiner.SUCCESS:
+                        worker.numSuccess++;
+                        worker.steps.record((long) rm.getNumMoves() + rm.getNumScans() + rm.getNumRotations());
+                        break;
+                    case RandomMiner.FAIL:
+                        worker.numFail++;
+                        break;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package headless;
+
+/**
+ * Class implementing the <b>estimates of a Monte Carlo evaluation</b> of the nonrational agent on
+ * a board, which can be written as a JSON object or as a CSV row
+ *
+ * <p>Each episode ends in one of three ways: the miner reaches the gold square tile, falls on
+ * a pit, or runs out of actions. The distribution of the number of actions (steps) is taken
+ * over the episodes in which the miner reached the gold square tile.</p>
+ */
+public class MonteCarloResult {
+    /* Name identifying the board (empty if the board is unnamed) */
+    private final String name;
+    /* Dimension of the board */
+    private final int dimension;
+
+    /* Number of episodes */
+    private final long numEpisodes;
+    /* Number of episodes in which the miner reached the gold square tile */
+    private final long numSuccess;
+    /* Number of episodes in which the miner fell on a pit */
+    private final long numFail;
+    /* Number of episodes in which the miner ran out of actions */
+    private final long numExhausted;
+
+    /* Numbers of actions of the episodes in which the miner reached the gold square tile */
+    private final StepHistogram steps;
+    /* Wall-clock time of the evaluation, in nanoseconds */
+    private final long wallTime;
+
+    /**
+     * Header of the CSV rows returned by <code>toCsv</code>
+     */
+    public static final String CSV_HEADER = "board,dimension,episodes,successes,pit_deaths,exhausted,"
+            + "success_rate,pit_death_rate,steps_mean,steps_min,steps_p50,steps_p90,steps_p99,steps_max,"
+            + "wall_time_ns";
+
+    /**
+     * Creates the estimates of a Monte Carlo evaluation of the nonrational agent
+     *
+     * @param name name identifying the board (empty if the board is unnamed)
+     * @param dimension dimension of the board
+     * @param numEpisodes number of episodes
+     * @param numSuccess number of episodes in which the miner reached the gold square tile
+     * @param numFail number of episodes in which the miner fell on a pit
+     * @param steps numbers of actions of the episodes in which the miner reached the gold square tile
+     * @param wallTime wall-clock time of the evaluation, in nanoseconds
+     */
+    public MonteCarloResult(String name, int dimension, long numEpisodes, long numSuccess, long numFail,
+                            StepHistogram steps, long wallTime) {
+        this.name = name;
+        this.dimension = dimension;
+        this.numEpisodes = numEpisodes;
+        this.numSuccess = numSuccess;
+        this.numFail = numFail;
+        this.numExhausted = numEpisodes - numSuccess - numFail;
+        this.steps = steps;
+        this.wallTime = wallTime;
+    }
+
+    /**
+     * Returns the name identifying the board (empty if the board is unnamed)
+     *
+     * @return name identifying the board
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the number of episodes
+     *
+     * @return number of episodes
+     */
+    public long getNumEpisodes() {
+        return numEpisodes;
+    }
+
+    /**
+     * Returns the number of episodes in which the miner reached the gold square tile
+     *
+     * @return number of episodes in which the miner reached the gold square tile
+     */
+    public long getNumSuccess() {
+        return numSuccess;
+    }
+
+    /**
+     * Returns the number of episodes in which the miner fell on a pit
+     *
+     * @return number of episodes in which the miner fell on a pit
+     */
+    public long getNumFail() {
+        return numFail;
+    }
+
+    /**
+     * Returns the number of episodes in which the miner ran out of actions
+     *
+     * @return number of episodes in which the miner ran out of actions
+     */
+    public long getNumExhausted() {
+        return numExhausted;
+    }
+
+    /**
+     * Returns the fraction of the episodes in which the miner reached the gold square tile
+     *
+     * @return fraction of the episodes in which the miner reached the gold square tile
+     */
+    public double getSuccessRate() {
+        return numEpisodes == 0 ? 0 : (double) numSuccess / numEpisodes;
+    }
+
+    /**
+     * Returns the fraction of the episodes in which the miner fell on a pit
+     *
+     * @return fraction of the episodes in which the miner fell on a pit
+     */
+    public double getPitDeathRate() {
+        return numEpisodes == 0 ? 0 : (double) numFail / numEpisodes;
+    }
+
+    /**
+     * Returns the numbers of actions of the episodes in which the miner reached the gold square tile
+     *
+     * @return numbers of actions of the episodes in which the miner reached the gold square tile
+     */
+    public StepHistogram getSteps() {
+        return steps;
+    }
+
+    /**
+     * Returns the wall-clock time of the evaluation, in nanoseconds
+     *
+     * @return wall-clock time of the evaluation, in nanoseconds
+     */
+    public long getWallTime() {
+        return wallTime;
+    }
+
+    /**
+     * Returns a JSON object (on a single line) containing the estimates of this evaluation
+     *
+     * @return JSON object containing the estimates of this evaluation
+     */
+    public String toJson() {
+        return "{\"board\":\"" + SolverResult.escapeJson(name) + "\""
+                + ",\"dimension\":" + dimension
+                + ",\"episodes\":" + numEpisodes
+                + ",\"successes\":" + numSuccess
+                + ",\"pit_deaths\":" + numFail
+                + ",\"exhausted\":" + numExhausted
+                + ",\"success_rate\":" + getSuccessRate()
+                + ",\"pit_death_rate\":" + getPitDeathRate()
+                + ",\"steps_mean\":" + steps.getMean()
+                + ",\"steps_min\":" + steps.getMin()
+                + ",\"steps_p50\":" + steps.getPercentile(50)
+                + ",\"steps_p90\":" + steps.getPercentile(90)
+                + ",\"steps_p99\":" + steps.getPercentile(99)
+                + ",\"steps_max\":" + steps.getMax()
+                + ",\"wall_time_ns\":" + wallTime
+                + "}";
+    }
+
+    /**
+     * Returns a CSV row containing the estimates of this evaluation, in the order of the columns
+     * of <code>CSV_HEADER</code>
+     *
+     * @return CSV row containing the estimates of this evaluation
+     */
+    public String toCsv() {
+        return SolverResult.escapeCsv(name) + "," + dimension + "," + numEpisodes + "," + numSuccess
+                + "," + numFail + "," + numExhausted + "," + getSuccessRate() + "," + getPitDeathRate()
+                + "," + steps.getMean() + "," + steps.getMin() + "," + steps.getPercentile(50)
+                + "," + steps.getPercentile(90) + "," + steps.getPercentile(99) + "," + steps.getMax()
+                + "," + wallTime;
+    }
+}
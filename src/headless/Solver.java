@@ -0,0 +1,181 @@
+package headless;
+
+import gold_miner.Board;
+import gold_miner.BoardDefinition;
+import gold_miner.Exploration;
+import gold_miner.GameMaster;
+import gold_miner.Miner;
+import gold_miner.RandomMiner;
+
+import java.lang.management.ManagementFactory;
+import java.util.SplittableRandom;
+
+/**
+ * Class implementing the <b>solver</b> that runs an agent (rational or nonrational) on a board
+ * without the graphical user interface and measures the run
+ *
+ * <p>Besides the counters of the agent, the wall-clock time of the search and the number
+ * of bytes it allocated on the current thread are measured. Only the search itself is
+ * measured; the creation of the board is not.</p>
+ *
+ * <p>The search of the rational agent is preceded by a check of whether the gold square tile
+ * can be reached at all, so that an invalid board layout is reported (with no actions) without
+ * exploring every reachable tile. The check is included in the measurements.</p>
+ */
+public class Solver {
+    /* Level of detail with which the actions of the agent are recorded */
+    private final char traceLevel;
+
+    /**
+     * Creates a solver that runs the agents with the specified trace level
+     *
+     * <p>Since only the counters are reported, the trace level is usually
+     * <code>Miner.TRACE_COUNTS</code>; more detailed trace levels can be used to measure
+     * the cost of recording the actions. With <code>Miner.TRACE_NONE</code>, the agents keep no
+     * counters, so the results only report the outcome and the measurements of each run.</p>
+     *
+     * @param traceLevel character code specifying the level of detail of the record
+     *                   of the actions of the agent
+     */
+    public Solver(char traceLevel) {
+        this.traceLevel = traceLevel;
+    }
+
+    /**
+     * Creates the board described by the given definition, runs the rational agent on it,
+     * and returns the metrics of the run
+     *
+     * @param definition definition of the board
+     * @return metrics of the run
+     */
+    public SolverResult solve(BoardDefinition definition) {
+        return solve(definition.getName(), definition.createBoard());
+    }
+
+    /**
+     * Runs the rational agent on the given board and returns the metrics of the run
+     *
+     * @param name name identifying the board (empty if the board is unnamed)
+     * @param b board explored by the agent
+     * @return metrics of the run
+     */
+    public SolverResult solve(String name, Board b) {
+        return solve(name, new Exploration(b));
+    }
+
+    /**
+     * Runs the rational agent using the given exploration state (in which no tile has been
+     * visited or scanned yet) and returns the metrics of the run
+     *
+     * @param name name identifying the board (empty if the board is unnamed)
+     * @param exploration exploration state of the agent
+     * @return metrics of the run
+     */
+    public SolverResult solve(String name, Exploration exploration) {
+        Board b;
+        b = exploration.getBoard();
+
+        long startBytes = getAllocatedBytes();
+        long startTime = System.nanoTime();
+
+        /* A board whose gold square tile cannot be reached is rejected before the search. */
+        Miner m;
+        m = new Miner(exploration);
+        if (b.isGoldReachable()) {
+            m.searchForGold(b, traceLevel);
+        } else {
+            m.reportInvalidLayout(traceLevel);
+        }
+
+        long wallTime = System.nanoTime() - startTime;
+        long allocatedBytes = Allocations.THREADS == null ? -1 : getAllocatedBytes() - startBytes;
+
+        /* The search ends on the gold square tile unless the board layout is invalid. */
+        boolean isGoldFound;
+        isGoldFound = b.getDesignation(m.getRow(), m.getCol()) == Board.GOLD;
+
+        return new SolverResult(name, GameMaster.RATIONAL, b.getDimension(), isGoldFound, traceLevel != Miner.TRACE_NONE,
+                m.getNumMoves(), m.getNumScans(), m.getNumRotations(), m.getNumBacktracks(), wallTime, allocatedBytes);
+    }
+
+    /**
+     * Runs the nonrational agent on the given board until it reaches either the gold square tile
+     * or a pit, or until it has executed the maximum number of actions, and returns the metrics
+     * of the run
+     *
+     * <p>Since the nonrational agent does not backtrack, its number of backtracks is always 0.</p>
+     *
+     * @param name name identifying the board (empty if the board is unnamed)
+     * @param b board explored by the agent
+     * @param maxActions maximum number of actions to be executed by the agent
+     * @param random source of the random decisions of the agent (used by this run alone)
+     * @return metrics of the run
+     */
+    public SolverResult solveRandom(String name, Board b, int maxActions, SplittableRandom random) {
+        long startBytes = getAllocatedBytes();
+        long startTime = System.nanoTime();
+
+        RandomMiner rm;
+        rm = new RandomMiner(random, traceLevel);
+        char results = rm.searchForGold(b, maxActions);
+
+        long wallTime = System.nanoTime() - startTime;
+        long allocatedBytes = Allocations.THREADS == null ? -1 : getAllocatedBytes() - startBytes;
+
+        return new SolverResult(name, GameMaster.RANDOM, b.getDimension(), results == RandomMiner.SUCCESS,
+                traceLevel != Miner.TRACE_NONE, rm.getNumMoves(), rm.getNumScans(), rm.getNumRotations(), 0, wallTime,
+                allocatedBytes);
+    }
+
+    /**
+     * Returns the total number of bytes allocated so far by the current thread
+     * (0 if it cannot be measured)
+     *
+     * @return total number of bytes allocated so far by the current thread
+     */
+    private static long getAllocatedBytes() {
+        if (Allocations.THREADS == null) {
+            return 0;
+        }
+
+        return Allocations.THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Class holding the source of the number of bytes allocated by each thread, which is only
+     * looked up once the first search is measured
+     *
+     * <p>Looking it up loads the platform management classes (from <code>jdk.management</code>),
+     * which would otherwise slow down the start of every run that never measures a search.</p>
+     */
+    private static class Allocations {
+        /* Source of the number of bytes allocated by each thread (null if it cannot be measured) */
+        private static final com.sun.management.ThreadMXBean THREADS = lookUpThreads();
+
+        /**
+         * Returns the source of the number of bytes allocated by each thread, with the measurement
+         * enabled; <code>null</code> if it cannot be measured
+         *
+         * @return source of the number of bytes allocated by each thread; <code>null</code> if it
+         * cannot be measured
+         */
+        private static com.sun.management.ThreadMXBean lookUpThreads() {
+            /* Measuring the allocated bytes relies on an extension of the HotSpot virtual machine. */
+            if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean)) {
+                return null;
+            }
+
+            com.sun.management.ThreadMXBean threadBean;
+            threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            if (!threadBean.isThreadAllocatedMemorySupported()) {
+                return null;
+            }
+
+            if (!threadBean.isThreadAllocatedMemoryEnabled()) {
+                threadBean.setThreadAllocatedMemoryEnabled(true);
+            }
+
+            return threadBean;
+        }
+    }
+}
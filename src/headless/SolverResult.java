@@ -0,0 +1,282 @@
+package headless;
+
+import gold_miner.GameMaster;
+
+/**
+ * Class implementing the <b>metrics of a single run</b> of an agent (rational or nonrational) on
+ * a board, which can be written as a JSON object or as a CSV row
+ *
+ * <p>Following the performance measure of the task, the total number of actions is the sum
+ * of the numbers of moves, scans, rotations, and backtracks.</p>
+ *
+ * <p>An agent run with the <code>Miner.TRACE_NONE</code> trace level keeps no counters. Its
+ * counters are then written as <code>null</code> in the JSON object and left empty in the CSV
+ * row, rather than as zeros that would misreport the run.</p>
+ */
+public class SolverResult {
+    /* Name identifying the board (empty if the board is unnamed) */
+    private final String name;
+    /* Character code of the agent that was run (rational or nonrational) */
+    private final char agent;
+    /* Dimension of the board */
+    private final int dimension;
+    /* true if the miner reached the gold square tile; false, otherwise */
+    private final boolean isGoldFound;
+    /* true if the counters of the actions were kept during the run; false, otherwise */
+    private final boolean isCounted;
+
+    /* Number of moves */
+    private final int numMove;
+    /* Number of scans */
+    private final int numScan;
+    /* Number of rotations */
+    private final int numRotate;
+    /* Number of backtracks */
+    private final int numBacktrack;
+
+    /* Wall-clock time of the search, in nanoseconds */
+    private final long wallTime;
+    /* Number of bytes allocated by the search (-1 if it cannot be measured) */
+    private final long allocatedBytes;
+
+    /**
+     * Header of the CSV rows returned by <code>toCsv</code>
+     */
+    public static final String CSV_HEADER = "board,agent,dimension,gold_found,moves,scans,rotations,backtracks,"
+            + "total_actions,wall_time_ns,allocated_bytes";
+
+    /**
+     * Creates the metrics of a run of an agent
+     *
+     * @param name name identifying the board (empty if the board is unnamed)
+     * @param agent character code of the agent that was run (either <code>GameMaster.RATIONAL</code>
+     *              or <code>GameMaster.RANDOM</code>)
+     * @param dimension dimension of the board
+     * @param isGoldFound <code>true</code> if the miner reached the gold square tile;
+     *                    <code>false</code>, otherwise
+     * @param isCounted <code>true</code> if the counters of the actions were kept during the run;
+     *                  <code>false</code>, otherwise
+     * @param numMove number of moves
+     * @param numScan number of scans
+     * @param numRotate number of rotations
+     * @param numBacktrack number of backtracks
+     * @param wallTime wall-clock time of the search, in nanoseconds
+     * @param allocatedBytes number of bytes allocated by the search (-1 if it cannot be measured)
+     */
+    public SolverResult(String name, char agent, int dimension, boolean isGoldFound, boolean isCounted,
+                        int numMove, int numScan, int numRotate, int numBacktrack, long wallTime,
+                        long allocatedBytes) {
+        this.name = name;
+        this.agent = agent;
+        this.dimension = dimension;
+        this.isGoldFound = isGoldFound;
+        this.isCounted = isCounted;
+        this.numMove = numMove;
+        this.numScan = numScan;
+        this.numRotate = numRotate;
+        this.numBacktrack = numBacktrack;
+        this.wallTime = wallTime;
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    /**
+     * Returns the name identifying the board (empty if the board is unnamed)
+     *
+     * @return name identifying the board
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the character code of the agent that was run (either <code>GameMaster.RATIONAL</code>
+     * or <code>GameMaster.RANDOM</code>)
+     *
+     * @return character code of the agent that was run
+     */
+    public char getAgent() {
+        return agent;
+    }
+
+    /**
+     * Returns the dimension of the board
+     *
+     * @return dimension of the board
+     */
+    public int getDimension() {
+        return dimension;
+    }
+
+    /**
+     * Returns <code>true</code> if the miner reached the gold square tile; <code>false</code>,
+     * otherwise (that is, the board layout is invalid, or the nonrational agent fell into a pit
+     * or executed the maximum number of actions)
+     *
+     * @return <code>true</code> if the miner reached the gold square tile; <code>false</code>,
+     * otherwise
+     */
+    public boolean isGoldFound() {
+        return isGoldFound;
+    }
+
+    /**
+     * Returns <code>true</code> if the counters of the actions were kept during the run;
+     * <code>false</code>, otherwise (that is, the agent was run with the
+     * <code>Miner.TRACE_NONE</code> trace level, and all of its counters are 0)
+     *
+     * @return <code>true</code> if the counters of the actions were kept during the run;
+     * <code>false</code>, otherwise
+     */
+    public boolean isCounted() {
+        return isCounted;
+    }
+
+    /**
+     * Returns the number of moves
+     *
+     * @return number of moves
+     */
+    public int getNumMoves() {
+        return numMove;
+    }
+
+    /**
+     * Returns the number of scans
+     *
+     * @return number of scans
+     */
+    public int getNumScans() {
+        return numScan;
+    }
+
+    /**
+     * Returns the number of rotations
+     *
+     * @return number of rotations
+     */
+    public int getNumRotations() {
+        return numRotate;
+    }
+
+    /**
+     * Returns the number of backtracks
+     *
+     * @return number of backtracks
+     */
+    public int getNumBacktracks() {
+        return numBacktrack;
+    }
+
+    /**
+     * Returns the total number of actions, that is, the sum of the numbers of moves, scans,
+     * rotations, and backtracks
+     *
+     * @return total number of actions
+     */
+    public long getTotalActions() {
+        return (long) numMove + numScan + numRotate + numBacktrack;
+    }
+
+    /**
+     * Returns the wall-clock time of the search, in nanoseconds
+     *
+     * @return wall-clock time of the search, in nanoseconds
+     */
+    public long getWallTime() {
+        return wallTime;
+    }
+
+    /**
+     * Returns the number of bytes allocated by the search (-1 if it cannot be measured)
+     *
+     * @return number of bytes allocated by the search
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * Returns a JSON object (on a single line) containing the metrics of this run
+     *
+     * @return JSON object containing the metrics of this run
+     */
+    public String toJson() {
+        return "{\"board\":\"" + escapeJson(name) + "\""
+                + ",\"agent\":\"" + getAgentName() + "\""
+                + ",\"dimension\":" + dimension
+                + ",\"gold_found\":" + isGoldFound
+                + ",\"moves\":" + (isCounted ? String.valueOf(numMove) : "null")
+                + ",\"scans\":" + (isCounted ? String.valueOf(numScan) : "null")
+                + ",\"rotations\":" + (isCounted ? String.valueOf(numRotate) : "null")
+                + ",\"backtracks\":" + (isCounted ? String.valueOf(numBacktrack) : "null")
+                + ",\"total_actions\":" + (isCounted ? String.valueOf(getTotalActions()) : "null")
+                + ",\"wall_time_ns\":" + wallTime
+                + ",\"allocated_bytes\":" + allocatedBytes
+                + "}";
+    }
+
+    /**
+     * Returns a CSV row containing the metrics of this run, in the order of the columns
+     * of <code>CSV_HEADER</code>
+     *
+     * @return CSV row containing the metrics of this run
+     */
+    public String toCsv() {
+        /* The counters of a run that kept none are left empty. */
+        String counters = isCounted
+                ? numMove + "," + numScan + "," + numRotate + "," + numBacktrack + "," + getTotalActions()
+                : ",,,,";
+
+        return escapeCsv(name) + "," + getAgentName() + "," + dimension + "," + isGoldFound + "," + counters
+                + "," + wallTime + "," + allocatedBytes;
+    }
+
+    /**
+     * Returns the name of the agent that was run (as written in the JSON objects and CSV rows)
+     *
+     * @return <code>rational</code> for the rational agent; <code>random</code> for the
+     * nonrational agent
+     */
+    private String getAgentName() {
+        return agent == GameMaster.RANDOM ? "random" : "rational";
+    }
+
+    /**
+     * Returns the given string with the characters that are special in JSON strings escaped
+     *
+     * @param s string to be escaped
+     * @return given string with the characters that are special in JSON strings escaped
+     */
+    public static String escapeJson(String s) {
+        StringBuilder escaped = new StringBuilder(s.length());
+
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+
+            if (c == '"' || c == '\\') {
+                escaped.append('\\').append(c);
+            } else if (c < ' ') {
+                escaped.append(String.format("\\u%04x", (int) c));
+            } else {
+                escaped.append(c);
+            }
+        }
+
+        return escaped.toString();
+    }
+
+    /**
+     * Returns the given string as a CSV field, enclosed in double quotes if it contains
+     * a comma, a double quote, or a line break
+     *
+     * @param s string to be written as a CSV field
+     * @return given string as a CSV field
+     */
+    public static String escapeCsv(String s) {
+        if (s.indexOf(',') == -1 && s.indexOf('"') == -1 && s.indexOf('\n') == -1 && s.indexOf('\r') == -1) {
+            return s;
+        }
+
+        return "\"" + s.replace("\"", "\"\"") + "\"";
+    }
+}
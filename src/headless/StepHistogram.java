@@ -0,0 +1,180 @@
+package headless;
+
+import java.util.Arrays;
+
+/**
+ * Class implementing a <b>histogram of step counts</b> with a bounded relative error, from which
+ * percentiles can be estimated without storing every count
+ *
+ * <p>Counts below 256 are kept exactly. Larger counts are grouped into buckets of 128 per power
+ * of two, so the value reported for a percentile is at most 1/128 (less than 1%) above the true
+ * value. The histogram has a fixed size regardless of the number of recorded counts, and recording
+ * a count does not allocate any memory.</p>
+ */
+public class StepHistogram {
+    /* Number of recorded counts in each bucket */
+    private final long[] buckets;
+    /* Number of recorded counts */
+    private long count;
+    /* Sum of the recorded counts */
+    private long sum;
+    /* Smallest recorded count */
+    private long min;
+    /* Largest recorded count */
+    private long max;
+
+    /* Base-2 logarithm of the number of buckets per power of two */
+    private static final int SUB_BITS = 7;
+    /* Number of buckets per power of two */
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    /* Number of bits of the counts that are kept exactly */
+    private static final int EXACT_BITS = SUB_BITS + 1;
+    /* Number of buckets needed to cover all nonnegative long values */
+    private static final int NUM_BUCKETS = (Long.SIZE - 1 - EXACT_BITS + 2) * SUB_COUNT;
+
+    /**
+     * Creates an empty histogram
+     */
+    public StepHistogram() {
+        buckets = new long[NUM_BUCKETS];
+        clear();
+    }
+
+    /**
+     * Discards all the recorded counts
+     */
+    public void clear() {
+        Arrays.fill(buckets, 0L);
+        count = 0;
+        sum = 0;
+        min = Long.MAX_VALUE;
+        max = 0;
+    }
+
+    /**
+     * Records the given (nonnegative) count
+     *
+     * @param value count to be recorded
+     */
+    public void record(long value) {
+        buckets[getBucket(value)]++;
+
+        count++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Adds all the counts recorded in the given histogram to this histogram
+     *
+     * @param other histogram whose counts are added
+     */
+    public void merge(StepHistogram other) {
+        for (int i = 0; i < NUM_BUCKETS; i++) {
+            buckets[i] += other.buckets[i];
+        }
+
+        count += other.count;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Returns the number of recorded counts
+     *
+     * @return number of recorded counts
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the mean of the recorded counts (0 if no count has been recorded)
+     *
+     * @return mean of the recorded counts
+     */
+    public double getMean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * Returns the smallest recorded count (0 if no count has been recorded)
+     *
+     * @return smallest recorded count
+     */
+    public long getMin() {
+        return count == 0 ? 0 : min;
+    }
+
+    /**
+     * Returns the largest recorded count (0 if no count has been recorded)
+     *
+     * @return largest recorded count
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Returns the given percentile of the recorded counts, that is, the smallest count such that
+     * at least the given percentage of the recorded counts do not exceed it (0 if no count has
+     * been recorded)
+     *
+     * <p>The returned value is the largest value of the bucket containing the percentile,
+     * capped at the largest recorded count.</p>
+     *
+     * @param percentile percentile (from 0 to 100)
+     * @return given percentile of the recorded counts
+     */
+    public long getPercentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+
+        /* One-based rank of the percentile among the sorted counts */
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+
+        long seen = 0;
+        for (int i = 0; i < NUM_BUCKETS; i++) {
+            seen += buckets[i];
+
+            if (seen >= rank) {
+                return Math.min(getHighestValue(i), max);
+            }
+        }
+
+        return max;
+    }
+
+    /**
+     * Returns the index of the bucket of the given count
+     *
+     * @param value nonnegative count
+     * @return index of the bucket of the given count
+     */
+    private static int getBucket(long value) {
+        int shift = Math.max(0, Long.SIZE - Long.numberOfLeadingZeros(value) - EXACT_BITS);
+
+        /* The counts that are kept exactly are in the first buckets. */
+        return (shift << SUB_BITS) + (int) (value >>> shift);
+    }
+
+    /**
+     * Returns the largest count in the bucket at the given index
+     *
+     * @param bucket index of the bucket
+     * @return largest count in the bucket at the given index
+     */
+    private static long getHighestValue(int bucket) {
+        if (bucket < 2 * SUB_COUNT) {
+            return bucket;
+        }
+
+        int shift = (bucket >> SUB_BITS) - 1;
+        long mantissa = bucket - ((long) shift << SUB_BITS);
+
+        return ((mantissa + 1) << shift) - 1;
+    }
+}
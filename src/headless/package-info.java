@@ -0,0 +1,6 @@
+/**
+ * Provides classes for running the game <b>headless</b>, that is, from the command line
+ * and without loading any of the classes of the graphical user interface
+ */
+
+package headless;